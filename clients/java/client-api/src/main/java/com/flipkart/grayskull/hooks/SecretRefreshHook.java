@@ -8,8 +8,8 @@ import com.flipkart.grayskull.models.SecretValue;
  * This hook is registered via {@link com.flipkart.grayskull.GrayskullClient#registerRefreshHook(String, SecretRefreshHook)}
  * and will be called asynchronously when the monitored secret is updated on the server.
  * <p>
- * <b>Note:</b> This is currently part of a placeholder implementation. While hooks can be registered,
- * they will not be invoked until server-sent events support is added in a future release.
+ * Hooks of the same secret are invoked in order, one update at a time. Updates that happen while a hook
+ * is still running are coalesced, so the hook may only see the newest value of a burst of updates.
  */
 @FunctionalInterface
 public interface SecretRefreshHook {
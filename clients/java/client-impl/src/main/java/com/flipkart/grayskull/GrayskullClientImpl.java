@@ -11,16 +11,23 @@ import com.flipkart.grayskull.models.GrayskullClientConfiguration;
 import com.flipkart.grayskull.models.response.HttpResponse;
 import com.flipkart.grayskull.models.SecretValue;
 import com.flipkart.grayskull.models.exceptions.GrayskullException;
-import com.flipkart.grayskull.hooks.NoOpRefreshHandlerRef;
 import com.flipkart.grayskull.hooks.RefreshHandlerRef;
 import com.flipkart.grayskull.hooks.SecretRefreshHook;
 import com.flipkart.grayskull.models.response.Response;
+import com.flipkart.grayskull.models.response.WatchResult;
+import okhttp3.Call;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -35,6 +42,8 @@ public final class GrayskullClientImpl implements GrayskullClient {
     private static final Logger log = LoggerFactory.getLogger(GrayskullClientImpl.class);
     private static final TypeReference<Response<SecretValue>> SECRET_VALUE_TYPE_REFERENCE = 
             new TypeReference<Response<SecretValue>>() {};
+    private static final TypeReference<Response<WatchResult>> WATCH_RESULT_TYPE_REFERENCE =
+            new TypeReference<Response<WatchResult>>() {};
     
     private final String baseUrl;
     private final GrayskullAuthHeaderProvider authHeaderProvider;
@@ -42,6 +51,8 @@ public final class GrayskullClientImpl implements GrayskullClient {
     private final GrayskullHttpClient httpClient;
     private final ObjectMapper objectMapper;
     private final MetricsPublisher metricsPublisher;
+    private final SecretRefreshEngine refreshEngine;
+    private final SecretCache secretCache;
 
     /**
      * Creates a new Grayskull client implementation.
@@ -69,6 +80,12 @@ public final class GrayskullClientImpl implements GrayskullClient {
         
         // Initialize metrics publisher if enabled
         this.metricsPublisher = grayskullClientConfiguration.isMetricsEnabled() ? new MetricsPublisher() : null;
+
+        this.secretCache = grayskullClientConfiguration.isCacheEnabled()
+                ? new SecretCache(this::fetchSecret, grayskullClientConfiguration, metricsPublisher) : null;
+
+        // Threads are only started once the first refresh hook is registered
+        this.refreshEngine = new SecretRefreshEngine(this::startWatch, this::fetchAndCacheSecret, grayskullClientConfiguration, metricsPublisher);
     }
     
     /**
@@ -77,6 +94,9 @@ public final class GrayskullClientImpl implements GrayskullClient {
      * The secretRef should be in the format: "projectId:secretName"
      * For example: "my-project:database-password"
      * </p>
+     * <p>
+     * If caching is enabled in the configuration, the value may be served from the client-side cache.
+     * </p>
      *
      * @param secretRef the secret reference in format "projectId:secretName"
      * @return the secret value
@@ -85,6 +105,21 @@ public final class GrayskullClientImpl implements GrayskullClient {
      */
     @Override
     public SecretValue getSecret(String secretRef) {
+        return secretCache != null ? secretCache.get(secretRef) : fetchSecret(secretRef);
+    }
+
+    /**
+     * Fetches the latest value of a secret from the Grayskull server, bypassing the cache.
+     */
+    private SecretValue fetchSecret(String secretRef) {
+        return fetchSecret(secretRef, null).getValue();
+    }
+
+    /**
+     * Fetches the latest value of a secret from the Grayskull server. If a cached value with an ETag is given,
+     * the request is made conditional and the cached value itself is returned when it is not modified.
+     */
+    private SecretCache.CachedSecret fetchSecret(String secretRef, SecretCache.CachedSecret cached) {
         String requestId = generateRequestId();
         MDC.put(MDCKeys.GRAYSKULL_REQUEST_ID, requestId);
 
@@ -124,8 +159,13 @@ public final class GrayskullClientImpl implements GrayskullClient {
             String url = baseUrl + String.format("/v1/projects/%s/secrets/%s/data", encodedProjectId, encodedSecretName);
             
             // Fetch the secret with automatic retry logic
-            HttpResponse httpResponse = httpClient.doGetWithRetry(url);
+            String ifNoneMatch = cached != null ? cached.getETag() : null;
+            HttpResponse httpResponse = ifNoneMatch != null
+                    ? httpClient.doGetWithRetry(url, ifNoneMatch) : httpClient.doGetWithRetry(url);
             statusCode = httpResponse.getStatusCode();
+            if (statusCode == 304) {
+                return cached;
+            }
             
             Response<SecretValue> response = objectMapper.readValue(httpResponse.getBody(), SECRET_VALUE_TYPE_REFERENCE);
             SecretValue secretValue = response.getData();
@@ -134,7 +174,7 @@ public final class GrayskullClientImpl implements GrayskullClient {
                 throw new GrayskullException(500, "No data in response");
             }
             
-            return secretValue;
+            return new SecretCache.CachedSecret(secretValue, httpResponse.getETag());
             
         } catch (JsonProcessingException e) {
             // JSON parsing errors are not retryable - they indicate a permanent problem
@@ -160,10 +200,10 @@ public final class GrayskullClientImpl implements GrayskullClient {
     /**
      * Registers a refresh hook for a secret.
      * <p>
-     * Note: This is a placeholder implementation. The hook will be registered but
-     * will not be invoked until server-side long-polling support is implemented.
-     * This allows applications to include hook registration code now, and it will
-     * automatically work when upgrading to a future SDK version with full support.
+     * All the secrets with hooks are watched through a single long-poll request to the server.
+     * When a secret is updated, its latest value is fetched and passed to its hooks asynchronously.
+     * Updates made before the server first reports the secret's version to the client, shortly after
+     * registration, do not invoke the hook.
      * </p>
      *
      * @param secretRef the secret reference to monitor
@@ -183,10 +223,10 @@ public final class GrayskullClientImpl implements GrayskullClient {
                 throw new IllegalArgumentException("hook cannot be null");
             }
 
-            log.debug("[RequestId:{}] Registering refresh hook for secretRef:{} (placeholder implementation)", requestId, secretRef);
+            parseSecretRef(secretRef);
+            log.debug("[RequestId:{}] Registering refresh hook for secretRef:{}", requestId, secretRef);
 
-            // TODO: Implement actual hook invocation when server-side events support is added
-            return NoOpRefreshHandlerRef.INSTANCE;
+            return refreshEngine.register(secretRef, hook);
 
         } finally {
             MDC.remove(MDCKeys.GRAYSKULL_REQUEST_ID);
@@ -203,11 +243,94 @@ public final class GrayskullClientImpl implements GrayskullClient {
     @Override
     public void close() {
         log.info("Closing Grayskull client");
+        refreshEngine.close();
+        if (secretCache != null) {
+            secretCache.close();
+        }
         if (httpClient != null) {
             httpClient.close();
         }
     }
 
+    /**
+     * Fetches the latest value of a secret for its refresh hooks, so that the cache never serves an older value.
+     */
+    private SecretValue fetchAndCacheSecret(String secretRef) {
+        SecretCache.CachedSecret secret = fetchSecret(secretRef, null);
+        if (secretCache != null) {
+            secretCache.put(secretRef, secret);
+        }
+        return secret.getValue();
+    }
+
+    /**
+     * Prepares a watch request for the secrets with refresh hooks.
+     */
+    private SecretRefreshEngine.PendingWatch startWatch(Map<String, Integer> knownVersions) {
+        List<Map<String, Object>> secrets = new ArrayList<>(knownVersions.size());
+        knownVersions.forEach((secretRef, dataVersion) -> {
+            String[] parts = parseSecretRef(secretRef);
+            Map<String, Object> secret = new LinkedHashMap<>();
+            secret.put("projectId", parts[0]);
+            secret.put("name", parts[1]);
+            secret.put("dataVersion", dataVersion);
+            secrets.add(secret);
+        });
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(Collections.singletonMap("secrets", secrets));
+        } catch (JsonProcessingException e) {
+            throw new GrayskullException("Failed to serialize watch request", e);
+        }
+        String url = baseUrl + "/v1/secrets:watch?timeoutSeconds=" + grayskullClientConfiguration.getWatchTimeout();
+        Call call = httpClient.newWatchCall(url, body);
+        return new SecretRefreshEngine.PendingWatch() {
+            @Override
+            public Map<String, Integer> await() throws Exception {
+                long startTime = System.nanoTime();
+                int statusCode = 0;
+                try {
+                    HttpResponse httpResponse = httpClient.execute(call);
+                    statusCode = httpResponse.getStatusCode();
+                    WatchResult result = objectMapper.readValue(httpResponse.getBody(), WATCH_RESULT_TYPE_REFERENCE).getData();
+                    Map<String, Integer> changes = new HashMap<>();
+                    if (result != null && result.getChanges() != null) {
+                        result.getChanges().forEach(change -> changes.put(change.getProjectId() + ":" + change.getName(),
+                                "ACTIVE".equals(change.getState()) ? change.getDataVersion() : null));
+                    }
+                    return changes;
+                } catch (GrayskullException e) {
+                    statusCode = e.getStatusCode();
+                    throw e;
+                } finally {
+                    if (metricsPublisher != null) {
+                        metricsPublisher.recordRequest("watchSecrets", statusCode,
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+                    }
+                }
+            }
+
+            @Override
+            public void cancel() {
+                call.cancel();
+            }
+        };
+    }
+
+    /**
+     * Splits a secret reference into its project ID and secret name.
+     *
+     * @throws IllegalArgumentException if the secret reference is not in format "projectId:secretName"
+     */
+    private static String[] parseSecretRef(String secretRef) {
+        String[] parts = secretRef.split(":", 2);
+        if (parts.length != 2 || parts[0].isEmpty() || parts[1].isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Invalid secretRef format. Expected 'projectId:secretName', got: " + secretRef);
+        }
+        return parts;
+    }
+
     private static String urlEncode(String value) {
         try {
             return URLEncoder.encode(value, "UTF-8");
@@ -19,12 +19,14 @@ import java.util.concurrent.TimeUnit;
 class GrayskullHttpClient {
     private static final Logger log = LoggerFactory.getLogger(GrayskullHttpClient.class);
 
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
     private final OkHttpClient httpClient;
+    private final OkHttpClient watchHttpClient;
     private final GrayskullAuthHeaderProvider authHeaderProvider;
     private final MetricsPublisher metricsPublisher;
     private final RetryUtil retryUtil;
 
-
     GrayskullHttpClient(GrayskullAuthHeaderProvider authHeaderProvider, GrayskullClientConfiguration clientConfiguration) {
         this.authHeaderProvider = authHeaderProvider;
         
@@ -36,6 +38,13 @@ class GrayskullHttpClient {
                         5,
                         TimeUnit.MINUTES))
                 .build();
+
+        // Watch requests are held open by the server, so they need a longer read timeout.
+        // The derived client shares the connection pool and dispatcher of the main one.
+        this.watchHttpClient = httpClient.newBuilder()
+                .readTimeout(TimeUnit.SECONDS.toMillis(clientConfiguration.getWatchTimeout()) + clientConfiguration.getReadTimeout(),
+                        TimeUnit.MILLISECONDS)
+                .build();
         
         // Initialize metrics publisher if enabled
         this.metricsPublisher = clientConfiguration.isMetricsEnabled() ? new MetricsPublisher() : null;
@@ -45,13 +54,24 @@ class GrayskullHttpClient {
     }
 
     HttpResponse doGetWithRetry(String url) {
+        return doGetWithRetry(url, null);
+    }
+
+    /**
+     * Executes a GET request with retries, made conditional if {@code ifNoneMatch} is given.
+     *
+     * @param url the URL
+     * @param ifNoneMatch the ETag of a response the caller still holds, or null for an unconditional request
+     * @return the response, with status 304 and no body if the caller's response is still current
+     */
+    HttpResponse doGetWithRetry(String url, String ifNoneMatch) {
         final int[] attemptCount = {0};
         boolean finalAttemptSuccess = false;
         
         try {
             HttpResponse result = retryUtil.retry(() -> {
                 attemptCount[0]++;
-                return doGet(url);
+                return doGet(url, ifNoneMatch);
             });
             
             finalAttemptSuccess = true;
@@ -75,15 +95,29 @@ class GrayskullHttpClient {
         }
     }
     
-    HttpResponse doGet(String url) throws RetryableException {
-        Request request = buildRequest(url)
-                .get()
-                .build();
+    /**
+     * Executes a GET request, made conditional if {@code ifNoneMatch} is given. Responses are not kept, a caller
+     * that sends an ETag is expected to hold the response it belongs to.
+     */
+    HttpResponse doGet(String url, String ifNoneMatch) throws RetryableException {
+        Request.Builder requestBuilder = buildRequest(url).get();
+        if (ifNoneMatch != null) {
+            requestBuilder.header("If-None-Match", ifNoneMatch);
+        }
+        Request request = requestBuilder.build();
 
         String requestId = MDC.get(MDCKeys.GRAYSKULL_REQUEST_ID);
         log.debug("[RequestId:{}] Executing GET request to: {}", requestId, url);
         HttpResponse httpResponse = executeRequest(request);
 
+        if (httpResponse.getStatusCode() == 304) {
+            if (ifNoneMatch == null) {
+                throw new GrayskullException(304, "Received 304 Not Modified for an unconditional request");
+            }
+            log.debug("[RequestId:{}] Response from {} not modified since ETag: {}", requestId, url, ifNoneMatch);
+            return httpResponse;
+        }
+
         String body = httpResponse.getBody();
         int bodyLength = body != null ? body.length() : 0;
         log.debug("[RequestId:{}] Received response from {} with status: {}, protocol: {}, contentType: {}, bodyLength: {} bytes", 
@@ -92,6 +126,33 @@ class GrayskullHttpClient {
         return httpResponse;
     }
 
+    /**
+     * Prepares a long-poll watch request without executing it, so that it can be cancelled from another thread.
+     *
+     * @param url the watch URL
+     * @param jsonBody the JSON request body
+     * @return the prepared call, to be executed with {@link #execute(Call)}
+     */
+    Call newWatchCall(String url, String jsonBody) {
+        Request request = buildRequest(url)
+                .post(RequestBody.create(jsonBody, JSON))
+                .build();
+        return watchHttpClient.newCall(request);
+    }
+
+    /**
+     * Executes a call prepared by {@link #newWatchCall(String, String)}.
+     *
+     * @param call the call to execute
+     * @return the response
+     * @throws RetryableException if the call failed with a transient error or was cancelled
+     */
+    HttpResponse execute(Call call) throws RetryableException {
+        String requestId = MDC.get(MDCKeys.GRAYSKULL_REQUEST_ID);
+        log.debug("[RequestId:{}] Executing {} request to: {}", requestId, call.request().method(), call.request().url());
+        return executeCall(call);
+    }
+
     private Request.Builder buildRequest(String url) {
         Request.Builder requestBuilder = new Request.Builder().url(url);
 
@@ -110,10 +171,14 @@ class GrayskullHttpClient {
     }
 
     private HttpResponse executeRequest(Request request) throws RetryableException {
-        try (okhttp3.Response response = httpClient.newCall(request).execute()) {
+        return executeCall(httpClient.newCall(request));
+    }
+
+    private HttpResponse executeCall(Call call) throws RetryableException {
+        try (okhttp3.Response response = call.execute()) {
             int statusCode = response.code();
             
-            if (!response.isSuccessful()) {
+            if (!response.isSuccessful() && statusCode != 304) {
                 String errorBody = response.body() != null ? response.body().string() : "";
                 
                 // Determine if the error is retryable
@@ -127,7 +192,7 @@ class GrayskullHttpClient {
             String responseBody = response.body() != null ? response.body().string() : null;
             String contentType = response.header("Content-Type", "unknown");
             String protocol = response.protocol().toString();
-            return new HttpResponse(statusCode, responseBody, contentType, protocol);
+            return new HttpResponse(statusCode, responseBody, contentType, protocol, response.header("ETag"));
 
         } catch (IOException e) {
             // Network/IO errors (timeouts, connection issues) are generally transient and worth retrying
@@ -0,0 +1,224 @@
+package com.flipkart.grayskull;
+
+import com.flipkart.grayskull.metrics.MetricsPublisher;
+import com.flipkart.grayskull.models.GrayskullClientConfiguration;
+import com.flipkart.grayskull.models.SecretValue;
+import com.flipkart.grayskull.models.exceptions.GrayskullException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Opt-in cache behind {@link GrayskullClientImpl#getSecret(String)}.
+ * <p>
+ * Values are served from memory for {@link GrayskullClientConfiguration#getCacheTtl()} and the least recently
+ * used secret is evicted once {@link GrayskullClientConfiguration#getCacheMaxEntries()} is reached. Shortly
+ * before an entry expires, the next read triggers a background refresh so that hot secrets never block on
+ * the server. The refresh point is picked at random within the refresh-ahead window, which spreads the
+ * refreshes of a fleet of clients that started together.
+ * </p>
+ * <p>
+ * If the server cannot be reached or responds with a server error, an expired entry keeps being served for
+ * up to {@link GrayskullClientConfiguration#getCacheMaxStale()}. While stale, the server is retried at most
+ * once per retry interval rather than on every read.
+ * </p>
+ * <p>
+ * Each entry keeps the ETag the server returned with its value, so that reloading an unchanged secret costs a
+ * 304 Not Modified instead of a transfer and decryption of its value.
+ * </p>
+ */
+final class SecretCache {
+    private static final Logger log = LoggerFactory.getLogger(SecretCache.class);
+    private static final String METRIC_NAME = "getSecret";
+
+    /**
+     * Loads the latest value of a secret from the server.
+     */
+    interface SecretLoader {
+        /**
+         * @param secretRef the secret reference
+         * @param cached the cached value of the secret, or null if there is none
+         * @return the latest value, or {@code cached} itself if the server reports it is not modified
+         */
+        CachedSecret load(String secretRef, CachedSecret cached);
+    }
+
+    /**
+     * A secret value together with the ETag it was served with, which may be null.
+     */
+    static final class CachedSecret {
+        private final SecretValue value;
+        private final String eTag;
+
+        CachedSecret(SecretValue value, String eTag) {
+            this.value = value;
+            this.eTag = eTag;
+        }
+
+        SecretValue getValue() {
+            return value;
+        }
+
+        String getETag() {
+            return eTag;
+        }
+    }
+
+    private final SecretLoader loader;
+    private final MetricsPublisher metricsPublisher;
+    private final Executor refresher;
+    private final LongSupplier clock;
+    private final long ttl;
+    private final long refreshAhead;
+    private final long maxStale;
+    private final long minRetryDelay;
+    private final Map<String, Entry> entries;
+
+    SecretCache(SecretLoader loader, GrayskullClientConfiguration configuration, MetricsPublisher metricsPublisher) {
+        this(loader, configuration, metricsPublisher, newRefresher(configuration), System::currentTimeMillis);
+    }
+
+    SecretCache(SecretLoader loader, GrayskullClientConfiguration configuration, MetricsPublisher metricsPublisher,
+                Executor refresher, LongSupplier clock) {
+        this.loader = loader;
+        this.metricsPublisher = metricsPublisher;
+        this.refresher = refresher;
+        this.clock = clock;
+        this.ttl = configuration.getCacheTtl();
+        this.refreshAhead = Math.min(configuration.getCacheRefreshAhead(), ttl);
+        this.maxStale = configuration.getCacheMaxStale();
+        this.minRetryDelay = configuration.getMinRetryDelay();
+        int maxEntries = configuration.getCacheMaxEntries();
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Returns the value of a secret, from the cache if possible.
+     *
+     * @param secretRef the secret reference in format "projectId:secretName"
+     * @return the secret value
+     * @throws GrayskullException if the secret is not cached and cannot be loaded
+     */
+    SecretValue get(String secretRef) {
+        long now = clock.getAsLong();
+        Entry entry = entries.get(secretRef);
+        if (entry != null) {
+            if (now < entry.expiresAt) {
+                record("hit");
+                if (now >= entry.refreshAt && entry.refreshing.compareAndSet(false, true)) {
+                    refreshAsync(secretRef, entry);
+                }
+                return entry.secret.getValue();
+            }
+            if (now < entry.refreshAt && now < entry.expiresAt + maxStale) {
+                // The last load failed recently, do not retry on every read
+                record("stale");
+                return entry.secret.getValue();
+            }
+        }
+        record("miss");
+        try {
+            CachedSecret secret = loader.load(secretRef, entry != null ? entry.secret : null);
+            put(secretRef, secret);
+            return secret.getValue();
+        } catch (GrayskullException e) {
+            if (entry == null || !isServerFailure(e) || now >= entry.expiresAt + maxStale) {
+                throw e;
+            }
+            log.warn("Serving stale value of secret {} since the server is unavailable: {}", secretRef, e.getMessage());
+            entry.refreshAt = now + retryDelay();
+            record("stale");
+            return entry.secret.getValue();
+        }
+    }
+
+    /**
+     * Caches the latest value of a secret, e.g. one delivered by a refresh hook.
+     *
+     * @param secretRef the secret reference
+     * @param secret the latest secret value and its ETag
+     */
+    void put(String secretRef, CachedSecret secret) {
+        long now = clock.getAsLong();
+        long refreshAt = now + ttl - refreshAhead + ThreadLocalRandom.current().nextLong(refreshAhead / 2 + 1);
+        entries.put(secretRef, new Entry(secret, now + ttl, refreshAt));
+    }
+
+    void close() {
+        if (refresher instanceof ThreadPoolExecutor) {
+            ((ThreadPoolExecutor) refresher).shutdownNow();
+        }
+    }
+
+    private void refreshAsync(String secretRef, Entry entry) {
+        try {
+            refresher.execute(() -> refresh(secretRef, entry));
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private void refresh(String secretRef, Entry entry) {
+        try {
+            put(secretRef, loader.load(secretRef, entry.secret));
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh cached secret {}: {}", secretRef, e.getMessage());
+            entry.refreshAt = clock.getAsLong() + retryDelay();
+            entry.refreshing.set(false);
+        }
+    }
+
+    /**
+     * A jittered delay before the server is retried after a failed load, up to a quarter of the refresh-ahead window.
+     */
+    private long retryDelay() {
+        long half = Math.max(refreshAhead / 8, minRetryDelay);
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private static boolean isServerFailure(GrayskullException e) {
+        // Network failures are reported with status 500 as well
+        return e.getStatusCode() >= 500;
+    }
+
+    private void record(String result) {
+        if (metricsPublisher != null) {
+            metricsPublisher.recordCacheAccess(METRIC_NAME, result);
+        }
+    }
+
+    private static ThreadPoolExecutor newRefresher(GrayskullClientConfiguration configuration) {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(configuration.getCacheMaxEntries()),
+                SecretRefreshEngine.daemonThreadFactory("grayskull-cache-refresh"));
+    }
+
+    private static final class Entry {
+        private final CachedSecret secret;
+        private final long expiresAt;
+        private volatile long refreshAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(CachedSecret secret, long expiresAt, long refreshAt) {
+            this.secret = secret;
+            this.expiresAt = expiresAt;
+            this.refreshAt = refreshAt;
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package com.flipkart.grayskull;
+
+import com.flipkart.grayskull.hooks.RefreshHandlerRef;
+import com.flipkart.grayskull.hooks.SecretRefreshHook;
+import com.flipkart.grayskull.metrics.MetricsPublisher;
+import com.flipkart.grayskull.models.GrayskullClientConfiguration;
+import com.flipkart.grayskull.models.SecretValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Engine behind {@link GrayskullClientImpl#registerRefreshHook(String, SecretRefreshHook)}.
+ * <p>
+ * All the secrets with registered hooks are watched through a single long-poll request, which is re-issued
+ * as soon as it returns. When a secret changes, its latest value is fetched and handed to its hooks on a
+ * bounded pool of threads. For any one secret, at most one refresh runs at a time and the refreshes requested
+ * meanwhile are coalesced into one, so a burst of rotations results in a single {@code onUpdate} with the
+ * newest value. A secret whose version the client has not seen yet is only baselined, its hooks are not invoked,
+ * unless it was seen being deleted before, in which case its recreation is a change like any other.
+ * </p>
+ * <p>
+ * Failed watch requests are retried with exponential backoff with jitter, starting at the minimum retry delay
+ * and capped at the maximum reconnect delay.
+ * </p>
+ */
+final class SecretRefreshEngine {
+    private static final Logger log = LoggerFactory.getLogger(SecretRefreshEngine.class);
+
+    /**
+     * Watches a set of secrets for changes.
+     */
+    interface SecretWatch {
+
+        /**
+         * Prepares a watch without blocking.
+         *
+         * @param knownVersions the data version known for each secret ref, {@code null} if unknown
+         * @return the pending watch
+         */
+        PendingWatch start(Map<String, Integer> knownVersions);
+    }
+
+    /**
+     * A prepared watch request that can be cancelled from another thread.
+     */
+    interface PendingWatch {
+
+        /**
+         * Blocks until any of the watched secrets changes or the watch times out.
+         *
+         * @return the new data version of each changed secret ref, {@code null} if it does not exist anymore
+         * @throws Exception if the watch failed or was cancelled
+         */
+        Map<String, Integer> await() throws Exception;
+
+        void cancel();
+    }
+
+    /**
+     * Fetches the latest value of a secret.
+     */
+    interface SecretFetcher {
+        SecretValue fetch(String secretRef);
+    }
+
+    private final SecretWatch secretWatch;
+    private final SecretFetcher secretFetcher;
+    private final MetricsPublisher metricsPublisher;
+    private final long minReconnectDelay;
+    private final long maxReconnectDelay;
+
+    private final Map<String, WatchedSecret> secrets = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor dispatcher;
+    private final ScheduledExecutorService retryScheduler;
+    private final AtomicLong generation = new AtomicLong();
+    private final Object lock = new Object();
+
+    private Thread watcherThread;
+    private PendingWatch currentWatch;
+    private volatile boolean closed;
+
+    SecretRefreshEngine(SecretWatch secretWatch, SecretFetcher secretFetcher,
+                        GrayskullClientConfiguration configuration, MetricsPublisher metricsPublisher) {
+        this.secretWatch = secretWatch;
+        this.secretFetcher = secretFetcher;
+        this.metricsPublisher = metricsPublisher;
+        this.minReconnectDelay = configuration.getMinRetryDelay();
+        this.maxReconnectDelay = configuration.getMaxReconnectDelay();
+        this.dispatcher = new ThreadPoolExecutor(configuration.getRefreshHookThreads(), configuration.getRefreshHookThreads(),
+                1, TimeUnit.MINUTES, new ArrayBlockingQueue<>(configuration.getRefreshHookQueueSize()),
+                daemonThreadFactory("grayskull-refresh-hook-"));
+        this.dispatcher.allowCoreThreadTimeOut(true);
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("grayskull-refresh-retry-"));
+    }
+
+    /**
+     * Registers a hook for a secret and makes sure the secret is being watched.
+     *
+     * @param secretRef the secret reference in format "projectId:secretName"
+     * @param hook the hook to invoke when the secret is updated
+     * @return a live handle of the hook
+     */
+    RefreshHandlerRef register(String secretRef, SecretRefreshHook hook) {
+        if (closed) {
+            throw new IllegalStateException("Grayskull client is closed");
+        }
+        HookHandle handle = new HookHandle(secretRef, hook);
+        boolean[] newSecret = {false};
+        secrets.compute(secretRef, (ref, watched) -> {
+            if (watched == null) {
+                watched = new WatchedSecret(ref);
+                newSecret[0] = true;
+            }
+            watched.hooks.add(handle);
+            return watched;
+        });
+        if (newSecret[0]) {
+            restartWatch();
+        }
+        return handle;
+    }
+
+    /**
+     * Stops watching, invoking hooks, and deactivates all the handles.
+     */
+    void close() {
+        closed = true;
+        synchronized (lock) {
+            if (currentWatch != null) {
+                currentWatch.cancel();
+            }
+            if (watcherThread != null) {
+                watcherThread.interrupt();
+            }
+            lock.notifyAll();
+        }
+        secrets.values().forEach(watched -> watched.hooks.forEach(handle -> handle.active.set(false)));
+        secrets.clear();
+        retryScheduler.shutdownNow();
+        dispatcher.shutdown();
+    }
+
+    private void unregister(HookHandle handle) {
+        secrets.computeIfPresent(handle.secretRef, (ref, watched) -> {
+            watched.hooks.remove(handle);
+            // The secret stays in the current watch until it returns, its changes are then simply ignored
+            return watched.hooks.isEmpty() ? null : watched;
+        });
+    }
+
+    /**
+     * Makes the watcher pick up newly registered secrets right away, by cancelling the watch in flight.
+     */
+    private void restartWatch() {
+        generation.incrementAndGet();
+        synchronized (lock) {
+            if (watcherThread == null) {
+                watcherThread = daemonThreadFactory("grayskull-refresh-watcher").newThread(this::watchLoop);
+                watcherThread.start();
+            }
+            if (currentWatch != null) {
+                currentWatch.cancel();
+            }
+            lock.notifyAll();
+        }
+    }
+
+    private void watchLoop() {
+        int failures = 0;
+        while (!closed) {
+            long watchGeneration = generation.get();
+            Map<String, Integer> knownVersions = new HashMap<>();
+            secrets.forEach((ref, watched) -> knownVersions.put(ref, watched.knownVersion));
+            if (knownVersions.isEmpty()) {
+                if (!awaitRegistration(watchGeneration)) {
+                    return;
+                }
+                continue;
+            }
+
+            PendingWatch pendingWatch = secretWatch.start(knownVersions);
+            synchronized (lock) {
+                currentWatch = pendingWatch;
+            }
+            // A secret registered after the snapshot was taken would otherwise wait for the next watch
+            if (generation.get() != watchGeneration) {
+                pendingWatch.cancel();
+            }
+            try {
+                Map<String, Integer> changes = pendingWatch.await();
+                failures = 0;
+                changes.forEach(this::onChange);
+            } catch (Exception e) {
+                if (closed) {
+                    return;
+                }
+                if (generation.get() != watchGeneration) {
+                    log.debug("Restarting secret watch to include newly registered secrets");
+                    continue;
+                }
+                failures++;
+                long delay = backoff(failures);
+                log.warn("Secret watch failed (attempt {}), reconnecting in {}ms: {}", failures, delay, e.getMessage());
+                if (metricsPublisher != null) {
+                    metricsPublisher.recordRetry("watchSecrets", failures, false);
+                }
+                if (!sleep(delay)) {
+                    return;
+                }
+            } finally {
+                synchronized (lock) {
+                    currentWatch = null;
+                }
+            }
+        }
+    }
+
+    private void onChange(String secretRef, Integer newVersion) {
+        WatchedSecret watched = secrets.get(secretRef);
+        if (watched == null) {
+            return;
+        }
+        Integer previousVersion = watched.knownVersion;
+        watched.knownVersion = newVersion;
+        if (newVersion == null) {
+            watched.deleted = true;
+            log.info("Secret {} was deleted, its refresh hooks will not be invoked until it is recreated", secretRef);
+        } else if (watched.deleted) {
+            // The versions of a recreated secret start over, so any version of it is new to the hooks
+            watched.deleted = false;
+            watched.deliveredVersion = 0;
+            watched.scheduleRefresh();
+        } else if (previousVersion == null) {
+            // First version seen for this secret, nothing to refresh yet
+            watched.deliveredVersion = newVersion;
+        } else {
+            watched.scheduleRefresh();
+        }
+    }
+
+    /**
+     * Computes an exponential backoff with "equal jitter": half of the delay is fixed, the other half random.
+     */
+    long backoff(int attempt) {
+        long delay = minReconnectDelay << Math.min(attempt - 1, 20);
+        delay = Math.min(delay, maxReconnectDelay);
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private boolean awaitRegistration(long watchGeneration) {
+        synchronized (lock) {
+            while (!closed && generation.get() == watchGeneration) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return !closed;
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    static ThreadFactory daemonThreadFactory(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix.endsWith("-") ? namePrefix + counter.incrementAndGet() : namePrefix);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A watched secret with its hooks and refresh state.
+     */
+    private final class WatchedSecret {
+        private final String secretRef;
+        private final List<HookHandle> hooks = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile Integer knownVersion;
+        private volatile int deliveredVersion;
+        private volatile boolean deleted;
+
+        private WatchedSecret(String secretRef) {
+            this.secretRef = secretRef;
+        }
+
+        /**
+         * Requests a refresh. If one is already queued or running, it will pick up this request too.
+         */
+        void scheduleRefresh() {
+            dirty.set(true);
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::refresh);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    if (!closed) {
+                        log.error("Refresh hook queue is full, dropping refresh of secret {}", secretRef);
+                        retryLater();
+                    }
+                }
+            }
+        }
+
+        private void refresh() {
+            try {
+                while (dirty.getAndSet(false) && !closed) {
+                    SecretValue value = secretFetcher.fetch(secretRef);
+                    failures.set(0);
+                    if (value.getDataVersion() > deliveredVersion) {
+                        deliveredVersion = value.getDataVersion();
+                        hooks.forEach(handle -> handle.invoke(value));
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Failed to fetch secret {} for its refresh hooks", secretRef, e);
+                retryLater();
+            } finally {
+                scheduled.set(false);
+            }
+            // A refresh requested after the loop exited and before the flag was reset has to be picked up
+            if (dirty.get() && !closed) {
+                scheduleRefresh();
+            }
+        }
+
+        private void retryLater() {
+            if (closed) {
+                return;
+            }
+            try {
+                retryScheduler.schedule(this::scheduleRefresh, backoff(failures.incrementAndGet()), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                log.debug("Client closed, not retrying refresh of secret {}", secretRef);
+            }
+        }
+    }
+
+    /**
+     * Live handle of a registered hook.
+     */
+    private final class HookHandle implements RefreshHandlerRef {
+        private final String secretRef;
+        private final SecretRefreshHook hook;
+        private final AtomicBoolean active = new AtomicBoolean(true);
+
+        private HookHandle(String secretRef, SecretRefreshHook hook) {
+            this.secretRef = secretRef;
+            this.hook = hook;
+        }
+
+        void invoke(SecretValue value) {
+            if (!active.get()) {
+                return;
+            }
+            try {
+                hook.onUpdate(value);
+            } catch (Exception e) {
+                log.error("Refresh hook for secret {} failed", secretRef, e);
+            }
+        }
+
+        @Override
+        public String getSecretRef() {
+            return secretRef;
+        }
+
+        @Override
+        public boolean isActive() {
+            return active.get();
+        }
+
+        @Override
+        public void unRegister() {
+            if (active.compareAndSet(true, false)) {
+                unregister(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.flipkart.grayskull.auth;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.flipkart.grayskull.models.response.Response;
+import com.flipkart.grayskull.models.response.TokenResult;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Authentication header provider that exchanges Basic credentials for short lived signed bearer tokens, which
+ * the server verifies without a password check.
+ * <p>
+ * Tokens are fetched and refreshed on a background thread once {@code refreshRatio} of their lifetime has
+ * passed, so {@link #getAuthHeader()} never blocks on the network. Until the first token arrives, or when a
+ * token expires because the server could not be reached, the Basic header is returned instead, which the
+ * server accepts as well. Failed refreshes are retried with exponential backoff.
+ * </p>
+ * <p>
+ * Requires bearer tokens to be enabled on the server. {@link #close()} stops the background thread.
+ * </p>
+ */
+public final class SignedTokenAuthHeaderProvider implements GrayskullAuthHeaderProvider, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(SignedTokenAuthHeaderProvider.class);
+
+    private static final String TOKEN_PATH = "/v1/auth/token";
+    private static final long MIN_RETRY_DELAY_MILLIS = 500;
+    private static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final long EXPIRY_MARGIN_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final String tokenUrl;
+    private final BasicAuthHeaderProvider basicAuthHeaderProvider;
+    private final double refreshRatio;
+    private final OkHttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private volatile Token current;
+    private long retryDelayMillis = MIN_RETRY_DELAY_MILLIS;
+
+    /**
+     * Creates the provider and starts fetching the first token, refreshing tokens after 80% of their lifetime.
+     *
+     * @param host     the Grayskull server URL, e.g. "https://grayskull.example.com"
+     * @param username the user name
+     * @param password the password
+     */
+    public SignedTokenAuthHeaderProvider(String host, String username, String password) {
+        this(host, username, password, 0.8);
+    }
+
+    /**
+     * Creates the provider and starts fetching the first token.
+     *
+     * @param host         the Grayskull server URL, e.g. "https://grayskull.example.com"
+     * @param username     the user name
+     * @param password     the password
+     * @param refreshRatio the fraction of the lifetime of a token after which it is refreshed, between 0 and 1
+     */
+    public SignedTokenAuthHeaderProvider(String host, String username, String password, double refreshRatio) {
+        if (host == null) {
+            throw new IllegalArgumentException("Host cannot be null");
+        }
+        if (refreshRatio <= 0 || refreshRatio >= 1) {
+            throw new IllegalArgumentException("refreshRatio must be between 0 and 1");
+        }
+        this.basicAuthHeaderProvider = new BasicAuthHeaderProvider(username, password);
+        this.tokenUrl = (host.endsWith("/") ? host.substring(0, host.length() - 1) : host) + TOKEN_PATH;
+        this.refreshRatio = refreshRatio;
+        this.httpClient = new OkHttpClient.Builder()
+                .connectTimeout(10, TimeUnit.SECONDS)
+                .readTimeout(10, TimeUnit.SECONDS)
+                .build();
+        this.objectMapper = new ObjectMapper().registerModule(new ParameterNamesModule());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grayskull-token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(this::refresh);
+    }
+
+    @Override
+    public String getAuthHeader() {
+        Token token = current;
+        if (token != null && System.currentTimeMillis() < token.expiresAtMillis - EXPIRY_MARGIN_MILLIS) {
+            return token.header;
+        }
+        return basicAuthHeaderProvider.getAuthHeader();
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            scheduler.shutdownNow();
+            httpClient.dispatcher().executorService().shutdown();
+            httpClient.connectionPool().evictAll();
+        }
+    }
+
+    /**
+     * Fetches a new token and schedules the next refresh. Only ever runs on the scheduler thread.
+     */
+    private void refresh() {
+        if (closed.get()) {
+            return;
+        }
+        long delayMillis;
+        try {
+            long requestedAtMillis = System.currentTimeMillis();
+            TokenResult result = fetchToken();
+            long lifetimeMillis = TimeUnit.SECONDS.toMillis(result.getExpiresIn());
+            current = new Token("Bearer " + result.getToken(), requestedAtMillis + lifetimeMillis);
+            retryDelayMillis = MIN_RETRY_DELAY_MILLIS;
+            delayMillis = Math.max(MIN_RETRY_DELAY_MILLIS, (long) (lifetimeMillis * refreshRatio));
+            log.debug("Obtained token valid for {} ms, refreshing in {} ms", lifetimeMillis, delayMillis);
+        } catch (IOException | RuntimeException e) {
+            delayMillis = retryDelayMillis;
+            retryDelayMillis = Math.min(MAX_RETRY_DELAY_MILLIS, retryDelayMillis * 2);
+            log.warn("Failed to obtain token, retrying in {} ms", delayMillis, e);
+        }
+        if (!closed.get()) {
+            scheduler.schedule(this::refresh, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private TokenResult fetchToken() throws IOException {
+        Request request = new Request.Builder()
+                .url(tokenUrl)
+                .header("Authorization", basicAuthHeaderProvider.getAuthHeader())
+                .post(RequestBody.create(new byte[0], null))
+                .build();
+        try (okhttp3.Response response = httpClient.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                throw new IOException("Token request failed with status " + response.code());
+            }
+            Response<TokenResult> parsed = objectMapper.readValue(body.string(),
+                    new TypeReference<Response<TokenResult>>() {
+                    });
+            if (parsed.getData() == null || parsed.getData().getToken() == null) {
+                throw new IOException("Token response has no token");
+            }
+            return parsed.getData();
+        }
+    }
+
+    private static final class Token {
+        private final String header;
+        private final long expiresAtMillis;
+
+        private Token(String header, long expiresAtMillis) {
+            this.header = header;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
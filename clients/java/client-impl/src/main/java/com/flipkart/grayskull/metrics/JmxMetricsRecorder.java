@@ -13,6 +13,7 @@ final class JmxMetricsRecorder implements MetricsRecorder {
     
     private final ConcurrentHashMap<String, DurationTracker> durationTrackers = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, RetryTracker> retryTrackers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CounterTracker> cacheTrackers = new ConcurrentHashMap<>();
 
     @Override
     public void recordRequest(String name, int statusCode, long durationMs) {
@@ -75,6 +76,20 @@ final class JmxMetricsRecorder implements MetricsRecorder {
         }).record(attemptNumber);
     }
 
+    @Override
+    public void recordCacheAccess(String name, String result) {
+        cacheTrackers.computeIfAbsent(name + "." + result, k -> {
+            try {
+                ObjectName metricName = new ObjectName("Grayskull:type=CacheMetrics,name=" + ObjectName.quote(k));
+                CounterTracker tracker = new CounterTracker();
+                ManagementFactory.getPlatformMBeanServer().registerMBean(tracker, metricName);
+                return tracker;
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to register JMX cache tracker for: " + k, e);
+            }
+        }).increment();
+    }
+
     @Override
     public String getRecorderName() {
         return "JMX";
@@ -199,5 +214,27 @@ final class JmxMetricsRecorder implements MetricsRecorder {
             return c > 0 ? (double) totalAttempts.get() / c : 0;
         }
     }
-}
 
+    /**
+     * JMX MBean interface for exposing a simple counter.
+     */
+    public interface CounterTrackerMBean {
+        long getCount();
+    }
+
+    /**
+     * JMX MBean implementation for counting events.
+     */
+    public static final class CounterTracker implements CounterTrackerMBean {
+        private final AtomicLong count = new AtomicLong(0);
+
+        public void increment() {
+            count.incrementAndGet();
+        }
+
+        @Override
+        public long getCount() {
+            return count.get();
+        }
+    }
+}
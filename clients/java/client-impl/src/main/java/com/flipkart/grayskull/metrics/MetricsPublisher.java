@@ -68,6 +68,20 @@ public final class MetricsPublisher {
         recorder.recordRetry(url, attemptNumber, success);
     }
 
+    /**
+     * Record a lookup in the client-side cache.
+     * If metrics are disabled through configuration, this method will be a no-op.
+     *
+     * @param name The cached operation
+     * @param result The result of the lookup (e.g., "hit", "miss", "stale")
+     */
+    public void recordCacheAccess(String name, String result) {
+        if (!metricsEnabled) {
+            return;
+        }
+        recorder.recordCacheAccess(name, result);
+    }
+
     /**
      * Detects which metrics recorder to use based on classpath availability.
      * <p>
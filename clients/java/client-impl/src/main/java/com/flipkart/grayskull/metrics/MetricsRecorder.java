@@ -24,6 +24,14 @@ interface MetricsRecorder {
      * @param success Whether the retry eventually succeeded
      */
     void recordRetry(String url, int attemptNumber, boolean success);
+
+    /**
+     * Record a lookup in the client-side cache.
+     *
+     * @param name The cached operation
+     * @param result The result of the lookup (e.g., "hit", "miss", "stale")
+     */
+    void recordCacheAccess(String name, String result);
     
     /**
      * Get the name of this metrics recorder implementation.
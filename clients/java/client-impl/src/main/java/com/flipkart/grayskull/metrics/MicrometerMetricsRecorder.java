@@ -53,6 +53,14 @@ final class MicrometerMetricsRecorder implements MetricsRecorder {
                 .increment();
     }
 
+    @Override
+    public void recordCacheAccess(String name, String result) {
+        meterRegistry.counter("grayskull_client_cache",
+                "operation", name,
+                "result", result)
+                .increment();
+    }
+
     @Override
     public String getRecorderName() {
         return "Micrometer";
@@ -99,6 +99,103 @@ public final class GrayskullClientConfiguration {
     @Setter
     private boolean metricsEnabled = true;
 
+    /**
+     * The time in seconds the server holds a watch request open waiting for secret changes.
+     * <p>
+     * All refresh hooks of a client share a single long-poll watch request. A longer timeout
+     * means fewer idle round trips to the server.
+     * </p>
+     * <p>
+     * Default: 30 seconds
+     * </p>
+     */
+    private int watchTimeout = 30;
+
+    /**
+     * The number of threads used to invoke refresh hooks.
+     * <p>
+     * Hooks of the same secret are always invoked in order on one thread at a time, so this only
+     * bounds how many secrets can be refreshed concurrently.
+     * </p>
+     * <p>
+     * Default: 2
+     * </p>
+     */
+    private int refreshHookThreads = 2;
+
+    /**
+     * The maximum number of secret refreshes waiting for a free refresh hook thread.
+     * <p>
+     * Since refreshes of the same secret are coalesced, at most one refresh per secret is ever queued.
+     * </p>
+     * <p>
+     * Default: 1000
+     * </p>
+     */
+    private int refreshHookQueueSize = 1000;
+
+    /**
+     * The maximum delay in milliseconds between attempts to re-establish the watch request.
+     * <p>
+     * After a failure the watch is retried with exponential backoff with jitter, starting at
+     * {@link #minRetryDelay} and capped at this value.
+     * </p>
+     * <p>
+     * Default: 60000ms (1 minute)
+     * </p>
+     */
+    private int maxReconnectDelay = 60000;
+
+    /**
+     * Whether to cache secret values returned by {@code getSecret}.
+     * <p>
+     * When enabled, repeated reads of the same secret are served from memory. Entries are refreshed in
+     * the background shortly before they expire and are served stale if the server cannot be reached.
+     * </p>
+     * <p>
+     * Default: false
+     * </p>
+     */
+    @Setter
+    private boolean cacheEnabled = false;
+
+    /**
+     * The time in milliseconds a cached secret value is served before it must be fetched again.
+     * <p>
+     * Default: 300000ms (5 minutes)
+     * </p>
+     */
+    private long cacheTtl = 300000;
+
+    /**
+     * The maximum number of secrets held in the cache. The least recently used secret is evicted first.
+     * <p>
+     * Default: 1000
+     * </p>
+     */
+    private int cacheMaxEntries = 1000;
+
+    /**
+     * The window in milliseconds before expiry during which a cached secret is refreshed in the background.
+     * <p>
+     * Each entry picks a random point in the first half of this window, so that clients which loaded a
+     * secret at the same time do not all refresh it at the same time. A value of 0 disables refresh-ahead.
+     * </p>
+     * <p>
+     * Default: 60000ms (1 minute)
+     * </p>
+     */
+    private long cacheRefreshAhead = 60000;
+
+    /**
+     * The time in milliseconds after expiry during which a cached secret is still served if the server
+     * cannot be reached or responds with a server error.
+     * <p>
+     * Default: 3600000ms (1 hour)
+     * </p>
+     */
+    private long cacheMaxStale = 3600000;
+
     /**
      * Sets the Grayskull server endpoint URL.
      *
@@ -180,4 +277,108 @@ public final class GrayskullClientConfiguration {
         }
         this.minRetryDelay = minRetryDelay;
     }
+
+    /**
+     * Sets the time the server holds a watch request open waiting for secret changes.
+     *
+     * @param watchTimeout the watch timeout in seconds (must be between 1 and 120)
+     * @throws IllegalArgumentException if watchTimeout is less than 1 or greater than 120
+     */
+    public void setWatchTimeout(int watchTimeout) {
+        if (watchTimeout < 1 || watchTimeout > 120) {
+            throw new IllegalArgumentException("Watch timeout must be between 1 and 120 seconds, got: " + watchTimeout);
+        }
+        this.watchTimeout = watchTimeout;
+    }
+
+    /**
+     * Sets the number of threads used to invoke refresh hooks.
+     *
+     * @param refreshHookThreads the number of threads (must be positive)
+     * @throws IllegalArgumentException if refreshHookThreads is not positive
+     */
+    public void setRefreshHookThreads(int refreshHookThreads) {
+        if (refreshHookThreads <= 0) {
+            throw new IllegalArgumentException("Refresh hook threads must be positive, got: " + refreshHookThreads);
+        }
+        this.refreshHookThreads = refreshHookThreads;
+    }
+
+    /**
+     * Sets the maximum number of secret refreshes waiting for a free refresh hook thread.
+     *
+     * @param refreshHookQueueSize the queue size (must be positive)
+     * @throws IllegalArgumentException if refreshHookQueueSize is not positive
+     */
+    public void setRefreshHookQueueSize(int refreshHookQueueSize) {
+        if (refreshHookQueueSize <= 0) {
+            throw new IllegalArgumentException("Refresh hook queue size must be positive, got: " + refreshHookQueueSize);
+        }
+        this.refreshHookQueueSize = refreshHookQueueSize;
+    }
+
+    /**
+     * Sets the maximum delay between attempts to re-establish the watch request.
+     *
+     * @param maxReconnectDelay the maximum reconnect delay in milliseconds (must be at least 1000ms)
+     * @throws IllegalArgumentException if maxReconnectDelay is less than 1000ms
+     */
+    public void setMaxReconnectDelay(int maxReconnectDelay) {
+        if (maxReconnectDelay < 1000) {
+            throw new IllegalArgumentException("Max reconnect delay must be at least 1000ms, got: " + maxReconnectDelay);
+        }
+        this.maxReconnectDelay = maxReconnectDelay;
+    }
+
+    /**
+     * Sets the time a cached secret value is served before it must be fetched again.
+     *
+     * @param cacheTtl the cache TTL in milliseconds (must be at least 1000ms)
+     * @throws IllegalArgumentException if cacheTtl is less than 1000ms
+     */
+    public void setCacheTtl(long cacheTtl) {
+        if (cacheTtl < 1000) {
+            throw new IllegalArgumentException("Cache TTL must be at least 1000ms, got: " + cacheTtl);
+        }
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * Sets the maximum number of secrets held in the cache.
+     *
+     * @param cacheMaxEntries the maximum number of entries (must be positive)
+     * @throws IllegalArgumentException if cacheMaxEntries is not positive
+     */
+    public void setCacheMaxEntries(int cacheMaxEntries) {
+        if (cacheMaxEntries <= 0) {
+            throw new IllegalArgumentException("Cache max entries must be positive, got: " + cacheMaxEntries);
+        }
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    /**
+     * Sets the window before expiry during which a cached secret is refreshed in the background.
+     *
+     * @param cacheRefreshAhead the refresh-ahead window in milliseconds (must not be negative)
+     * @throws IllegalArgumentException if cacheRefreshAhead is negative
+     */
+    public void setCacheRefreshAhead(long cacheRefreshAhead) {
+        if (cacheRefreshAhead < 0) {
+            throw new IllegalArgumentException("Cache refresh ahead cannot be negative, got: " + cacheRefreshAhead);
+        }
+        this.cacheRefreshAhead = cacheRefreshAhead;
+    }
+
+    /**
+     * Sets the time after expiry during which a cached secret is served if the server is unavailable.
+     *
+     * @param cacheMaxStale the maximum staleness in milliseconds (must not be negative)
+     * @throws IllegalArgumentException if cacheMaxStale is negative
+     */
+    public void setCacheMaxStale(long cacheMaxStale) {
+        if (cacheMaxStale < 0) {
+            throw new IllegalArgumentException("Cache max stale cannot be negative, got: " + cacheMaxStale);
+        }
+        this.cacheMaxStale = cacheMaxStale;
+    }
 }
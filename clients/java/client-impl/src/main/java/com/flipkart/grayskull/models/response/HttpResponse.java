@@ -7,7 +7,7 @@ import lombok.RequiredArgsConstructor;
  * Represents a raw HTTP response.
  * <p>
  * This class captures the essential parts of an HTTP response needed for processing:
- * status code, body, content type, and protocol. It is immutable and thread-safe.
+ * status code, body, content type, protocol and entity tag. It is immutable and thread-safe.
  * </p>
  */
 @Getter
@@ -17,5 +17,10 @@ public class HttpResponse {
     private final String body;
     private final String contentType;
     private final String protocol;
+    private final String eTag;
+
+    public HttpResponse(int statusCode, String body, String contentType, String protocol) {
+        this(statusCode, body, contentType, protocol, null);
+    }
 }
 
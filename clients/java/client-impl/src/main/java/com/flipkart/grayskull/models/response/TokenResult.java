@@ -0,0 +1,25 @@
+package com.flipkart.grayskull.models.response;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A bearer token issued by the server in exchange for Basic credentials.
+ */
+@Getter
+@AllArgsConstructor(onConstructor = @__(@JsonCreator))
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class TokenResult {
+
+    /**
+     * The token, sent as {@code Authorization: Bearer <token>}.
+     */
+    private final String token;
+
+    /**
+     * Seconds until the token expires, counted from the time of the response.
+     */
+    private final long expiresIn;
+}
@@ -0,0 +1,48 @@
+package com.flipkart.grayskull.models.response;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Result of a watch request on a set of secrets.
+ * <p>
+ * An empty list of changes means the watch timed out without any of the secrets changing.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor(onConstructor = @__(@JsonCreator))
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class WatchResult {
+
+    /**
+     * The watched secrets whose data version or state differs from the one sent in the request.
+     */
+    private final List<SecretChange> changes;
+
+    /**
+     * The latest state of a changed secret.
+     */
+    @Getter
+    @AllArgsConstructor(onConstructor = @__(@JsonCreator))
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static final class SecretChange {
+
+        private final String projectId;
+
+        private final String name;
+
+        /**
+         * The current data version, or {@code null} if the secret does not exist anymore.
+         */
+        private final Integer dataVersion;
+
+        /**
+         * The lifecycle state of the secret, or {@code null} if the secret does not exist anymore.
+         */
+        private final String state;
+    }
+}
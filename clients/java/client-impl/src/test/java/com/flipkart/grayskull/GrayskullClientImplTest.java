@@ -10,6 +10,7 @@ import com.flipkart.grayskull.models.exceptions.GrayskullException;
 import com.flipkart.grayskull.hooks.RefreshHandlerRef;
 import com.flipkart.grayskull.hooks.SecretRefreshHook;
 import com.flipkart.grayskull.models.response.Response;
+import okhttp3.Call;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -170,6 +171,49 @@ class GrayskullClientImplTest {
         );
     }
 
+    @Test
+    void testGetSecret_cacheEnabled_servesRepeatedReadsFromCache() throws Exception {
+        // Given
+        GrayskullClientConfiguration config = new GrayskullClientConfiguration();
+        config.setHost("https://test.grayskull.com");
+        config.setCacheEnabled(true);
+        GrayskullClientImpl cachingClient = new GrayskullClientImpl(mockAuthProvider, config);
+        Field httpClientField = GrayskullClientImpl.class.getDeclaredField("httpClient");
+        httpClientField.setAccessible(true);
+        httpClientField.set(cachingClient, mockHttpClient);
+        when(mockHttpClient.doGetWithRetry(anyString()))
+                .thenReturn(createHttpResponse(new SecretValue(1, "username", "password123")));
+
+        try {
+            // When
+            SecretValue first = cachingClient.getSecret("my-project:database-password");
+            SecretValue second = cachingClient.getSecret("my-project:database-password");
+
+            // Then
+            assertSame(first, second);
+            verify(mockHttpClient, times(1)).doGetWithRetry(anyString());
+            verify(mockHttpClient, never()).doGetWithRetry(anyString(), anyString());
+        } finally {
+            cachingClient.close();
+        }
+    }
+
+    @Test
+    void testGetSecret_cacheDisabled_neverSendsConditionalRequests() throws Exception {
+        // Given
+        Response<SecretValue> response = new Response<>(new SecretValue(1, "username", "password123"), "Success");
+        when(mockHttpClient.doGetWithRetry(anyString())).thenReturn(new HttpResponse(200,
+                objectMapper.writeValueAsString(response), "application/json", "http/1.1", "\"secret-id.1.1\""));
+
+        // When
+        client.getSecret("my-project:database-password");
+        client.getSecret("my-project:database-password");
+
+        // Then
+        verify(mockHttpClient, times(2)).doGetWithRetry(anyString());
+        verify(mockHttpClient, never()).doGetWithRetry(anyString(), anyString());
+    }
+
     @Test
     void testGetSecret_nullSecretRef() {
         // When/Then
@@ -274,16 +318,17 @@ class GrayskullClientImplTest {
             System.out.println("Secret refreshed: " + secretVal);
         };
 
+        lenient().when(mockHttpClient.newWatchCall(anyString(), anyString())).thenReturn(mock(Call.class));
+
         // When
         RefreshHandlerRef handle = client.registerRefreshHook(secretRef, hook);
 
         // Then
         assertNotNull(handle);
-        // No-op implementation returns empty string and is always inactive
-        assertEquals("", handle.getSecretRef());
-        assertFalse(handle.isActive());
+        assertEquals(secretRef, handle.getSecretRef());
+        assertTrue(handle.isActive());
         
-        // Verify hook was never called (placeholder implementation)
+        // Verify hook was not called without an update
         assertEquals(0, callCount.get());
     }
 
@@ -293,11 +338,37 @@ class GrayskullClientImplTest {
         String secretRef = "secengg-stage:secret-1";
         SecretRefreshHook hook = (secretVal) -> System.out.println("test");
 
+        lenient().when(mockHttpClient.newWatchCall(anyString(), anyString())).thenReturn(mock(Call.class));
+
         // When
         RefreshHandlerRef handle = client.registerRefreshHook(secretRef, hook);
-        
-        // unRegister() is a no-op but shouldn't throw
         handle.unRegister();
+
+        // Then
+        assertFalse(handle.isActive());
+        // Unregistering again has no effect
+        handle.unRegister();
+        assertFalse(handle.isActive());
+    }
+
+    @Test
+    void testRegisterRefreshHook_invalidSecretRef() {
+        // When/Then
+        assertThrows(IllegalArgumentException.class, () -> client.registerRefreshHook("no-separator", (secretVal) -> {}));
+    }
+
+    @Test
+    void testClose_deactivatesRefreshHooks() {
+        // Given
+        lenient().when(mockHttpClient.newWatchCall(anyString(), anyString())).thenReturn(mock(Call.class));
+        RefreshHandlerRef handle = client.registerRefreshHook("project:secret", (secretVal) -> {});
+
+        // When
+        client.close();
+
+        // Then
+        assertFalse(handle.isActive());
+        assertThrows(IllegalStateException.class, () -> client.registerRefreshHook("project:secret", (secretVal) -> {}));
     }
 
     @Test
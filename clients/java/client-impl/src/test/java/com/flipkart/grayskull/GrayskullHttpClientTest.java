@@ -306,6 +306,45 @@ class GrayskullHttpClientTest {
         assertEquals(1, mockWebServer.getRequestCount());
     }
 
+    @Test
+    void testDoGetWithRetry_withIfNoneMatch_returnsNotModifiedResponse() throws InterruptedException {
+        // Given
+        httpClient = new GrayskullHttpClient(mockAuthProvider, config);
+        String url = mockWebServer.url("/test").toString();
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(304)
+                .addHeader("ETag", "\"secret-id.1.1\""));
+
+        // When
+        HttpResponse result = httpClient.doGetWithRetry(url, "\"secret-id.1.1\"");
+
+        // Then
+        assertEquals("\"secret-id.1.1\"", mockWebServer.takeRequest(1, TimeUnit.SECONDS).getHeader("If-None-Match"));
+        assertEquals(304, result.getStatusCode());
+        assertEquals("\"secret-id.1.1\"", result.getETag());
+    }
+
+    @Test
+    void testDoGetWithRetry_withoutIfNoneMatch_sendsUnconditionalRequests() throws InterruptedException {
+        // Given
+        httpClient = new GrayskullHttpClient(mockAuthProvider, config);
+        String url = mockWebServer.url("/test").toString();
+        for (int i = 0; i < 2; i++) {
+            mockWebServer.enqueue(new MockResponse()
+                    .setResponseCode(200)
+                    .setBody(toJson(new Response<>(new SecretValue(1, "pub", "priv"), "Success")))
+                    .addHeader("ETag", "\"secret-id.1.1\""));
+        }
+
+        // When
+        httpClient.doGetWithRetry(url);
+        httpClient.doGetWithRetry(url);
+
+        // Then
+        assertNull(mockWebServer.takeRequest(1, TimeUnit.SECONDS).getHeader("If-None-Match"));
+        assertNull(mockWebServer.takeRequest(1, TimeUnit.SECONDS).getHeader("If-None-Match"));
+    }
+
     private String toJson(Object obj) {
         try {
             return objectMapper.writeValueAsString(obj);
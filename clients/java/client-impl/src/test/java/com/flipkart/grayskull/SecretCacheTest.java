@@ -0,0 +1,212 @@
+package com.flipkart.grayskull;
+
+import com.flipkart.grayskull.models.GrayskullClientConfiguration;
+import com.flipkart.grayskull.models.SecretValue;
+import com.flipkart.grayskull.models.exceptions.GrayskullException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SecretCache, driven by a manual clock and a refresher that runs tasks only when asked to.
+ */
+class SecretCacheTest {
+
+    private static final String SECRET_REF = "project:secret";
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicInteger serverVersion = new AtomicInteger(1);
+    private final List<Runnable> pendingRefreshes = new ArrayList<>();
+    private final List<String> cachedETags = new ArrayList<>();
+    private GrayskullException serverError;
+    private GrayskullClientConfiguration configuration;
+
+    @BeforeEach
+    void setUp() {
+        configuration = new GrayskullClientConfiguration();
+        configuration.setHost("https://test.grayskull.com");
+        configuration.setCacheTtl(10_000);
+        configuration.setCacheRefreshAhead(2_000);
+        configuration.setCacheMaxStale(60_000);
+        configuration.setCacheMaxEntries(2);
+    }
+
+    @Test
+    void get_WithinTtl_ShouldServeFromCache() {
+        SecretCache cache = newCache();
+
+        cache.get(SECRET_REF);
+        now.addAndGet(7_000);
+        SecretValue value = cache.get(SECRET_REF);
+
+        assertEquals(1, value.getDataVersion());
+        assertEquals(1, loads.get());
+        assertTrue(pendingRefreshes.isEmpty());
+    }
+
+    @Test
+    void get_AfterTtl_ShouldLoadAgain() {
+        SecretCache cache = newCache();
+
+        cache.get(SECRET_REF);
+        serverVersion.set(2);
+        now.addAndGet(10_000);
+
+        assertEquals(2, cache.get(SECRET_REF).getDataVersion());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_AfterTtl_ShouldPassCachedETagAndKeepUnmodifiedValue() {
+        SecretCache cache = newCache();
+
+        SecretValue first = cache.get(SECRET_REF);
+        now.addAndGet(10_000);
+        SecretValue second = cache.get(SECRET_REF);
+
+        assertSame(first, second);
+        assertEquals(Arrays.asList(null, "\"project:secret.1\""), cachedETags);
+        // The unmodified value is cached for another ttl
+        now.addAndGet(7_000);
+        cache.get(SECRET_REF);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_InRefreshAheadWindow_ShouldRefreshInBackgroundOnce() {
+        SecretCache cache = newCache();
+
+        cache.get(SECRET_REF);
+        serverVersion.set(2);
+        now.addAndGet(9_000);
+
+        assertEquals(1, cache.get(SECRET_REF).getDataVersion());
+        assertEquals(1, cache.get(SECRET_REF).getDataVersion());
+        assertEquals(1, pendingRefreshes.size());
+
+        runPendingRefreshes();
+        assertEquals(2, cache.get(SECRET_REF).getDataVersion());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void refreshPoint_ShouldBeJitteredWithinFirstHalfOfWindow() {
+        for (int i = 0; i < 20; i++) {
+            pendingRefreshes.clear();
+            SecretCache cache = newCache();
+            cache.get(SECRET_REF);
+
+            now.addAndGet(7_999);
+            cache.get(SECRET_REF);
+            assertTrue(pendingRefreshes.isEmpty());
+
+            now.addAndGet(1_001);
+            cache.get(SECRET_REF);
+            assertEquals(1, pendingRefreshes.size());
+            now.addAndGet(100_000);
+        }
+    }
+
+    @Test
+    void get_WhenServerFailsAfterExpiry_ShouldServeStale() {
+        SecretCache cache = newCache();
+        cache.get(SECRET_REF);
+
+        serverError = new GrayskullException(503, "Service unavailable");
+        now.addAndGet(30_000);
+
+        assertEquals(1, cache.get(SECRET_REF).getDataVersion());
+        // Until the retry delay passes the server is not asked again
+        assertEquals(1, cache.get(SECRET_REF).getDataVersion());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_WhenStaleForTooLong_ShouldThrow() {
+        SecretCache cache = newCache();
+        cache.get(SECRET_REF);
+
+        serverError = new GrayskullException(500, "Error communicating with Grayskull server");
+        now.addAndGet(10_000 + 60_000);
+
+        assertThrows(GrayskullException.class, () -> cache.get(SECRET_REF));
+    }
+
+    @Test
+    void get_WhenClientError_ShouldNotServeStale() {
+        SecretCache cache = newCache();
+        cache.get(SECRET_REF);
+
+        serverError = new GrayskullException(404, "Secret not found");
+        now.addAndGet(10_000);
+
+        GrayskullException exception = assertThrows(GrayskullException.class, () -> cache.get(SECRET_REF));
+        assertEquals(404, exception.getStatusCode());
+    }
+
+    @Test
+    void failedRefresh_ShouldKeepServingAndRetryLater() {
+        SecretCache cache = newCache();
+        cache.get(SECRET_REF);
+
+        serverError = new GrayskullException(503, "Service unavailable");
+        now.addAndGet(9_000);
+        cache.get(SECRET_REF);
+        runPendingRefreshes();
+
+        assertEquals(1, cache.get(SECRET_REF).getDataVersion());
+        assertTrue(pendingRefreshes.isEmpty());
+
+        serverError = null;
+        serverVersion.set(2);
+        now.addAndGet(500);
+        cache.get(SECRET_REF);
+        runPendingRefreshes();
+
+        assertEquals(2, cache.get(SECRET_REF).getDataVersion());
+    }
+
+    @Test
+    void put_ShouldEvictLeastRecentlyUsed() {
+        SecretCache cache = newCache();
+
+        cache.get("project:a");
+        cache.get("project:b");
+        cache.get("project:a");
+        cache.get("project:c");
+        cache.get("project:a");
+        cache.get("project:b");
+
+        assertEquals(4, loads.get());
+    }
+
+    private SecretCache newCache() {
+        return new SecretCache((secretRef, cached) -> {
+            loads.incrementAndGet();
+            cachedETags.add(cached != null ? cached.getETag() : null);
+            if (serverError != null) {
+                throw serverError;
+            }
+            int version = serverVersion.get();
+            String eTag = "\"" + secretRef + "." + version + "\"";
+            if (cached != null && eTag.equals(cached.getETag())) {
+                return cached;
+            }
+            return new SecretCache.CachedSecret(new SecretValue(version, "public", "private-" + version), eTag);
+        }, configuration, null, pendingRefreshes::add, now::get);
+    }
+
+    private void runPendingRefreshes() {
+        List<Runnable> refreshes = new ArrayList<>(pendingRefreshes);
+        pendingRefreshes.clear();
+        refreshes.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,236 @@
+package com.flipkart.grayskull;
+
+import com.flipkart.grayskull.hooks.RefreshHandlerRef;
+import com.flipkart.grayskull.models.GrayskullClientConfiguration;
+import com.flipkart.grayskull.models.SecretValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SecretRefreshEngine, driven by a fake watch whose responses are scripted by the test.
+ */
+class SecretRefreshEngineTest {
+
+    private static final String SECRET_REF = "project:secret";
+
+    private final FakeWatch watch = new FakeWatch();
+    private final AtomicInteger serverVersion = new AtomicInteger(1);
+    private final AtomicInteger fetchCount = new AtomicInteger();
+    private GrayskullClientConfiguration configuration;
+    private SecretRefreshEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        configuration = new GrayskullClientConfiguration();
+        configuration.setHost("https://test.grayskull.com");
+        configuration.setRefreshHookThreads(1);
+        engine = new SecretRefreshEngine(watch, secretRef -> {
+            fetchCount.incrementAndGet();
+            int version = serverVersion.get();
+            return new SecretValue(version, "public", "private-" + version);
+        }, configuration, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    void register_ShouldBaselineWithoutInvokingHook() throws Exception {
+        List<SecretValue> updates = new CopyOnWriteArrayList<>();
+        engine.register(SECRET_REF, updates::add);
+
+        assertNull(watch.nextRequest().get(SECRET_REF));
+        watch.respond(Collections.singletonMap(SECRET_REF, 1));
+
+        assertEquals(1, watch.nextRequest().get(SECRET_REF));
+        assertTrue(updates.isEmpty());
+        assertEquals(0, fetchCount.get());
+    }
+
+    @Test
+    void change_ShouldInvokeAllHooksOfSecretWithLatestValue() throws Exception {
+        CountDownLatch latch = new CountDownLatch(2);
+        List<SecretValue> updates = new CopyOnWriteArrayList<>();
+        engine.register(SECRET_REF, value -> {
+            updates.add(value);
+            latch.countDown();
+        });
+        engine.register(SECRET_REF, value -> latch.countDown());
+        baseline(1);
+
+        serverVersion.set(2);
+        watch.respond(Collections.singletonMap(SECRET_REF, 2));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(2, updates.get(0).getDataVersion());
+        assertEquals(2, watch.nextRequest().get(SECRET_REF));
+    }
+
+    @Test
+    void burstOfChanges_ShouldBeCoalesced() throws Exception {
+        CountDownLatch firstHookRunning = new CountDownLatch(1);
+        CountDownLatch releaseHook = new CountDownLatch(1);
+        List<Integer> versions = new CopyOnWriteArrayList<>();
+        engine.register(SECRET_REF, value -> {
+            versions.add(value.getDataVersion());
+            firstHookRunning.countDown();
+            releaseHook.await();
+        });
+        baseline(1);
+
+        serverVersion.set(2);
+        watch.respond(Collections.singletonMap(SECRET_REF, 2));
+        assertTrue(firstHookRunning.await(5, TimeUnit.SECONDS));
+        // While the hook is busy the secret is rotated several times
+        for (int version = 3; version <= 5; version++) {
+            watch.nextRequest();
+            serverVersion.set(version);
+            watch.respond(Collections.singletonMap(SECRET_REF, version));
+        }
+        watch.nextRequest();
+        releaseHook.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (versions.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        assertEquals(Arrays.asList(2, 5), versions);
+    }
+
+    @Test
+    void recreatedSecret_ShouldInvokeHookWithNewValue() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<SecretValue> updates = new CopyOnWriteArrayList<>();
+        engine.register(SECRET_REF, value -> {
+            updates.add(value);
+            latch.countDown();
+        });
+        baseline(3);
+
+        watch.respond(Collections.singletonMap(SECRET_REF, null));
+        assertNull(watch.nextRequest().get(SECRET_REF));
+        serverVersion.set(1);
+        watch.respond(Collections.singletonMap(SECRET_REF, 1));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, updates.get(0).getDataVersion());
+        assertEquals(1, watch.nextRequest().get(SECRET_REF));
+    }
+
+    @Test
+    void unRegister_ShouldStopInvokingHook() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        RefreshHandlerRef handle = engine.register(SECRET_REF, value -> calls.incrementAndGet());
+        baseline(1);
+
+        handle.unRegister();
+        serverVersion.set(2);
+        watch.respond(Collections.singletonMap(SECRET_REF, 2));
+        Thread.sleep(100);
+
+        assertFalse(handle.isActive());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void failedWatch_ShouldReconnect() throws Exception {
+        engine.register(SECRET_REF, value -> { });
+        watch.nextRequest();
+
+        watch.fail(new RuntimeException("connection reset"));
+
+        assertNull(watch.nextRequest().get(SECRET_REF));
+    }
+
+    @Test
+    void backoff_ShouldGrowExponentiallyWithJitterUpToCap() {
+        configuration.setMinRetryDelay(100);
+        configuration.setMaxReconnectDelay(1000);
+        SecretRefreshEngine backoffEngine = new SecretRefreshEngine(watch, ref -> null, configuration, null);
+
+        for (int i = 0; i < 20; i++) {
+            long first = backoffEngine.backoff(1);
+            long third = backoffEngine.backoff(3);
+            long capped = backoffEngine.backoff(30);
+            assertTrue(first >= 50 && first <= 100, "first: " + first);
+            assertTrue(third >= 200 && third <= 400, "third: " + third);
+            assertTrue(capped >= 500 && capped <= 1000, "capped: " + capped);
+        }
+        backoffEngine.close();
+    }
+
+    private void baseline(int version) throws InterruptedException {
+        watch.nextRequest();
+        watch.respond(Collections.singletonMap(SECRET_REF, version));
+        assertEquals(version, watch.nextRequest().get(SECRET_REF));
+    }
+
+    /**
+     * A watch whose requests are observed and answered by the test thread, one at a time.
+     */
+    private static final class FakeWatch implements SecretRefreshEngine.SecretWatch {
+        private final BlockingQueue<Map<String, Integer>> requests = new LinkedBlockingQueue<>();
+        private final BlockingQueue<Object> responses = new LinkedBlockingQueue<>();
+
+        @Override
+        public SecretRefreshEngine.PendingWatch start(Map<String, Integer> knownVersions) {
+            return new SecretRefreshEngine.PendingWatch() {
+                private volatile boolean cancelled;
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public Map<String, Integer> await() throws Exception {
+                    requests.add(new HashMap<>(knownVersions));
+                    while (!cancelled) {
+                        Object response = responses.poll(10, TimeUnit.MILLISECONDS);
+                        if (response instanceof Exception) {
+                            throw (Exception) response;
+                        }
+                        if (response != null) {
+                            return (Map<String, Integer>) response;
+                        }
+                    }
+                    requests.remove(knownVersions);
+                    throw new IllegalStateException("cancelled");
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            };
+        }
+
+        Map<String, Integer> nextRequest() throws InterruptedException {
+            Map<String, Integer> request = requests.poll(5, TimeUnit.SECONDS);
+            assertNotNull(request, "expected a watch request");
+            return request;
+        }
+
+        void respond(Map<String, Integer> changes) {
+            responses.add(changes);
+        }
+
+        void fail(Exception e) {
+            responses.add(e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.flipkart.grayskull.auth;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignedTokenAuthHeaderProviderTest {
+
+    private MockWebServer server;
+    private SignedTokenAuthHeaderProvider provider;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (provider != null) {
+            provider.close();
+        }
+        server.shutdown();
+    }
+
+    @Test
+    void testGetAuthHeader_usesTokenOnceIssued() throws Exception {
+        server.enqueue(token("t1", 60));
+
+        provider = new SignedTokenAuthHeaderProvider(server.url("/").toString(), "user", "pass");
+
+        RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(request);
+        assertEquals("POST", request.getMethod());
+        assertEquals("/v1/auth/token", request.getPath());
+        assertEquals(new BasicAuthHeaderProvider("user", "pass").getAuthHeader(), request.getHeader("Authorization"));
+        awaitHeader("Bearer t1");
+    }
+
+    @Test
+    void testGetAuthHeader_fallsBackToBasicUntilTokenIsIssued() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(token("t1", 60));
+
+        provider = new SignedTokenAuthHeaderProvider(server.url("").toString(), "user", "pass");
+
+        assertNotNull(server.takeRequest(5, TimeUnit.SECONDS));
+        assertEquals(new BasicAuthHeaderProvider("user", "pass").getAuthHeader(), provider.getAuthHeader());
+        awaitHeader("Bearer t1");
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void testGetAuthHeader_refreshesTokenBeforeExpiry() throws Exception {
+        server.enqueue(token("t1", 60));
+        server.enqueue(token("t2", 60));
+
+        provider = new SignedTokenAuthHeaderProvider(server.url("").toString(), "user", "pass", 0.01);
+
+        awaitHeader("Bearer t1");
+        awaitHeader("Bearer t2");
+    }
+
+    @Test
+    void testConstructor_invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new SignedTokenAuthHeaderProvider(null, "user", "pass"));
+        assertThrows(IllegalArgumentException.class, () -> new SignedTokenAuthHeaderProvider("http://localhost", "user", "pass", 1));
+    }
+
+    private void awaitHeader(String expected) throws InterruptedException {
+        await(() -> expected.equals(provider.getAuthHeader()));
+        assertEquals(expected, provider.getAuthHeader());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    private static MockResponse token(String token, long expiresIn) {
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"data\":{\"token\":\"" + token + "\",\"tokenType\":\"Bearer\",\"expiresIn\":" + expiresIn
+                        + "},\"message\":\"Successfully issued token.\"}");
+    }
+}
@@ -123,6 +123,27 @@ class MicrometerMetricsRecorderTest {
         assertEquals(1.0, counter.count(), 0.01);
     }
     
+    @Test
+    void testRecordCacheAccess() {
+        recorder.recordCacheAccess("getSecret", "hit");
+        recorder.recordCacheAccess("getSecret", "hit");
+        recorder.recordCacheAccess("getSecret", "stale");
+
+        Counter hits = meterRegistry.find("grayskull_client_cache")
+                .tag("operation", "getSecret")
+                .tag("result", "hit")
+                .counter();
+        Counter stale = meterRegistry.find("grayskull_client_cache")
+                .tag("operation", "getSecret")
+                .tag("result", "stale")
+                .counter();
+
+        assertNotNull(hits);
+        assertEquals(2.0, hits.count(), 0.01);
+        assertNotNull(stale);
+        assertEquals(1.0, stale.count(), 0.01);
+    }
+
     @Test
     void testRecordMultipleRetries() {
         String url = "http://localhost:8080/v1/secrets";
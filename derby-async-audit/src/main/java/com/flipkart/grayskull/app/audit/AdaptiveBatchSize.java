@@ -0,0 +1,41 @@
+package com.flipkart.grayskull.app.audit;
+
+import java.time.Duration;
+
+/**
+ * The number of audit entries to move to the repository in one batch, adapted to how long the repository takes
+ * to store a batch. The size grows by half while full batches are stored in less than half of the target
+ * latency, and is halved whenever a batch takes longer than the target, but always stays between 1 and the
+ * maximum.
+ */
+final class AdaptiveBatchSize {
+    private final int maxSize;
+    private final long targetNanos;
+    private volatile int size;
+
+    AdaptiveBatchSize(int initialSize, int maxSize, Duration targetLatency) {
+        this.maxSize = Math.max(initialSize, maxSize);
+        this.targetNanos = targetLatency.toNanos();
+        this.size = initialSize;
+    }
+
+    int get() {
+        return size;
+    }
+
+    /**
+     * Adapts the size to the time it took to store a batch.
+     *
+     * @param batchSize    The number of entries in the batch.
+     * @param elapsedNanos The time it took to store them.
+     */
+    void record(int batchSize, long elapsedNanos) {
+        int current = size;
+        if (elapsedNanos > targetNanos) {
+            size = Math.max(1, current / 2);
+        } else if (elapsedNanos < targetNanos / 2 && batchSize >= current) {
+            // Only a full batch says anything about whether a bigger one would still be fast enough
+            size = (int) Math.min(maxSize, current + current / 2L + 1);
+        }
+    }
+}
@@ -4,7 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flipkart.grayskull.spi.AsyncAuditLogger;
 import com.flipkart.grayskull.spi.repositories.AuditEntryRepository;
 import io.micrometer.core.instrument.MeterRegistry;
-import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -15,8 +16,9 @@ import java.io.IOException;
 import java.sql.SQLException;
 
 @Configuration
+@ConditionalOnProperty(name = "audit.spool", havingValue = "derby", matchIfMissing = true)
 @EnableMongoRepositories(basePackageClasses = AuditCheckpointRepository.class)
-@ConfigurationPropertiesScan
+@EnableConfigurationProperties(AuditProperties.class)
 @EnableScheduling
 public class AuditConfiguration {
 
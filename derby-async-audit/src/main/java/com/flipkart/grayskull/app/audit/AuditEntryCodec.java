@@ -0,0 +1,205 @@
+package com.flipkart.grayskull.app.audit;
+
+import com.flipkart.grayskull.spi.models.AuditEntry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A compact binary encoding of {@link AuditEntry} for spooling audit events locally.
+ * <p>
+ * An encoded entry starts with a version byte, followed by the fields in declaration order without any field names.
+ * Strings are the varint of their UTF-8 length plus one followed by the bytes, maps the varint of their size plus
+ * one followed by alternating keys and values, with zero standing for {@code null} in both cases. The resource version
+ * is the zigzag varint of the value plus one, and the timestamp a presence byte followed by the zigzag varint of the
+ * epoch seconds and the varint of the nanos.
+ * <p>
+ * The version byte is never the first byte of a JSON document, so {@link #isEncoded(byte[])} tells entries spooled
+ * by this codec apart from entries spooled as JSON before. Fields added to {@link AuditEntry} need a new version,
+ * and entries of older versions must still be decoded until they are drained.
+ */
+public final class AuditEntryCodec {
+    static final byte VERSION_1 = 1;
+    private static final int NULL = 0;
+
+    private AuditEntryCodec() {
+    }
+
+    /**
+     * @param data The spooled bytes.
+     * @return {@code true} if the bytes were encoded by {@link #encode(AuditEntry)}, {@code false} for JSON.
+     */
+    public static boolean isEncoded(byte[] data) {
+        return data.length > 0 && data[0] == VERSION_1;
+    }
+
+    public static byte[] encode(AuditEntry auditEntry) {
+        Output output = new Output();
+        output.writeByte(VERSION_1);
+        output.writeString(auditEntry.getId());
+        output.writeString(auditEntry.getProjectId());
+        output.writeString(auditEntry.getResourceType());
+        output.writeString(auditEntry.getResourceName());
+        Integer resourceVersion = auditEntry.getResourceVersion();
+        output.writeVarLong(resourceVersion == null ? NULL : zigzag(resourceVersion) + 1);
+        output.writeString(auditEntry.getAction());
+        output.writeString(auditEntry.getUserId());
+        output.writeMap(auditEntry.getIps());
+        Instant timestamp = auditEntry.getTimestamp();
+        if (timestamp == null) {
+            output.writeVarLong(NULL);
+        } else {
+            output.writeVarLong(1);
+            output.writeVarLong(zigzag(timestamp.getEpochSecond()));
+            output.writeVarLong(timestamp.getNano());
+        }
+        output.writeMap(auditEntry.getMetadata());
+        return Arrays.copyOf(output.buffer, output.size);
+    }
+
+    /**
+     * @param data Bytes produced by {@link #encode(AuditEntry)}.
+     * @return The decoded entry, with mutable maps.
+     * @throws IllegalArgumentException If the bytes are not an encoded entry of a known version.
+     */
+    public static AuditEntry decode(byte[] data) {
+        if (!isEncoded(data)) {
+            throw new IllegalArgumentException("Unknown audit entry encoding " + (data.length == 0 ? "<empty>" : data[0]));
+        }
+        Input input = new Input(data);
+        try {
+            AuditEntry auditEntry = new AuditEntry();
+            auditEntry.setId(input.readString());
+            auditEntry.setProjectId(input.readString());
+            auditEntry.setResourceType(input.readString());
+            auditEntry.setResourceName(input.readString());
+            long resourceVersion = input.readVarLong();
+            auditEntry.setResourceVersion(resourceVersion == NULL ? null : (int) unzigzag(resourceVersion - 1));
+            auditEntry.setAction(input.readString());
+            auditEntry.setUserId(input.readString());
+            auditEntry.setIps(input.readMap());
+            auditEntry.setTimestamp(input.readVarLong() == NULL ? null : Instant.ofEpochSecond(unzigzag(input.readVarLong()), input.readVarLong()));
+            auditEntry.setMetadata(input.readMap());
+            if (input.position != data.length) {
+                throw new IllegalArgumentException("Unexpected " + (data.length - input.position) + " bytes after audit entry");
+            }
+            return auditEntry;
+        } catch (IndexOutOfBoundsException | DateTimeException e) {
+            throw new IllegalArgumentException("Malformed audit entry", e);
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Output {
+        private byte[] buffer = new byte[256];
+        private int size;
+
+        void writeByte(byte value) {
+            ensureCapacity(1);
+            buffer[size++] = value;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            buffer[size++] = (byte) remaining;
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarLong(NULL);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeMap(Map<String, String> map) {
+            if (map == null) {
+                writeVarLong(NULL);
+                return;
+            }
+            writeVarLong(map.size() + 1L);
+            map.forEach((key, value) -> {
+                writeString(key);
+                writeString(value);
+            });
+        }
+
+        private void ensureCapacity(int bytes) {
+            if (size + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytes));
+            }
+        }
+    }
+
+    private static final class Input {
+        private final byte[] data;
+        private int position = 1;
+
+        private Input(byte[] data) {
+            this.data = data;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in audit entry");
+        }
+
+        String readString() {
+            long length = readVarLong();
+            if (length == NULL) {
+                return null;
+            }
+            if (length - 1 > data.length - position) {
+                throw new IllegalArgumentException("Truncated audit entry");
+            }
+            int bytes = (int) (length - 1);
+            String value = new String(data, position, bytes, StandardCharsets.UTF_8);
+            position += bytes;
+            return value;
+        }
+
+        Map<String, String> readMap() {
+            long size = readVarLong();
+            if (size == NULL) {
+                return null;
+            }
+            // every entry takes at least two bytes, so a corrupt size can not make us allocate a huge map
+            if (size - 1 > (data.length - position) / 2) {
+                throw new IllegalArgumentException("Truncated audit entry");
+            }
+            int entries = (int) (size - 1);
+            Map<String, String> map = new LinkedHashMap<>(entries * 4 / 3 + 1);
+            for (int i = 0; i < entries; i++) {
+                map.put(readString(), readString());
+            }
+            return map;
+        }
+    }
+}
@@ -36,6 +36,25 @@ public class AuditProperties {
     @Min(1)
     private int batchSize;
 
+    /**
+     * Upper bound for the batch size, which grows from {@code batchSize} while the DB stores batches within
+     * {@code drainTargetLatency} and shrinks when it does not.
+     */
+    @Min(1)
+    private int maxBatchSize = 10_000;
+
+    /**
+     * The time storing one batch into the DB should take at most. Larger batches are used while the DB is faster.
+     */
+    private Duration drainTargetLatency = Duration.ofSeconds(1);
+
+    /**
+     * Number of audit entries waiting in Derby at which they are persisted to the DB right away, without waiting
+     * for {@code batchTimeInterval}. Set to zero to only persist them on the interval.
+     */
+    @Min(0)
+    private long drainHighWaterMark = 10_000;
+
     /**
      * The time interval in which the cron job runs which persists the events to the DB. can use suffixes ns, us, ms, s, m, h, d
      * see {@link org.springframework.scheduling.annotation.Scheduled#fixedRateString() Scheduled.fixedRateString()}.
@@ -49,6 +68,26 @@ public class AuditProperties {
      */
     private Duration stalenessDuration = Duration.ZERO;
 
+    /**
+     * Maximum number of audit entries waiting in memory to be written to Derby. Callers block while it is full.
+     */
+    @Min(1)
+    private int writerQueueCapacity = 100_000;
+
+    /**
+     * Maximum number of audit entries written to Derby in one transaction.
+     */
+    @Min(1)
+    private int writerGroupSize = 1_000;
+
+    public AuditProperties(String derbyDirectory, String nodeName, int batchSize, String batchTimeInterval, Duration stalenessDuration) {
+        this.derbyDirectory = derbyDirectory;
+        this.nodeName = nodeName;
+        this.batchSize = batchSize;
+        this.batchTimeInterval = batchTimeInterval;
+        this.stalenessDuration = stalenessDuration;
+    }
+
     public String getDerbyUrl() {
         return "jdbc:derby:" + derbyDirectory + ";create=true";
     }
@@ -6,21 +6,57 @@ import com.flipkart.grayskull.spi.AsyncAuditLogger;
 import com.flipkart.grayskull.spi.models.AuditEntry;
 import com.flipkart.grayskull.spi.repositories.AuditEntryRepository;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Spools audit entries to an embedded Derby database, from which {@link #drain()} moves them to the
+ * {@link AuditEntryRepository}.
+ * <p>
+ * Callers only put entries on an in-memory queue. A single writer thread drains the queue, encodes the entries
+ * with {@link AuditEntryCodec} and inserts them with one JDBC batch and one commit per group through a connection and prepared statement of
+ * its own, so concurrent callers never contend on Derby and the cost of a commit is shared by the whole group.
+ * Because there is only one writer, ids become visible in increasing order, which the checkpoint relies on.
+ * Entries still queued are written on shutdown, but are lost if the process dies before that. Rows spooled as JSON
+ * by earlier versions are kept in the {@code event} column and are still drained.
+ * <p>
+ * {@link #drain()} moves the spooled entries to the repository in a pipeline: while one batch is stored by a
+ * separate thread, the next one is read from Derby. The size of the batches adapts to how long the repository
+ * takes to store them, see {@link AdaptiveBatchSize}. Once more than {@code drainHighWaterMark} entries are
+ * spooled, the writer notifies the listener set by {@link #setHighWaterMarkListener(Runnable)} so that draining
+ * does not have to wait for the next scheduled run.
+ */
 @Slf4j
 public class DerbyAsyncAuditLogger implements AsyncAuditLogger {
     public static final String AUDIT_ERROR_METRIC = "audit-log-error";
+    public static final String QUEUE_DEPTH_METRIC = "audit-log-queue-depth";
+    public static final String DRAIN_BATCH_SIZE_METRIC = "audit-log-drain-batch-size";
+    public static final String DRAIN_WRITE_METRIC = "audit-log-drain-write";
     public static final String ACTION_TAG = "action";
     public static final String EXCEPTION_TAG = "exception";
-    private static final String TABLE_ALREADY_EXISTS = "X0Y32";
+    private static final String ALREADY_EXISTS = "X0Y32";
+    private static final String INSERT = "INSERT INTO audits (entry) VALUES (?)";
+    private static final String SELECT = "SELECT id, event, entry FROM audits WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY";
+    private static final String DELETE = "DELETE FROM audits WHERE id <= ?";
+    private static final long WRITER_CHECK_INTERVAL_MS = 100;
+    /**
+     * Put on the queue to make the writer exit once everything before it is written.
+     */
+    private static final AuditEntry STOP = new AuditEntry();
 
     private final AuditProperties auditProperties;
     private final Connection connection;
@@ -28,6 +64,18 @@ public class DerbyAsyncAuditLogger implements AsyncAuditLogger {
     private final MeterRegistry meterRegistry;
     private final AuditEntryRepository auditEntryRepository;
     private final AuditCheckpointRepository auditCheckpointRepository;
+    private final BlockingQueue<AuditEntry> queue;
+    private final AdaptiveBatchSize batchSize;
+    private final Timer drainWriteTimer;
+    private final ExecutorService drainExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("derby-audit-drain-writer").daemon().factory());
+    /**
+     * The number of entries in Derby, approximately. Only used to decide when to notify the high-water mark listener.
+     */
+    private final AtomicLong spooled = new AtomicLong();
+    private Thread writer;
+    private volatile boolean writerFailed;
+    private volatile Runnable highWaterMarkListener;
 
     public DerbyAsyncAuditLogger(AuditProperties auditProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry, AuditEntryRepository auditEntryRepository, AuditCheckpointRepository auditCheckpointRepository) throws SQLException {
         this.connection = DriverManager.getConnection(auditProperties.getDerbyUrl());
@@ -36,6 +84,21 @@ public class DerbyAsyncAuditLogger implements AsyncAuditLogger {
         this.meterRegistry = meterRegistry;
         this.auditEntryRepository = auditEntryRepository;
         this.auditCheckpointRepository = auditCheckpointRepository;
+        this.queue = new ArrayBlockingQueue<>(auditProperties.getWriterQueueCapacity());
+        this.batchSize = new AdaptiveBatchSize(auditProperties.getBatchSize(), auditProperties.getMaxBatchSize(), auditProperties.getDrainTargetLatency());
+        this.drainWriteTimer = meterRegistry.timer(DRAIN_WRITE_METRIC);
+        meterRegistry.gauge(QUEUE_DEPTH_METRIC, queue, BlockingQueue::size);
+        meterRegistry.gauge(DRAIN_BATCH_SIZE_METRIC, batchSize, AdaptiveBatchSize::get);
+    }
+
+    /**
+     * Sets the callback the writer runs, on its own thread, whenever it commits entries while more than
+     * {@code drainHighWaterMark} entries are spooled. The callback is expected to only schedule a drain.
+     *
+     * @param highWaterMarkListener The callback.
+     */
+    public void setHighWaterMarkListener(Runnable highWaterMarkListener) {
+        this.highWaterMarkListener = highWaterMarkListener;
     }
 
     @PostConstruct
@@ -43,61 +106,208 @@ public class DerbyAsyncAuditLogger implements AsyncAuditLogger {
         try (Statement statement = connection.createStatement()) {
             statement.execute("CREATE TABLE audits (id BIGINT PRIMARY KEY GENERATED ALWAYS AS IDENTITY(START WITH 1, INCREMENT BY 1), event LONG VARCHAR)");
         } catch (SQLException e) {
-            if (!TABLE_ALREADY_EXISTS.equals(e.getSQLState())) {
+            if (!ALREADY_EXISTS.equals(e.getSQLState())) {
+                throw e;
+            }
+        }
+        // Added with the binary encoding, tables created before only have the event column holding JSON
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE audits ADD COLUMN entry LONG VARCHAR FOR BIT DATA");
+        } catch (SQLException e) {
+            if (!ALREADY_EXISTS.equals(e.getSQLState())) {
                 throw e;
             }
         }
+        try (Statement statement = connection.createStatement()) {
+            ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM audits");
+            resultSet.next();
+            spooled.set(resultSet.getLong(1));
+        }
+        Connection writerConnection = DriverManager.getConnection(auditProperties.getDerbyUrl());
+        writerConnection.setAutoCommit(false);
+        writer = Thread.ofPlatform().name("derby-audit-writer").daemon().start(() -> runWriter(writerConnection));
     }
 
     @PreDestroy
-    public void cleanup() throws SQLException {
+    public void cleanup() throws SQLException, InterruptedException {
+        if (writer != null) {
+            boolean stopQueued = false;
+            while (!stopQueued && writer.isAlive()) {
+                stopQueued = queue.offer(STOP, WRITER_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+            writer.join();
+        }
+        drainExecutor.shutdown();
         connection.close();
     }
 
     @Override
     public void log(AuditEntry auditEntry) {
-        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO audits (event) VALUES (?)")) {
-            String eventString = objectMapper.writeValueAsString(auditEntry);
-            statement.setString(1, eventString);
-            statement.execute();
-        } catch (JsonProcessingException e) {
-            log.error("Failed to serialize audit entry", e);
-            meterRegistry.counter(AUDIT_ERROR_METRIC, ACTION_TAG, "serialize", EXCEPTION_TAG, "JsonProcessingException").increment();
+        enqueue(auditEntry);
+    }
+
+    @Override
+    public void logAll(List<AuditEntry> auditEntries) {
+        auditEntries.forEach(this::enqueue);
+    }
+
+    private void enqueue(AuditEntry auditEntry) {
+        try {
+            // Waits for space in the queue, but gives up once the writer has failed and nobody drains it anymore
+            while (!writerFailed) {
+                if (queue.offer(auditEntry, WRITER_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+            meterRegistry.counter(AUDIT_ERROR_METRIC, ACTION_TAG, "log", EXCEPTION_TAG, "WriterFailed").increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while queueing audit entry", e);
+            meterRegistry.counter(AUDIT_ERROR_METRIC, ACTION_TAG, "log", EXCEPTION_TAG, "InterruptedException").increment();
+        }
+    }
+
+    private void runWriter(Connection writerConnection) {
+        List<AuditEntry> group = new ArrayList<>(auditProperties.getWriterGroupSize());
+        try (writerConnection; PreparedStatement insert = writerConnection.prepareStatement(INSERT)) {
+            boolean stopped = false;
+            while (!stopped) {
+                group.add(queue.take());
+                queue.drainTo(group, auditProperties.getWriterGroupSize() - 1);
+                stopped = group.removeIf(auditEntry -> auditEntry == STOP);
+                writeGroup(writerConnection, insert, group);
+                group.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Derby audit writer interrupted, {} queued audit entries are not written", queue.size());
+        } catch (SQLException e) {
+            // Stop accepting entries so that callers do not block on a queue nobody drains
+            writerFailed = true;
+            log.error("Derby audit writer failed, {} queued audit entries are not written", queue.size(), e);
+            meterRegistry.counter(AUDIT_ERROR_METRIC, ACTION_TAG, "log", EXCEPTION_TAG, "SQLException").increment();
+            queue.clear();
+        }
+    }
+
+    /**
+     * Inserts a group of audit entries in one transaction. If the transaction fails the group is lost, and
+     * the error is counted once per group.
+     */
+    private void writeGroup(Connection writerConnection, PreparedStatement insert, List<AuditEntry> group) {
+        if (group.isEmpty()) {
+            return;
+        }
+        try {
+            for (AuditEntry auditEntry : group) {
+                insert.setBytes(1, AuditEntryCodec.encode(auditEntry));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            writerConnection.commit();
+            notifyIfAboveHighWaterMark(spooled.addAndGet(group.size()));
         } catch (SQLException e) {
-            log.error("Failed to log audit entry", e);
+            log.error("Failed to log {} audit entries", group.size(), e);
             meterRegistry.counter(AUDIT_ERROR_METRIC, ACTION_TAG, "log", EXCEPTION_TAG, "SQLException").increment();
+            try {
+                insert.clearBatch();
+                writerConnection.rollback();
+            } catch (SQLException rollbackException) {
+                log.error("Failed to roll back audit entries", rollbackException);
+            }
         }
     }
 
-    @Transactional
-    public int commitBatchToDb() throws SQLException, JsonProcessingException {
+    private void notifyIfAboveHighWaterMark(long spooledEntries) {
+        long highWaterMark = auditProperties.getDrainHighWaterMark();
+        Runnable listener = highWaterMarkListener;
+        if (highWaterMark > 0 && spooledEntries >= highWaterMark && listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Moves all entries spooled in Derby to the repository. Batch N+1 is read from Derby while batch N is stored,
+     * but the batches are stored one at a time and in order, and a batch is only deleted from Derby once it and the
+     * checkpoint are stored. If storing a batch fails, the exception is thrown and the batch is read again by the
+     * next drain.
+     *
+     * @return The number of entries moved.
+     */
+    public int drain() throws SQLException, JsonProcessingException {
         AuditCheckpoint auditCheckpoint = auditCheckpointRepository.findByNodeName(auditProperties.getNodeName()).orElseGet(() -> new AuditCheckpoint(auditProperties.getNodeName()));
-        long maxId = auditCheckpoint.getLogId();
-        log.info("fetching {} audit entries from checkpoint {}", auditProperties.getBatchSize(), maxId);
+        log.info("draining audit entries from checkpoint {}", auditCheckpoint.getLogId());
+        SpooledBatch batch = readBatch(auditCheckpoint.getLogId(), batchSize.get());
+        int drained = 0;
+        while (!batch.entries().isEmpty()) {
+            SpooledBatch current = batch;
+            Future<Long> store = drainExecutor.submit(() -> storeBatch(auditCheckpoint, current));
+            try {
+                batch = readBatch(current.maxId(), batchSize.get());
+            } finally {
+                // Never leave a batch being stored behind, the next drain would store the checkpoint concurrently
+                batchSize.record(current.entries().size(), await(store));
+            }
+            deleteUpTo(current.maxId());
+            drained += current.entries().size();
+        }
+        log.info("drained {} audit entries. current checkpoint is {}", drained, auditCheckpoint.getLogId());
+        return drained;
+    }
+
+    private SpooledBatch readBatch(long afterId, int limit) throws SQLException, JsonProcessingException {
         List<AuditEntry> auditEntries = new ArrayList<>();
-        try (PreparedStatement statement = connection.prepareStatement("SELECT id, event FROM audits WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY")) {
-            statement.setLong(1, maxId);
-            statement.setInt(2, auditProperties.getBatchSize());
+        long maxId = afterId;
+        try (PreparedStatement statement = connection.prepareStatement(SELECT)) {
+            statement.setLong(1, afterId);
+            statement.setInt(2, limit);
             statement.execute();
             ResultSet resultSet = statement.getResultSet();
             while (resultSet.next()) {
                 maxId = resultSet.getLong(1);
-                String eventSting = resultSet.getString(2);
-                AuditEntry auditEntry = objectMapper.readValue(eventSting, AuditEntry.class);
+                byte[] entry = resultSet.getBytes(3);
+                AuditEntry auditEntry = entry != null ? AuditEntryCodec.decode(entry) : objectMapper.readValue(resultSet.getString(2), AuditEntry.class);
                 auditEntry.getMetadata().put("logId", auditProperties.getNodeName() + "." + maxId + "." + auditEntry.getTimestamp());
                 auditEntries.add(auditEntry);
             }
         }
-        log.info("found {} entries. storing them to db. current checkpoint is {}", auditEntries.size(), maxId);
-        if (!auditEntries.isEmpty()) {
-            auditEntryRepository.saveAll(auditEntries);
-            auditCheckpoint.setLogId(maxId);
-            auditCheckpointRepository.save(auditCheckpoint);
-            try (PreparedStatement statement = connection.prepareStatement("DELETE FROM audits WHERE id <= ?")) {
-                statement.setLong(1, maxId);
-                statement.execute();
+        return new SpooledBatch(auditEntries, maxId);
+    }
+
+    private long storeBatch(AuditCheckpoint auditCheckpoint, SpooledBatch batch) {
+        long start = System.nanoTime();
+        auditEntryRepository.saveAll(batch.entries());
+        auditCheckpoint.setLogId(batch.maxId());
+        auditCheckpointRepository.save(auditCheckpoint);
+        long elapsed = System.nanoTime() - start;
+        drainWriteTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        return elapsed;
+    }
+
+    private void deleteUpTo(long maxId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(DELETE)) {
+            statement.setLong(1, maxId);
+            spooled.addAndGet(-statement.executeUpdate());
+        }
+    }
+
+    private static long await(Future<Long> store) {
+        try {
+            return store.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while storing audit entries", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
             }
+            throw new IllegalStateException("Failed to store audit entries", e.getCause());
         }
-        return auditEntries.size();
+    }
+
+    /**
+     * Audit entries read from Derby, with the highest id among them.
+     */
+    private record SpooledBatch(List<AuditEntry> entries, long maxId) {
     }
 }
@@ -2,36 +2,86 @@ package com.flipkart.grayskull.app.audit;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.micrometer.core.instrument.MeterRegistry;
-import lombok.AllArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 
 import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.flipkart.grayskull.app.audit.DerbyAsyncAuditLogger.AUDIT_ERROR_METRIC;
 import static com.flipkart.grayskull.app.audit.DerbyAsyncAuditLogger.ACTION_TAG;
 import static com.flipkart.grayskull.app.audit.DerbyAsyncAuditLogger.EXCEPTION_TAG;
 
-@AllArgsConstructor
+/**
+ * Drains the Derby spool on {@code batch-time-interval}, and right away whenever the logger reports that the
+ * spool is above its high-water mark. Drains never overlap, a triggered drain waits for a running one to finish.
+ * <p>
+ * Once a drain fails, e.g. because the DB is down, triggers are ignored and draining falls back to
+ * {@code batch-time-interval} until a drain succeeds again. Otherwise a spool above its high-water mark would keep
+ * triggering failing drains in a tight loop for as long as the outage lasts.
+ */
 @Slf4j
 public class DerbyAsyncAuditScheduler {
     private final DerbyAsyncAuditLogger derbyAsyncAuditLogger;
     private final MeterRegistry meterRegistry;
+    private final ExecutorService triggerExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("derby-audit-drain-trigger").daemon().factory());
+    private final AtomicBoolean triggered = new AtomicBoolean();
+    private volatile boolean drainFailing;
+
+    public DerbyAsyncAuditScheduler(DerbyAsyncAuditLogger derbyAsyncAuditLogger, MeterRegistry meterRegistry) {
+        this.derbyAsyncAuditLogger = derbyAsyncAuditLogger;
+        this.meterRegistry = meterRegistry;
+        derbyAsyncAuditLogger.setHighWaterMarkListener(this::trigger);
+    }
 
     @Scheduled(fixedDelayString = "${audit.batch-time-interval}")
-    public void run() {
+    public synchronized void run() {
+        boolean drained = false;
         try {
-            int committed;
-            do {
-                committed = derbyAsyncAuditLogger.commitBatchToDb();
-            } while (committed != 0);
+            derbyAsyncAuditLogger.drain();
+            drained = true;
         }  catch (JsonProcessingException e) {
             log.error("Failed to deserialize audit entry", e);
             meterRegistry.counter(AUDIT_ERROR_METRIC, ACTION_TAG, "deserialize", EXCEPTION_TAG, "JsonProcessingException").increment();
         } catch (SQLException e) {
             log.error("Failed to connect to Derby", e);
             meterRegistry.counter(AUDIT_ERROR_METRIC, ACTION_TAG, "fetch-logs", EXCEPTION_TAG, "SQLException").increment();
+        } finally {
+            if (drained && drainFailing) {
+                log.info("Audit drain recovered, resuming triggered drains");
+            } else if (!drained && !drainFailing) {
+                log.warn("Audit drain failed, ignoring triggered drains until a drain succeeds");
+            }
+            drainFailing = !drained;
+        }
+
+    }
+
+    /**
+     * Schedules a drain unless one is scheduled already or the last drain failed. Returns immediately.
+     */
+    public void trigger() {
+        if (drainFailing) {
+            return;
         }
+        if (triggered.compareAndSet(false, true)) {
+            triggerExecutor.execute(() -> {
+                triggered.set(false);
+                try {
+                    run();
+                } catch (RuntimeException e) {
+                    log.error("Failed to store audit entries", e);
+                }
+            });
+        }
+    }
 
+    @PreDestroy
+    public void cleanup() {
+        triggerExecutor.shutdownNow();
     }
 }
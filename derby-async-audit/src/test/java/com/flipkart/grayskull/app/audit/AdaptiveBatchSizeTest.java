@@ -0,0 +1,50 @@
+package com.flipkart.grayskull.app.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdaptiveBatchSizeTest {
+
+    private static final long TARGET = Duration.ofSeconds(1).toNanos();
+
+    private final AdaptiveBatchSize batchSize = new AdaptiveBatchSize(100, 400, Duration.ofSeconds(1));
+
+    @Test
+    void testRecord_FastFullBatches_GrowUpToMax() {
+        batchSize.record(100, TARGET / 10);
+        assertEquals(151, batchSize.get());
+
+        for (int i = 0; i < 10; i++) {
+            batchSize.record(batchSize.get(), TARGET / 10);
+        }
+        assertEquals(400, batchSize.get());
+    }
+
+    @Test
+    void testRecord_PartialBatch_KeepsSize() {
+        batchSize.record(20, TARGET / 10);
+
+        assertEquals(100, batchSize.get());
+    }
+
+    @Test
+    void testRecord_SlowBatches_ShrinkDownToOne() {
+        batchSize.record(100, TARGET * 2);
+        assertEquals(50, batchSize.get());
+
+        for (int i = 0; i < 10; i++) {
+            batchSize.record(batchSize.get(), TARGET * 2);
+        }
+        assertEquals(1, batchSize.get());
+    }
+
+    @Test
+    void testRecord_WithinTarget_KeepsSize() {
+        batchSize.record(100, TARGET * 3 / 4);
+
+        assertEquals(100, batchSize.get());
+    }
+}
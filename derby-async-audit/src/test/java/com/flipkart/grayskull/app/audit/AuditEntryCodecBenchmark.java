@@ -0,0 +1,74 @@
+package com.flipkart.grayskull.app.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flipkart.grayskull.spi.models.AuditEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encoding and decoding a typical audit entry with {@link AuditEntryCodec} and with Jackson, which was used
+ * to spool audit entries as JSON before.
+ * <p>
+ * Run {@link #main(String[])} with the test classpath of the module, e.g. from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditEntryCodecBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AuditEntry auditEntry = new AuditEntry(null, "payments", "SECRET", "db-password", 7, "READ_SECRET", "payments-service",
+            Map.of("remote", "10.0.0.1", "X-Forwarded-For", "10.1.2.3"), null, Map.of("requestId", "0123456789abcdef"));
+
+    private byte[] json;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        json = objectMapper.writeValueAsBytes(auditEntry);
+        encoded = AuditEntryCodec.encode(auditEntry);
+    }
+
+    @Benchmark
+    public byte[] encodeCodec() {
+        return AuditEntryCodec.encode(auditEntry);
+    }
+
+    @Benchmark
+    public String encodeJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(auditEntry);
+    }
+
+    @Benchmark
+    public AuditEntry decodeCodec() {
+        return AuditEntryCodec.decode(encoded);
+    }
+
+    @Benchmark
+    public AuditEntry decodeJson() throws IOException {
+        return objectMapper.readValue(json, AuditEntry.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AuditEntryCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
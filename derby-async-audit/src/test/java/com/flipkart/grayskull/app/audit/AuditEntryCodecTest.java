@@ -0,0 +1,70 @@
+package com.flipkart.grayskull.app.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flipkart.grayskull.spi.models.AuditEntry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditEntryCodecTest {
+
+    @Test
+    void testEncode_DecodesToEqualEntry() {
+        AuditEntry auditEntry = new AuditEntry("id", "project1", "SECRET", "sécret-ü", 42, "READ_SECRET", "user1",
+                Map.of("X-Forwarded-For", "10.0.0.1, 10.0.0.2"), Instant.parse("2024-05-01T10:15:30.123456789Z"), Map.of("requestId", "abc"));
+
+        byte[] encoded = AuditEntryCodec.encode(auditEntry);
+
+        assertTrue(AuditEntryCodec.isEncoded(encoded));
+        assertEquals(auditEntry, AuditEntryCodec.decode(encoded));
+    }
+
+    @Test
+    void testEncode_NullFieldsAndNegativeValues() {
+        AuditEntry auditEntry = new AuditEntry(null, null, null, "", -7, null, null, null, Instant.ofEpochSecond(-86400, 5), null);
+
+        assertEquals(auditEntry, AuditEntryCodec.decode(AuditEntryCodec.encode(auditEntry)));
+        AuditEntry empty = new AuditEntry();
+        empty.setTimestamp(null);
+        assertEquals(empty, AuditEntryCodec.decode(AuditEntryCodec.encode(empty)));
+    }
+
+    @Test
+    void testDecode_ReturnsMutableMetadata() {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("a", "b");
+        AuditEntry auditEntry = new AuditEntry(null, "project1", "SECRET", "secret1", null, "READ", "user1", Map.of(), null, metadata);
+
+        AuditEntry decoded = AuditEntryCodec.decode(AuditEntryCodec.encode(auditEntry));
+        decoded.getMetadata().put("logId", "1");
+
+        assertEquals(Map.of("a", "b", "logId", "1"), decoded.getMetadata());
+    }
+
+    @Test
+    void testEncode_SmallerThanJson() throws Exception {
+        AuditEntry auditEntry = new AuditEntry(null, "project1", "SECRET", "secret1", 3, "READ_SECRET", "user1",
+                Map.of("remote", "10.0.0.1"), null, Map.of("requestId", "0123456789abcdef"));
+
+        byte[] json = new ObjectMapper().writeValueAsBytes(auditEntry);
+
+        assertFalse(AuditEntryCodec.isEncoded(json));
+        assertTrue(AuditEntryCodec.encode(auditEntry).length < json.length / 2);
+    }
+
+    @Test
+    void testDecode_MalformedInput_Rejected() {
+        byte[] encoded = AuditEntryCodec.encode(new AuditEntry(null, "project1", "SECRET", "secret1", 1, "READ", "user1", null, null, Map.of("k", "v")));
+
+        assertThrows(IllegalArgumentException.class, () -> AuditEntryCodec.decode("{}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IllegalArgumentException.class, () -> AuditEntryCodec.decode(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> AuditEntryCodec.decode(Arrays.copyOf(encoded, encoded.length - 2)));
+        assertThrows(IllegalArgumentException.class, () -> AuditEntryCodec.decode(Arrays.copyOf(encoded, encoded.length + 1)));
+    }
+}
@@ -0,0 +1,142 @@
+package com.flipkart.grayskull.app.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flipkart.grayskull.spi.models.AuditEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares logging audit entries through {@link DerbyAsyncAuditLogger}, which queues them for a single writer
+ * committing in groups, with the previous implementation, which inserted and committed every entry on the
+ * calling thread through one shared connection.
+ * <p>
+ * Both modes run by default: the throughput mode reports the calls per microsecond, and the sample time mode the
+ * latency percentiles seen by callers, including p0.99. For the queued path a call only enqueues the entry, so
+ * its call rate says nothing about how fast entries reach the disk. Each measurement iteration therefore also
+ * waits for the writer to flush, counts the rows in Derby and prints the rows durably committed per second,
+ * counting the flush in the elapsed time. A summary over all measurement iterations is printed at the end of each
+ * benchmark. The database lives in a temporary directory so that commits pay for writing the log to disk. Run
+ * {@link #main(String[])} with the test classpath of the module, e.g. from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class DerbyAsyncAuditLoggerBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AuditEntry auditEntry = new AuditEntry(null, "project1", "SECRET", "secret1", 1, "READ_SECRET", "user1",
+            Map.of("ip", "10.0.0.1"), null, Map.of("requestId", "3f1c2b9e"));
+
+    private Path directory;
+    private DerbyAsyncAuditLogger logger;
+    private Connection sharedConnection;
+    private long iterationStart;
+    private long committedRows;
+    private long committedNanos;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("derby-audit-bench");
+        AuditProperties properties = new AuditProperties(directory.resolve("db").toString(), "bench", 1000, "1m", Duration.ZERO);
+        logger = new DerbyAsyncAuditLogger(properties, objectMapper, new SimpleMeterRegistry(), null, null);
+        logger.init();
+        sharedConnection = DriverManager.getConnection(properties.getDerbyUrl());
+        iterationStart = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown(BenchmarkParams benchmarkParams, IterationParams iterationParams)
+            throws SQLException, InterruptedException, IOException {
+        // Writes everything still queued before returning
+        logger.cleanup();
+        long elapsed = System.nanoTime() - iterationStart;
+        if (iterationParams.getType() == IterationType.MEASUREMENT) {
+            long rows = countRows();
+            committedRows += rows;
+            committedNanos += elapsed;
+            System.out.printf("%n%s: %d rows committed in %d ms, %.0f rows/s%n", benchmarkParams.getBenchmark(), rows,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), rows * 1e9 / elapsed);
+        }
+        sharedConnection.close();
+        try {
+            DriverManager.getConnection("jdbc:derby:" + directory.resolve("db") + ";shutdown=true");
+        } catch (SQLException e) {
+            // Derby always reports a shutdown as an exception
+        }
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @TearDown(Level.Trial)
+    public void printCommittedRows(BenchmarkParams benchmarkParams) {
+        if (committedNanos > 0) {
+            System.out.printf("%n%s (%s): %.0f rows committed per second on average%n", benchmarkParams.getBenchmark(),
+                    benchmarkParams.getMode().shortLabel(), committedRows * 1e9 / committedNanos);
+        }
+    }
+
+    private long countRows() throws SQLException {
+        try (Statement statement = sharedConnection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM audits")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    @Benchmark
+    public void queuedGroupCommit() {
+        logger.log(auditEntry);
+    }
+
+    @Benchmark
+    public boolean perCallInsert() throws JsonProcessingException {
+        try (PreparedStatement statement = sharedConnection.prepareStatement("INSERT INTO audits (event) VALUES (?)")) {
+            statement.setString(1, objectMapper.writeValueAsString(auditEntry));
+            statement.execute();
+            return true;
+        } catch (SQLException e) {
+            // the previous logger only logged and counted failed inserts, e.g. identity lock timeouts under contention
+            return false;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DerbyAsyncAuditLoggerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -1,20 +1,23 @@
 package com.flipkart.grayskull.app.audit;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flipkart.grayskull.spi.models.AuditEntry;
 import com.flipkart.grayskull.spi.repositories.AuditEntryRepository;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
-import org.junit.jupiter.api.BeforeEach;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.sql.*;
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.flipkart.grayskull.app.audit.DerbyAsyncAuditLogger.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,119 +26,216 @@ import static org.mockito.Mockito.*;
 
 class DerbyAsyncAuditLoggerTest {
 
-    private final AuditProperties auditProperties = new AuditProperties("memory:testdb", "test-node", 100, "1m", Duration.ZERO);
-    private final Connection connection = mock();
-    private final ObjectMapper objectMapper = mock();
     private final MeterRegistry meterRegistry = mock();
     private final AuditEntryRepository auditEntryRepository = mock();
     private final AuditCheckpointRepository auditCheckpointRepository = mock();
     private final Statement statement = mock();
-    private final PreparedStatement preparedStatement = mock();
     private final ResultSet resultSet = mock();
     private final Counter counter = mock();
 
-    private DerbyAsyncAuditLogger logger;
+    @Test
+    void testInit_CreatesTableOnce() throws Exception {
+        DerbyAsyncAuditLogger first = newDerbyLogger("init", realObjectMapper());
+        first.init();
+        DerbyAsyncAuditLogger second = newDerbyLogger("init", realObjectMapper());
+
+        assertDoesNotThrow(second::init);
 
-    @BeforeEach
-    void setUp() throws SQLException {
-        logger = new DerbyAsyncAuditLogger(auditProperties, objectMapper, meterRegistry, auditEntryRepository, auditCheckpointRepository);
-        ReflectionTestUtils.setField(logger, "connection", connection);
+        first.cleanup();
+        second.cleanup();
+        assertEquals(0, countRows("init"));
     }
 
     @Test
-    void testInit_CreatesTable() throws SQLException {
-        when(connection.createStatement()).thenReturn(statement);
+    void testLog_WritesQueuedEntriesInGroups() throws Exception {
+        DerbyAsyncAuditLogger derbyLogger = newDerbyLogger("log", realObjectMapper());
+        derbyLogger.init();
 
-        logger.init();
+        derbyLogger.log(createTestAuditEntry());
+        derbyLogger.logAll(List.of(createTestAuditEntry(), createTestAuditEntry()));
+        derbyLogger.cleanup();
 
-        verify(statement).execute("CREATE TABLE audits (id BIGINT PRIMARY KEY GENERATED ALWAYS AS IDENTITY(START WITH 1, INCREMENT BY 1), event LONG VARCHAR)");
+        assertEquals(3, countRows("log"));
     }
 
     @Test
-    void testInit_TableAlreadyExists_DoesNotThrow() throws SQLException {
-        when(connection.createStatement()).thenReturn(statement);
-        SQLException e = new SQLException("Table exists", "X0Y32");
-        doThrow(e).when(statement).execute(anyString());
-
-        assertDoesNotThrow(() -> logger.init());
+    void testLog_ConcurrentCallers_AllEntriesWritten() throws Exception {
+        DerbyAsyncAuditLogger derbyLogger = newDerbyLogger("concurrent", realObjectMapper());
+        derbyLogger.init();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = Thread.ofPlatform().start(() -> {
+                for (int j = 0; j < 250; j++) {
+                    derbyLogger.log(createTestAuditEntry());
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        derbyLogger.cleanup();
+
+        assertEquals(2000, countRows("concurrent"));
     }
 
     @Test
-    void testLog_Success() throws SQLException, JsonProcessingException {
-        AuditEntry auditEntry = createTestAuditEntry();
-        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
-        when(objectMapper.writeValueAsString(auditEntry)).thenReturn("{\"test\":\"data\"}");
-
-        logger.log(auditEntry);
-
-        verify(preparedStatement).setString(1, "{\"test\":\"data\"}");
-        verify(preparedStatement).execute();
+    void testLog_WhenWriterCanNotStart_CountsErrorsInsteadOfBlocking() throws Exception {
+        AuditProperties properties = new AuditProperties("memory:missing-table", "test-node", 100, "1m", Duration.ZERO);
+        properties.setWriterQueueCapacity(1);
+        DerbyAsyncAuditLogger derbyLogger = new DerbyAsyncAuditLogger(properties, realObjectMapper(), meterRegistry, auditEntryRepository, auditCheckpointRepository);
+        Connection initConnection = mock();
+        when(initConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        ReflectionTestUtils.setField(derbyLogger, "connection", initConnection);
+        when(meterRegistry.counter(eq(AUDIT_ERROR_METRIC), eq(ACTION_TAG), eq("log"), eq(EXCEPTION_TAG), anyString())).thenReturn(counter);
+        derbyLogger.init();
+
+        for (int i = 0; i < 10; i++) {
+            derbyLogger.log(createTestAuditEntry());
+        }
+        derbyLogger.cleanup();
+
+        verify(counter, atLeastOnce()).increment();
     }
 
     @Test
-    void testLog_JsonProcessingException() throws SQLException, JsonProcessingException {
-        AuditEntry auditEntry = createTestAuditEntry();
-        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
-        when(objectMapper.writeValueAsString(auditEntry)).thenThrow(new JsonProcessingException("JSON error") {});
-        when(meterRegistry.counter(AUDIT_ERROR_METRIC, ACTION_TAG, "serialize", EXCEPTION_TAG, "JsonProcessingException")).thenReturn(counter);
+    void testLog_AboveHighWaterMark_NotifiesListener() throws Exception {
+        AuditProperties properties = new AuditProperties("memory:high-water-mark", "test-node", 100, "1m", Duration.ZERO);
+        properties.setDrainHighWaterMark(3);
+        DerbyAsyncAuditLogger derbyLogger = new DerbyAsyncAuditLogger(properties, realObjectMapper(), meterRegistry, auditEntryRepository, auditCheckpointRepository);
+        AtomicInteger notifications = new AtomicInteger();
+        derbyLogger.setHighWaterMarkListener(notifications::incrementAndGet);
+        derbyLogger.init();
+
+        derbyLogger.logAll(List.of(createTestAuditEntry(), createTestAuditEntry()));
+        awaitRows("high-water-mark", 2);
+        assertEquals(0, notifications.get());
+        derbyLogger.log(createTestAuditEntry());
+        derbyLogger.cleanup();
+
+        assertEquals(1, notifications.get());
+    }
 
-        logger.log(auditEntry);
+    @Test
+    void testDrain_MovesAllEntriesInBatches() throws Exception {
+        AuditCheckpoint checkpoint = new AuditCheckpoint("test-node");
+        when(auditCheckpointRepository.findByNodeName("test-node")).thenReturn(Optional.of(checkpoint));
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        when(auditEntryRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<AuditEntry> entries = invocation.getArgument(0);
+            batchSizes.add(entries.size());
+            return entries;
+        });
+        DerbyAsyncAuditLogger derbyLogger = newDerbyLogger("drain", realObjectMapper(), new SimpleMeterRegistry());
+        derbyLogger.init();
+        for (int i = 0; i < 250; i++) {
+            derbyLogger.log(createTestAuditEntry());
+        }
+        awaitRows("drain", 250);
+
+        int drained = derbyLogger.drain();
+        derbyLogger.cleanup();
+
+        assertEquals(250, drained);
+        assertEquals(100, batchSizes.get(0));
+        assertTrue(batchSizes.size() > 1);
+        assertEquals(250, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(250L, checkpoint.getLogId());
+        verify(auditCheckpointRepository, times(batchSizes.size())).save(checkpoint);
+        assertEquals(0, countRows("drain"));
+    }
 
-        verify(counter).increment();
+    @Test
+    void testDrain_LegacyJsonRows_DrainedBeforeEncodedEntries() throws Exception {
+        try (Connection derby = DriverManager.getConnection("jdbc:derby:memory:legacy;create=true");
+             Statement statement = derby.createStatement()) {
+            statement.execute("CREATE TABLE audits (id BIGINT PRIMARY KEY GENERATED ALWAYS AS IDENTITY(START WITH 1, INCREMENT BY 1), event LONG VARCHAR)");
+            AuditEntry legacy = createTestAuditEntry();
+            legacy.setResourceName("legacy");
+            statement.execute("INSERT INTO audits (event) VALUES ('" + realObjectMapper().writeValueAsString(legacy) + "')");
+        }
+        AuditCheckpoint checkpoint = new AuditCheckpoint("test-node");
+        when(auditCheckpointRepository.findByNodeName("test-node")).thenReturn(Optional.of(checkpoint));
+        List<AuditEntry> saved = new CopyOnWriteArrayList<>();
+        when(auditEntryRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<AuditEntry> entries = invocation.getArgument(0);
+            saved.addAll(entries);
+            return entries;
+        });
+        DerbyAsyncAuditLogger derbyLogger = newDerbyLogger("legacy", realObjectMapper(), new SimpleMeterRegistry());
+        derbyLogger.init();
+        derbyLogger.log(createTestAuditEntry());
+        awaitRows("legacy", 2);
+
+        assertEquals(2, derbyLogger.drain());
+        derbyLogger.cleanup();
+
+        assertEquals(List.of("legacy", "secret1"), saved.stream().map(AuditEntry::getResourceName).toList());
+        assertEquals("test-node.1.null", saved.get(0).getMetadata().get("logId"));
+        assertEquals("value", saved.get(1).getMetadata().get("test"));
     }
 
     @Test
-    void testLog_SQLException() throws SQLException {
-        AuditEntry auditEntry = createTestAuditEntry();
-        when(connection.prepareStatement(anyString())).thenThrow(new SQLException("DB error"));
-        when(meterRegistry.counter(AUDIT_ERROR_METRIC, ACTION_TAG, "log", EXCEPTION_TAG, "SQLException")).thenReturn(counter);
+    void testDrain_NoEntries() throws Exception {
+        when(auditCheckpointRepository.findByNodeName("test-node")).thenReturn(Optional.empty());
+        DerbyAsyncAuditLogger derbyLogger = newDerbyLogger("drain-empty", realObjectMapper(), new SimpleMeterRegistry());
+        derbyLogger.init();
 
-        logger.log(auditEntry);
+        int drained = derbyLogger.drain();
+        derbyLogger.cleanup();
 
-        verify(counter).increment();
+        assertEquals(0, drained);
+        verify(auditEntryRepository, never()).saveAll(anyList());
+        verify(auditCheckpointRepository, never()).save(any());
     }
 
     @Test
-    void testCommitBatchToDb_Success() throws SQLException, JsonProcessingException {
+    void testDrain_WhenStoreFails_KeepsEntriesInDerby() throws Exception {
         AuditCheckpoint checkpoint = new AuditCheckpoint("test-node");
-        checkpoint.setLogId(0L);
-
-        PreparedStatement selectStatement = mock();
-        PreparedStatement deleteStatement = mock();
-
         when(auditCheckpointRepository.findByNodeName("test-node")).thenReturn(Optional.of(checkpoint));
-        when(connection.prepareStatement("SELECT id, event FROM audits WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY")).thenReturn(selectStatement);
-        when(connection.prepareStatement("DELETE FROM audits WHERE id <= ?")).thenReturn(deleteStatement);
-        when(selectStatement.getResultSet()).thenReturn(resultSet);
-        when(resultSet.next()).thenReturn(true).thenReturn(false);
-        when(resultSet.getLong(1)).thenReturn(1L);
-        when(resultSet.getString(2)).thenReturn("{\"test\":\"data\"}");
-        when(objectMapper.readValue(anyString(), eq(AuditEntry.class))).thenReturn(createTestAuditEntry());
-
-        int result = logger.commitBatchToDb();
-
-        assertEquals(1, result);
-        verify(auditEntryRepository).saveAll(anyList());
-        verify(auditCheckpointRepository).save(checkpoint);
+        when(auditEntryRepository.saveAll(anyList())).thenThrow(new IllegalStateException("Mongo down"));
+        DerbyAsyncAuditLogger derbyLogger = newDerbyLogger("drain-failure", realObjectMapper(), new SimpleMeterRegistry());
+        derbyLogger.init();
+        derbyLogger.logAll(List.of(createTestAuditEntry(), createTestAuditEntry()));
+        awaitRows("drain-failure", 2);
+
+        assertThrows(IllegalStateException.class, derbyLogger::drain);
+        derbyLogger.cleanup();
+
+        assertEquals(0L, checkpoint.getLogId());
+        verify(auditCheckpointRepository, never()).save(any());
+        assertEquals(2, countRows("drain-failure"));
     }
 
-    @Test
-    void testCommitBatchToDb_NoEntries() throws SQLException, JsonProcessingException {
-        AuditCheckpoint checkpoint = new AuditCheckpoint("test-node");
-        checkpoint.setLogId(0L);
+    private DerbyAsyncAuditLogger newDerbyLogger(String database, ObjectMapper mapper) throws SQLException {
+        return newDerbyLogger(database, mapper, meterRegistry);
+    }
 
-        PreparedStatement selectStatement = mock();
+    private DerbyAsyncAuditLogger newDerbyLogger(String database, ObjectMapper mapper, MeterRegistry registry) throws SQLException {
+        AuditProperties properties = new AuditProperties("memory:" + database, "test-node", 100, "1m", Duration.ZERO);
+        properties.setWriterGroupSize(16);
+        return new DerbyAsyncAuditLogger(properties, mapper, registry, auditEntryRepository, auditCheckpointRepository);
+    }
 
-        when(auditCheckpointRepository.findByNodeName("test-node")).thenReturn(Optional.of(checkpoint));
-        when(connection.prepareStatement("SELECT id, event FROM audits WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY")).thenReturn(selectStatement);
-        when(selectStatement.getResultSet()).thenReturn(resultSet);
-        when(resultSet.next()).thenReturn(false);
+    private static void awaitRows(String database, long rows) throws SQLException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (countRows(database) < rows && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(rows, countRows(database));
+    }
 
-        int result = logger.commitBatchToDb();
+    private static long countRows(String database) throws SQLException {
+        try (Connection derby = DriverManager.getConnection("jdbc:derby:memory:" + database);
+             Statement count = derby.createStatement();
+             ResultSet rows = count.executeQuery("SELECT COUNT(*) FROM audits")) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
 
-        assertEquals(0, result);
-        verify(auditEntryRepository, never()).saveAll(anyList());
-        verify(connection, never()).prepareStatement("DELETE FROM audits WHERE id <= ?");
+    private static ObjectMapper realObjectMapper() {
+        return new ObjectMapper().findAndRegisterModules();
     }
 
     private AuditEntry createTestAuditEntry() {
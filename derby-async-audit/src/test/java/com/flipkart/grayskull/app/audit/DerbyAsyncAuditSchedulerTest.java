@@ -4,10 +4,12 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.sql.SQLException;
 
 import static com.flipkart.grayskull.app.audit.DerbyAsyncAuditLogger.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 class DerbyAsyncAuditSchedulerTest {
@@ -20,17 +22,47 @@ class DerbyAsyncAuditSchedulerTest {
 
     @Test
     void testRun_Success() throws SQLException, JsonProcessingException {
-        when(derbyAsyncAuditLogger.commitBatchToDb()).thenReturn(5).thenReturn(3).thenReturn(0);
+        when(derbyAsyncAuditLogger.drain()).thenReturn(8);
 
         scheduler.run();
 
-        verify(derbyAsyncAuditLogger, times(3)).commitBatchToDb();
+        verify(derbyAsyncAuditLogger, times(1)).drain();
+    }
+
+    @Test
+    void testTrigger_DrainsOnAnotherThread() throws SQLException, JsonProcessingException {
+        ArgumentCaptor<Runnable> listener = ArgumentCaptor.forClass(Runnable.class);
+        verify(derbyAsyncAuditLogger).setHighWaterMarkListener(listener.capture());
+
+        listener.getValue().run();
+
+        verify(derbyAsyncAuditLogger, timeout(5000)).drain();
+        scheduler.cleanup();
+    }
+
+    @Test
+    void testTrigger_AfterFailedDrain_ShouldWaitForScheduledDrainToSucceed() throws SQLException, JsonProcessingException {
+        ArgumentCaptor<Runnable> listener = ArgumentCaptor.forClass(Runnable.class);
+        verify(derbyAsyncAuditLogger).setHighWaterMarkListener(listener.capture());
+        when(derbyAsyncAuditLogger.drain()).thenThrow(new IllegalStateException("DB down")).thenReturn(8);
+
+        assertThrows(IllegalStateException.class, scheduler::run);
+        for (int i = 0; i < 100; i++) {
+            listener.getValue().run();
+        }
+        verify(derbyAsyncAuditLogger, after(200).times(1)).drain();
+
+        scheduler.run();
+        listener.getValue().run();
+
+        verify(derbyAsyncAuditLogger, timeout(5000).times(3)).drain();
+        scheduler.cleanup();
     }
 
     @Test
     void testRun_JsonProcessingException() throws SQLException, JsonProcessingException {
         JsonProcessingException exception = new JsonProcessingException("JSON error") {};
-        when(derbyAsyncAuditLogger.commitBatchToDb()).thenThrow(exception);
+        when(derbyAsyncAuditLogger.drain()).thenThrow(exception);
         when(meterRegistry.counter(AUDIT_ERROR_METRIC, ACTION_TAG, "deserialize", EXCEPTION_TAG, "JsonProcessingException")).thenReturn(counter);
 
         scheduler.run();
@@ -41,7 +73,7 @@ class DerbyAsyncAuditSchedulerTest {
     @Test
     void testRun_SQLException() throws SQLException, JsonProcessingException {
         SQLException exception = new SQLException("DB error");
-        when(derbyAsyncAuditLogger.commitBatchToDb()).thenThrow(exception);
+        when(derbyAsyncAuditLogger.drain()).thenThrow(exception);
         when(meterRegistry.counter(AUDIT_ERROR_METRIC, ACTION_TAG, "fetch-logs", EXCEPTION_TAG, "SQLException")).thenReturn(counter);
 
         scheduler.run();
@@ -51,10 +83,10 @@ class DerbyAsyncAuditSchedulerTest {
 
     @Test
     void testRun_NoEntries() throws SQLException, JsonProcessingException {
-        when(derbyAsyncAuditLogger.commitBatchToDb()).thenReturn(0);
+        when(derbyAsyncAuditLogger.drain()).thenReturn(0);
 
         scheduler.run();
 
-        verify(derbyAsyncAuditLogger, times(1)).commitBatchToDb();
+        verify(derbyAsyncAuditLogger, times(1)).drain();
     }
 }
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.flipkart.grayskull.app.audit.segment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flipkart.grayskull.app.audit.AuditCheckpoint;
+import com.flipkart.grayskull.app.audit.AuditCheckpointRepository;
+import com.flipkart.grayskull.app.audit.AuditEntryCodec;
+import com.flipkart.grayskull.spi.AsyncAuditLogger;
+import com.flipkart.grayskull.spi.models.AuditEntry;
+import com.flipkart.grayskull.spi.repositories.AuditEntryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Spools audit entries to a {@link SegmentLog}, from which {@link #drain()} moves them to the
+ * {@link AuditEntryRepository}. A drop-in replacement for the Derby spool that only appends to and reads from
+ * memory-mapped files.
+ * <p>
+ * Callers encode their entry with {@link AuditEntryCodec} and copy it into the log. A background thread forces the
+ * log to disk every {@code sync-interval}, so that the cost of an fsync is shared by all entries appended in the
+ * meantime. The
+ * position after the last stored entry is the checkpoint kept in the {@link AuditCheckpointRepository}, and
+ * segments before the checkpoint are deleted once their entries are stored.
+ */
+@Slf4j
+public class SegmentAsyncAuditLogger implements AsyncAuditLogger {
+    public static final String AUDIT_ERROR_METRIC = "audit-log-error";
+    public static final String ACTION_TAG = "action";
+    public static final String EXCEPTION_TAG = "exception";
+
+    private final SegmentAuditProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final AuditEntryRepository auditEntryRepository;
+    private final AuditCheckpointRepository auditCheckpointRepository;
+    private SegmentLog segmentLog;
+    private Thread syncer;
+    private volatile boolean running;
+
+    public SegmentAsyncAuditLogger(SegmentAuditProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry, AuditEntryRepository auditEntryRepository, AuditCheckpointRepository auditCheckpointRepository) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.auditEntryRepository = auditEntryRepository;
+        this.auditCheckpointRepository = auditCheckpointRepository;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        // Continue at the checkpoint if the segments are gone, so that positions and therefore log ids are never reused
+        long checkpoint = auditCheckpointRepository.findByNodeName(properties.getNodeName()).map(AuditCheckpoint::getLogId).orElse(0L);
+        segmentLog = SegmentLog.open(Path.of(properties.getDirectory()), segmentSize(), checkpoint);
+        if (checkpoint > segmentLog.endPosition()) {
+            log.warn("checkpoint {} is after the end {} of the audit segment log, draining it from the start", checkpoint, segmentLog.endPosition());
+        }
+        if (!properties.getSyncInterval().isZero()) {
+            running = true;
+            syncer = Thread.ofPlatform().name("segment-audit-sync").daemon().start(this::runSyncer);
+        }
+    }
+
+    private int segmentSize() {
+        long segmentSize = properties.getSegmentSize().toBytes();
+        // Segments are mapped into memory as a whole, which is limited to 2GB
+        if (segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("audit.segment.segment-size must be less than 2GB but is " + properties.getSegmentSize());
+        }
+        return (int) segmentSize;
+    }
+
+    @PreDestroy
+    public void cleanup() throws IOException, InterruptedException {
+        running = false;
+        if (syncer != null) {
+            syncer.interrupt();
+            syncer.join();
+        }
+        segmentLog.close();
+    }
+
+    @Override
+    public void log(AuditEntry auditEntry) {
+        try {
+            segmentLog.append(AuditEntryCodec.encode(auditEntry));
+            if (syncer == null) {
+                segmentLog.sync();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Failed to log audit entry", e);
+            meterRegistry.counter(AUDIT_ERROR_METRIC, ACTION_TAG, "log", EXCEPTION_TAG, e.getClass().getSimpleName()).increment();
+        }
+    }
+
+    @Override
+    public void logAll(List<AuditEntry> auditEntries) {
+        auditEntries.forEach(this::log);
+    }
+
+    /**
+     * Moves all entries in the segment log to the repository, one batch at a time. The checkpoint is stored after
+     * every batch, and segments are only deleted once the checkpoint is past them. Entries that can not be
+     * decoded are counted and skipped. Entries spooled as JSON before the binary encoding are still decoded.
+     *
+     * @return The number of entries moved.
+     */
+    public int drain() throws IOException {
+        AuditCheckpoint auditCheckpoint = auditCheckpointRepository.findByNodeName(properties.getNodeName()).orElseGet(() -> new AuditCheckpoint(properties.getNodeName()));
+        long position = auditCheckpoint.getLogId();
+        if (position > segmentLog.endPosition()) {
+            position = segmentLog.startPosition();
+        }
+        log.info("draining audit entries from checkpoint {}", position);
+        int drained = 0;
+        List<SegmentLog.Record> records = segmentLog.read(position, properties.getBatchSize());
+        while (!records.isEmpty()) {
+            List<AuditEntry> auditEntries = new ArrayList<>(records.size());
+            for (SegmentLog.Record auditRecord : records) {
+                try {
+                    byte[] payload = auditRecord.payload();
+                    AuditEntry auditEntry = AuditEntryCodec.isEncoded(payload) ? AuditEntryCodec.decode(payload) : objectMapper.readValue(payload, AuditEntry.class);
+                    auditEntry.getMetadata().put("logId", properties.getNodeName() + "." + auditRecord.position() + "." + auditEntry.getTimestamp());
+                    auditEntries.add(auditEntry);
+                } catch (IOException | IllegalArgumentException e) {
+                    log.error("Failed to deserialize audit entry at position {}", auditRecord.position(), e);
+                    meterRegistry.counter(AUDIT_ERROR_METRIC, ACTION_TAG, "deserialize", EXCEPTION_TAG, e.getClass().getSimpleName()).increment();
+                }
+            }
+            position = records.get(records.size() - 1).nextPosition();
+            if (!auditEntries.isEmpty()) {
+                auditEntryRepository.saveAll(auditEntries);
+            }
+            auditCheckpoint.setLogId(position);
+            auditCheckpointRepository.save(auditCheckpoint);
+            segmentLog.deleteBefore(position);
+            drained += auditEntries.size();
+            records = segmentLog.read(position, properties.getBatchSize());
+        }
+        log.info("drained {} audit entries. current checkpoint is {}", drained, position);
+        return drained;
+    }
+
+    private void runSyncer() {
+        long intervalMillis = Math.max(1, properties.getSyncInterval().toMillis());
+        while (running) {
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                // cleanup() interrupts the sleep, the final sync is done when the log is closed
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                segmentLog.sync();
+            } catch (RuntimeException e) {
+                log.error("Failed to sync audit segment log", e);
+                meterRegistry.counter(AUDIT_ERROR_METRIC, ACTION_TAG, "sync", EXCEPTION_TAG, e.getClass().getSimpleName()).increment();
+            }
+        }
+    }
+}
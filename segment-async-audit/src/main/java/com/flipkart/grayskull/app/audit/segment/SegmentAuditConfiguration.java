@@ -0,0 +1,33 @@
+package com.flipkart.grayskull.app.audit.segment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flipkart.grayskull.app.audit.AuditCheckpointRepository;
+import com.flipkart.grayskull.spi.AsyncAuditLogger;
+import com.flipkart.grayskull.spi.repositories.AuditEntryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@ConditionalOnProperty(name = "audit.spool", havingValue = "segment")
+@EnableMongoRepositories(basePackageClasses = AuditCheckpointRepository.class)
+@EnableConfigurationProperties(SegmentAuditProperties.class)
+@EnableScheduling
+public class SegmentAuditConfiguration {
+
+    @Bean
+    @Primary
+    public AsyncAuditLogger segmentAsyncAuditLogger(SegmentAuditProperties segmentAuditProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry, AuditEntryRepository auditEntryRepository, AuditCheckpointRepository auditCheckpointRepository) {
+        return new SegmentAsyncAuditLogger(segmentAuditProperties, objectMapper, meterRegistry, auditEntryRepository, auditCheckpointRepository);
+    }
+
+    @Bean
+    public SegmentAuditScheduler segmentAuditScheduler(SegmentAsyncAuditLogger segmentAsyncAuditLogger, MeterRegistry meterRegistry) {
+        return new SegmentAuditScheduler(segmentAsyncAuditLogger, meterRegistry);
+    }
+}
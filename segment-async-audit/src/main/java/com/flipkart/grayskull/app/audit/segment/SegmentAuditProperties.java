@@ -0,0 +1,71 @@
+package com.flipkart.grayskull.app.audit.segment;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Configuration for spooling audit events to a segment log instead of Apache Derby, enabled with
+ * {@code audit.spool: segment}.
+ * <pre>
+ * audit:
+ *   spool: segment
+ *   segment:
+ *     directory: /var/lib/grayskull/audit
+ *     node-name: node-1
+ *     segment-size: 64MB
+ *     sync-interval: 50ms
+ *     batch-size: 1000
+ *     batch-time-interval: 1m
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "audit.segment")
+@Validated
+public class SegmentAuditProperties {
+    /**
+     * Folder where the segment files are stored
+     */
+    @NotEmpty
+    private String directory;
+
+    /**
+     * Unique name for this instance of the service. needs to be unique because this name is persisted to DB
+     */
+    @NotEmpty
+    private String nodeName;
+
+    /**
+     * Size of a segment file, less than 2GB. Audit events larger than this can not be logged.
+     */
+    @NotNull
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * How often appended audit events are forced to disk. Events appended since the last sync are lost if the machine
+     * crashes, but not if only the process does. If set to zero, every event is forced to disk before it is acknowledged.
+     */
+    @NotNull
+    private Duration syncInterval = Duration.ofMillis(50);
+
+    /**
+     * Batch size for moving entries from the segment log to the DB
+     */
+    @Min(1)
+    private int batchSize = 1000;
+
+    /**
+     * The time interval in which the cron job runs which persists the events to the DB. can use suffixes ns, us, ms, s, m, h, d
+     * see {@link org.springframework.scheduling.annotation.Scheduled#fixedRateString() Scheduled.fixedRateString()}.
+     */
+    @NotEmpty
+    private String batchTimeInterval = "1m";
+}
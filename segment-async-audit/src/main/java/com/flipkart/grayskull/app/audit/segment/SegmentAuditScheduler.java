@@ -0,0 +1,29 @@
+package com.flipkart.grayskull.app.audit.segment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+
+import static com.flipkart.grayskull.app.audit.segment.SegmentAsyncAuditLogger.ACTION_TAG;
+import static com.flipkart.grayskull.app.audit.segment.SegmentAsyncAuditLogger.AUDIT_ERROR_METRIC;
+import static com.flipkart.grayskull.app.audit.segment.SegmentAsyncAuditLogger.EXCEPTION_TAG;
+
+@AllArgsConstructor
+@Slf4j
+public class SegmentAuditScheduler {
+    private final SegmentAsyncAuditLogger segmentAsyncAuditLogger;
+    private final MeterRegistry meterRegistry;
+
+    @Scheduled(fixedDelayString = "${audit.segment.batch-time-interval:1m}")
+    public void run() {
+        try {
+            segmentAsyncAuditLogger.drain();
+        } catch (IOException e) {
+            log.error("Failed to read the audit segment log", e);
+            meterRegistry.counter(AUDIT_ERROR_METRIC, ACTION_TAG, "fetch-logs", EXCEPTION_TAG, e.getClass().getSimpleName()).increment();
+        }
+    }
+}
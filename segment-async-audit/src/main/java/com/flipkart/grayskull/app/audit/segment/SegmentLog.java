@@ -0,0 +1,277 @@
+package com.flipkart.grayskull.app.audit.segment;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * An append-only log of byte records stored in memory-mapped segment files of a fixed size.
+ * <p>
+ * Every record has a position, which is its offset in the log as a whole and grows across segments. A segment file
+ * is named after the position of its first record. A record is stored as its length and the CRC32C of its payload,
+ * both as 4 byte integers, followed by the payload. A record never spans two segments: when it does not fit into the
+ * rest of the active segment, a new segment starting at the position of the record is created. A length of zero
+ * marks the end of the data in a segment.
+ * <p>
+ * Appends only copy the record into the mapped segment under a lock and are not durable until {@link #sync()} forces
+ * the active segment to disk. When the log is opened, the active segment is scanned for the first record that is
+ * incomplete or fails its CRC, which is where the log ends and appends continue.
+ * <p>
+ * Records are read by position without the lock, up to the end published by the last completed append. Segments
+ * only holding records before a given position are deleted whole by {@link #deleteBefore(long)}.
+ */
+@Slf4j
+public final class SegmentLog implements Closeable {
+    static final int HEADER_SIZE = 8;
+    private static final String SUFFIX = ".segment";
+    private static final int ZERO_CHUNK = 64 * 1024;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private volatile Segment active;
+    private volatile long end;
+    private long syncedEnd;
+
+    private SegmentLog(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the log in the given directory, recovering the end of the existing records.
+     *
+     * @param directory       The directory holding the segment files, created if missing.
+     * @param segmentSize     The size of new segment files. Existing segments keep their size.
+     * @param initialPosition The position of the first record if the directory holds no segments yet.
+     * @return The opened log.
+     */
+    public static SegmentLog open(Path directory, int segmentSize, long initialPosition) throws IOException {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size must be larger than " + HEADER_SIZE + " bytes");
+        }
+        Files.createDirectories(directory);
+        SegmentLog segmentLog = new SegmentLog(directory, segmentSize);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).toList()) {
+                String name = file.getFileName().toString();
+                long base = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+                segmentLog.segments.put(base, Segment.map(file, base, (int) Files.size(file)));
+            }
+        }
+        if (segmentLog.segments.isEmpty()) {
+            segmentLog.active = segmentLog.createSegment(initialPosition);
+            segmentLog.end = initialPosition;
+        } else {
+            segmentLog.active = segmentLog.segments.lastEntry().getValue();
+            segmentLog.end = segmentLog.recover(segmentLog.active);
+        }
+        segmentLog.syncedEnd = segmentLog.end;
+        log.info("opened audit segment log in {} with {} segments, records from {} to {}", directory,
+                segmentLog.segments.size(), segmentLog.startPosition(), segmentLog.end);
+        return segmentLog;
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param payload The payload of the record, not empty.
+     * @return The position of the record.
+     */
+    public long append(byte[] payload) throws IOException {
+        int recordSize = HEADER_SIZE + payload.length;
+        if (payload.length == 0 || recordSize > segmentSize) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes does not fit into a segment");
+        }
+        int checksum = checksum(payload);
+        appendLock.lock();
+        try {
+            long position = end;
+            Segment segment = active;
+            int offset = (int) (position - segment.base);
+            if (offset + recordSize > segment.size) {
+                segment.buffer.force();
+                segment = createSegment(position);
+                active = segment;
+                offset = 0;
+            }
+            segment.buffer.put(offset + HEADER_SIZE, payload);
+            segment.buffer.putInt(offset + 4, checksum);
+            segment.buffer.putInt(offset, payload.length);
+            end = position + recordSize;
+            return position;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Forces the records appended since the last sync to disk.
+     */
+    public synchronized void sync() {
+        // Read the end before the active segment: segments are forced when they are rolled over, so every record
+        // before the end is either in the segment read afterwards or already on disk
+        long syncTo = end;
+        Segment segment = active;
+        if (syncTo != syncedEnd) {
+            segment.buffer.force();
+            syncedEnd = syncTo;
+        }
+    }
+
+    /**
+     * Reads records starting at the given position.
+     *
+     * @param from       The position of the first record to read, must be the position of a record or the end.
+     * @param maxRecords The maximum number of records to read.
+     * @return The records in order, empty if there is no record at the position yet.
+     */
+    public List<Record> read(long from, int maxRecords) throws IOException {
+        long limit = end;
+        List<Record> records = new ArrayList<>();
+        long position = Math.max(from, startPosition());
+        while (records.size() < maxRecords && position < limit) {
+            Map.Entry<Long, Segment> entry = segments.floorEntry(position);
+            if (entry == null) {
+                throw new IOException("No segment holds position " + position);
+            }
+            Segment segment = entry.getValue();
+            int offset = (int) (position - segment.base);
+            int length = segment.buffer.getInt(offset);
+            if (length <= 0 || offset + HEADER_SIZE + length > segment.size) {
+                throw new IOException("Invalid record length " + length + " at position " + position);
+            }
+            byte[] payload = new byte[length];
+            segment.buffer.get(offset + HEADER_SIZE, payload);
+            if (checksum(payload) != segment.buffer.getInt(offset + 4)) {
+                throw new IOException("CRC mismatch for record at position " + position);
+            }
+            long next = position + HEADER_SIZE + length;
+            records.add(new Record(position, next, payload));
+            position = next;
+        }
+        return records;
+    }
+
+    /**
+     * Deletes the segments that only hold records before the given position. The active segment is never deleted.
+     *
+     * @param position The position up to which records are no longer needed.
+     * @return The number of deleted segments.
+     */
+    public int deleteBefore(long position) throws IOException {
+        int deleted = 0;
+        Map.Entry<Long, Segment> first = segments.firstEntry();
+        while (first != null && first.getValue() != active) {
+            Long nextBase = segments.higherKey(first.getKey());
+            if (nextBase == null || nextBase > position) {
+                break;
+            }
+            segments.remove(first.getKey());
+            first.getValue().close();
+            Files.delete(first.getValue().path);
+            deleted++;
+            first = segments.firstEntry();
+        }
+        return deleted;
+    }
+
+    /**
+     * @return The position of the oldest record still stored.
+     */
+    public long startPosition() {
+        return segments.firstKey();
+    }
+
+    /**
+     * @return The position the next record is appended at.
+     */
+    public long endPosition() {
+        return end;
+    }
+
+    @Override
+    public void close() throws IOException {
+        sync();
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+    }
+
+    private Segment createSegment(long base) throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", base, SUFFIX));
+        Segment segment = Segment.map(file, base, segmentSize);
+        segments.put(base, segment);
+        return segment;
+    }
+
+    /**
+     * Finds the end of the valid records in the segment and clears everything after it, so that a torn record
+     * can not be mistaken for data once new records are appended in front of it.
+     */
+    private long recover(Segment segment) {
+        int offset = 0;
+        while (offset + HEADER_SIZE <= segment.size) {
+            int length = segment.buffer.getInt(offset);
+            if (length <= 0 || offset + HEADER_SIZE + length > segment.size) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            segment.buffer.get(offset + HEADER_SIZE, payload);
+            if (checksum(payload) != segment.buffer.getInt(offset + 4)) {
+                log.warn("discarding audit record with invalid CRC at position {}", segment.base + offset);
+                break;
+            }
+            offset += HEADER_SIZE + length;
+        }
+        byte[] zeros = new byte[ZERO_CHUNK];
+        for (int clear = offset; clear < segment.size; clear += ZERO_CHUNK) {
+            segment.buffer.put(clear, zeros, 0, Math.min(ZERO_CHUNK, segment.size - clear));
+        }
+        segment.buffer.force();
+        return segment.base + offset;
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * A record read from the log.
+     *
+     * @param position     The position of the record.
+     * @param nextPosition The position of the record after it.
+     * @param payload      The payload of the record.
+     */
+    public record Record(long position, long nextPosition, byte[] payload) {
+    }
+
+    private record Segment(Path path, long base, int size, FileChannel channel, MappedByteBuffer buffer) {
+
+        static Segment map(Path path, long base, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(path, base, size, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.flipkart.grayskull.app.audit.segment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flipkart.grayskull.app.audit.AuditCheckpoint;
+import com.flipkart.grayskull.app.audit.AuditCheckpointRepository;
+import com.flipkart.grayskull.spi.models.AuditEntry;
+import com.flipkart.grayskull.spi.repositories.AuditEntryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static com.flipkart.grayskull.app.audit.segment.SegmentAsyncAuditLogger.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SegmentAsyncAuditLoggerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AuditEntryRepository auditEntryRepository = mock();
+    private final AuditCheckpointRepository auditCheckpointRepository = mock();
+    private final AuditCheckpoint checkpoint = new AuditCheckpoint("test-node");
+    private final List<AuditEntry> saved = new CopyOnWriteArrayList<>();
+    private final SegmentAuditProperties properties = new SegmentAuditProperties();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testDrain_MovesLoggedEntriesAndAdvancesCheckpoint() throws Exception {
+        stubRepositories();
+        SegmentAsyncAuditLogger logger = newLogger(Duration.ofMillis(10));
+        logger.init();
+
+        logger.log(createTestAuditEntry("secret1"));
+        logger.logAll(List.of(createTestAuditEntry("secret2"), createTestAuditEntry("secret3")));
+        int drained = logger.drain();
+
+        assertEquals(3, drained);
+        assertEquals(List.of("secret1", "secret2", "secret3"), saved.stream().map(AuditEntry::getResourceName).toList());
+        assertTrue(saved.get(0).getMetadata().get("logId").startsWith("test-node.0."));
+        assertTrue(checkpoint.getLogId() > 0);
+        assertEquals(0, logger.drain());
+        logger.cleanup();
+    }
+
+    @Test
+    void testDrain_DeletesDrainedSegments() throws Exception {
+        stubRepositories();
+        SegmentAsyncAuditLogger logger = newLogger(Duration.ZERO);
+        logger.init();
+        for (int i = 0; i < 50; i++) {
+            logger.log(createTestAuditEntry("secret" + i));
+        }
+        assertTrue(segmentFiles() > 1);
+
+        assertEquals(50, logger.drain());
+
+        assertEquals(1, segmentFiles());
+        logger.cleanup();
+    }
+
+    @Test
+    void testInit_AfterRestart_DrainsFromCheckpoint() throws Exception {
+        stubRepositories();
+        SegmentAsyncAuditLogger logger = newLogger(Duration.ofMillis(10));
+        logger.init();
+        logger.log(createTestAuditEntry("drained"));
+        logger.drain();
+        logger.log(createTestAuditEntry("pending"));
+        logger.cleanup();
+        saved.clear();
+
+        SegmentAsyncAuditLogger restarted = newLogger(Duration.ofMillis(10));
+        restarted.init();
+
+        assertEquals(1, restarted.drain());
+        assertEquals(List.of("pending"), saved.stream().map(AuditEntry::getResourceName).toList());
+        restarted.cleanup();
+    }
+
+    @Test
+    void testDrain_LegacyJsonRecords_StillDrained() throws Exception {
+        stubRepositories();
+        try (SegmentLog segmentLog = SegmentLog.open(directory, 1024, 0)) {
+            segmentLog.append(objectMapper.writeValueAsBytes(createTestAuditEntry("legacy")));
+        }
+        SegmentAsyncAuditLogger logger = newLogger(Duration.ofMillis(10));
+        logger.init();
+        logger.log(createTestAuditEntry("encoded"));
+
+        assertEquals(2, logger.drain());
+
+        assertEquals(List.of("legacy", "encoded"), saved.stream().map(AuditEntry::getResourceName).toList());
+        logger.cleanup();
+    }
+
+    @Test
+    void testDrain_WhenStoreFails_KeepsCheckpoint() throws Exception {
+        when(auditCheckpointRepository.findByNodeName("test-node")).thenReturn(Optional.of(checkpoint));
+        when(auditEntryRepository.saveAll(anyList())).thenThrow(new IllegalStateException("Mongo down"));
+        SegmentAsyncAuditLogger logger = newLogger(Duration.ofMillis(10));
+        logger.init();
+        logger.log(createTestAuditEntry("secret1"));
+
+        assertThrows(IllegalStateException.class, logger::drain);
+
+        assertEquals(0, checkpoint.getLogId());
+        verify(auditCheckpointRepository, never()).save(any());
+        logger.cleanup();
+    }
+
+    @Test
+    void testLog_EntryLargerThanSegment_CountsError() throws Exception {
+        stubRepositories();
+        SegmentAsyncAuditLogger logger = newLogger(Duration.ofMillis(10));
+        logger.init();
+        AuditEntry large = createTestAuditEntry("x".repeat(2048));
+
+        logger.log(large);
+
+        assertEquals(1, meterRegistry.counter(AUDIT_ERROR_METRIC, ACTION_TAG, "log", EXCEPTION_TAG, "IllegalArgumentException").count());
+        assertEquals(0, logger.drain());
+        logger.cleanup();
+    }
+
+    @Test
+    void testInit_SegmentSizeOf2GB_Rejected() {
+        stubRepositories();
+        SegmentAsyncAuditLogger logger = newLogger(Duration.ofMillis(10));
+        properties.setSegmentSize(DataSize.ofGigabytes(2));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, logger::init);
+
+        assertTrue(e.getMessage().contains("audit.segment.segment-size"));
+    }
+
+    private void stubRepositories() {
+        when(auditCheckpointRepository.findByNodeName("test-node")).thenReturn(Optional.of(checkpoint));
+        when(auditEntryRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<AuditEntry> entries = invocation.getArgument(0);
+            saved.addAll(entries);
+            return entries;
+        });
+    }
+
+    private SegmentAsyncAuditLogger newLogger(Duration syncInterval) {
+        properties.setDirectory(directory.toString());
+        properties.setNodeName("test-node");
+        properties.setSegmentSize(DataSize.ofKilobytes(1));
+        properties.setSyncInterval(syncInterval);
+        properties.setBatchSize(7);
+        return new SegmentAsyncAuditLogger(properties, objectMapper, meterRegistry, auditEntryRepository, auditCheckpointRepository);
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static AuditEntry createTestAuditEntry(String resourceName) {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("test", "value");
+        return new AuditEntry(null, "project1", "SECRET", resourceName, 1, "READ", "user1", Map.of("ip", "ip1"), null, metadata);
+    }
+}
@@ -0,0 +1,86 @@
+package com.flipkart.grayskull.app.audit.segment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flipkart.grayskull.spi.models.AuditEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures appends to a {@link SegmentLog} from 8 threads while another thread syncs it every 50ms, as
+ * {@link SegmentAsyncAuditLogger} does. {@code append} copies an already serialized audit entry, which is the part
+ * of logging that is serialized between callers, and {@code serializeAndAppend} includes the JSON serialization done
+ * on the calling thread.
+ * <p>
+ * Run {@link #main(String[])} with the test classpath of the module, e.g. from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class SegmentLogBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AuditEntry auditEntry = new AuditEntry(null, "project", "SECRET", "secret", 1, "READ_SECRET", "user",
+            Map.of("ip", "10.0.0.1"), null, Map.of("requestId", "0123456789abcdef"));
+
+    private Path directory;
+    private SegmentLog segmentLog;
+    private ScheduledExecutorService syncer;
+    private byte[] serialized;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("segment-audit-bench");
+        segmentLog = SegmentLog.open(directory, 64 * 1024 * 1024, 0);
+        serialized = objectMapper.writeValueAsBytes(auditEntry);
+        syncer = Executors.newSingleThreadScheduledExecutor();
+        syncer.scheduleWithFixedDelay(segmentLog::sync, 50, 50, TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        syncer.shutdownNow();
+        segmentLog.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public long append() throws IOException {
+        return segmentLog.append(serialized);
+    }
+
+    @Benchmark
+    public long serializeAndAppend() throws IOException {
+        return segmentLog.append(objectMapper.writeValueAsBytes(auditEntry));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SegmentLogBenchmark.class.getSimpleName()).build()).run();
+    }
+}
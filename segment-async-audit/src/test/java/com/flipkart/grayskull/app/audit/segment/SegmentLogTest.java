@@ -0,0 +1,146 @@
+package com.flipkart.grayskull.app.audit.segment;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentLogTest {
+
+    private static final int SEGMENT_SIZE = 64;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testAppend_ReadsRecordsBackInOrder() throws IOException {
+        try (SegmentLog segmentLog = SegmentLog.open(directory, 1024, 0)) {
+            long first = segmentLog.append(bytes("first"));
+            long second = segmentLog.append(bytes("second"));
+
+            List<SegmentLog.Record> records = segmentLog.read(0, 10);
+
+            assertEquals(List.of(first, second), records.stream().map(SegmentLog.Record::position).toList());
+            assertEquals("first", string(records.get(0)));
+            assertEquals("second", string(records.get(1)));
+            assertEquals(second, records.get(0).nextPosition());
+            assertEquals(segmentLog.endPosition(), records.get(1).nextPosition());
+            assertEquals(List.of(records.get(1).position()), segmentLog.read(second, 10).stream().map(SegmentLog.Record::position).toList());
+            assertTrue(segmentLog.read(segmentLog.endPosition(), 10).isEmpty());
+        }
+    }
+
+    @Test
+    void testAppend_RollsOverToNewSegments() throws IOException {
+        try (SegmentLog segmentLog = SegmentLog.open(directory, SEGMENT_SIZE, 0)) {
+            for (int i = 0; i < 10; i++) {
+                segmentLog.append(bytes("record-" + i));
+            }
+
+            List<SegmentLog.Record> records = segmentLog.read(0, 100);
+
+            assertEquals(10, records.size());
+            assertEquals("record-9", string(records.get(9)));
+            assertTrue(segmentFiles().size() > 1);
+        }
+    }
+
+    @Test
+    void testAppend_RecordLargerThanSegment_Rejected() throws IOException {
+        try (SegmentLog segmentLog = SegmentLog.open(directory, SEGMENT_SIZE, 0)) {
+            assertThrows(IllegalArgumentException.class, () -> segmentLog.append(new byte[SEGMENT_SIZE]));
+            assertThrows(IllegalArgumentException.class, () -> segmentLog.append(new byte[0]));
+            assertEquals(0, segmentLog.endPosition());
+        }
+    }
+
+    @Test
+    void testDeleteBefore_DeletesOnlyFullyReadSegments() throws IOException {
+        try (SegmentLog segmentLog = SegmentLog.open(directory, SEGMENT_SIZE, 0)) {
+            List<Long> positions = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                positions.add(segmentLog.append(bytes("record-" + i)));
+            }
+            int segments = segmentFiles().size();
+
+            assertEquals(0, segmentLog.deleteBefore(positions.get(1)));
+            int deleted = segmentLog.deleteBefore(positions.get(9));
+
+            assertTrue(deleted > 0);
+            assertEquals(segments - deleted, segmentFiles().size());
+            assertEquals("record-9", string(segmentLog.read(positions.get(9), 1).get(0)));
+
+            segmentLog.deleteBefore(segmentLog.endPosition());
+            assertEquals(1, segmentFiles().size());
+        }
+    }
+
+    @Test
+    void testOpen_ContinuesAfterExistingRecords() throws IOException {
+        long end;
+        try (SegmentLog segmentLog = SegmentLog.open(directory, 1024, 0)) {
+            segmentLog.append(bytes("before restart"));
+            end = segmentLog.endPosition();
+        }
+
+        try (SegmentLog segmentLog = SegmentLog.open(directory, 1024, 0)) {
+            assertEquals(end, segmentLog.endPosition());
+            segmentLog.append(bytes("after restart"));
+
+            assertEquals(List.of("before restart", "after restart"), segmentLog.read(0, 10).stream().map(SegmentLogTest::string).toList());
+        }
+    }
+
+    @Test
+    void testOpen_EmptyDirectory_StartsAtInitialPosition() throws IOException {
+        try (SegmentLog segmentLog = SegmentLog.open(directory, 1024, 500)) {
+            assertEquals(500, segmentLog.append(bytes("record")));
+            assertEquals(500, segmentLog.startPosition());
+        }
+    }
+
+    @Test
+    void testOpen_TornRecord_IsDiscardedAndOverwritten() throws IOException {
+        long second;
+        try (SegmentLog segmentLog = SegmentLog.open(directory, 1024, 0)) {
+            segmentLog.append(bytes("complete"));
+            second = segmentLog.append(bytes("torn record"));
+        }
+        // Corrupt the payload of the second record as if the process died while it was copied
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes("XX")), second + SegmentLog.HEADER_SIZE);
+        }
+
+        try (SegmentLog segmentLog = SegmentLog.open(directory, 1024, 0)) {
+            assertEquals(second, segmentLog.endPosition());
+            segmentLog.append(bytes("new"));
+
+            assertEquals(List.of("complete", "new"), segmentLog.read(0, 10).stream().map(SegmentLogTest::string).toList());
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(SegmentLog.Record segmentRecord) {
+        return new String(segmentRecord.payload(), StandardCharsets.UTF_8);
+    }
+}
@@ -7,11 +7,11 @@ import com.flipkart.grayskull.models.dto.response.SecretResponse;
 import com.flipkart.grayskull.models.dto.response.UpgradeSecretDataResponse;
 import com.flipkart.grayskull.spi.models.AuditEntry;
 import com.flipkart.grayskull.spi.repositories.AuditEntryRepository;
-import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -33,16 +33,25 @@ import static com.flipkart.grayskull.audit.utils.SanitizingObjectMapper.MASK_OBJ
  * The auditing is performed within the same transaction as the intercepted
  * method,
  * ensuring strong consistency between the business operation and the audit log.
+ * When the {@link AuditOutbox} is enabled, the entry is written to the outbox in that
+ * transaction instead, and relayed to the audit log in batches afterwards.
  * 
  * Only successful operations are audited - failures are not tracked.
  */
 @Aspect
 @Component
-@RequiredArgsConstructor
 public class AuditAspect {
 
     private final AuditEntryRepository auditEntryRepository;
     private final RequestUtils requestUtils;
+    private final AuditOutbox auditOutbox;
+
+    public AuditAspect(AuditEntryRepository auditEntryRepository, RequestUtils requestUtils,
+                       ObjectProvider<AuditOutbox> auditOutbox) {
+        this.auditEntryRepository = auditEntryRepository;
+        this.requestUtils = requestUtils;
+        this.auditOutbox = auditOutbox.getIfAvailable();
+    }
 
     /**
      * Advice that runs after an audited method returns successfully.
@@ -89,7 +98,11 @@ public class AuditAspect {
                     .metadata(metadata)
                     .build();
 
-            auditEntryRepository.save(entry);
+            if (auditOutbox != null) {
+                auditOutbox.append(entry);
+            } else {
+                auditEntryRepository.save(entry);
+            }
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException("Failed to serialize audit metadata", e);
         }
@@ -42,5 +42,20 @@ public class AuditConstants {
      * Resource type for secret entities.
      */
     public static final String RESOURCE_TYPE_SECRET = "SECRET";
+
+    /**
+     * Metadata key for the number of identical reads folded into an audit entry.
+     */
+    public static final String COUNT_METADATA_KEY = "count";
+
+    /**
+     * Metadata key for the time of the first read folded into an audit entry.
+     */
+    public static final String FIRST_SEEN_METADATA_KEY = "firstSeen";
+
+    /**
+     * Metadata key for the time of the last read folded into an audit entry.
+     */
+    public static final String LAST_SEEN_METADATA_KEY = "lastSeen";
     
 }
@@ -0,0 +1,192 @@
+package com.flipkart.grayskull.audit;
+
+import com.flipkart.grayskull.configuration.properties.AuditOutboxProperties;
+import com.flipkart.grayskull.entities.AuditEntryEntity;
+import com.flipkart.grayskull.spi.models.AuditEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transactional outbox for the audit entries of {@link Audit} methods.
+ * <p>
+ * {@link #append(AuditEntry)} inserts a compact record with short field names into the {@code auditOutbox}
+ * collection, in the transaction of the audited method, so the record exists if and only if the operation
+ * committed. A relay thread reads the records in {@code _id} order, upserts them into the audit collection with one
+ * unordered bulk write per batch and removes them from the outbox afterwards.
+ * <p>
+ * Delivery is at least once: if the relay dies between the bulk write and the removal, or several nodes relay the
+ * same records, the records are written again. The audit entry takes the id of its outbox record and the
+ * {@code logId} {@code outbox.<id>}, so writing it again replaces the same document. Records committed late, with a
+ * lower id than records already relayed, are picked up by the next poll since nothing but the outbox itself tracks
+ * progress.
+ * <p>
+ * Publishes the number of relayed entries as {@code grayskull.audit.outbox.relayed}, failed relay attempts as
+ * {@code grayskull.audit.outbox.failed} and the duration of a batch as {@code grayskull.audit.outbox.relay}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "grayskull.audit.outbox.enabled", havingValue = "true")
+public class AuditOutbox {
+
+    static final String COLLECTION = "auditOutbox";
+    static final String LOG_ID_PREFIX = "outbox.";
+
+    private static final String METRIC_PREFIX = "grayskull.audit.outbox.";
+    private static final String ID = "_id";
+    private static final String PROJECT_ID = "p";
+    private static final String RESOURCE_TYPE = "t";
+    private static final String RESOURCE_NAME = "n";
+    private static final String RESOURCE_VERSION = "v";
+    private static final String ACTION = "a";
+    private static final String USER_ID = "u";
+    private static final String IPS = "i";
+    private static final String TIMESTAMP = "ts";
+    private static final String METADATA = "m";
+    private static final String LOG_ID = "logId";
+
+    private final MongoTemplate mongoTemplate;
+    private final AuditOutboxProperties properties;
+    private final Counter relayed;
+    private final Counter failed;
+    private final Timer relayTimer;
+    private volatile boolean running;
+    private Thread relay;
+
+    public AuditOutbox(MongoTemplate mongoTemplate, AuditOutboxProperties properties, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.relayed = meterRegistry.counter(METRIC_PREFIX + "relayed");
+        this.failed = meterRegistry.counter(METRIC_PREFIX + "failed");
+        this.relayTimer = Timer.builder(METRIC_PREFIX + "relay").register(meterRegistry);
+    }
+
+    /**
+     * Writes an audit entry to the outbox, in the transaction of the caller if there is one.
+     *
+     * @param auditEntry The entry to relay to the audit collection.
+     */
+    public void append(AuditEntry auditEntry) {
+        Document outboxRecord = new Document()
+                .append(PROJECT_ID, auditEntry.getProjectId())
+                .append(RESOURCE_TYPE, auditEntry.getResourceType())
+                .append(RESOURCE_NAME, auditEntry.getResourceName())
+                .append(RESOURCE_VERSION, auditEntry.getResourceVersion())
+                .append(ACTION, auditEntry.getAction())
+                .append(USER_ID, auditEntry.getUserId())
+                .append(IPS, auditEntry.getIps())
+                .append(TIMESTAMP, auditEntry.getTimestamp() == null ? null : Date.from(auditEntry.getTimestamp()))
+                .append(METADATA, auditEntry.getMetadata());
+        mongoTemplate.insert(outboxRecord, COLLECTION);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        relay = Thread.ofPlatform().daemon().name("audit-outbox-relay").start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // Not interrupting the relay, which could abort a write in progress. It notices within a poll interval.
+        running = false;
+        if (relay != null) {
+            relay.join(properties.getPollInterval().multipliedBy(2).toMillis());
+        }
+    }
+
+    private void run() {
+        while (running) {
+            int count;
+            try {
+                count = relayOnce();
+            } catch (RuntimeException e) {
+                log.error("Failed to relay audit outbox, retrying after {}", properties.getPollInterval(), e);
+                failed.increment();
+                count = 0;
+            }
+            if (count < properties.getBatchSize()) {
+                try {
+                    Thread.sleep(properties.getPollInterval());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the oldest batch of outbox records to the audit collection.
+     *
+     * @return The number of records moved.
+     */
+    int relayOnce() {
+        Query query = new Query().with(Sort.by(ID)).limit(properties.getBatchSize());
+        List<Document> records = mongoTemplate.find(query, Document.class, COLLECTION);
+        if (records.isEmpty()) {
+            return 0;
+        }
+        return relayTimer.record(() -> {
+            BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AuditEntryEntity.class);
+            List<ObjectId> ids = new ArrayList<>(records.size());
+            for (Document outboxRecord : records) {
+                AuditEntryEntity entry = toEntry(outboxRecord);
+                bulkOperations.replaceOne(new Query(Criteria.where(ID).is(entry.getId())), entry,
+                        FindAndReplaceOptions.options().upsert());
+                ids.add(outboxRecord.getObjectId(ID));
+            }
+            bulkOperations.execute();
+            mongoTemplate.remove(new Query(Criteria.where(ID).in(ids)), COLLECTION);
+            relayed.increment(records.size());
+            return records.size();
+        });
+    }
+
+    private static AuditEntryEntity toEntry(Document outboxRecord) {
+        String id = outboxRecord.getObjectId(ID).toHexString();
+        Map<String, String> metadata = strings(outboxRecord.get(METADATA));
+        metadata.put(LOG_ID, LOG_ID_PREFIX + id);
+        Date timestamp = outboxRecord.getDate(TIMESTAMP);
+        return AuditEntryEntity.builder()
+                .id(id)
+                .projectId(outboxRecord.getString(PROJECT_ID))
+                .resourceType(outboxRecord.getString(RESOURCE_TYPE))
+                .resourceName(outboxRecord.getString(RESOURCE_NAME))
+                .resourceVersion(outboxRecord.getInteger(RESOURCE_VERSION))
+                .action(outboxRecord.getString(ACTION))
+                .userId(outboxRecord.getString(USER_ID))
+                .ips(outboxRecord.get(IPS) == null ? null : strings(outboxRecord.get(IPS)))
+                .timestamp(timestamp == null ? null : timestamp.toInstant())
+                .metadata(metadata)
+                .build();
+    }
+
+    private static Map<String, String> strings(Object document) {
+        Map<String, String> map = new HashMap<>();
+        if (document instanceof Map<?, ?> fields) {
+            fields.forEach((key, value) -> map.put(key.toString(), value == null ? null : value.toString()));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,193 @@
+package com.flipkart.grayskull.audit;
+
+import com.flipkart.grayskull.configuration.properties.ReadAuditAggregationProperties;
+import com.flipkart.grayskull.spi.AsyncAuditLogger;
+import com.flipkart.grayskull.spi.models.AuditEntry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.flipkart.grayskull.audit.AuditConstants.*;
+
+/**
+ * Sits in front of the {@link AsyncAuditLogger} for audit entries of reads. When read aggregation is enabled,
+ * identical reads, i.e. the same action on the same secret version by the same user from the same addresses, are
+ * folded into one entry per window instead of being logged one by one.
+ * <p>
+ * The first read of a key starts its aggregate, and every window all aggregates are logged and removed. An
+ * aggregate of a single read is logged as it is. Otherwise the entry of the first read is logged with the metadata
+ * {@code count}, {@code firstSeen} and {@code lastSeen} added. Reads with actions that are not configured, and reads
+ * arriving while {@code max-keys} aggregates are open, are logged immediately. Aggregates still open on shutdown
+ * are logged before the audit logger shuts down.
+ * <p>
+ * Publishes the number of reads folded into an existing aggregate as {@code grayskull.audit.aggregation.folded}
+ * and the number of open aggregates as {@code grayskull.audit.aggregation.keys}.
+ */
+@Slf4j
+@Component
+public class ReadAuditAggregator {
+
+    private static final String METRIC_PREFIX = "grayskull.audit.aggregation.";
+
+    private final AsyncAuditLogger asyncAuditLogger;
+    private final ReadAuditAggregationProperties properties;
+    private final Map<Key, Aggregate> aggregates = new ConcurrentHashMap<>();
+    private final Counter folded;
+    private final Thread flusher;
+    private volatile boolean running;
+
+    public ReadAuditAggregator(AsyncAuditLogger asyncAuditLogger, ReadAuditAggregationProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.asyncAuditLogger = asyncAuditLogger;
+        this.properties = properties;
+        this.folded = meterRegistry.counter(METRIC_PREFIX + "folded");
+        Gauge.builder(METRIC_PREFIX + "keys", aggregates, Map::size).register(meterRegistry);
+        this.running = properties.isEnabled();
+        this.flusher = running ? Thread.ofPlatform().daemon().name("read-audit-aggregator").start(this::run) : null;
+    }
+
+    public void log(AuditEntry auditEntry) {
+        if (!aggregate(auditEntry)) {
+            asyncAuditLogger.log(auditEntry);
+        }
+    }
+
+    public void logAll(List<AuditEntry> auditEntries) {
+        List<AuditEntry> remaining = new ArrayList<>(auditEntries.size());
+        for (AuditEntry auditEntry : auditEntries) {
+            if (!aggregate(auditEntry)) {
+                remaining.add(auditEntry);
+            }
+        }
+        if (!remaining.isEmpty()) {
+            asyncAuditLogger.logAll(remaining);
+        }
+    }
+
+    /**
+     * Stops the flusher and logs the open aggregates.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            flusher.join();
+        }
+        flush();
+    }
+
+    /**
+     * Logs and removes all open aggregates.
+     */
+    void flush() {
+        List<AuditEntry> auditEntries = new ArrayList<>();
+        for (Key key : aggregates.keySet()) {
+            Aggregate aggregate = aggregates.remove(key);
+            if (aggregate != null) {
+                auditEntries.add(aggregate.toAuditEntry());
+            }
+        }
+        if (!auditEntries.isEmpty()) {
+            asyncAuditLogger.logAll(auditEntries);
+        }
+    }
+
+    /**
+     * @return {@code false} if the entry is not aggregated and must be logged by the caller.
+     */
+    private boolean aggregate(AuditEntry auditEntry) {
+        if (!running || !properties.getActions().contains(auditEntry.getAction())) {
+            return false;
+        }
+        Key key = Key.of(auditEntry);
+        boolean full = aggregates.size() >= properties.getMaxKeys();
+        // Mutating the aggregate inside compute keeps flush() from removing it halfway through an update
+        Aggregate aggregate = aggregates.compute(key, (k, existing) -> {
+            if (existing != null) {
+                existing.add(auditEntry.getTimestamp());
+                return existing;
+            }
+            return full ? null : new Aggregate(auditEntry);
+        });
+        if (aggregate == null) {
+            return false;
+        }
+        if (aggregate.first != auditEntry) {
+            folded.increment();
+        }
+        return true;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Thread.sleep(properties.getWindow());
+            } catch (InterruptedException e) {
+                // shutdown() interrupts the sleep and flushes what is left
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("Failed to log aggregated read audits", e);
+            }
+        }
+    }
+
+    private record Key(String projectId, String resourceType, String resourceName, Integer resourceVersion,
+                       String action, String userId, Map<String, String> ips) {
+
+        static Key of(AuditEntry auditEntry) {
+            return new Key(auditEntry.getProjectId(), auditEntry.getResourceType(), auditEntry.getResourceName(),
+                    auditEntry.getResourceVersion(), auditEntry.getAction(), auditEntry.getUserId(), auditEntry.getIps());
+        }
+    }
+
+    /**
+     * The reads folded under one key. Only updated while the key is locked by {@link ConcurrentHashMap#compute}.
+     */
+    private static final class Aggregate {
+        private final AuditEntry first;
+        private long count = 1;
+        private Instant firstSeen;
+        private Instant lastSeen;
+
+        private Aggregate(AuditEntry first) {
+            this.first = first;
+            this.firstSeen = first.getTimestamp();
+            this.lastSeen = first.getTimestamp();
+        }
+
+        private void add(Instant timestamp) {
+            count++;
+            if (timestamp != null) {
+                firstSeen = firstSeen == null || timestamp.isBefore(firstSeen) ? timestamp : firstSeen;
+                lastSeen = lastSeen == null || timestamp.isAfter(lastSeen) ? timestamp : lastSeen;
+            }
+        }
+
+        private AuditEntry toAuditEntry() {
+            if (count == 1) {
+                return first;
+            }
+            Map<String, String> metadata = new HashMap<>(Objects.requireNonNullElse(first.getMetadata(), Map.of()));
+            metadata.put(COUNT_METADATA_KEY, Long.toString(count));
+            metadata.put(FIRST_SEEN_METADATA_KEY, String.valueOf(firstSeen));
+            metadata.put(LAST_SEEN_METADATA_KEY, String.valueOf(lastSeen));
+            return first.toBuilder().timestamp(firstSeen).metadata(metadata).build();
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package com.flipkart.grayskull.authz;
 
 import com.flipkart.grayskull.spi.models.Project;
+import com.flipkart.grayskull.spi.models.Secret;
 import com.flipkart.grayskull.spi.GrayskullAuthorizationProvider;
 import com.flipkart.grayskull.spi.authz.AuthorizationContext;
 import com.flipkart.grayskull.spi.repositories.ProjectRepository;
 import com.flipkart.grayskull.spi.repositories.SecretRepository;
+import com.flipkart.grayskull.service.utils.RequestEntityMemo;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * A security facade bean that centralizes authorization logic for use in Spring
  * Security's
@@ -28,16 +36,16 @@ public class GrayskullSecurity {
     private final ProjectRepository projectRepository;
     private final SecretRepository secretRepository;
     private final GrayskullAuthorizationProvider authorizationProvider;
+    private final RequestEntityMemo requestEntityMemo;
 
     /**
      * Checks if the current user has permission to perform a project-level action.
      * <p>
      * This method is designed for actions where a secret is not yet involved, such
      * as listing secrets
-     * within a project or creating a new one. The project resolution logic
-     * (including transient project creation for non-existent projects) is
-     * delegated to the repository layer, keeping authorization logic clean
-     * and focused on permission evaluation.
+     * within a project or creating a new one. A project that does not exist yet
+     * is checked as a {@link ProjectRepository#transientProject(String) transient}
+     * project.
      *
      * @param projectId The ID of the project.
      * @param action    The action to authorize (e.g., "LIST_SECRETS",
@@ -46,7 +54,8 @@ public class GrayskullSecurity {
      */
     public boolean hasPermission(String projectId, String action) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        Project project = projectRepository.findByIdOrTransient(projectId);
+        Project project = findProject(projectId)
+                .orElseGet(() -> projectRepository.transientProject(projectId));
 
         AuthorizationContext context = AuthorizationContext.forProject(authentication, project);
         return authorizationProvider.isAuthorized(context, action);
@@ -78,8 +87,9 @@ public class GrayskullSecurity {
      */
     public boolean hasPermission(String projectId, String secretName, String action) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return projectRepository.findById(projectId)
-                .map(project -> secretRepository.findByProjectIdAndName(project.getId(), secretName)
+        return findProject(projectId)
+                .map(project -> requestEntityMemo.findSecret(project.getId(), secretName,
+                                () -> secretRepository.findByProjectIdAndName(project.getId(), secretName))
                         .map(secret -> {
                             // Secret exists, check with secret context
                             AuthorizationContext context = AuthorizationContext.forSecret(authentication, project,
@@ -93,4 +103,65 @@ public class GrayskullSecurity {
                         }))
                 .orElse(false);
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks if the current user has permission to perform an action on every one of the given secrets
+     * within a project. This is the batch counterpart of {@link #hasPermission(String, String, String)}
+     * with the same semantics for non-existent resources, but it resolves the project once and all the
+     * secrets with a single query.
+     *
+     * @param projectId   The ID of the project.
+     * @param secretNames The names of the secrets.
+     * @param action      The action to authorize (e.g., "READ_SECRET_VALUE").
+     * @return {@code true} if authorized for all the secrets, {@code false} otherwise.
+     */
+    public boolean hasPermissionForAll(String projectId, Collection<String> secretNames, String action) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return findProject(projectId)
+                .map(project -> {
+                    Map<String, Secret> secrets = requestEntityMemo.findSecrets(project.getId(), secretNames,
+                                    names -> secretRepository.findByProjectIdAndNameIn(project.getId(), names))
+                            .stream()
+                            .collect(Collectors.toMap(Secret::getName, Function.identity()));
+                    boolean projectLevelChecked = false;
+                    for (String secretName : secretNames) {
+                        Secret secret = secrets.get(secretName);
+                        if (secret != null) {
+                            AuthorizationContext context = AuthorizationContext.forSecret(authentication, project, secret);
+                            if (!authorizationProvider.isAuthorized(context, action)) {
+                                return false;
+                            }
+                        } else if (!projectLevelChecked) {
+                            // Secret does not exist, fall back to a project-level check which is the same for all of them
+                            AuthorizationContext context = AuthorizationContext.forProject(authentication, project);
+                            if (!authorizationProvider.isAuthorized(context, action)) {
+                                return false;
+                            }
+                            projectLevelChecked = true;
+                        }
+                    }
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * Checks if the current user has permission to perform an action on every one of the given secrets,
+     * which may span several projects.
+     *
+     * @param secretNamesByProject The names of the secrets keyed by the ID of their project.
+     * @param action               The action to authorize (e.g., "READ_SECRET_METADATA").
+     * @return {@code true} if authorized for all the secrets, {@code false} otherwise.
+     */
+    public boolean hasPermissionForAll(Map<String, ? extends Collection<String>> secretNamesByProject, String action) {
+        return secretNamesByProject.entrySet().stream()
+                .allMatch(entry -> hasPermissionForAll(entry.getKey(), entry.getValue(), action));
+    }
+
+    /**
+     * Finds a project, remembering it for the service layer handling the same request.
+     */
+    private Optional<Project> findProject(String projectId) {
+        return requestEntityMemo.findProject(projectId, () -> projectRepository.findById(projectId));
+    }
+}
@@ -0,0 +1,78 @@
+package com.flipkart.grayskull.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the default asynchronous audit logger, which buffers audit entries in a bounded queue and
+ * writes them to the audit repository in batches.
+ * <p>
+ * Example configuration:
+ * <pre>
+ * grayskull:
+ *   audit:
+ *     async:
+ *       capacity: 10000
+ *       batch-size: 500
+ *       flush-interval: 1s
+ *       overflow-policy: SPILL
+ *       spill-directory: /var/lib/grayskull/audit-spill
+ *       shutdown-timeout: 10s
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "grayskull.audit.async")
+@Component
+public class AsyncAuditProperties {
+
+    /**
+     * What to do with an audit entry when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Block the calling thread until there is space in the queue.
+         */
+        BLOCK,
+        /**
+         * Discard the entry and count it in {@code grayskull.audit.async.dropped}.
+         */
+        DROP,
+        /**
+         * Append the entry to a file in {@code spill-directory}, which is written to the repository once the
+         * queue has drained.
+         */
+        SPILL
+    }
+
+    /**
+     * Maximum number of audit entries buffered in memory.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Number of audit entries after which a batch is written.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Maximum time an audit entry waits in the queue for its batch to fill up.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    /**
+     * Directory for spilled audit entries, required by the {@code SPILL} overflow policy.
+     */
+    private String spillDirectory;
+
+    /**
+     * Maximum time to wait for the queue to be written on shutdown.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
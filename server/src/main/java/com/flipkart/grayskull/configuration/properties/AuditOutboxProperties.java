@@ -0,0 +1,45 @@
+package com.flipkart.grayskull.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the audit outbox, which makes {@code @Audit} methods write a compact record to an outbox
+ * collection in their transaction instead of the audit entry itself. A background relay moves the records to the
+ * audit collection in batches.
+ * <p>
+ * Example configuration:
+ * <pre>
+ * grayskull:
+ *   audit:
+ *     outbox:
+ *       enabled: true
+ *       batch-size: 500
+ *       poll-interval: 1s
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "grayskull.audit.outbox")
+@Component
+public class AuditOutboxProperties {
+
+    /**
+     * Whether audited methods write to the outbox instead of the audit collection.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of outbox records moved to the audit collection per bulk write.
+     */
+    private int batchSize = 500;
+
+    /**
+     * How long the relay waits before polling again once the outbox has fewer than a batch of records.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+}
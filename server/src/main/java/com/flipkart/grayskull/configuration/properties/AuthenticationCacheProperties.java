@@ -0,0 +1,45 @@
+package com.flipkart.grayskull.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the cache of successful Basic authentications used by the default authentication provider.
+ * A cached authentication stays valid for {@code expire-after-write} even if the password is changed in the
+ * meantime, unless it is evicted explicitly.
+ * <p>
+ * Example configuration:
+ * <pre>
+ * grayskull:
+ *   authentication:
+ *     cache:
+ *       enabled: true
+ *       maximum-size: 10000
+ *       expire-after-write: 1m
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "grayskull.authentication.cache")
+@Component
+public class AuthenticationCacheProperties {
+
+    /**
+     * Whether successful authentications are cached. When disabled every request is authenticated again.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of distinct credentials held in the cache.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Time after which a cached authentication is evicted and the credentials are verified again.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(1);
+}
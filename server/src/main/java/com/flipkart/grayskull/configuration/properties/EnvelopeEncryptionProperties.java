@@ -0,0 +1,47 @@
+package com.flipkart.grayskull.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for envelope encryption of secret data. When enabled, secret data is encrypted with a per-project
+ * data key and only the data key is encrypted with the project's KMS key, so that the KMS is called once per data
+ * key rather than once per secret.
+ * <p>
+ * Example configuration:
+ * <pre>
+ * grayskull:
+ *   crypto:
+ *     envelope:
+ *       enabled: true
+ *       data-key-ttl: 10m
+ *       maximum-size: 10000
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "grayskull.crypto.envelope")
+@Component
+public class EnvelopeEncryptionProperties {
+
+    /**
+     * Whether new secret data is encrypted with data keys. Data already encrypted with data keys can be read
+     * either way.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Time for which a data key is used for encrypting new data, and for which an unwrapped data key is kept in
+     * memory for decrypting.
+     */
+    private Duration dataKeyTtl = Duration.ofMinutes(10);
+
+    /**
+     * Maximum number of data keys held in memory, for encrypting and for decrypting each.
+     */
+    private long maximumSize = 10_000;
+}
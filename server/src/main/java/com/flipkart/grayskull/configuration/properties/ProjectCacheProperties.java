@@ -0,0 +1,57 @@
+package com.flipkart.grayskull.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the in-process cache of projects.
+ * The caches of all nodes are kept coherent through a MongoDB change stream on the project collection,
+ * so enabling it requires a replica set or sharded cluster.
+ * <p>
+ * Example configuration:
+ * <pre>
+ * grayskull:
+ *   cache:
+ *     project:
+ *       enabled: true
+ *       maximum-size: 10000
+ *       expire-after-write: 30m
+ *       negative-expire-after-write: 1m
+ *       restart-delay: 5s
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "grayskull.cache.project")
+@Component
+public class ProjectCacheProperties {
+
+    /**
+     * Whether project lookups are cached. When disabled every lookup goes to the database.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of projects, existing or not, held in the cache.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Time after which a cached project is evicted. This bounds staleness if a change stream event is missed.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(30);
+
+    /**
+     * Time after which the fact that a project does not exist is evicted.
+     */
+    private Duration negativeExpireAfterWrite = Duration.ofMinutes(1);
+
+    /**
+     * Time to wait before reopening the change stream after it fails.
+     */
+    private Duration restartDelay = Duration.ofSeconds(5);
+}
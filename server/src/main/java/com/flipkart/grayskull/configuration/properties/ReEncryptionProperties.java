@@ -0,0 +1,64 @@
+package com.flipkart.grayskull.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for the background job that re-encrypts secret data away from retired keys, so that the keys
+ * can be removed from the configuration afterwards. Data is re-encrypted with the current key of its project,
+ * or the default key if the project has none.
+ * <p>
+ * Example configuration:
+ * <pre>
+ * grayskull:
+ *   reencryption:
+ *     enabled: true
+ *     key-ids: [old-key]
+ *     batch-size: 200
+ *     parallelism: 4
+ *     max-documents-per-second: 500
+ *     lease: 5m
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "grayskull.reencryption")
+@Component
+public class ReEncryptionProperties {
+
+    /**
+     * Whether the job runs once the application has started.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The ids of the keys to re-encrypt data away from.
+     */
+    private List<String> keyIds = new ArrayList<>();
+
+    /**
+     * Number of documents re-encrypted and written back per bulk operation.
+     */
+    private int batchSize = 200;
+
+    /**
+     * Number of batches re-encrypted in parallel.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Upper bound on the documents re-encrypted per second, to keep the impact on regular traffic low.
+     */
+    private int maxDocumentsPerSecond = 500;
+
+    /**
+     * How long a node owns the job for a key without renewing, after which another node may take it over.
+     */
+    private Duration lease = Duration.ofMinutes(5);
+}
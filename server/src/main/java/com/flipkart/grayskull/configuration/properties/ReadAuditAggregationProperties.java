@@ -0,0 +1,52 @@
+package com.flipkart.grayskull.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Configuration for folding repeated reads into a single audit entry. Identical reads of a secret by the same user
+ * from the same addresses within a window are logged once, with their count and the first and last time they were
+ * seen.
+ * <p>
+ * Example configuration:
+ * <pre>
+ * grayskull:
+ *   audit:
+ *     read-aggregation:
+ *       enabled: true
+ *       window: 1m
+ *       max-keys: 100000
+ *       actions: [READ_SECRET, READ_SECRET_VERSION]
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "grayskull.audit.read-aggregation")
+@Component
+public class ReadAuditAggregationProperties {
+
+    /**
+     * Whether reads are aggregated. When disabled every read is logged as its own audit entry.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long identical reads are folded into one entry before it is logged.
+     */
+    private Duration window = Duration.ofMinutes(1);
+
+    /**
+     * Maximum number of distinct reads aggregated per window. Reads beyond it are logged individually.
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * The audit actions that are aggregated, all others are logged individually.
+     */
+    private Set<String> actions = Set.of("READ_SECRET", "READ_SECRET_VERSION");
+}
@@ -0,0 +1,50 @@
+package com.flipkart.grayskull.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the in-process cache of secret data versions.
+ * <p>
+ * Example configuration:
+ * <pre>
+ * grayskull:
+ *   cache:
+ *     secret-data:
+ *       enabled: true
+ *       maximum-size: 10000
+ *       expire-after-write: 10m
+ *       cache-decrypted: false
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "grayskull.cache.secret-data")
+@Component
+public class SecretCacheProperties {
+
+    /**
+     * Whether secret data lookups are cached. When disabled every read goes to the database.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of secret data versions held in the cache.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Time after which a cached entry is evicted regardless of access.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+    /**
+     * If {@code true} the decrypted private part is cached so that hot reads also skip decryption.
+     * If {@code false} only the ciphertext is cached and every read is decrypted.
+     */
+    private boolean cacheDecrypted = false;
+}
@@ -0,0 +1,43 @@
+package com.flipkart.grayskull.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the background migration of secret data from the Base64 string format to the binary format.
+ * <p>
+ * Example configuration:
+ * <pre>
+ * grayskull:
+ *   migration:
+ *     secret-data-binary:
+ *       enabled: true
+ *       batch-size: 500
+ *       batch-delay: 100ms
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "grayskull.migration.secret-data-binary")
+@Component
+public class SecretDataMigrationProperties {
+
+    /**
+     * Whether the migration runs once the application has started.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of documents read and rewritten per batch.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Pause between batches, to keep the load on the database low.
+     */
+    private Duration batchDelay = Duration.ofMillis(100);
+}
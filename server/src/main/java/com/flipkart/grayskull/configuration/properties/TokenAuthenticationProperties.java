@@ -0,0 +1,94 @@
+package com.flipkart.grayskull.configuration.properties;
+
+import com.flipkart.grayskull.spimpl.authn.TokenAlgorithm;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for short lived signed bearer tokens. Clients exchange their Basic credentials for a token at
+ * {@code POST /v1/auth/token} and send it as {@code Authorization: Bearer <token>}, which is verified without
+ * looking up or hashing any password.
+ * <p>
+ * Keys are referenced by id from the tokens, so a key can be rotated by adding a new key, switching
+ * {@code signing-key-id} to it and removing the old key once the tokens signed with it have expired. HS256 keys
+ * are Base64 encoded secrets of at least 32 bytes. Ed25519 keys are a Base64 encoded X.509 public key and,
+ * for the key used for signing, a Base64 encoded PKCS#8 private key.
+ * <p>
+ * Example configuration:
+ * <pre>
+ * grayskull:
+ *   authentication:
+ *     token:
+ *       enabled: true
+ *       signing-key-id: k2
+ *       ttl: 15m
+ *       clock-skew: 30s
+ *       keys:
+ *         k1:
+ *           algorithm: HS256
+ *           secret: 74YlShtySBrQLeuhJD1w4bm+uYaR72tuicYHDjmelWE=
+ *         k2:
+ *           algorithm: ED25519
+ *           public-key: MCowBQYDK2VwAyEA...
+ *           private-key: MC4CAQAwBQYDK2VwBCIEI...
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "grayskull.authentication.token")
+@Component
+public class TokenAuthenticationProperties {
+
+    /**
+     * Whether bearer tokens are issued and accepted. Basic credentials are accepted either way.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The id of the key used to sign the issued tokens.
+     */
+    private String signingKeyId;
+
+    /**
+     * Lifetime of the issued tokens.
+     */
+    private Duration ttl = Duration.ofMinutes(15);
+
+    /**
+     * Tolerated difference between the clocks of the nodes when checking the expiry of a token.
+     */
+    private Duration clockSkew = Duration.ofSeconds(30);
+
+    /**
+     * The keys tokens are verified with, by id.
+     */
+    private Map<String, Key> keys = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Key {
+
+        private TokenAlgorithm algorithm = TokenAlgorithm.HS256;
+
+        /**
+         * The Base64 encoded secret of an HS256 key.
+         */
+        private String secret;
+
+        /**
+         * The Base64 encoded X.509 public key of an Ed25519 key.
+         */
+        private String publicKey;
+
+        /**
+         * The Base64 encoded PKCS#8 private key of an Ed25519 key, only needed to sign tokens.
+         */
+        private String privateKey;
+    }
+}
@@ -0,0 +1,43 @@
+package com.flipkart.grayskull.configuration.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the secret watch API which notifies clients when the data version of a secret changes.
+ * Watching relies on MongoDB change streams, so it requires a replica set or sharded cluster.
+ * <p>
+ * Example configuration:
+ * <pre>
+ * grayskull:
+ *   watch:
+ *     enabled: true
+ *     max-secrets: 500
+ *     restart-delay: 5s
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "grayskull.watch")
+@Component
+public class WatchProperties {
+
+    /**
+     * Whether the watch API is enabled. When disabled no change stream is opened.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of secrets a single watch request can subscribe to.
+     */
+    private int maxSecrets = 500;
+
+    /**
+     * Time to wait before reopening the change stream after it fails.
+     */
+    private Duration restartDelay = Duration.ofSeconds(5);
+}
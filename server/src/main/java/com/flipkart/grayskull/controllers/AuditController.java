@@ -0,0 +1,72 @@
+package com.flipkart.grayskull.controllers;
+
+import com.flipkart.grayskull.audit.AuditAction;
+import com.flipkart.grayskull.models.dto.request.AuditQuery;
+import com.flipkart.grayskull.models.dto.response.ListAuditEntriesResponse;
+import com.flipkart.grayskull.models.dto.response.ResponseTemplate;
+import com.flipkart.grayskull.service.interfaces.AuditService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/v1/projects/{projectId}")
+@RequiredArgsConstructor
+@Validated
+public class AuditController {
+
+    private final AuditService auditService;
+
+    @Operation(summary = "Lists the audit entries of a project newest first, optionally filtered by resource, user, action "
+            + "and a time range including 'from' and excluding 'to'. Pass the returned nextPageToken to fetch the next page.")
+    @GetMapping("/audits")
+    @PreAuthorize("@grayskullSecurity.hasPermission(#projectId, 'audit.read')")
+    public ResponseTemplate<ListAuditEntriesResponse> listAuditEntries(
+            @PathVariable("projectId") @NotBlank @Size(max = 255) String projectId,
+            @RequestParam(name = "resourceName", required = false) @Size(max = 255) String resourceName,
+            @RequestParam(name = "userId", required = false) @Size(max = 255) String userId,
+            @RequestParam(name = "action", required = false) AuditAction action,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(name = "limit", defaultValue = "100") @Min(1) @Max(1000) int limit,
+            @RequestParam(name = "pageToken", required = false) @Size(max = 1024) String pageToken) {
+        AuditQuery query = new AuditQuery(resourceName, userId, action == null ? null : action.name(), from, to);
+        ListAuditEntriesResponse response = auditService.listAuditEntries(projectId, query, pageToken, limit);
+        return ResponseTemplate.success(response, "Successfully listed audit entries.");
+    }
+
+    /**
+     * Writes the export on the request thread, straight to the servlet response. An asynchronous
+     * {@code StreamingResponseBody} would be cut off by the MVC async request timeout once the status and headers are
+     * already committed, leaving the client with truncated NDJSON and a successful status.
+     */
+    @Operation(summary = "Exports all audit entries of a project matching the filters as newline delimited JSON, "
+            + "newest first. The entries are streamed, so the export is not limited in size.")
+    @GetMapping(value = "/audits:export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("@grayskullSecurity.hasPermission(#projectId, 'audit.read')")
+    public void exportAuditEntries(
+            @PathVariable("projectId") @NotBlank @Size(max = 255) String projectId,
+            @RequestParam(name = "resourceName", required = false) @Size(max = 255) String resourceName,
+            @RequestParam(name = "userId", required = false) @Size(max = 255) String userId,
+            @RequestParam(name = "action", required = false) AuditAction action,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            HttpServletResponse response) throws IOException {
+        // Validated before the response is committed, errors while streaming can only abort it
+        AuditQuery query = new AuditQuery(resourceName, userId, action == null ? null : action.name(), from, to);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        auditService.exportAuditEntries(projectId, query, response.getOutputStream());
+    }
+}
@@ -1,15 +1,18 @@
 package com.flipkart.grayskull.controllers;
 
+import com.flipkart.grayskull.aspects.annotations.BypassReadOnly;
 import com.flipkart.grayskull.audit.AuditAction;
 import com.flipkart.grayskull.audit.AuditConstants;
+import com.flipkart.grayskull.audit.ReadAuditAggregator;
 import com.flipkart.grayskull.audit.utils.RequestUtils;
+import com.flipkart.grayskull.models.dto.request.BatchGetSecretsRequest;
 import com.flipkart.grayskull.models.dto.request.CreateSecretRequest;
 import com.flipkart.grayskull.models.dto.request.UpgradeSecretDataRequest;
 import com.flipkart.grayskull.models.dto.response.*;
 import com.flipkart.grayskull.spi.models.AuditEntry;
 import com.flipkart.grayskull.spi.models.enums.LifecycleState;
 import com.flipkart.grayskull.service.interfaces.SecretService;
-import com.flipkart.grayskull.spi.AsyncAuditLogger;
+import com.flipkart.grayskull.service.utils.ConditionalResult;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
@@ -17,37 +20,45 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 @RestController
-@RequestMapping("/v1/projects/{projectId}/secrets")
+@RequestMapping("/v1/projects/{projectId}")
 @RequiredArgsConstructor
 @Validated
 public class SecretController {
 
     private final SecretService secretService;
-    private final AsyncAuditLogger asyncAuditLogger;
+    private final ReadAuditAggregator readAuditAggregator;
     private final RequestUtils requestUtils;
 
-    @Operation(summary = "Lists secrets for a given project with pagination. Always returns the latest version of the secret.")
-    @GetMapping
+    @Operation(summary = "Lists secrets for a given project with pagination. Always returns the latest version of the secret. "
+            + "Passing pageToken (empty for the first page) switches to token based pagination ordered by name.")
+    @GetMapping("/secrets")
     @PreAuthorize("@grayskullSecurity.hasPermission(#projectId, 'secrets.list')")
     public ResponseTemplate<ListSecretsResponse> listSecrets(
             @PathVariable("projectId") @NotBlank @Size(max = 255) String projectId,
             @RequestParam(name = "offset", defaultValue = "0") @Min(0) int offset,
-            @RequestParam(name = "limit", defaultValue = "10") @Min(1) @Max(100) int limit) {
-        ListSecretsResponse response = secretService.listSecrets(projectId, offset, limit);
+            @RequestParam(name = "limit", defaultValue = "10") @Min(1) @Max(100) int limit,
+            @RequestParam(name = "pageToken", required = false) @Size(max = 1024) String pageToken) {
+        ListSecretsResponse response = pageToken == null
+                ? secretService.listSecrets(projectId, offset, limit)
+                : secretService.listSecretsByToken(projectId, pageToken, limit);
         return ResponseTemplate.success(response, "Successfully listed secrets.");
     }
 
     @Operation(summary = "Creates a new secret for a given project.")
-    @PostMapping
+    @PostMapping("/secrets")
     @PreAuthorize("@grayskullSecurity.hasPermission(#projectId, 'secrets.create')")
     public ResponseTemplate<SecretResponse> createSecret(
             @PathVariable("projectId") @NotBlank @Size(max = 255) String projectId,
@@ -56,23 +67,36 @@ public class SecretController {
         return ResponseTemplate.success(response, "Successfully created secret.");
     }
 
-    @Operation(summary = "Reads the metadata of a specific secret. Always returns the latest version of the secret.")
-    @GetMapping("/{secretName}")
+    @Operation(summary = "Reads the metadata of a specific secret. Always returns the latest version of the secret. "
+            + "Responds with 304 Not Modified if If-None-Match contains the current ETag of the secret.")
+    @GetMapping("/secrets/{secretName}")
     @PreAuthorize("@grayskullSecurity.hasPermission(#projectId, #secretName, 'secrets.read.metadata')")
-    public ResponseTemplate<SecretMetadata> readSecretMetadata(
+    public ResponseEntity<ResponseTemplate<SecretMetadata>> readSecretMetadata(
             @PathVariable("projectId") @NotBlank @Size(max = 255) String projectId,
-            @PathVariable("secretName") @NotBlank @Size(max = 255) String secretName) {
-        SecretMetadata response = secretService.readSecretMetadata(projectId, secretName);
-        return ResponseTemplate.success(response, "Successfully read secret metadata.");
+            @PathVariable("secretName") @NotBlank @Size(max = 255) String secretName,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ConditionalResult<SecretMetadata> result = secretService.readSecretMetadata(projectId, secretName, ifNoneMatch);
+        if (result.isNotModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(result.eTag()).build();
+        }
+        return ResponseEntity.ok().eTag(result.eTag())
+                .body(ResponseTemplate.success(result.body(), "Successfully read secret metadata."));
     }
 
-    @Operation(summary = "Reads the value of a specific secret. Always returns the latest version of the secret.")
-    @GetMapping("/{secretName}/data")
+    @Operation(summary = "Reads the value of a specific secret. Always returns the latest version of the secret. "
+            + "Responds with 304 Not Modified if If-None-Match contains the current ETag of the secret.")
+    @GetMapping("/secrets/{secretName}/data")
     @PreAuthorize("@grayskullSecurity.hasPermission(#projectId, #secretName, 'secrets.read.value')")
-    public ResponseTemplate<SecretDataResponse> readSecretValue(
+    public ResponseEntity<ResponseTemplate<SecretDataResponse>> readSecretValue(
             @PathVariable("projectId") @NotBlank @Size(max = 255) String projectId,
-            @PathVariable("secretName") @NotBlank @Size(max = 255) String secretName) {
-        SecretDataResponse response = secretService.readSecretValue(projectId, secretName);
+            @PathVariable("secretName") @NotBlank @Size(max = 255) String secretName,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ConditionalResult<SecretDataResponse> result = secretService.readSecretValue(projectId, secretName, ifNoneMatch);
+        if (result.isNotModified()) {
+            // No secret value is disclosed, the caller already holds the current version
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(result.eTag()).build();
+        }
+        SecretDataResponse response = result.body();
         Map<String, String> auditMetadata = Map.of("publicPart", response.getPublicPart());
         String userId = SecurityContextHolder.getContext().getAuthentication().getName();
         AuditEntry auditEntry = AuditEntry.builder()
@@ -84,12 +108,41 @@ public class SecretController {
                 .userId(userId)
                 .ips(requestUtils.getRemoteIPs())
                 .metadata(auditMetadata).build();
-        asyncAuditLogger.log(auditEntry);
-        return ResponseTemplate.success(response, "Successfully read secret value.");
+        readAuditAggregator.log(auditEntry);
+        return ResponseEntity.ok().eTag(result.eTag())
+                .body(ResponseTemplate.success(response, "Successfully read secret value."));
+    }
+
+    @Operation(summary = "Reads the values of several secrets of a project at once. Always returns the latest version of each secret. "
+            + "Secrets that do not exist are listed as not found.")
+    @PostMapping("/secrets:batchGet")
+    @BypassReadOnly
+    @PreAuthorize("@grayskullSecurity.hasPermissionForAll(#projectId, #request.names, 'secrets.read.value')")
+    public ResponseTemplate<BatchGetSecretsResponse> readSecretValues(
+            @PathVariable("projectId") @NotBlank @Size(max = 255) String projectId,
+            @Valid @RequestBody BatchGetSecretsRequest request) {
+        BatchGetSecretsResponse response = secretService.readSecretValues(projectId, request.getNames());
+        String userId = SecurityContextHolder.getContext().getAuthentication().getName();
+        Map<String, String> ips = requestUtils.getRemoteIPs();
+        List<AuditEntry> auditEntries = response.getSecrets().entrySet().stream()
+                .<AuditEntry>map(entry -> AuditEntry.builder()
+                        .projectId(projectId)
+                        .resourceType(AuditConstants.RESOURCE_TYPE_SECRET)
+                        .resourceName(entry.getKey())
+                        .resourceVersion(entry.getValue().getDataVersion())
+                        .action(AuditAction.READ_SECRET.name())
+                        .userId(userId)
+                        .ips(ips)
+                        .metadata(Map.of("publicPart", entry.getValue().getPublicPart())).build())
+                .toList();
+        if (!auditEntries.isEmpty()) {
+            readAuditAggregator.logAll(auditEntries);
+        }
+        return ResponseTemplate.success(response, "Successfully read secret values.");
     }
 
     @Operation(summary = "Upgrades the data of an existing secret, creating a new version.")
-    @PostMapping("/{secretName}/data")
+    @PostMapping("/secrets/{secretName}/data")
     @PreAuthorize("@grayskullSecurity.hasPermission(#projectId, #secretName, 'secrets.update')")
     public ResponseTemplate<UpgradeSecretDataResponse> upgradeSecretData(
             @PathVariable("projectId") @NotBlank @Size(max = 255) String projectId,
@@ -100,7 +153,7 @@ public class SecretController {
     }
 
     @Operation(summary = "Disables a secret, marking it as soft-deleted.")
-    @DeleteMapping("/{secretName}")
+    @DeleteMapping("/secrets/{secretName}")
     @PreAuthorize("@grayskullSecurity.hasPermission(#projectId, #secretName, 'secrets.delete')")
     public ResponseTemplate<Void> deleteSecret(@PathVariable("projectId") @NotBlank @Size(max = 255) String projectId,
             @PathVariable("secretName") @NotBlank @Size(max = 255) String secretName) {
@@ -109,7 +162,7 @@ public class SecretController {
     }
 
     @Operation(summary = "Retrieves a specific version of a secret's data. Its an Admin API.")
-    @GetMapping("/{secretName}/versions/{version}")
+    @GetMapping("/secrets/{secretName}/versions/{version}")
     @PreAuthorize("@grayskullSecurity.hasPermission(#projectId, #secretName, 'secrets.read.version')")
     public ResponseTemplate<SecretDataVersionResponse> getSecretDataVersion(
             @PathVariable("projectId") @NotBlank @Size(max = 255) String projectId,
@@ -128,7 +181,7 @@ public class SecretController {
                 .userId(userId)
                 .ips(requestUtils.getRemoteIPs())
                 .metadata(auditMetadata).build();
-        asyncAuditLogger.log(auditEntry);
+        readAuditAggregator.log(auditEntry);
         return ResponseTemplate.success(response, "Successfully retrieved secret version.");
     }
 }
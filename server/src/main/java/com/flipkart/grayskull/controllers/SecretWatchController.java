@@ -0,0 +1,55 @@
+package com.flipkart.grayskull.controllers;
+
+import com.flipkart.grayskull.aspects.annotations.BypassReadOnly;
+import com.flipkart.grayskull.models.dto.request.WatchSecretsRequest;
+import com.flipkart.grayskull.models.dto.response.ResponseTemplate;
+import com.flipkart.grayskull.models.dto.response.WatchSecretsResponse;
+import com.flipkart.grayskull.service.interfaces.SecretWatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/v1")
+@RequiredArgsConstructor
+@Validated
+@ConditionalOnProperty(name = "grayskull.watch.enabled", havingValue = "true")
+public class SecretWatchController {
+
+    /**
+     * Extra time given to the watch to complete on its own before the servlet container times the request out.
+     */
+    private static final Duration ASYNC_TIMEOUT_GRACE = Duration.ofSeconds(5);
+
+    private final SecretWatchService secretWatchService;
+
+    @Operation(summary = "Long-polls for changes of the data version of a set of secrets, possibly across projects. "
+            + "Returns as soon as any of the secrets differs from the version known to the client, "
+            + "or with no changes once the timeout elapses.")
+    @PostMapping("/secrets:watch")
+    @BypassReadOnly
+    @PreAuthorize("@grayskullSecurity.hasPermissionForAll(#request.secretNamesByProject(), 'secrets.read.metadata')")
+    public DeferredResult<ResponseTemplate<WatchSecretsResponse>> watchSecrets(
+            @Valid @RequestBody WatchSecretsRequest request,
+            @RequestParam(name = "timeoutSeconds", defaultValue = "30") @Min(1) @Max(120) int timeoutSeconds) {
+        Duration timeout = Duration.ofSeconds(timeoutSeconds);
+        DeferredResult<ResponseTemplate<WatchSecretsResponse>> result = new DeferredResult<>(timeout.plus(ASYNC_TIMEOUT_GRACE).toMillis());
+        secretWatchService.watch(request.getSecrets(), timeout).whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                result.setErrorResult(throwable);
+            } else {
+                result.setResult(ResponseTemplate.success(response, "Successfully watched secrets."));
+            }
+        });
+        return result;
+    }
+}
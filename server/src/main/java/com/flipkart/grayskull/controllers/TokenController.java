@@ -0,0 +1,44 @@
+package com.flipkart.grayskull.controllers;
+
+import com.flipkart.grayskull.aspects.annotations.BypassReadOnly;
+import com.flipkart.grayskull.models.dto.response.ResponseTemplate;
+import com.flipkart.grayskull.models.dto.response.TokenResponse;
+import com.flipkart.grayskull.spimpl.authn.SignedTokenAuthenticationProvider.SignedTokenAuthentication;
+import com.flipkart.grayskull.spimpl.authn.SignedTokens;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/v1/auth")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "grayskull.authentication.token.enabled", havingValue = "true")
+public class TokenController {
+
+    private final SignedTokens signedTokens;
+
+    @Operation(summary = "Exchanges the credentials of the request for a short lived bearer token. "
+            + "Tokens can not be exchanged for new tokens, so that access ends once the credentials are revoked.")
+    @PostMapping("/token")
+    @BypassReadOnly
+    public ResponseTemplate<TokenResponse> issueToken() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof SignedTokenAuthentication) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "A token can not be exchanged for another token");
+        }
+        SignedTokens.IssuedToken issued = signedTokens.issue(authentication.getName());
+        long expiresIn = Math.max(0, Duration.between(Instant.now(), issued.expiresAt()).toSeconds());
+        TokenResponse response = new TokenResponse(issued.token(), "Bearer", expiresIn, issued.expiresAt());
+        return ResponseTemplate.success(response, "Successfully issued token.");
+    }
+}
@@ -6,16 +6,21 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 /**
  * MongoDB entity implementation for AuditEntry.
- * Extends the SPI contract with Spring Data annotations.
+ * Extends the SPI contract with Spring Data annotations and compound indexes for the audit query API, which
+ * filters by project and optionally by resource or user, and pages by (timestamp, _id) newest first.
  */
 @SuperBuilder(toBuilder = true)
 @Getter
 @NoArgsConstructor
 @Document(collection = "auditEntry")
+@CompoundIndex(name = "project_timestamp_idx", def = "{'projectId': 1, 'timestamp': -1, '_id': -1}")
+@CompoundIndex(name = "project_resource_timestamp_idx", def = "{'projectId': 1, 'resourceName': 1, 'timestamp': -1, '_id': -1}")
+@CompoundIndex(name = "project_user_timestamp_idx", def = "{'projectId': 1, 'userId': 1, 'timestamp': -1, '_id': -1}")
 public class AuditEntryEntity extends AuditEntry {
 
     @Id
@@ -25,7 +25,7 @@ import java.time.Instant;
 @Getter
 @Document(collection = "secret")
 @CompoundIndex(name = "project_name_idx", def = "{'projectId': 1, 'name': 1}", unique = true)
-@CompoundIndex(name = "project_state_idx", def = "{'projectId': 1, 'state': 1}")
+@CompoundIndex(name = "project_state_name_idx", def = "{'projectId': 1, 'state': 1, 'name': 1}")
 public class SecretEntity extends Secret {
 
     @Id
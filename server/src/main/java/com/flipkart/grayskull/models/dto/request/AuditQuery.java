@@ -0,0 +1,28 @@
+package com.flipkart.grayskull.models.dto.request;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+
+/**
+ * Filters of the audit entries of a project. Every filter is optional, and the time range includes {@code from}
+ * and excludes {@code to}.
+ *
+ * @param resourceName Only entries of this resource, e.g. the name of a secret.
+ * @param userId       Only entries of this user.
+ * @param action       Only entries of this action, e.g. {@code READ_SECRET}.
+ * @param from         Only entries at or after this time.
+ * @param to           Only entries before this time.
+ */
+public record AuditQuery(String resourceName, String userId, String action, Instant from, Instant to) {
+
+    /**
+     * @throws ResponseStatusException with 400 Bad Request if the time range is empty.
+     */
+    public AuditQuery {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must be before 'to'");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.flipkart.grayskull.models.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request to read the values of several secrets of a project at once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetSecretsRequest {
+
+    /**
+     * Names of the secrets to read.
+     * At most 100 names can be requested at once.
+     */
+    @NotEmpty
+    @Size(max = 100, message = "At most 100 secrets can be read at once")
+    private List<@NotBlank @Size(max = 255) String> names;
+}
@@ -0,0 +1,71 @@
+package com.flipkart.grayskull.models.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Request to watch a set of secrets, possibly across projects, for changes of their data version.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WatchSecretsRequest {
+
+    /**
+     * The secrets to watch along with the data version already known to the client.
+     */
+    @NotEmpty
+    private List<@NotNull @Valid WatchedSecret> secrets;
+
+    /**
+     * Groups the watched secret names by project, for authorization.
+     *
+     * @return The names of the watched secrets keyed by project ID.
+     */
+    @JsonIgnore
+    public Map<String, List<String>> secretNamesByProject() {
+        return secrets.stream().collect(Collectors.groupingBy(WatchedSecret::getProjectId,
+                Collectors.mapping(WatchedSecret::getName, Collectors.toList())));
+    }
+
+    /**
+     * A secret to watch.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WatchedSecret {
+
+        /**
+         * The ID of the project.
+         */
+        @NotBlank
+        @Size(max = 255)
+        private String projectId;
+
+        /**
+         * The name of the secret.
+         */
+        @NotBlank
+        @Size(max = 255)
+        private String name;
+
+        /**
+         * The data version already known to the client. Absent if the client does not know the secret yet.
+         */
+        @Min(1)
+        private Integer dataVersion;
+    }
+}
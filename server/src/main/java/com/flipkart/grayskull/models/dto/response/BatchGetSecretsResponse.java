@@ -0,0 +1,27 @@
+package com.flipkart.grayskull.models.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Values of several secrets read in a single request.
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class BatchGetSecretsResponse {
+
+    /**
+     * Secret data values keyed by secret name, in the order they were requested.
+     */
+    Map<String, SecretDataResponse> secrets;
+
+    /**
+     * Names of the requested secrets which do not exist or are not active.
+     */
+    List<String> notFound;
+}
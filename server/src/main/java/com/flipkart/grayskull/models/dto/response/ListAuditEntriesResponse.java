@@ -0,0 +1,29 @@
+package com.flipkart.grayskull.models.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.flipkart.grayskull.spi.models.AuditEntry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * A page of the audit entries of a project, newest first.
+ */
+@Value
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ListAuditEntriesResponse {
+
+    /**
+     * Audit entries of the current page.
+     */
+    List<AuditEntry> entries;
+
+    /**
+     * Opaque token to fetch the next page. Absent when there are no more entries.
+     */
+    String nextPageToken;
+}
@@ -2,6 +2,7 @@ package com.flipkart.grayskull.models.dto.response;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Value;
@@ -12,6 +13,7 @@ import lombok.Value;
 @Value
 @Builder
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ListSecretsResponse {
 
     /**
@@ -21,6 +23,13 @@ public class ListSecretsResponse {
 
     /**
      * Total number of secrets matching criteria.
+     * Not computed for token based pagination.
      */
-    long total;
+    Long total;
+
+    /**
+     * Opaque token to fetch the next page with token based pagination.
+     * Absent when there are no more secrets or when offset based pagination is used.
+     */
+    String nextPageToken;
 }
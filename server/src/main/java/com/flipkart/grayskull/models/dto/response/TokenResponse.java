@@ -0,0 +1,34 @@
+package com.flipkart.grayskull.models.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * A bearer token issued in exchange for Basic credentials.
+ */
+@Value
+@AllArgsConstructor
+public class TokenResponse {
+
+    /**
+     * The token, to be sent as {@code Authorization: Bearer <token>}.
+     */
+    String token;
+
+    /**
+     * Always {@code Bearer}.
+     */
+    String tokenType;
+
+    /**
+     * Seconds until the token expires, counted from the time of the response.
+     */
+    long expiresIn;
+
+    /**
+     * The time the token expires.
+     */
+    Instant expiresAt;
+}
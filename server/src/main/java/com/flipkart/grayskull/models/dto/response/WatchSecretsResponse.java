@@ -0,0 +1,54 @@
+package com.flipkart.grayskull.models.dto.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Result of watching a set of secrets.
+ * An empty list of changes means the watch timed out, and the client should simply watch again.
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class WatchSecretsResponse {
+
+    /**
+     * The watched secrets whose data version or state differs from what the client knew.
+     */
+    List<SecretChange> changes;
+
+    /**
+     * The latest state of a changed secret.
+     */
+    @Value
+    @Builder
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class SecretChange {
+
+        /**
+         * The ID of the project.
+         */
+        String projectId;
+
+        /**
+         * The name of the secret.
+         */
+        String name;
+
+        /**
+         * The current data version. Absent if the secret does not exist anymore.
+         */
+        Integer dataVersion;
+
+        /**
+         * The lifecycle state of the secret. Absent if the secret does not exist anymore.
+         */
+        String state;
+    }
+}
@@ -0,0 +1,138 @@
+package com.flipkart.grayskull.reencryption;
+
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Persists the progress of the re-encryption of each key, so that the job resumes after a restart, and leases
+ * the job of a key to one node at a time.
+ * <p>
+ * Each key has one document holding the last processed {@code secretData} id, the counters so far and the
+ * owner and expiry of the lease. A node can only take a key over once the lease of the previous owner expired,
+ * and every checkpoint renews the lease.
+ */
+@Component
+public class ReEncryptionCheckpoints {
+
+    static final String COLLECTION = "reEncryptionCheckpoint";
+
+    private static final String ID = "_id";
+    private static final String OWNER = "owner";
+    private static final String LEASE_UNTIL = "leaseUntil";
+    private static final String LAST_ID = "lastId";
+    private static final String RE_ENCRYPTED = "reEncrypted";
+    private static final String SKIPPED = "skipped";
+    private static final String FAILED = "failed";
+    private static final String COMPLETED = "completed";
+    private static final String UPDATED_AT = "updatedAt";
+
+    private final MongoTemplate mongoTemplate;
+    private final Clock clock;
+
+    public ReEncryptionCheckpoints(MongoTemplate mongoTemplate) {
+        this(mongoTemplate, Clock.systemUTC());
+    }
+
+    ReEncryptionCheckpoints(MongoTemplate mongoTemplate, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.clock = clock;
+    }
+
+    /**
+     * Takes the lease of the job of a key.
+     *
+     * @param keyId The id of the key being re-encrypted away from.
+     * @param owner The id of this node.
+     * @param lease The duration of the lease.
+     * @return The checkpoint to resume from, or empty if another node holds the lease.
+     */
+    public Optional<Checkpoint> acquire(String keyId, String owner, Duration lease) {
+        Instant now = clock.instant();
+        Query query = new Query(Criteria.where(ID).is(keyId).orOperator(
+                Criteria.where(LEASE_UNTIL).lt(Date.from(now)),
+                Criteria.where(OWNER).is(owner)));
+        Update update = new Update().set(OWNER, owner).set(LEASE_UNTIL, Date.from(now.plus(lease)));
+        try {
+            Document document = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, COLLECTION);
+            return Optional.ofNullable(document).map(ReEncryptionCheckpoints::toCheckpoint);
+        } catch (DuplicateKeyException e) {
+            // The document exists but the lease is held by another node
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Records the progress of the job of a key and renews the lease.
+     *
+     * @param keyId      The id of the key being re-encrypted away from.
+     * @param owner      The id of this node.
+     * @param lease      The duration of the lease.
+     * @param checkpoint The progress so far.
+     * @return {@code false} if this node lost the lease, in which case it must stop.
+     */
+    public boolean save(String keyId, String owner, Duration lease, Checkpoint checkpoint) {
+        Instant now = clock.instant();
+        Update update = new Update()
+                .set(LAST_ID, checkpoint.lastId())
+                .set(RE_ENCRYPTED, checkpoint.reEncrypted())
+                .set(SKIPPED, checkpoint.skipped())
+                .set(FAILED, checkpoint.failed())
+                .set(COMPLETED, checkpoint.completed())
+                .set(UPDATED_AT, Date.from(now))
+                .set(LEASE_UNTIL, Date.from(now.plus(lease)));
+        return mongoTemplate.updateFirst(new Query(Criteria.where(ID).is(keyId).and(OWNER).is(owner)), update,
+                COLLECTION).getMatchedCount() > 0;
+    }
+
+    private static Checkpoint toCheckpoint(Document document) {
+        return new Checkpoint(document.getString(LAST_ID), count(document, RE_ENCRYPTED), count(document, SKIPPED),
+                count(document, FAILED), Boolean.TRUE.equals(document.getBoolean(COMPLETED)));
+    }
+
+    private static long count(Document document, String field) {
+        Number count = document.get(field, Number.class);
+        return count == null ? 0 : count.longValue();
+    }
+
+    /**
+     * The progress of the job of a key.
+     *
+     * @param lastId      The id of the last processed {@code secretData} document, {@code null} if none yet.
+     * @param reEncrypted The number of documents re-encrypted.
+     * @param skipped     The number of documents whose project still uses the key.
+     * @param failed      The number of documents that could not be re-encrypted.
+     * @param completed   Whether all documents have been processed.
+     */
+    public record Checkpoint(String lastId, long reEncrypted, long skipped, long failed, boolean completed) {
+
+        static final Checkpoint START = new Checkpoint(null, 0, 0, 0, false);
+
+        Checkpoint plus(String batchLastId, BatchResult batch) {
+            return new Checkpoint(batchLastId, reEncrypted + batch.reEncrypted(), skipped + batch.skipped(),
+                    failed + batch.failed(), false);
+        }
+
+        Checkpoint complete() {
+            return new Checkpoint(lastId, reEncrypted, skipped, failed, true);
+        }
+    }
+
+    /**
+     * The outcome of one batch.
+     */
+    record BatchResult(int reEncrypted, int skipped, int failed) {
+    }
+}
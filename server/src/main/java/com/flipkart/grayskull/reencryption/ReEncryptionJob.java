@@ -0,0 +1,260 @@
+package com.flipkart.grayskull.reencryption;
+
+import com.flipkart.grayskull.configuration.KmsConfig;
+import com.flipkart.grayskull.configuration.properties.ReEncryptionProperties;
+import com.flipkart.grayskull.entities.SecretDataEntity;
+import com.flipkart.grayskull.entities.SecretEntity;
+import com.flipkart.grayskull.reencryption.ReEncryptionCheckpoints.BatchResult;
+import com.flipkart.grayskull.reencryption.ReEncryptionCheckpoints.Checkpoint;
+import com.flipkart.grayskull.service.utils.SecretEncryptionUtil;
+import com.flipkart.grayskull.spi.models.SecretData;
+import com.flipkart.grayskull.spi.repositories.ProjectRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.Binary;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Re-encrypts the secret data encrypted with retired keys with the current key of its project, so that the
+ * retired keys can be removed afterwards.
+ * <p>
+ * For each key in {@link ReEncryptionProperties#getKeyIds()} the {@code secretData} documents encrypted with it
+ * are streamed in {@code _id} order through a single cursor. Batches are re-encrypted in parallel on a bounded
+ * pool and written back with one unordered bulk operation each; a write only applies while the document is
+ * still encrypted with the retired key. The reader is paced to {@code max-documents-per-second}.
+ * <p>
+ * Batches may finish out of order, so the checkpoint only advances past a batch once all earlier batches are
+ * done; after a restart at most the in-flight batches are processed again, which is harmless. Documents of
+ * projects that still use the retired key are skipped, and documents that can not be decrypted are counted as
+ * failed and logged. Progress is published to Micrometer as {@code grayskull.reencryption.documents} per key
+ * and result, and the duration of batches as {@code grayskull.reencryption.batch}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "grayskull.reencryption.enabled", havingValue = "true")
+public class ReEncryptionJob {
+
+    private static final String DOCUMENTS_METRIC = "grayskull.reencryption.documents";
+    private static final String BATCH_METRIC = "grayskull.reencryption.batch";
+    private static final String ID = "_id";
+    private static final String KMS_KEY_ID = "kmsKeyId";
+    private static final String PROJECT_ID = "projectId";
+
+    private final MongoTemplate mongoTemplate;
+    private final SecretEncryptionUtil secretEncryptionUtil;
+    private final ProjectRepository projectRepository;
+    private final KmsConfig kmsConfig;
+    private final ReEncryptionCheckpoints checkpoints;
+    private final ReEncryptionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final String owner = UUID.randomUUID().toString();
+
+    public ReEncryptionJob(MongoTemplate mongoTemplate, SecretEncryptionUtil secretEncryptionUtil,
+                           ProjectRepository projectRepository, KmsConfig kmsConfig,
+                           ReEncryptionCheckpoints checkpoints, ReEncryptionProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.secretEncryptionUtil = secretEncryptionUtil;
+        this.projectRepository = projectRepository;
+        this.kmsConfig = kmsConfig;
+        this.checkpoints = checkpoints;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread.ofPlatform().daemon().name("secret-data-reencryption").start(this::runAll);
+    }
+
+    private void runAll() {
+        ExecutorService workers = Executors.newFixedThreadPool(properties.getParallelism(),
+                Thread.ofPlatform().daemon().name("secret-data-reencryption-worker-", 0).factory());
+        try {
+            for (String keyId : properties.getKeyIds()) {
+                run(keyId, workers);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Re-encryption failed, it will resume from the last checkpoint on the next start", e);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Re-encrypts the data encrypted with a key, resuming from its checkpoint.
+     *
+     * @param keyId   The id of the retired key.
+     * @param workers The pool re-encrypting the batches.
+     * @throws InterruptedException if interrupted while waiting for the pacing or the workers.
+     */
+    void run(String keyId, ExecutorService workers) throws InterruptedException {
+        Checkpoint checkpoint = checkpoints.acquire(keyId, owner, properties.getLease()).orElse(null);
+        if (checkpoint == null) {
+            log.info("Re-encryption of key {} is running on another node", keyId);
+            return;
+        }
+        if (checkpoint.completed()) {
+            log.info("Re-encryption of key {} has already completed", keyId);
+            return;
+        }
+        log.info("Re-encrypting data of key {} starting after {}", keyId, checkpoint.lastId());
+
+        Criteria criteria = Criteria.where(KMS_KEY_ID).is(keyId);
+        if (checkpoint.lastId() != null) {
+            criteria = criteria.and(ID).gt(checkpoint.lastId());
+        }
+        Query query = new Query(criteria).with(Sort.by(ID)).cursorBatchSize(properties.getBatchSize());
+        Deque<PendingBatch> pending = new ArrayDeque<>();
+        long nanosPerDocument = TimeUnit.SECONDS.toNanos(1) / properties.getMaxDocumentsPerSecond();
+        long nextBatchAt = System.nanoTime();
+
+        try (Stream<SecretDataEntity> stream = mongoTemplate.stream(query, SecretDataEntity.class)) {
+            List<SecretData> batch = new ArrayList<>(properties.getBatchSize());
+            var iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() < properties.getBatchSize() && iterator.hasNext()) {
+                    continue;
+                }
+                long wait = nextBatchAt - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                nextBatchAt = Math.max(nextBatchAt, System.nanoTime()) + nanosPerDocument * batch.size();
+
+                List<SecretData> submitted = batch;
+                pending.add(new PendingBatch(submitted.getLast().getId(),
+                        workers.submit(() -> reEncrypt(keyId, submitted))));
+                batch = new ArrayList<>(properties.getBatchSize());
+                checkpoint = drain(keyId, pending, checkpoint, properties.getParallelism());
+                if (checkpoint == null) {
+                    return;
+                }
+            }
+            checkpoint = drain(keyId, pending, checkpoint, 0);
+        }
+        if (checkpoint != null && checkpoints.save(keyId, owner, properties.getLease(), checkpoint.complete())) {
+            log.info("Re-encryption of key {} completed: {} re-encrypted, {} skipped, {} failed", keyId,
+                    checkpoint.reEncrypted(), checkpoint.skipped(), checkpoint.failed());
+        }
+    }
+
+    /**
+     * Waits until at most {@code maxPending} batches are in flight and moves the checkpoint past every batch
+     * whose predecessors are all done.
+     *
+     * @return The new checkpoint, or {@code null} if the lease was lost.
+     */
+    private Checkpoint drain(String keyId, Deque<PendingBatch> pending, Checkpoint checkpoint, int maxPending)
+            throws InterruptedException {
+        Checkpoint current = checkpoint;
+        boolean advanced = false;
+        while (!pending.isEmpty() && (pending.size() > maxPending || pending.peek().result().isDone())) {
+            PendingBatch head = pending.poll();
+            try {
+                current = current.plus(head.lastId(), head.result().get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Re-encryption of a batch of key " + keyId + " failed", e.getCause());
+            }
+            advanced = true;
+        }
+        if (advanced && !checkpoints.save(keyId, owner, properties.getLease(), current)) {
+            log.warn("Lost the lease of the re-encryption of key {}, stopping", keyId);
+            pending.forEach(batch -> batch.result().cancel(false));
+            return null;
+        }
+        return current;
+    }
+
+    private BatchResult reEncrypt(String keyId, List<SecretData> batch) {
+        return Timer.builder(BATCH_METRIC).tag("keyId", keyId).register(meterRegistry).record(() -> {
+            Map<String, String> projectIds = projectIds(batch);
+            Map<String, String> targetKeyIds = new HashMap<>();
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SecretDataEntity.class);
+            int reEncrypted = 0;
+            int skipped = 0;
+            int failed = 0;
+            for (SecretData secretData : batch) {
+                String projectId = projectIds.get(secretData.getSecretId());
+                String targetKeyId = projectId == null ? null
+                        : targetKeyIds.computeIfAbsent(projectId, this::targetKeyId);
+                if (targetKeyId == null || targetKeyId.equals(keyId)) {
+                    skipped++;
+                    continue;
+                }
+                try {
+                    secretEncryptionUtil.decryptSecretData(secretData);
+                    secretEncryptionUtil.encryptSecretData(secretData, projectId, targetKeyId);
+                } catch (RuntimeException e) {
+                    log.warn("Can not re-encrypt secret data {} of key {}", secretData.getId(), keyId, e);
+                    failed++;
+                    continue;
+                }
+                Update update = new Update().set(KMS_KEY_ID, targetKeyId).unset("privatePart");
+                if (secretData.getEncryptedPrivatePart() != null) {
+                    update.set("encryptedPrivatePart", new Binary(secretData.getEncryptedPrivatePart()));
+                }
+                bulk.updateOne(new Query(Criteria.where(ID).is(secretData.getId()).and(KMS_KEY_ID).is(keyId)), update);
+                reEncrypted++;
+            }
+            if (reEncrypted > 0) {
+                bulk.execute();
+            }
+            count(keyId, "reencrypted", reEncrypted);
+            count(keyId, "skipped", skipped);
+            count(keyId, "failed", failed);
+            return new BatchResult(reEncrypted, skipped, failed);
+        });
+    }
+
+    private Map<String, String> projectIds(List<SecretData> batch) {
+        List<String> secretIds = batch.stream().map(SecretData::getSecretId).distinct().toList();
+        Query query = new Query(Criteria.where(ID).in(secretIds));
+        query.fields().include(PROJECT_ID);
+        return mongoTemplate.find(query, SecretEntity.class).stream()
+                .filter(secret -> secret.getProjectId() != null)
+                .collect(Collectors.toMap(SecretEntity::getId, SecretEntity::getProjectId));
+    }
+
+    private String targetKeyId(String projectId) {
+        String kmsKeyId = projectRepository.findByIdOrTransient(projectId).getKmsKeyId();
+        return kmsKeyId == null || kmsKeyId.isEmpty() ? kmsConfig.getDefaultKeyId() : kmsKeyId;
+    }
+
+    private void count(String keyId, String result, int amount) {
+        if (amount > 0) {
+            meterRegistry.counter(DOCUMENTS_METRIC, "keyId", keyId, "result", result).increment(amount);
+        }
+    }
+
+    private record PendingBatch(String lastId, Future<BatchResult> result) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.flipkart.grayskull.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flipkart.grayskull.entities.AuditEntryEntity;
+import com.flipkart.grayskull.models.dto.request.AuditQuery;
+import com.flipkart.grayskull.models.dto.response.ListAuditEntriesResponse;
+import com.flipkart.grayskull.service.interfaces.AuditService;
+import com.flipkart.grayskull.service.utils.AuditPageToken;
+import com.flipkart.grayskull.spi.models.AuditEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Serves the {@code auditEntry} collection, newest first.
+ * <p>
+ * Every query is scoped to a project and sorted on (timestamp, _id) descending, so it is served by one of the
+ * compound indexes of {@link AuditEntryEntity}: the resource index when filtering by resource, the user index when
+ * filtering by user and the project index otherwise, with the action filtered while walking the index. Pages resume
+ * after the (timestamp, _id) of the previous page instead of skipping, so the cost of a page does not grow with its
+ * depth.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditServiceImpl implements AuditService {
+
+    /**
+     * Number of entries fetched per round trip while exporting.
+     */
+    static final int EXPORT_BATCH_SIZE = 500;
+
+    private static final String PROJECT_ID = "projectId";
+    private static final String RESOURCE_NAME = "resourceName";
+    private static final String USER_ID = "userId";
+    private static final String ACTION = "action";
+    private static final String TIMESTAMP = "timestamp";
+    private static final String ID = "id";
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, TIMESTAMP, ID);
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public ListAuditEntriesResponse listAuditEntries(String projectId, AuditQuery query, String pageToken, int limit) {
+        AuditPageToken after = pageToken == null || pageToken.isEmpty() ? null : AuditPageToken.decode(pageToken);
+        Criteria criteria = criteria(projectId, query);
+        if (after != null) {
+            criteria.andOperator(new Criteria().orOperator(
+                    Criteria.where(TIMESTAMP).lt(after.timestamp()),
+                    Criteria.where(TIMESTAMP).is(after.timestamp()).and(ID).lt(after.id())));
+        }
+        // Fetch one extra entry to find out whether there is a next page
+        List<AuditEntry> entries = mongoTemplate.find(new Query(criteria).with(NEWEST_FIRST).limit(limit + 1), AuditEntryEntity.class)
+                .stream()
+                .map(AuditEntry.class::cast)
+                .toList();
+        String nextPageToken = null;
+        if (entries.size() > limit) {
+            entries = entries.subList(0, limit);
+            AuditEntry last = entries.get(limit - 1);
+            nextPageToken = new AuditPageToken(last.getTimestamp(), last.getId()).encode();
+        }
+        return new ListAuditEntriesResponse(entries, nextPageToken);
+    }
+
+    @Override
+    public void exportAuditEntries(String projectId, AuditQuery query, OutputStream outputStream) throws IOException {
+        Query mongoQuery = new Query(criteria(projectId, query)).with(NEWEST_FIRST).cursorBatchSize(EXPORT_BATCH_SIZE);
+        try (Stream<AuditEntryEntity> stream = mongoTemplate.stream(mongoQuery, AuditEntryEntity.class)) {
+            Iterator<AuditEntryEntity> entries = stream.iterator();
+            while (entries.hasNext()) {
+                outputStream.write(objectMapper.writeValueAsBytes(entries.next()));
+                outputStream.write('\n');
+            }
+        }
+        outputStream.flush();
+    }
+
+    private static Criteria criteria(String projectId, AuditQuery query) {
+        Criteria criteria = Criteria.where(PROJECT_ID).is(projectId);
+        if (query.resourceName() != null) {
+            criteria.and(RESOURCE_NAME).is(query.resourceName());
+        }
+        if (query.userId() != null) {
+            criteria.and(USER_ID).is(query.userId());
+        }
+        if (query.action() != null) {
+            criteria.and(ACTION).is(query.action());
+        }
+        if (query.from() != null || query.to() != null) {
+            Criteria timestamp = criteria.and(TIMESTAMP);
+            if (query.from() != null) {
+                timestamp.gte(query.from());
+            }
+            if (query.to() != null) {
+                timestamp.lt(query.to());
+            }
+        }
+        return criteria;
+    }
+}
@@ -10,6 +10,7 @@ import com.flipkart.grayskull.spi.models.Secret;
 import com.flipkart.grayskull.spi.models.SecretData;
 import com.flipkart.grayskull.models.dto.request.CreateSecretRequest;
 import com.flipkart.grayskull.models.dto.request.UpgradeSecretDataRequest;
+import com.flipkart.grayskull.models.dto.response.BatchGetSecretsResponse;
 import com.flipkart.grayskull.models.dto.response.SecretResponse;
 import com.flipkart.grayskull.models.dto.response.ListSecretsResponse;
 import com.flipkart.grayskull.models.dto.response.SecretDataResponse;
@@ -22,7 +23,12 @@ import com.flipkart.grayskull.spi.repositories.SecretDataRepository;
 import com.flipkart.grayskull.spi.repositories.SecretRepository;
 import com.flipkart.grayskull.service.interfaces.SecretService;
 import com.flipkart.grayskull.service.utils.AuthnUtil;
+import com.flipkart.grayskull.service.utils.ConditionalResult;
+import com.flipkart.grayskull.service.utils.RequestEntityMemo;
+import com.flipkart.grayskull.service.utils.SecretDataCache;
 import com.flipkart.grayskull.service.utils.SecretEncryptionUtil;
+import com.flipkart.grayskull.service.utils.SecretETag;
+import com.flipkart.grayskull.service.utils.SecretPageToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -30,8 +36,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -45,6 +56,8 @@ public class SecretServiceImpl implements SecretService {
     private final KmsConfig kmsConfig;
     private final ProjectRepository projectRepository;
     private final AuthnUtil authnUtil;
+    private final SecretDataCache secretDataCache;
+    private final RequestEntityMemo requestEntityMemo;
 
     /**
      * Lists secrets for a given project with pagination.
@@ -63,7 +76,34 @@ public class SecretServiceImpl implements SecretService {
         List<SecretMetadata> secretMetadata = secrets.stream()
                 .map(secretMapper::secretToSecretMetadata)
                 .toList();
-        return new ListSecretsResponse(secretMetadata, total);
+        return new ListSecretsResponse(secretMetadata, total, null);
+    }
+
+    /**
+     * Lists secrets for a given project with keyset pagination, ordered by name.
+     *
+     * @param projectId The ID of the project.
+     * @param pageToken The token returned with the previous page, or an empty string for the first page.
+     * @param limit     The maximum number of secrets to return.
+     * @return A {@link ListSecretsResponse} containing the list of secret metadata
+     *         and the token for the next page, if any.
+     */
+    @Override
+    public ListSecretsResponse listSecretsByToken(String projectId, String pageToken, int limit) {
+        SecretPageToken after = pageToken == null || pageToken.isEmpty() ? null : SecretPageToken.decode(pageToken);
+        // Fetch one extra secret to find out whether there is a next page
+        List<Secret> secrets = secretRepository.findByProjectIdAndStateAfter(projectId, LifecycleState.ACTIVE,
+                after == null ? null : after.name(), limit + 1);
+        String nextPageToken = null;
+        if (secrets.size() > limit) {
+            secrets = secrets.subList(0, limit);
+            Secret last = secrets.get(limit - 1);
+            nextPageToken = new SecretPageToken(last.getName()).encode();
+        }
+        List<SecretMetadata> secretMetadata = secrets.stream()
+                .map(secretMapper::secretToSecretMetadata)
+                .toList();
+        return new ListSecretsResponse(secretMetadata, null, nextPageToken);
     }
 
     /**
@@ -95,7 +135,7 @@ public class SecretServiceImpl implements SecretService {
         Secret savedSecret = secretRepository.save(secret);
 
         SecretData secretData = secretMapper.requestToSecretData(request, savedSecret.getId());
-        secretEncryptionUtil.encryptSecretData(secretData, keyId);
+        secretEncryptionUtil.encryptSecretData(secretData, projectId, keyId);
         secretDataRepository.save(secretData);
         savedSecret.setData(secretData);
 
@@ -105,34 +145,75 @@ public class SecretServiceImpl implements SecretService {
     /**
      * Reads the metadata of a specific secret.
      *
-     * @param projectId  The ID of the project.
-     * @param secretName The name of the secret.
-     * @return {@link SecretMetadata} for the requested secret.
+     * @param projectId   The ID of the project.
+     * @param secretName  The name of the secret.
+     * @param ifNoneMatch The {@code If-None-Match} header of the request, may be {@code null}.
+     * @return The ETag and, if not matched, the {@link SecretMetadata} for the requested secret.
      */
     @Override
-    public SecretMetadata readSecretMetadata(String projectId, String secretName) {
+    public ConditionalResult<SecretMetadata> readSecretMetadata(String projectId, String secretName, String ifNoneMatch) {
         Secret secret = findActiveSecretOrThrow(projectId, secretName);
-        return secretMapper.secretToSecretMetadata(secret);
+        SecretETag eTag = SecretETag.of(secret);
+        if (eTag.matches(ifNoneMatch)) {
+            return ConditionalResult.notModified(eTag.headerValue());
+        }
+        return new ConditionalResult<>(eTag.headerValue(), secretMapper.secretToSecretMetadata(secret));
     }
 
     /**
-     * Reads the value of a specific secret.
+     * Reads the value of a specific secret. The secret data is only looked up if the ETag does not match.
      *
-     * @param projectId  The ID of the project.
-     * @param secretName The name of the secret.
-     * @return A {@link SecretDataResponse} containing the secret's value.
+     * @param projectId   The ID of the project.
+     * @param secretName  The name of the secret.
+     * @param ifNoneMatch The {@code If-None-Match} header of the request, may be {@code null}.
+     * @return The ETag and, if not matched, a {@link SecretDataResponse} containing the secret's value.
      */
     @Override
-    public SecretDataResponse readSecretValue(String projectId, String secretName) {
+    public ConditionalResult<SecretDataResponse> readSecretValue(String projectId, String secretName, String ifNoneMatch) {
         Secret secret = findActiveSecretOrThrow(projectId, secretName);
+        SecretETag eTag = SecretETag.of(secret);
+        if (eTag.matches(ifNoneMatch)) {
+            return ConditionalResult.notModified(eTag.headerValue());
+        }
 
-        SecretData secretData = secretDataRepository
-                .getBySecretIdAndDataVersion(secret.getId(), secret.getCurrentDataVersion())
+        SecretData secretData = secretDataCache.getDecrypted(secret.getId(), secret.getCurrentDataVersion())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "Secret data not found for secret: " + secret.getId()));
-        secretEncryptionUtil.decryptSecretData(secretData);
 
-        return secretMapper.toSecretDataResponse(secret, secretData);
+        return new ConditionalResult<>(eTag.headerValue(), secretMapper.toSecretDataResponse(secret, secretData));
+    }
+
+    /**
+     * Reads the values of several secrets of a project at once. The secrets and their data are each
+     * fetched with a single query and the data is decrypted in parallel.
+     *
+     * @param projectId   The ID of the project.
+     * @param secretNames The names of the secrets.
+     * @return A {@link BatchGetSecretsResponse} containing the secrets' values.
+     */
+    @Override
+    public BatchGetSecretsResponse readSecretValues(String projectId, List<String> secretNames) {
+        List<String> distinctNames = secretNames.stream().distinct().toList();
+        Map<String, Secret> secrets = requestEntityMemo.findSecrets(projectId, distinctNames,
+                        names -> secretRepository.findByProjectIdAndNameIn(projectId, names)).stream()
+                .filter(secret -> secret.getState() == LifecycleState.ACTIVE)
+                .collect(Collectors.toMap(Secret::getName, Function.identity()));
+        Map<String, Long> dataVersions = secrets.values().stream()
+                .collect(Collectors.toMap(Secret::getId, secret -> secret.getCurrentDataVersion().longValue()));
+        Map<String, SecretData> secretData = secretDataCache.getAllDecrypted(dataVersions);
+
+        Map<String, SecretDataResponse> responses = new LinkedHashMap<>();
+        List<String> notFound = new ArrayList<>();
+        for (String secretName : distinctNames) {
+            Secret secret = secrets.get(secretName);
+            SecretData data = secret == null ? null : secretData.get(secret.getId());
+            if (data == null) {
+                notFound.add(secretName);
+            } else {
+                responses.put(secretName, secretMapper.toSecretDataResponse(secret, data));
+            }
+        }
+        return new BatchGetSecretsResponse(responses, notFound);
     }
 
     /**
@@ -167,8 +248,9 @@ public class SecretServiceImpl implements SecretService {
 
         // Only create and save SecretData after Secret update succeeds
         SecretData secretData = secretMapper.upgradeRequestToSecretData(request, secret, newVersion);
-        secretEncryptionUtil.encryptSecretData(secretData, keyId);
+        secretEncryptionUtil.encryptSecretData(secretData, projectId, keyId);
         secretDataRepository.save(secretData);
+        secretDataCache.invalidate(secret.getId());
 
         UpgradeSecretDataResponse response = new UpgradeSecretDataResponse();
         response.setProjectId(projectId);
@@ -196,6 +278,7 @@ public class SecretServiceImpl implements SecretService {
         secret.setState(LifecycleState.DISABLED);
         secret.setUpdatedBy(authnUtil.getCurrentUsername());
         secretRepository.save(secret);
+        secretDataCache.invalidate(secret.getId());
     }
 
     /**
@@ -212,7 +295,8 @@ public class SecretServiceImpl implements SecretService {
     public SecretDataVersionResponse getSecretDataVersion(String projectId, String secretName, int version,
             Optional<LifecycleState> state) {
         Secret secret = state
-                .map(secretState -> secretRepository.findByProjectIdAndNameAndState(projectId, secretName, secretState)
+                .map(secretState -> findSecret(projectId, secretName)
+                        .filter(found -> found.getState() == secretState)
                         .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                                 "Secret with name " + secretName + " and state " + secretState + " not found.")))
                 .orElseGet(() -> findActiveSecretOrThrow(projectId, secretName));
@@ -235,11 +319,25 @@ public class SecretServiceImpl implements SecretService {
      * @throws ResponseStatusException if no active secret is found.
      */
     private Secret findActiveSecretOrThrow(String projectId, String secretName) {
-        return secretRepository.findByProjectIdAndNameAndState(projectId, secretName, LifecycleState.ACTIVE)
+        return findSecret(projectId, secretName)
+                .filter(secret -> secret.getState() == LifecycleState.ACTIVE)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "Active secret not found with name: " + secretName));
     }
 
+    /**
+     * Finds a secret in any state, reusing the instance already resolved by the authorization check of the
+     * current request if any.
+     *
+     * @param projectId  The ID of the project.
+     * @param secretName The name of the secret.
+     * @return An Optional containing the {@link Secret} if found.
+     */
+    private Optional<Secret> findSecret(String projectId, String secretName) {
+        return requestEntityMemo.findSecret(projectId, secretName,
+                () -> secretRepository.findByProjectIdAndName(projectId, secretName));
+    }
+
     /**
      * Retrieves a project by its ID. If the project does not exist, it creates a
      * new one with the default KMS key, saves it, and returns the new instance.
@@ -254,13 +352,15 @@ public class SecretServiceImpl implements SecretService {
      */
     @Transactional
     public Project getOrCreateProject(String projectId) {
-        return projectRepository.findById(projectId).orElseGet(() -> {
+        return requestEntityMemo.findProject(projectId, () -> projectRepository.findById(projectId)).orElseGet(() -> {
             String defaultKeyId = kmsConfig.getDefaultKeyId();
             ProjectEntity newProject = ProjectEntity.builder()
                     .id(projectId)
                     .kmsKeyId(defaultKeyId)
                     .build();
-            return projectRepository.save(newProject);
+            Project savedProject = projectRepository.save(newProject);
+            requestEntityMemo.putProject(savedProject);
+            return savedProject;
         });
     }
 
@@ -0,0 +1,86 @@
+package com.flipkart.grayskull.service.impl;
+
+import com.flipkart.grayskull.configuration.properties.WatchProperties;
+import com.flipkart.grayskull.models.dto.request.WatchSecretsRequest;
+import com.flipkart.grayskull.models.dto.response.WatchSecretsResponse;
+import com.flipkart.grayskull.service.interfaces.SecretWatchService;
+import com.flipkart.grayskull.spi.models.Secret;
+import com.flipkart.grayskull.spi.repositories.SecretRepository;
+import com.flipkart.grayskull.watch.SecretChangeEvent;
+import com.flipkart.grayskull.watch.SecretRef;
+import com.flipkart.grayskull.watch.SecretWatchRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "grayskull.watch.enabled", havingValue = "true")
+public class SecretWatchServiceImpl implements SecretWatchService {
+
+    private final SecretRepository secretRepository;
+    private final SecretWatchRegistry secretWatchRegistry;
+    private final WatchProperties watchProperties;
+
+    /**
+     * Waits for any of the given secrets to change from the data version known to the client.
+     * <p>
+     * The subscription is registered before the current versions are read from the database, so a change is
+     * either seen by that read or delivered by the change stream afterwards, and never missed in between.
+     *
+     * @param secrets The secrets to watch with the data version known to the client.
+     * @param timeout The maximum time to wait for a change.
+     * @return A future completing with the changed secrets, or with no changes once the timeout elapses.
+     */
+    @Override
+    public CompletableFuture<WatchSecretsResponse> watch(List<WatchSecretsRequest.WatchedSecret> secrets, Duration timeout) {
+        if (secrets.size() > watchProperties.getMaxSecrets()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + watchProperties.getMaxSecrets() + " secrets can be watched at once");
+        }
+        Map<SecretRef, Integer> knownVersions = new LinkedHashMap<>();
+        secrets.forEach(secret -> knownVersions.put(new SecretRef(secret.getProjectId(), secret.getName()), secret.getDataVersion()));
+
+        SecretWatchRegistry.Subscription subscription = secretWatchRegistry.subscribe(knownVersions);
+        subscription.offer(currentState(knownVersions.keySet().stream().toList()));
+        return subscription.future()
+                .completeOnTimeout(List.of(), timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(changes -> new WatchSecretsResponse(changes.stream().map(this::toSecretChange).toList()));
+    }
+
+    /**
+     * Reads the current data version and state of the given secrets with one query per project.
+     */
+    private List<SecretChangeEvent> currentState(List<SecretRef> refs) {
+        Map<String, List<String>> namesByProject = refs.stream().collect(Collectors.groupingBy(SecretRef::projectId,
+                Collectors.mapping(SecretRef::name, Collectors.toList())));
+        Map<SecretRef, Secret> secrets = new HashMap<>();
+        namesByProject.forEach((projectId, names) -> secretRepository.findByProjectIdAndNameIn(projectId, names)
+                .forEach(secret -> secrets.put(new SecretRef(projectId, secret.getName()), secret)));
+        List<SecretChangeEvent> events = new ArrayList<>(refs.size());
+        for (SecretRef ref : refs) {
+            Secret secret = secrets.get(ref);
+            events.add(secret == null
+                    ? new SecretChangeEvent(ref, null, null)
+                    : new SecretChangeEvent(ref, secret.getCurrentDataVersion(), secret.getState()));
+        }
+        return events;
+    }
+
+    private WatchSecretsResponse.SecretChange toSecretChange(SecretChangeEvent event) {
+        return new WatchSecretsResponse.SecretChange(event.ref().projectId(), event.ref().name(), event.dataVersion(),
+                event.state() == null ? null : event.state().name());
+    }
+}
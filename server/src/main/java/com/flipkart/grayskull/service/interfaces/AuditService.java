@@ -0,0 +1,32 @@
+package com.flipkart.grayskull.service.interfaces;
+
+import com.flipkart.grayskull.models.dto.request.AuditQuery;
+import com.flipkart.grayskull.models.dto.response.ListAuditEntriesResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface AuditService {
+
+    /**
+     * Lists the audit entries of a project newest first, with keyset pagination.
+     *
+     * @param projectId The ID of the project.
+     * @param query     The filters of the entries.
+     * @param pageToken The token returned with the previous page, or {@code null} for the first page.
+     * @param limit     The maximum number of entries to return.
+     * @return A {@link ListAuditEntriesResponse} with the entries and the token of the next page.
+     */
+    ListAuditEntriesResponse listAuditEntries(String projectId, AuditQuery query, String pageToken, int limit);
+
+    /**
+     * Writes all audit entries of a project matching the filters as newline delimited JSON, newest first.
+     * The entries are streamed from a database cursor, so memory use does not depend on their number.
+     *
+     * @param projectId    The ID of the project.
+     * @param query        The filters of the entries.
+     * @param outputStream Where the entries are written to. It is not closed.
+     * @throws IOException if writing to the stream fails.
+     */
+    void exportAuditEntries(String projectId, AuditQuery query, OutputStream outputStream) throws IOException;
+}
@@ -1,6 +1,7 @@
 package com.flipkart.grayskull.service.interfaces;
 
 import com.flipkart.grayskull.models.dto.request.CreateSecretRequest;
+import com.flipkart.grayskull.models.dto.response.BatchGetSecretsResponse;
 import com.flipkart.grayskull.models.dto.request.UpgradeSecretDataRequest;
 import com.flipkart.grayskull.models.dto.response.SecretResponse;
 import com.flipkart.grayskull.models.dto.response.ListSecretsResponse;
@@ -8,8 +9,10 @@ import com.flipkart.grayskull.models.dto.response.SecretDataResponse;
 import com.flipkart.grayskull.models.dto.response.SecretDataVersionResponse;
 import com.flipkart.grayskull.models.dto.response.SecretMetadata;
 import com.flipkart.grayskull.models.dto.response.UpgradeSecretDataResponse;
+import com.flipkart.grayskull.service.utils.ConditionalResult;
 import com.flipkart.grayskull.spi.models.enums.LifecycleState;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface SecretService {
@@ -26,6 +29,19 @@ public interface SecretService {
      */
     ListSecretsResponse listSecrets(String projectId, int offset, int limit);
 
+    /**
+     * Lists secrets for a given project with keyset pagination, ordered by name.
+     * Unlike offset based pagination, the cost of fetching a page does not grow with its depth
+     * and the total count is not computed.
+     *
+     * @param projectId The ID of the project.
+     * @param pageToken The token returned with the previous page, or an empty string for the first page.
+     * @param limit     The maximum number of secrets to return.
+     * @return A {@link ListSecretsResponse} containing the list of secret metadata
+     *         and the token for the next page, if any.
+     */
+    ListSecretsResponse listSecretsByToken(String projectId, String pageToken, int limit);
+
     /**
      * Creates a new secret for a given project.
      * 
@@ -40,21 +56,35 @@ public interface SecretService {
      * Reads the metadata of a specific secret. Always returns the latest version of
      * the secret.
      * 
-     * @param projectId  The ID of the project.
-     * @param secretName The name of the secret.
-     * @return {@link SecretMetadata} for the requested secret.
+     * @param projectId   The ID of the project.
+     * @param secretName  The name of the secret.
+     * @param ifNoneMatch The {@code If-None-Match} header of the request, may be {@code null}.
+     * @return The ETag of the secret and, unless it matches {@code ifNoneMatch}, the {@link SecretMetadata}
+     *         for the requested secret.
      */
-    SecretMetadata readSecretMetadata(String projectId, String secretName);
+    ConditionalResult<SecretMetadata> readSecretMetadata(String projectId, String secretName, String ifNoneMatch);
 
     /**
      * Reads the value of a specific secret. Always returns the latest version of
-     * the secret.
+     * the secret. If the caller already holds the latest version, the secret data is neither fetched nor decrypted.
      * 
-     * @param projectId  The ID of the project.
-     * @param secretName The name of the secret.
-     * @return A {@link SecretDataResponse} containing the secret's value.
+     * @param projectId   The ID of the project.
+     * @param secretName  The name of the secret.
+     * @param ifNoneMatch The {@code If-None-Match} header of the request, may be {@code null}.
+     * @return The ETag of the secret and, unless it matches {@code ifNoneMatch}, a {@link SecretDataResponse}
+     *         containing the secret's value.
+     */
+    ConditionalResult<SecretDataResponse> readSecretValue(String projectId, String secretName, String ifNoneMatch);
+
+    /**
+     * Reads the values of several secrets of a project at once. Always returns the latest version of each secret.
+     * Secrets that do not exist or are not active are reported instead of failing the whole request.
+     *
+     * @param projectId   The ID of the project.
+     * @param secretNames The names of the secrets.
+     * @return A {@link BatchGetSecretsResponse} containing the secrets' values.
      */
-    SecretDataResponse readSecretValue(String projectId, String secretName);
+    BatchGetSecretsResponse readSecretValues(String projectId, List<String> secretNames);
 
     /**
      * Upgrades the data of an existing secret, creating a new version.
@@ -0,0 +1,21 @@
+package com.flipkart.grayskull.service.interfaces;
+
+import com.flipkart.grayskull.models.dto.request.WatchSecretsRequest;
+import com.flipkart.grayskull.models.dto.response.WatchSecretsResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface SecretWatchService {
+
+    /**
+     * Waits for any of the given secrets to change from the data version known to the client.
+     * Completes immediately if a secret has already changed.
+     *
+     * @param secrets The secrets to watch with the data version known to the client.
+     * @param timeout The maximum time to wait for a change.
+     * @return A future completing with the changed secrets, or with no changes once the timeout elapses.
+     */
+    CompletableFuture<WatchSecretsResponse> watch(List<WatchSecretsRequest.WatchedSecret> secrets, Duration timeout);
+}
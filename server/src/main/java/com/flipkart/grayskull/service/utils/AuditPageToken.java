@@ -0,0 +1,50 @@
+package com.flipkart.grayskull.service.utils;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * An opaque continuation token for keyset pagination over audit entries, which are ordered newest first.
+ * It encodes the (timestamp, id) of the last entry of a page so that the next page can resume right after it.
+ *
+ * @param timestamp The timestamp of the last entry returned, in the millisecond precision it is stored with.
+ * @param id        The ID of the last entry returned.
+ */
+public record AuditPageToken(Instant timestamp, String id) {
+
+    private static final char SEPARATOR = '.';
+
+    /**
+     * Encodes this token into a URL-safe string.
+     *
+     * @return The encoded token.
+     */
+    public String encode() {
+        String raw = Long.toString(timestamp.toEpochMilli()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token The encoded token.
+     * @return The decoded {@link AuditPageToken}.
+     * @throws ResponseStatusException with 400 Bad Request if the token is malformed.
+     */
+    public static AuditPageToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.indexOf(SEPARATOR);
+            if (index <= 0 || index == raw.length() - 1) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+            return new AuditPageToken(Instant.ofEpochMilli(Long.parseLong(raw.substring(0, index))), raw.substring(index + 1));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page token", e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.flipkart.grayskull.service.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The binary storage format of an encrypted private part. Version 1 holds data encrypted directly with the key:
+ * <pre>
+ * +---------+-----------+--------------------+------------+
+ * | version | keyId len | keyId (UTF-8)      | ciphertext |
+ * | 1 byte  | 1 byte    | keyId len bytes    | rest       |
+ * +---------+-----------+--------------------+------------+
+ * </pre>
+ * Version 2 holds data encrypted with a data key, which is itself encrypted (wrapped) with the key and stored
+ * right before the ciphertext:
+ * <pre>
+ * +---------+-----------+--------------------+-------------------+-------------+------------+
+ * | version | keyId len | keyId (UTF-8)      | wrapped key len   | wrapped key | ciphertext |
+ * | 1 byte  | 1 byte    | keyId len bytes    | 2 bytes, unsigned | len bytes   | rest       |
+ * +---------+-----------+--------------------+-------------------+-------------+------------+
+ * </pre>
+ * Version 3 holds data encrypted directly with a key bound to an algorithm, together with the
+ * {@code EncryptionAlgorithm} tag of that algorithm. The whole header is authenticated as associated data of the
+ * ciphertext, so neither the algorithm nor the key id can be changed without failing decryption:
+ * <pre>
+ * +---------+-----------+-----------+--------------------+------------+
+ * | version | algorithm | keyId len | keyId (UTF-8)      | ciphertext |
+ * | 1 byte  | 1 byte    | 1 byte    | keyId len bytes    | rest       |
+ * +---------+-----------+-----------+--------------------+------------+
+ * </pre>
+ * Keeping the key id next to the ciphertext makes the stored value self-describing, and the version leaves room
+ * for changing the layout later.
+ *
+ * @param version           The format version.
+ * @param algorithm         The tag of the algorithm the ciphertext was encrypted with, 0 before version 3.
+ * @param keyId             The id of the key the ciphertext, or its data key, was encrypted with.
+ * @param wrappedKeyOffset  The offset of the wrapped data key in the stored value, 0 for version 1.
+ * @param wrappedKeyLength  The length of the wrapped data key, 0 for version 1.
+ * @param ciphertextOffset  The offset of the ciphertext in the stored value.
+ */
+public record BinaryCiphertext(int version, int algorithm, String keyId, int wrappedKeyOffset, int wrappedKeyLength,
+                               int ciphertextOffset) {
+
+    public static final int VERSION_1 = 1;
+    public static final int VERSION_2 = 2;
+    public static final int VERSION_3 = 3;
+
+    private static final int MAX_KEY_ID_LENGTH = 255;
+    private static final int MAX_WRAPPED_KEY_LENGTH = 0xFFFF;
+
+    /**
+     * Prepends the version 1 header to the ciphertext.
+     *
+     * @param keyId      The id of the key the ciphertext was encrypted with.
+     * @param ciphertext The ciphertext.
+     * @return The value to store.
+     */
+    public static byte[] wrap(String keyId, byte[] ciphertext) {
+        byte[] keyIdBytes = keyIdBytes(keyId);
+        byte[] stored = new byte[2 + keyIdBytes.length + ciphertext.length];
+        int offset = writeKeyId(stored, VERSION_1, keyIdBytes);
+        System.arraycopy(ciphertext, 0, stored, offset, ciphertext.length);
+        return stored;
+    }
+
+    /**
+     * Prepends the version 2 header and the wrapped data key to the ciphertext.
+     *
+     * @param keyId      The id of the key the data key was wrapped with.
+     * @param wrappedKey The wrapped data key.
+     * @param ciphertext The ciphertext, encrypted with the data key.
+     * @return The value to store.
+     */
+    public static byte[] wrapEnvelope(String keyId, byte[] wrappedKey, byte[] ciphertext) {
+        if (wrappedKey.length > MAX_WRAPPED_KEY_LENGTH) {
+            throw new IllegalArgumentException("Wrapped key is longer than " + MAX_WRAPPED_KEY_LENGTH + " bytes");
+        }
+        byte[] keyIdBytes = keyIdBytes(keyId);
+        byte[] stored = new byte[2 + keyIdBytes.length + 2 + wrappedKey.length + ciphertext.length];
+        int offset = writeKeyId(stored, VERSION_2, keyIdBytes);
+        stored[offset] = (byte) (wrappedKey.length >>> 8);
+        stored[offset + 1] = (byte) wrappedKey.length;
+        System.arraycopy(wrappedKey, 0, stored, offset + 2, wrappedKey.length);
+        System.arraycopy(ciphertext, 0, stored, offset + 2 + wrappedKey.length, ciphertext.length);
+        return stored;
+    }
+
+    /**
+     * Builds the version 3 header, which is to be authenticated along with the ciphertext.
+     *
+     * @param algorithm The tag of the algorithm the ciphertext is encrypted with.
+     * @param keyId     The id of the key the ciphertext is encrypted with.
+     * @return The header.
+     */
+    public static byte[] authenticatedHeader(byte algorithm, String keyId) {
+        byte[] keyIdBytes = keyIdBytes(keyId);
+        byte[] header = new byte[3 + keyIdBytes.length];
+        header[0] = VERSION_3;
+        header[1] = algorithm;
+        header[2] = (byte) keyIdBytes.length;
+        System.arraycopy(keyIdBytes, 0, header, 3, keyIdBytes.length);
+        return header;
+    }
+
+    /**
+     * Appends the ciphertext to a header built by {@link #authenticatedHeader(byte, String)}.
+     *
+     * @param header     The header.
+     * @param ciphertext The ciphertext, authenticated along with the header.
+     * @return The value to store.
+     */
+    public static byte[] wrapAuthenticated(byte[] header, byte[] ciphertext) {
+        byte[] stored = Arrays.copyOf(header, header.length + ciphertext.length);
+        System.arraycopy(ciphertext, 0, stored, header.length, ciphertext.length);
+        return stored;
+    }
+
+    /**
+     * Reads the header of a stored value.
+     *
+     * @param stored The stored value.
+     * @return The parsed header.
+     * @throws IllegalArgumentException if the value is truncated or has an unknown version.
+     */
+    public static BinaryCiphertext parse(byte[] stored) {
+        checkLength(stored, 2);
+        int version = stored[0];
+        if (version != VERSION_1 && version != VERSION_2 && version != VERSION_3) {
+            throw new IllegalArgumentException("Unknown encrypted value format version: " + version);
+        }
+        int algorithm = 0;
+        int keyIdOffset = 1;
+        if (version == VERSION_3) {
+            checkLength(stored, 3);
+            algorithm = Byte.toUnsignedInt(stored[1]);
+            keyIdOffset = 2;
+        }
+        int keyIdLength = Byte.toUnsignedInt(stored[keyIdOffset]);
+        checkLength(stored, keyIdOffset + 1 + keyIdLength);
+        String keyId = new String(stored, keyIdOffset + 1, keyIdLength, StandardCharsets.UTF_8);
+        int offset = keyIdOffset + 1 + keyIdLength;
+        if (version != VERSION_2) {
+            return new BinaryCiphertext(version, algorithm, keyId, 0, 0, offset);
+        }
+        checkLength(stored, offset + 2);
+        int wrappedKeyLength = (Byte.toUnsignedInt(stored[offset]) << 8) | Byte.toUnsignedInt(stored[offset + 1]);
+        checkLength(stored, offset + 2 + wrappedKeyLength);
+        return new BinaryCiphertext(version, algorithm, keyId, offset + 2, wrappedKeyLength, offset + 2 + wrappedKeyLength);
+    }
+
+    /**
+     * Whether the ciphertext is encrypted with a wrapped data key.
+     */
+    public boolean isEnvelope() {
+        return version == VERSION_2;
+    }
+
+    /**
+     * Whether the header names the algorithm and is authenticated along with the ciphertext, which then starts
+     * right after it.
+     */
+    public boolean isAuthenticated() {
+        return version == VERSION_3;
+    }
+
+    private static byte[] keyIdBytes(String keyId) {
+        byte[] keyIdBytes = keyId.getBytes(StandardCharsets.UTF_8);
+        if (keyIdBytes.length > MAX_KEY_ID_LENGTH) {
+            throw new IllegalArgumentException("Key id is longer than " + MAX_KEY_ID_LENGTH + " bytes: " + keyId);
+        }
+        return keyIdBytes;
+    }
+
+    private static int writeKeyId(byte[] stored, int version, byte[] keyIdBytes) {
+        stored[0] = (byte) version;
+        stored[1] = (byte) keyIdBytes.length;
+        System.arraycopy(keyIdBytes, 0, stored, 2, keyIdBytes.length);
+        return 2 + keyIdBytes.length;
+    }
+
+    private static void checkLength(byte[] stored, int length) {
+        if (stored.length < length) {
+            throw new IllegalArgumentException("Encrypted value is too short");
+        }
+    }
+}
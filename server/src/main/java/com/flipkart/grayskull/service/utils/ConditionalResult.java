@@ -0,0 +1,27 @@
+package com.flipkart.grayskull.service.utils;
+
+/**
+ * The result of a conditional read: the entity tag of the current representation and, unless the caller
+ * already has that representation, the representation itself.
+ *
+ * @param eTag The value of the {@code ETag} header of the current representation.
+ * @param body The current representation, or {@code null} if it was not modified.
+ * @param <T>  The type of the representation.
+ */
+public record ConditionalResult<T>(String eTag, T body) {
+
+    /**
+     * Creates a result telling the caller that the representation it holds is still current.
+     *
+     * @param eTag The value of the {@code ETag} header of the current representation.
+     * @param <T>  The type of the representation.
+     * @return A result without a body.
+     */
+    public static <T> ConditionalResult<T> notModified(String eTag) {
+        return new ConditionalResult<>(eTag, null);
+    }
+
+    public boolean isNotModified() {
+        return body == null;
+    }
+}
@@ -0,0 +1,132 @@
+package com.flipkart.grayskull.service.utils;
+
+import com.flipkart.grayskull.spi.models.Project;
+import com.flipkart.grayskull.spi.models.Secret;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the projects and secrets looked up while handling the current HTTP request, so that the entities
+ * resolved by the {@code @PreAuthorize} checks in {@link com.flipkart.grayskull.authz.GrayskullSecurity} are
+ * reused by the service layer instead of being read from the database again.
+ * <p>
+ * Secrets are remembered by project ID and name regardless of their state, which is unique. Lookups that found
+ * nothing are remembered as well. Since callers update the remembered instances in place before saving them,
+ * the memo stays consistent with the writes made by the request. Outside of a request, e.g. on background
+ * threads, every lookup goes to the loader.
+ */
+@Component
+public class RequestEntityMemo {
+
+    private static final String ATTRIBUTE = RequestEntityMemo.class.getName();
+
+    /**
+     * Returns the project with the given ID, loading it on the first lookup of the request.
+     *
+     * @param projectId The ID of the project.
+     * @param loader    Loads the project from the repository.
+     * @return An Optional containing the project if it exists.
+     */
+    public Optional<Project> findProject(String projectId, Supplier<Optional<Project>> loader) {
+        Memo memo = memo();
+        if (memo == null) {
+            return loader.get();
+        }
+        return memo.projects.computeIfAbsent(projectId, id -> loader.get());
+    }
+
+    /**
+     * Remembers a project created or updated by the current request.
+     *
+     * @param project The project.
+     */
+    public void putProject(Project project) {
+        Memo memo = memo();
+        if (memo != null) {
+            memo.projects.put(project.getId(), Optional.of(project));
+        }
+    }
+
+    /**
+     * Returns the secret with the given name in any state, loading it on the first lookup of the request.
+     *
+     * @param projectId  The ID of the project.
+     * @param secretName The name of the secret.
+     * @param loader     Loads the secret from the repository.
+     * @return An Optional containing the secret if it exists.
+     */
+    public Optional<Secret> findSecret(String projectId, String secretName, Supplier<Optional<Secret>> loader) {
+        Memo memo = memo();
+        if (memo == null) {
+            return loader.get();
+        }
+        return memo.secrets.computeIfAbsent(new SecretKey(projectId, secretName), key -> loader.get());
+    }
+
+    /**
+     * Returns the secrets with the given names in any state. Only the names not looked up before in the request
+     * are passed to the loader.
+     *
+     * @param projectId   The ID of the project.
+     * @param secretNames The names of the secrets.
+     * @param loader      Loads the secrets with the given names from the repository.
+     * @return The secrets that exist, in no particular order.
+     */
+    public List<Secret> findSecrets(String projectId, Collection<String> secretNames,
+                                    Function<Collection<String>, List<Secret>> loader) {
+        Memo memo = memo();
+        if (memo == null) {
+            return loader.apply(secretNames);
+        }
+        Set<String> missing = new LinkedHashSet<>();
+        for (String secretName : secretNames) {
+            if (!memo.secrets.containsKey(new SecretKey(projectId, secretName))) {
+                missing.add(secretName);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<String, Secret> loaded = new HashMap<>();
+            loader.apply(missing).forEach(secret -> loaded.put(secret.getName(), secret));
+            missing.forEach(secretName -> memo.secrets.put(new SecretKey(projectId, secretName),
+                    Optional.ofNullable(loaded.get(secretName))));
+        }
+        List<Secret> secrets = new ArrayList<>();
+        for (String secretName : new LinkedHashSet<>(secretNames)) {
+            memo.secrets.get(new SecretKey(projectId, secretName)).ifPresent(secrets::add);
+        }
+        return secrets;
+    }
+
+    private static Memo memo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Memo memo = (Memo) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new Memo();
+            attributes.setAttribute(ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+
+    private record SecretKey(String projectId, String secretName) {
+    }
+
+    private static final class Memo {
+        private final Map<String, Optional<Project>> projects = new HashMap<>();
+        private final Map<SecretKey, Optional<Secret>> secrets = new HashMap<>();
+    }
+}
@@ -0,0 +1,167 @@
+package com.flipkart.grayskull.service.utils;
+
+import com.flipkart.grayskull.configuration.properties.SecretCacheProperties;
+import com.flipkart.grayskull.spi.models.SecretData;
+import com.flipkart.grayskull.spi.repositories.SecretDataRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A bounded, in-process cache of {@link SecretData} keyed by secret id and data version.
+ * <p>
+ * Since a given version of secret data is never modified after it is written, an entry keyed by
+ * (secretId, dataVersion) can never become stale; a new version simply gets a new key. Entries of a secret
+ * are still invalidated on upgrade and delete so that retired versions do not linger in memory. The cached
+ * versions of each secret are indexed so that invalidating a secret does not have to scan the whole cache.
+ * <p>
+ * Depending on {@link SecretCacheProperties#isCacheDecrypted()} either the ciphertext or the decrypted
+ * data is cached. Callers always get back a decrypted copy which they are free to modify.
+ * Hit, miss and eviction metrics are published to Micrometer under the cache name {@code secretData}.
+ */
+@Component
+public class SecretDataCache {
+
+    private static final String CACHE_NAME = "secretData";
+
+    private final SecretDataRepository secretDataRepository;
+    private final SecretEncryptionUtil secretEncryptionUtil;
+    private final boolean cacheDecrypted;
+    private final Cache<Key, SecretData> cache;
+    private final Map<String, Set<Long>> cachedVersions = new ConcurrentHashMap<>();
+
+    public SecretDataCache(SecretDataRepository secretDataRepository, SecretEncryptionUtil secretEncryptionUtil,
+                           SecretCacheProperties properties, MeterRegistry meterRegistry) {
+        this.secretDataRepository = secretDataRepository;
+        this.secretEncryptionUtil = secretEncryptionUtil;
+        this.cacheDecrypted = properties.isCacheDecrypted();
+        if (properties.isEnabled()) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaximumSize())
+                    .expireAfterWrite(properties.getExpireAfterWrite())
+                    .evictionListener((Key key, SecretData secretData, RemovalCause cause) -> unindex(key))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * Returns the decrypted secret data of the given version, loading it from the repository on a cache miss.
+     *
+     * @param secretId    The ID of the parent secret.
+     * @param dataVersion The version of the secret data.
+     * @return An Optional containing a decrypted copy of the secret data if found.
+     */
+    public Optional<SecretData> getDecrypted(String secretId, long dataVersion) {
+        if (cache == null) {
+            return secretDataRepository.getBySecretIdAndDataVersion(secretId, dataVersion).map(secretData -> {
+                secretEncryptionUtil.decryptSecretData(secretData);
+                return secretData;
+            });
+        }
+        Key key = new Key(secretId, dataVersion);
+        SecretData cached = cache.getIfPresent(key);
+        if (cached == null) {
+            Optional<SecretData> loaded = secretDataRepository.getBySecretIdAndDataVersion(secretId, dataVersion);
+            if (loaded.isEmpty()) {
+                return Optional.empty();
+            }
+            cached = cacheDecrypted ? decrypt(loaded.get()) : loaded.get();
+            put(cached);
+        }
+        return Optional.of(cacheDecrypted ? cached.toBuilder().build() : decrypt(cached));
+    }
+
+    /**
+     * Returns the decrypted secret data of the given versions of several secrets. Cache misses are loaded
+     * from the repository with a single query and the data is decrypted in parallel.
+     *
+     * @param dataVersions The version of the secret data, keyed by the ID of the parent secret.
+     * @return Decrypted copies of the secret data found, keyed by the ID of the parent secret.
+     *         Secrets whose data was not found are absent.
+     */
+    public Map<String, SecretData> getAllDecrypted(Map<String, Long> dataVersions) {
+        List<SecretData> hits = new ArrayList<>();
+        Map<String, Long> misses = new HashMap<>();
+        dataVersions.forEach((secretId, dataVersion) -> {
+            SecretData cached = cache == null ? null : cache.getIfPresent(new Key(secretId, dataVersion));
+            if (cached == null) {
+                misses.put(secretId, dataVersion);
+            } else {
+                hits.add(cached);
+            }
+        });
+        List<SecretData> loaded = misses.isEmpty() ? List.of() : secretDataRepository.getAllBySecretIdAndDataVersion(misses);
+        Stream<SecretData> decrypted;
+        if (cache != null && cacheDecrypted) {
+            loaded = decryptAll(loaded);
+            loaded.forEach(this::put);
+            decrypted = Stream.concat(hits.stream(), loaded.stream()).map(secretData -> secretData.toBuilder().build());
+        } else {
+            if (cache != null) {
+                loaded.forEach(this::put);
+            }
+            hits.addAll(loaded);
+            decrypted = decryptAll(hits).stream();
+        }
+        return decrypted.collect(Collectors.toMap(SecretData::getSecretId, Function.identity()));
+    }
+
+    /**
+     * Removes all cached versions of the given secret.
+     *
+     * @param secretId The ID of the secret to invalidate.
+     */
+    public void invalidate(String secretId) {
+        if (cache == null) {
+            return;
+        }
+        Set<Long> versions = cachedVersions.remove(secretId);
+        if (versions != null) {
+            cache.invalidateAll(versions.stream().map(version -> new Key(secretId, version)).toList());
+        }
+    }
+
+    private void put(SecretData secretData) {
+        cachedVersions.computeIfAbsent(secretData.getSecretId(), secretId -> ConcurrentHashMap.newKeySet())
+                .add(secretData.getDataVersion());
+        cache.put(new Key(secretData.getSecretId(), secretData.getDataVersion()), secretData);
+    }
+
+    private void unindex(Key key) {
+        cachedVersions.computeIfPresent(key.secretId(), (secretId, versions) -> {
+            versions.remove(key.dataVersion());
+            return versions.isEmpty() ? null : versions;
+        });
+    }
+
+    private List<SecretData> decryptAll(List<SecretData> secretData) {
+        return secretData.parallelStream().map(this::decrypt).toList();
+    }
+
+    private SecretData decrypt(SecretData secretData) {
+        SecretData copy = secretData.toBuilder().build();
+        secretEncryptionUtil.decryptSecretData(copy);
+        return copy;
+    }
+
+    private record Key(String secretId, long dataVersion) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.flipkart.grayskull.service.utils;
+
+import com.flipkart.grayskull.spi.models.Secret;
+
+/**
+ * A strong entity tag identifying the representation of a secret as returned by the read APIs.
+ * A secret's metadata and current value only change together with its data version or metadata version,
+ * so a client holding a response with the same tag already has the latest representation.
+ *
+ * @param secretId        The ID of the secret.
+ * @param dataVersion     The current data version of the secret.
+ * @param metadataVersion The metadata version of the secret.
+ */
+public record SecretETag(String secretId, Integer dataVersion, Integer metadataVersion) {
+
+    /**
+     * Creates the tag for the current state of a secret.
+     *
+     * @param secret The secret.
+     * @return The {@link SecretETag} of the secret.
+     */
+    public static SecretETag of(Secret secret) {
+        return new SecretETag(secret.getId(), secret.getCurrentDataVersion(), secret.getMetadataVersion());
+    }
+
+    /**
+     * Formats this tag as the quoted value of an {@code ETag} header.
+     *
+     * @return The header value.
+     */
+    public String headerValue() {
+        return "\"" + secretId + "." + dataVersion + "." + metadataVersion + "\"";
+    }
+
+    /**
+     * Checks this tag against the value of an {@code If-None-Match} request header, using the weak comparison
+     * mandated for that header.
+     *
+     * @param ifNoneMatch The header value, may be {@code null}.
+     * @return {@code true} if the header lists this tag or is {@code *}.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String headerValue = headerValue();
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(headerValue)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
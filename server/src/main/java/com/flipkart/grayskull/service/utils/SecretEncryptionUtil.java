@@ -1,31 +1,95 @@
 package com.flipkart.grayskull.service.utils;
 
+import com.flipkart.grayskull.configuration.properties.EnvelopeEncryptionProperties;
 import com.flipkart.grayskull.spi.models.SecretData;
 import com.flipkart.grayskull.spi.EncryptionService;
-import lombok.RequiredArgsConstructor;
+import com.flipkart.grayskull.spi.models.enums.EncryptionAlgorithm;
+import com.flipkart.grayskull.spimpl.crypto.EnvelopeEncryption;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
+/**
+ * Encrypts and decrypts the private part of {@link SecretData}.
+ * <p>
+ * The ciphertext is stored as binary in {@link SecretData#getEncryptedPrivatePart()} in the
+ * {@link BinaryCiphertext} format. Depending on {@link EnvelopeEncryptionProperties#isEnabled()} new data is
+ * encrypted directly with the KMS key or with a data key of the project via {@link EnvelopeEncryption}; both
+ * are decrypted regardless of the setting. When the {@link EncryptionService} binds each key to an algorithm, data
+ * encrypted directly is stored with an authenticated header naming the algorithm, see
+ * {@link BinaryCiphertext#VERSION_3}. Data written in the older format, with the Base64 encoded ciphertext
+ * in {@link SecretData#getPrivatePart()}, is still decrypted transparently.
+ */
 @Component
-@RequiredArgsConstructor
 public class SecretEncryptionUtil {
 
     private final EncryptionService encryptionService;
+    private final EnvelopeEncryption envelopeEncryption;
+    private final boolean envelopeEnabled;
 
-    public void encryptSecretData(SecretData secretData, String keyId) {
+    public SecretEncryptionUtil(EncryptionService encryptionService, EnvelopeEncryption envelopeEncryption,
+                                EnvelopeEncryptionProperties envelopeProperties) {
+        this.encryptionService = encryptionService;
+        this.envelopeEncryption = envelopeEncryption;
+        this.envelopeEnabled = envelopeProperties.isEnabled();
+    }
+
+    public void encryptSecretData(SecretData secretData, String projectId, String keyId) {
         if (secretData.getPrivatePart() != null && !secretData.getPrivatePart().isEmpty()) {
-            byte[] encrypted = encryptionService.encrypt(secretData.getPrivatePart().getBytes(), keyId);
-            secretData.setPrivatePart(Base64.getEncoder().encodeToString(encrypted));
+            byte[] data = secretData.getPrivatePart().getBytes(StandardCharsets.UTF_8);
+            if (envelopeEnabled) {
+                EnvelopeEncryption.EncryptedData encrypted = envelopeEncryption.encrypt(projectId, keyId, data);
+                secretData.setEncryptedPrivatePart(
+                        BinaryCiphertext.wrapEnvelope(keyId, encrypted.wrappedKey(), encrypted.ciphertext()));
+            } else {
+                secretData.setEncryptedPrivatePart(encryptDirectly(data, keyId));
+            }
+            secretData.setPrivatePart(null);
             secretData.setKmsKeyId(keyId);
         }
     }
 
     public void decryptSecretData(SecretData secretData) {
-        if (secretData.getPrivatePart() != null && !secretData.getPrivatePart().isEmpty()) {
+        byte[] stored = secretData.getEncryptedPrivatePart();
+        if (stored != null) {
+            BinaryCiphertext header = BinaryCiphertext.parse(stored);
+            int length = stored.length - header.ciphertextOffset();
+            byte[] decrypted;
+            if (header.isEnvelope()) {
+                decrypted = envelopeEncryption.decrypt(header.keyId(), stored, header.wrappedKeyOffset(),
+                        header.wrappedKeyLength(), header.ciphertextOffset(), length);
+            } else if (header.isAuthenticated()) {
+                decrypted = decryptAuthenticated(stored, header, length);
+            } else {
+                decrypted = encryptionService.decrypt(stored, header.ciphertextOffset(), length, header.keyId());
+            }
+            secretData.setPrivatePart(new String(decrypted, StandardCharsets.UTF_8));
+            secretData.setEncryptedPrivatePart(null);
+        } else if (secretData.getPrivatePart() != null && !secretData.getPrivatePart().isEmpty()) {
             byte[] decrypted = encryptionService.decrypt(Base64.getDecoder().decode(secretData.getPrivatePart()),
                     secretData.getKmsKeyId());
-            secretData.setPrivatePart(new String(decrypted));
+            secretData.setPrivatePart(new String(decrypted, StandardCharsets.UTF_8));
+        }
+    }
+
+    private byte[] encryptDirectly(byte[] data, String keyId) {
+        EncryptionAlgorithm algorithm = encryptionService.algorithm(keyId);
+        if (algorithm == null) {
+            return BinaryCiphertext.wrap(keyId, encryptionService.encrypt(data, keyId));
+        }
+        byte[] header = BinaryCiphertext.authenticatedHeader(algorithm.tag(), keyId);
+        byte[] ciphertext = encryptionService.encrypt(data, 0, data.length, keyId, ByteBuffer.wrap(header));
+        return BinaryCiphertext.wrapAuthenticated(header, ciphertext);
+    }
+
+    private byte[] decryptAuthenticated(byte[] stored, BinaryCiphertext header, int length) {
+        EncryptionAlgorithm algorithm = EncryptionAlgorithm.fromTag(header.algorithm());
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Unknown encryption algorithm: " + header.algorithm());
         }
+        return encryptionService.decrypt(stored, header.ciphertextOffset(), length, header.keyId(), algorithm,
+                ByteBuffer.wrap(stored, 0, header.ciphertextOffset()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package com.flipkart.grayskull.service.utils;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * An opaque continuation token for keyset pagination over secrets.
+ * It encodes the name of the last secret of a page, which is unique within a project, so that the next page can
+ * resume right after it.
+ *
+ * @param name The name of the last secret returned.
+ */
+public record SecretPageToken(String name) {
+
+    /**
+     * Encodes this token into a URL-safe string.
+     *
+     * @return The encoded token.
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token The encoded token.
+     * @return The decoded {@link SecretPageToken}.
+     * @throws ResponseStatusException with 400 Bad Request if the token is malformed.
+     */
+    public static SecretPageToken decode(String token) {
+        try {
+            String name = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Missing name");
+            }
+            return new SecretPageToken(name);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page token", e);
+        }
+    }
+}
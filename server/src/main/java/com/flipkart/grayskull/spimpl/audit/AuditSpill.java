@@ -0,0 +1,157 @@
+package com.flipkart.grayskull.spimpl.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flipkart.grayskull.spi.models.AuditEntry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Audit entries that did not fit in memory or could not be written, kept as newline delimited JSON files until
+ * they are written to the repository.
+ * <p>
+ * Entries are appended to the current file. Replaying first seals the current file so that appends continue in
+ * a new one, then writes the sealed files oldest first and deletes each once it has been written completely.
+ * If writing fails part way through a file, the file is kept and replayed again later, so entries may be
+ * written more than once. Lines that can not be parsed, e.g. the last one of a file cut short by a crash, are
+ * skipped and moved to a file with the same name ending in {@code .bad} for inspection, which is never replayed.
+ */
+@Slf4j
+public class AuditSpill {
+
+    private static final String SUFFIX = ".ndjson";
+    private static final String QUARANTINE_SUFFIX = ".bad";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private BufferedWriter writer;
+    private long sequence;
+
+    public AuditSpill(Path directory, ObjectMapper objectMapper) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Appends audit entries to the current file.
+     *
+     * @throws UncheckedIOException if the entries can not be written.
+     */
+    synchronized void append(List<AuditEntry> auditEntries) {
+        try {
+            if (writer == null) {
+                Path file = directory.resolve(String.format("audit-%013d-%06d%s", System.currentTimeMillis(), sequence++, SUFFIX));
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW);
+            }
+            for (AuditEntry auditEntry : auditEntries) {
+                writer.write(objectMapper.writeValueAsString(auditEntry));
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill audit entries", e);
+        }
+    }
+
+    /**
+     * Writes all spilled entries in batches and deletes the files that were written completely.
+     *
+     * @param batchSize The maximum number of entries per batch.
+     * @param sink      Writes a batch, throwing if it fails.
+     * @return The number of entries written and of lines skipped.
+     */
+    Replay replay(int batchSize, Consumer<List<AuditEntry>> sink) throws IOException {
+        seal();
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+        int written = 0;
+        int skipped = 0;
+        for (Path file : files) {
+            List<AuditEntry> batch = new ArrayList<>(batchSize);
+            BufferedWriter quarantine = null;
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    AuditEntry auditEntry;
+                    try {
+                        auditEntry = objectMapper.readValue(line, AuditEntry.class);
+                    } catch (JsonProcessingException e) {
+                        if (quarantine == null) {
+                            // Rewritten on every attempt, so lines are not quarantined twice if the file is replayed again
+                            quarantine = Files.newBufferedWriter(quarantineFile(file), StandardCharsets.UTF_8);
+                        }
+                        quarantine.write(line);
+                        quarantine.newLine();
+                        skipped++;
+                        log.warn("Skipping unreadable line of spilled audit file {}: {}", file, e.getOriginalMessage());
+                        continue;
+                    }
+                    batch.add(auditEntry);
+                    if (batch.size() == batchSize) {
+                        sink.accept(batch);
+                        written += batch.size();
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            } finally {
+                if (quarantine != null) {
+                    quarantine.close();
+                }
+            }
+            if (!batch.isEmpty()) {
+                sink.accept(batch);
+                written += batch.size();
+            }
+            Files.delete(file);
+            log.info("Replayed spilled audit file {}", file);
+        }
+        return new Replay(written, skipped);
+    }
+
+    private static Path quarantineFile(Path file) {
+        String name = file.getFileName().toString();
+        return file.resolveSibling(name.substring(0, name.length() - SUFFIX.length()) + QUARANTINE_SUFFIX);
+    }
+
+    synchronized boolean isEmpty() throws IOException {
+        if (writer != null) {
+            return false;
+        }
+        try (Stream<Path> listing = Files.list(directory)) {
+            return listing.noneMatch(file -> file.getFileName().toString().endsWith(SUFFIX));
+        }
+    }
+
+    synchronized void seal() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    /**
+     * The outcome of {@link #replay(int, Consumer)}.
+     *
+     * @param written The number of entries written.
+     * @param skipped The number of lines that could not be parsed and were quarantined.
+     */
+    record Replay(int written, int skipped) {
+    }
+}
@@ -1,27 +1,227 @@
 package com.flipkart.grayskull.spimpl.audit;
 
+import com.flipkart.grayskull.configuration.properties.AsyncAuditProperties;
+import com.flipkart.grayskull.configuration.properties.AsyncAuditProperties.OverflowPolicy;
 import com.flipkart.grayskull.spi.AsyncAuditLogger;
 import com.flipkart.grayskull.spi.models.AuditEntry;
 import com.flipkart.grayskull.spi.repositories.AuditEntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PreDestroy;
-import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
-@AllArgsConstructor
+/**
+ * Writes audit entries to the {@link AuditEntryRepository} in batches from a single background thread.
+ * <p>
+ * Entries are buffered in a bounded queue and written with {@code saveAll} once {@code batch-size} entries are
+ * queued or the oldest queued entry has waited {@code flush-interval}. When the queue is full the calling thread
+ * blocks, the entry is dropped or it is spilled to disk, depending on the {@link OverflowPolicy}. With the
+ * {@code SPILL} policy, batches that fail to be written are spilled as well, and spilled entries are written
+ * whenever the queue is empty. On shutdown the queue is written for up to {@code shutdown-timeout}.
+ * <p>
+ * Publishes the queue depth as {@code grayskull.audit.async.queue.depth}, the size and latency of the writes as
+ * {@code grayskull.audit.async.batch.size} and {@code grayskull.audit.async.flush}, and counts entries that are
+ * dropped, spilled or failed to be written.
+ */
+@Slf4j
 public class SimpleAsyncAuditLogger implements AsyncAuditLogger {
 
+    private static final String METRIC_PREFIX = "grayskull.audit.async.";
+    /**
+     * Queued on shutdown to wake the flusher up while it waits for entries, it is never written.
+     */
+    private static final AuditEntry WAKE_UP = new AuditEntry();
+
     private final AuditEntryRepository auditEntryRepository;
-    private final ExecutorService executorService = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("async-audit-logger").factory());
+    private final AsyncAuditProperties properties;
+    private final AuditSpill spill;
+    private final BlockingQueue<AuditEntry> queue;
+    private final long flushIntervalNanos;
+    private final Thread flusher;
+    private final DistributionSummary batchSize;
+    private final Timer flushTimer;
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Counter failed;
+    private final Counter unreadable;
+    private volatile boolean running = true;
+
+    /**
+     * @param spill Where entries are spilled to, required if the overflow policy is {@code SPILL}.
+     */
+    public SimpleAsyncAuditLogger(AuditEntryRepository auditEntryRepository, AsyncAuditProperties properties,
+                                  AuditSpill spill, MeterRegistry meterRegistry) {
+        if (properties.getOverflowPolicy() == OverflowPolicy.SPILL && spill == null) {
+            throw new IllegalArgumentException("The SPILL overflow policy requires a spill directory");
+        }
+        this.auditEntryRepository = auditEntryRepository;
+        this.properties = properties;
+        this.spill = properties.getOverflowPolicy() == OverflowPolicy.SPILL ? spill : null;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        Gauge.builder(METRIC_PREFIX + "queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+        this.batchSize = DistributionSummary.builder(METRIC_PREFIX + "batch.size").register(meterRegistry);
+        this.flushTimer = Timer.builder(METRIC_PREFIX + "flush").publishPercentileHistogram().register(meterRegistry);
+        this.dropped = meterRegistry.counter(METRIC_PREFIX + "dropped");
+        this.spilled = meterRegistry.counter(METRIC_PREFIX + "spilled");
+        this.failed = meterRegistry.counter(METRIC_PREFIX + "failed");
+        this.unreadable = meterRegistry.counter(METRIC_PREFIX + "unreadable");
+        this.flusher = Thread.ofPlatform().daemon().name("async-audit-logger").start(this::run);
+    }
 
     @Override
     public void log(AuditEntry auditEntry) {
-        executorService.submit(() -> auditEntryRepository.save(auditEntry));
+        enqueue(auditEntry);
     }
 
+    @Override
+    public void logAll(List<AuditEntry> auditEntries) {
+        auditEntries.forEach(this::enqueue);
+    }
+
+    private void enqueue(AuditEntry auditEntry) {
+        if (queue.offer(auditEntry)) {
+            return;
+        }
+        switch (properties.getOverflowPolicy()) {
+            case BLOCK -> {
+                try {
+                    queue.put(auditEntry);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.increment();
+                }
+            }
+            case DROP -> dropped.increment();
+            case SPILL -> spill(List.of(auditEntry));
+        }
+    }
+
+    /**
+     * Stops accepting work and writes the queued entries, spilling whatever is left after the shutdown timeout.
+     */
     @PreDestroy
-    public void shutdown() {
-        executorService.shutdown();
+    public void shutdown() throws InterruptedException {
+        // Not interrupting the flusher, which could abort a write in progress. If the queue is full the flusher is
+        // not waiting for entries, and it stops waiting for more of them as soon as it sees that it is not running.
+        running = false;
+        queue.offer(WAKE_UP);
+        flusher.join(properties.getShutdownTimeout().toMillis());
+        if (flusher.isAlive()) {
+            log.warn("Audit entries are still being written after {}", properties.getShutdownTimeout());
+        }
+        List<AuditEntry> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.removeIf(entry -> entry == WAKE_UP);
+        if (!remaining.isEmpty()) {
+            if (spill != null) {
+                spill(remaining);
+            } else {
+                log.error("Lost {} audit entries on shutdown", remaining.size());
+                dropped.increment(remaining.size());
+            }
+        }
+    }
+
+    private void run() {
+        List<AuditEntry> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                fill(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            batch.removeIf(entry -> entry == WAKE_UP);
+            if (batch.isEmpty()) {
+                // Spilled entries are kept for the next start rather than holding up the shutdown
+                if (running) {
+                    replaySpill();
+                }
+            } else {
+                write(batch);
+                batch = new ArrayList<>(properties.getBatchSize());
+            }
+        }
+    }
+
+    /**
+     * Waits for the first entry for up to one flush interval, then for the batch to fill up until the flush
+     * interval has passed since the first entry arrived. Stops waiting once the logger is shut down.
+     */
+    private void fill(List<AuditEntry> batch) throws InterruptedException {
+        if (!running) {
+            queue.drainTo(batch, properties.getBatchSize());
+            return;
+        }
+        AuditEntry first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (running && batch.size() < properties.getBatchSize()) {
+            if (queue.drainTo(batch, properties.getBatchSize() - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            AuditEntry next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<AuditEntry> batch) {
+        batchSize.record(batch.size());
+        long start = System.nanoTime();
+        try {
+            auditEntryRepository.saveAll(batch);
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} audit entries", batch.size(), e);
+            if (spill != null) {
+                spill(batch);
+            } else {
+                failed.increment(batch.size());
+            }
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void spill(List<AuditEntry> auditEntries) {
+        try {
+            spill.append(auditEntries);
+            spilled.increment(auditEntries.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to spill {} audit entries", auditEntries.size(), e);
+            failed.increment(auditEntries.size());
+        }
+    }
+
+    private void replaySpill() {
+        if (spill == null) {
+            return;
+        }
+        try {
+            if (!spill.isEmpty()) {
+                AuditSpill.Replay replay = spill.replay(properties.getBatchSize(), auditEntryRepository::saveAll);
+                unreadable.increment(replay.skipped());
+                log.info("Wrote {} spilled audit entries, skipped {} unreadable ones", replay.written(), replay.skipped());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write spilled audit entries, will retry", e);
+        }
     }
 }
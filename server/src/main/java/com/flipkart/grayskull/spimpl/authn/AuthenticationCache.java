@@ -0,0 +1,95 @@
+package com.flipkart.grayskull.spimpl.authn;
+
+import com.flipkart.grayskull.configuration.properties.AuthenticationCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, short lived cache of successful authentications, so that the password hash of a client is not
+ * verified again on every request.
+ * <p>
+ * Entries are keyed by an HMAC-SHA256 of the credential header under a random key generated at startup, so
+ * neither the credentials nor an offline-guessable hash of them are kept in memory. Failed authentications are
+ * never cached. Hit, miss and eviction metrics are published to Micrometer under the cache name
+ * {@code authentication}. All entries are dropped when the configuration is refreshed, since the users may have
+ * changed.
+ */
+@Slf4j
+public class AuthenticationCache {
+
+    private static final String CACHE_NAME = "authentication";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Cache<ByteBuffer, Authentication> cache;
+    private final SecretKeySpec salt;
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    public AuthenticationCache(AuthenticationCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.salt = new SecretKeySpec(key, HMAC_ALGORITHM);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached authentication for the credentials, authenticating and caching on a miss.
+     *
+     * @param credentials   The raw credential header of the request.
+     * @param authenticator Authenticates the request, may return {@code null} or throw, neither is cached.
+     * @return The authentication, or {@code null} if the authenticator returned {@code null}.
+     */
+    public Authentication get(String credentials, Supplier<Authentication> authenticator) {
+        return cache.get(key(credentials), key -> authenticator.get());
+    }
+
+    /**
+     * Removes the cached authentications of a user, e.g. after the password of the user was changed.
+     *
+     * @param username The name of the user.
+     */
+    public void evict(String username) {
+        cache.asMap().values().removeIf(authentication -> username.equals(authentication.getName()));
+    }
+
+    /**
+     * Removes all cached authentications.
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void invalidateAll() {
+        cache.invalidateAll();
+        log.info("Cleared the authentication cache");
+    }
+
+    private ByteBuffer key(String credentials) {
+        return ByteBuffer.wrap(macs.get().doFinal(credentials.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(salt);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.flipkart.grayskull.spimpl.authn;
 
+import com.flipkart.grayskull.configuration.properties.AuthenticationCacheProperties;
 import com.flipkart.grayskull.spi.GrayskullAuthenticationProvider;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import org.springdoc.core.customizers.OpenApiCustomizer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.userdetails.User;
@@ -19,8 +23,17 @@ import static io.swagger.v3.oas.models.security.SecurityScheme.Type.HTTP;
 public class AuthenticationConfiguration {
 
     @Bean
-    public GrayskullAuthenticationProvider authenticationProvider() {
-        return new SimpleAuthenticationProvider();
+    public GrayskullAuthenticationProvider authenticationProvider(ObjectProvider<AuthenticationCache> authenticationCache,
+                                                                  ObjectProvider<SignedTokens> signedTokens) {
+        GrayskullAuthenticationProvider basic = new SimpleAuthenticationProvider(authenticationCache.getIfAvailable());
+        SignedTokens tokens = signedTokens.getIfAvailable();
+        return tokens == null ? basic : new SignedTokenAuthenticationProvider(tokens, basic);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "grayskull.authentication.cache.enabled", havingValue = "true")
+    public AuthenticationCache authenticationCache(AuthenticationCacheProperties properties, MeterRegistry meterRegistry) {
+        return new AuthenticationCache(properties, meterRegistry);
     }
 
     @Bean
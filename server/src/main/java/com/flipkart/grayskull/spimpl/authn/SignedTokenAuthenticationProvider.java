@@ -0,0 +1,76 @@
+package com.flipkart.grayskull.spimpl.authn;
+
+import com.flipkart.grayskull.spi.GrayskullAuthenticationProvider;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Instant;
+
+/**
+ * Authenticates requests carrying a bearer token issued by {@link SignedTokens}, and hands every other request
+ * to the given provider, which is how clients authenticate to obtain a token in the first place.
+ * <p>
+ * A token is verified from its signature and expiry alone, so a user removed from the user store keeps access
+ * until the tokens issued to it expire.
+ */
+public class SignedTokenAuthenticationProvider implements GrayskullAuthenticationProvider {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final SignedTokens signedTokens;
+    private final GrayskullAuthenticationProvider delegate;
+
+    public SignedTokenAuthenticationProvider(SignedTokens signedTokens, GrayskullAuthenticationProvider delegate) {
+        this.signedTokens = signedTokens;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void initialize(AuthenticationManager authenticationManager) {
+        delegate.initialize(authenticationManager);
+    }
+
+    @Override
+    public Authentication authenticate(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return delegate.authenticate(request);
+        }
+        SignedTokens.Claims claims = signedTokens.verify(header.substring(BEARER_PREFIX.length()).trim());
+        return new SignedTokenAuthentication(claims.sub(), Instant.ofEpochSecond(claims.exp()));
+    }
+
+    /**
+     * The authentication of a request made with a bearer token.
+     */
+    public static final class SignedTokenAuthentication extends AbstractAuthenticationToken {
+
+        private final String username;
+        private final Instant expiresAt;
+
+        public SignedTokenAuthentication(String username, Instant expiresAt) {
+            super(AuthorityUtils.createAuthorityList("ROLE_USER"));
+            this.username = username;
+            this.expiresAt = expiresAt;
+            setAuthenticated(true);
+        }
+
+        @Override
+        public Object getCredentials() {
+            return null;
+        }
+
+        @Override
+        public Object getPrincipal() {
+            return username;
+        }
+
+        public Instant getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
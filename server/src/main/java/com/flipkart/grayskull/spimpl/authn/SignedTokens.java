@@ -0,0 +1,265 @@
+package com.flipkart.grayskull.spimpl.authn;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flipkart.grayskull.configuration.properties.TokenAuthenticationProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Issues and verifies short lived bearer tokens in the JWS compact format, signed with HS256 or Ed25519.
+ * <p>
+ * Verification only costs a signature check and parsing a small JSON payload. The header of a token must be
+ * exactly one of the headers this class emits for the configured keys, which selects the key and algorithm in
+ * a single lookup and rules out algorithm confusion. Mac and Signature instances are kept per thread.
+ */
+@Component
+@ConditionalOnProperty(name = "grayskull.authentication.token.enabled", havingValue = "true")
+public class SignedTokens {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final int MIN_HMAC_KEY_LENGTH = 32;
+
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final long ttlSeconds;
+    private final long clockSkewSeconds;
+    private final Map<String, TokenKey> keysByHeader = new HashMap<>();
+    private final String signingHeader;
+
+    public SignedTokens(TokenAuthenticationProperties properties, ObjectMapper objectMapper) {
+        this(properties, objectMapper, Clock.systemUTC());
+    }
+
+    SignedTokens(TokenAuthenticationProperties properties, ObjectMapper objectMapper, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.ttlSeconds = properties.getTtl().toSeconds();
+        this.clockSkewSeconds = properties.getClockSkew().toSeconds();
+        properties.getKeys().forEach((keyId, key) -> keysByHeader.put(header(key.getAlgorithm(), keyId), toTokenKey(keyId, key)));
+        TokenAuthenticationProperties.Key signingKey = properties.getKeys().get(properties.getSigningKeyId());
+        if (signingKey == null) {
+            throw new IllegalStateException("Token signing key '" + properties.getSigningKeyId() + "' is not configured");
+        }
+        this.signingHeader = header(signingKey.getAlgorithm(), properties.getSigningKeyId());
+        if (!keysByHeader.get(signingHeader).canSign()) {
+            throw new IllegalStateException("Token signing key '" + properties.getSigningKeyId() + "' has no private key");
+        }
+    }
+
+    /**
+     * Issues a token for a user.
+     *
+     * @param subject The name of the user.
+     * @return The token and its expiry.
+     */
+    public IssuedToken issue(String subject) {
+        long now = clock.instant().getEpochSecond();
+        Claims claims = new Claims(subject, now, now + ttlSeconds);
+        String signingInput;
+        try {
+            signingInput = signingHeader + "." + ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can not serialize token claims", e);
+        }
+        byte[] signature = keysByHeader.get(signingHeader).sign(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return new IssuedToken(signingInput + "." + ENCODER.encodeToString(signature), Instant.ofEpochSecond(claims.exp()));
+    }
+
+    /**
+     * Verifies a token.
+     *
+     * @param token The token without the {@code Bearer} prefix.
+     * @return The claims of the token.
+     * @throws BadCredentialsException     if the token is malformed, signed with an unknown key or tampered with.
+     * @throws CredentialsExpiredException if the token has expired.
+     */
+    public Claims verify(String token) {
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+        if (payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
+            throw new BadCredentialsException("Malformed token");
+        }
+        TokenKey key = keysByHeader.get(token.substring(0, headerEnd));
+        if (key == null) {
+            throw new BadCredentialsException("Token is signed with an unknown key");
+        }
+        Claims claims;
+        try {
+            byte[] signature = DECODER.decode(token.substring(payloadEnd + 1));
+            if (!key.verify(token.substring(0, payloadEnd).getBytes(StandardCharsets.US_ASCII), signature)) {
+                throw new BadCredentialsException("Invalid token signature");
+            }
+            claims = objectMapper.readValue(DECODER.decode(token.substring(headerEnd + 1, payloadEnd)), Claims.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new BadCredentialsException("Malformed token", e);
+        }
+        if (claims.sub() == null || claims.sub().isBlank()) {
+            throw new BadCredentialsException("Token has no subject");
+        }
+        if (clock.instant().getEpochSecond() > claims.exp() + clockSkewSeconds) {
+            throw new CredentialsExpiredException("Token has expired");
+        }
+        return claims;
+    }
+
+    private static String header(TokenAlgorithm algorithm, String keyId) {
+        Map<String, String> header = new LinkedHashMap<>();
+        header.put("alg", algorithm.getJwsName());
+        header.put("typ", "JWT");
+        header.put("kid", keyId);
+        try {
+            return ENCODER.encodeToString(new ObjectMapper().writeValueAsBytes(header));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static TokenKey toTokenKey(String keyId, TokenAuthenticationProperties.Key key) {
+        try {
+            return switch (key.getAlgorithm()) {
+                case HS256 -> {
+                    byte[] secret = key.getSecret() == null ? new byte[0] : Base64.getDecoder().decode(key.getSecret());
+                    if (secret.length < MIN_HMAC_KEY_LENGTH) {
+                        throw new IllegalStateException("HS256 token key '" + keyId + "' must have at least "
+                                + MIN_HMAC_KEY_LENGTH + " bytes");
+                    }
+                    yield new HmacKey(new SecretKeySpec(secret, "HmacSHA256"));
+                }
+                case ED25519 -> {
+                    if (key.getPublicKey() == null) {
+                        throw new IllegalStateException("Ed25519 token key '" + keyId + "' has no public key");
+                    }
+                    KeyFactory keyFactory = KeyFactory.getInstance("Ed25519");
+                    PublicKey publicKey = keyFactory.generatePublic(
+                            new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey())));
+                    PrivateKey privateKey = key.getPrivateKey() == null ? null : keyFactory.generatePrivate(
+                            new PKCS8EncodedKeySpec(Base64.getDecoder().decode(key.getPrivateKey())));
+                    yield new Ed25519Key(publicKey, privateKey);
+                }
+            };
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid token key '" + keyId + "'", e);
+        }
+    }
+
+    /**
+     * The claims of a token, with times in epoch seconds as in JWT.
+     */
+    public record Claims(String sub, long iat, long exp) {
+    }
+
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+
+    private interface TokenKey {
+
+        byte[] sign(byte[] data);
+
+        boolean verify(byte[] data, byte[] signature);
+
+        boolean canSign();
+    }
+
+    private static final class HmacKey implements TokenKey {
+
+        private final ThreadLocal<Mac> macs;
+
+        HmacKey(SecretKeySpec secret) {
+            this.macs = ThreadLocal.withInitial(() -> {
+                try {
+                    Mac mac = Mac.getInstance("HmacSHA256");
+                    mac.init(secret);
+                    return mac;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("HmacSHA256 is not available", e);
+                }
+            });
+            macs.get();
+        }
+
+        @Override
+        public byte[] sign(byte[] data) {
+            return macs.get().doFinal(data);
+        }
+
+        @Override
+        public boolean verify(byte[] data, byte[] signature) {
+            return MessageDigest.isEqual(sign(data), signature);
+        }
+
+        @Override
+        public boolean canSign() {
+            return true;
+        }
+    }
+
+    private static final class Ed25519Key implements TokenKey {
+
+        private final PublicKey publicKey;
+        private final PrivateKey privateKey;
+        private final ThreadLocal<Signature> signatures = ThreadLocal.withInitial(() -> {
+            try {
+                return Signature.getInstance("Ed25519");
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Ed25519 is not available", e);
+            }
+        });
+
+        Ed25519Key(PublicKey publicKey, PrivateKey privateKey) {
+            this.publicKey = publicKey;
+            this.privateKey = privateKey;
+        }
+
+        @Override
+        public byte[] sign(byte[] data) {
+            try {
+                Signature signature = signatures.get();
+                signature.initSign(privateKey);
+                signature.update(data);
+                return signature.sign();
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Can not sign token", e);
+            }
+        }
+
+        @Override
+        public boolean verify(byte[] data, byte[] signature) {
+            try {
+                Signature verifier = signatures.get();
+                verifier.initVerify(publicKey);
+                verifier.update(data);
+                return verifier.verify(signature);
+            } catch (GeneralSecurityException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public boolean canSign() {
+            return privateKey != null;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.flipkart.grayskull.spimpl.authn;
 
 import com.flipkart.grayskull.spi.GrayskullAuthenticationProvider;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.web.authentication.AuthenticationConverter;
 import org.springframework.security.core.Authentication;
@@ -10,12 +11,22 @@ import org.springframework.security.web.authentication.www.BasicAuthenticationCo
 /**
  * A simple implementation of the AuthenticationProvider interface that uses Basic Authentication.
  * The actual authentication is done by the AuthenticationManager so that spring's UserDetailsService can be used for authentication.
+ * If an {@link AuthenticationCache} is given, successful authentications are cached by the Authorization header.
  */
 public class SimpleAuthenticationProvider implements GrayskullAuthenticationProvider {
 
     private final AuthenticationConverter authenticationConverter = new BasicAuthenticationConverter();
+    private final AuthenticationCache authenticationCache;
     private AuthenticationManager authenticationManager;
 
+    public SimpleAuthenticationProvider() {
+        this(null);
+    }
+
+    public SimpleAuthenticationProvider(AuthenticationCache authenticationCache) {
+        this.authenticationCache = authenticationCache;
+    }
+
     @Override
     public void initialize(AuthenticationManager authenticationManager) {
         this.authenticationManager = authenticationManager;
@@ -23,6 +34,14 @@ public class SimpleAuthenticationProvider implements GrayskullAuthenticationProv
 
     @Override
     public Authentication authenticate(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authenticationCache == null || header == null) {
+            return authenticateWithManager(request);
+        }
+        return authenticationCache.get(header, () -> authenticateWithManager(request));
+    }
+
+    private Authentication authenticateWithManager(HttpServletRequest request) {
         Authentication authRequest = authenticationConverter.convert(request);
         if (authRequest == null) {
             return null;
@@ -0,0 +1,16 @@
+package com.flipkart.grayskull.spimpl.authn;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The signature algorithms of bearer tokens, with their names in the JWS {@code alg} header.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TokenAlgorithm {
+    HS256("HS256"),
+    ED25519("EdDSA");
+
+    private final String jwsName;
+}
@@ -0,0 +1,137 @@
+package com.flipkart.grayskull.spimpl.authz;
+
+import com.flipkart.grayskull.authz.GrayskullActions;
+import com.flipkart.grayskull.configuration.AuthorizationProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable index of the authorization rules, compiled once so that a lookup costs a handful of hash
+ * lookups regardless of the number of rules.
+ * <p>
+ * Rules are indexed by user, then project, then secret. The wildcard {@code "*"} is stored as a regular key,
+ * so a lookup probes the exact and the wildcard bucket at each level. The granted actions are kept as a bitset
+ * over the ordinals of {@link GrayskullActions}; the {@code "*"} action sets every bit including one reserved
+ * for actions that are not part of {@link GrayskullActions}.
+ */
+@Slf4j
+public final class AuthorizationRuleIndex {
+
+    private static final String WILDCARD = "*";
+    private static final long UNKNOWN_ACTION_BIT = 1L << 63;
+    private static final long ALL_ACTIONS = -1L;
+    private static final Map<String, Long> ACTION_BITS = new HashMap<>();
+
+    static {
+        if (GrayskullActions.values().length >= 63) {
+            throw new IllegalStateException("Too many actions for the authorization bitset");
+        }
+        for (GrayskullActions action : GrayskullActions.values()) {
+            ACTION_BITS.put(action.getValue(), 1L << action.ordinal());
+        }
+    }
+
+    private static final AuthorizationRuleIndex EMPTY = new AuthorizationRuleIndex(Map.of());
+
+    private final Map<String, Map<String, SecretNode>> rulesByUser;
+
+    private AuthorizationRuleIndex(Map<String, Map<String, SecretNode>> rulesByUser) {
+        this.rulesByUser = rulesByUser;
+    }
+
+    /**
+     * Compiles the given rules into an index.
+     *
+     * @param rules The rules, may be {@code null}.
+     * @return The compiled {@link AuthorizationRuleIndex}.
+     */
+    public static AuthorizationRuleIndex compile(List<AuthorizationProperties.Rule> rules) {
+        if (rules == null || rules.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, Map<String, SecretNode>> rulesByUser = new HashMap<>();
+        for (AuthorizationProperties.Rule rule : rules) {
+            long actions = actionBits(rule);
+            if (actions == 0 || rule.getUser() == null || rule.getProject() == null) {
+                continue;
+            }
+            SecretNode node = rulesByUser.computeIfAbsent(rule.getUser(), user -> new HashMap<>())
+                    .computeIfAbsent(rule.getProject(), project -> new SecretNode());
+            // A rule without a secret is a project level rule and applies to any secret, just like "*"
+            if (rule.getSecret() == null || WILDCARD.equals(rule.getSecret())) {
+                node.anySecret |= actions;
+            } else {
+                node.bySecret.merge(rule.getSecret(), actions, (a, b) -> a | b);
+            }
+        }
+        return new AuthorizationRuleIndex(rulesByUser);
+    }
+
+    /**
+     * Checks whether any rule grants the action to the user on the project and secret.
+     *
+     * @param username   The name of the user.
+     * @param projectId  The ID of the project.
+     * @param secretName The name of the secret, or {@code null} for project level actions.
+     * @param action     The action to perform.
+     * @return {@code true} if the action is granted.
+     */
+    public boolean isAuthorized(String username, String projectId, String secretName, String action) {
+        long actionBit = ACTION_BITS.getOrDefault(action, UNKNOWN_ACTION_BIT);
+        return isAuthorized(rulesByUser.get(username), projectId, secretName, actionBit)
+                || isAuthorized(rulesByUser.get(WILDCARD), projectId, secretName, actionBit);
+    }
+
+    private static boolean isAuthorized(Map<String, SecretNode> rulesByProject, String projectId, String secretName,
+                                        long actionBit) {
+        if (rulesByProject == null) {
+            return false;
+        }
+        return isAuthorized(rulesByProject.get(projectId), secretName, actionBit)
+                || isAuthorized(rulesByProject.get(WILDCARD), secretName, actionBit);
+    }
+
+    private static boolean isAuthorized(SecretNode node, String secretName, long actionBit) {
+        if (node == null) {
+            return false;
+        }
+        if ((node.anySecret & actionBit) != 0) {
+            return true;
+        }
+        if (secretName == null) {
+            return false;
+        }
+        Long actions = node.bySecret.get(secretName);
+        return actions != null && (actions & actionBit) != 0;
+    }
+
+    private static long actionBits(AuthorizationProperties.Rule rule) {
+        if (rule.getActions() == null) {
+            return 0;
+        }
+        long bits = 0;
+        for (String action : rule.getActions()) {
+            if (WILDCARD.equals(action)) {
+                return ALL_ACTIONS;
+            }
+            Long bit = ACTION_BITS.get(action);
+            if (bit == null) {
+                log.warn("Ignoring unknown action '{}' in authorization rule for user '{}'", action, rule.getUser());
+            } else {
+                bits |= bit;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * The actions granted on the secrets of one project.
+     */
+    private static final class SecretNode {
+        private long anySecret;
+        private final Map<String, Long> bySecret = new HashMap<>();
+    }
+}
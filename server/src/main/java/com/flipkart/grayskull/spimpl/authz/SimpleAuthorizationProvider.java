@@ -3,25 +3,35 @@ package com.flipkart.grayskull.spimpl.authz;
 import com.flipkart.grayskull.configuration.AuthorizationProperties;
 import com.flipkart.grayskull.spi.GrayskullAuthorizationProvider;
 import com.flipkart.grayskull.spi.authz.AuthorizationContext;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
-
 /**
  * A simple implementation of the {@link GrayskullAuthorizationProvider} that uses a static set of rules
  * defined in the application's configuration file via {@link AuthorizationProperties}.
  * This implementation is intended for basic use cases and testing environments. It supports wildcard matching
  * for users, projects, and actions.
+ * <p>
+ * The rules are compiled into an {@link AuthorizationRuleIndex} at startup. When the configuration is refreshed,
+ * a new index is compiled from the rebound properties and swapped in atomically, so that concurrent checks see
+ * either the old or the new rules but never a mix of both.
  */
 
 @Component
-@RequiredArgsConstructor
+@Slf4j
 public class SimpleAuthorizationProvider implements GrayskullAuthorizationProvider {
 
     private final AuthorizationProperties authorizationProperties;
+    private volatile AuthorizationRuleIndex ruleIndex;
+
+    public SimpleAuthorizationProvider(AuthorizationProperties authorizationProperties) {
+        this.authorizationProperties = authorizationProperties;
+        this.ruleIndex = AuthorizationRuleIndex.compile(authorizationProperties.getRules());
+    }
 
     @Override
     public boolean isAuthorized(AuthorizationContext authorizationContext, String action) {
@@ -30,38 +40,16 @@ public class SimpleAuthorizationProvider implements GrayskullAuthorizationProvid
             return false;
         }
 
-        String username = authentication.getName();
-        if (authorizationProperties.getRules() == null) {
-            return false;
-        }
-
-        return authorizationProperties.getRules().stream()
-            .filter(rule -> userMatches(rule, username))
-            .filter(rule -> projectMatches(rule, authorizationContext.getProjectId()))
-            .filter(rule -> secretMatches(rule, authorizationContext.getSecretName().orElse(null)))
-            .anyMatch(rule -> actionMatches(rule, action));
-    }
-
-    private boolean userMatches(AuthorizationProperties.Rule rule, String username) {
-        return "*".equals(rule.getUser()) || rule.getUser().equals(username);
-    }
-
-    private boolean projectMatches(AuthorizationProperties.Rule rule, String projectId) {
-        return "*".equals(rule.getProject()) || rule.getProject().equals(projectId);
-    }
-
-    private boolean secretMatches(AuthorizationProperties.Rule rule, String secretName) {
-        // If the rule doesn't specify a secret, it's a project-level rule and should match any secret context.
-        if (rule.getSecret() == null) {
-            return true;
-        }
-        // If the rule specifies a secret, it must match the context's secret name or be a wildcard.
-        return "*".equals(rule.getSecret()) || rule.getSecret().equals(secretName);
+        return ruleIndex.isAuthorized(authentication.getName(), authorizationContext.getProjectId(),
+                authorizationContext.getSecretName().orElse(null), action);
     }
 
-    private boolean actionMatches(AuthorizationProperties.Rule rule, String action) {
-        return Optional.ofNullable(rule.getActions())
-            .map(actions -> actions.contains("*") || actions.contains(action))
-            .orElse(false);
+    /**
+     * Recompiles the rules once the refresh endpoint has rebound {@link AuthorizationProperties}.
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        this.ruleIndex = AuthorizationRuleIndex.compile(authorizationProperties.getRules());
+        log.info("Recompiled authorization rules after configuration refresh");
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,206 @@
+package com.flipkart.grayskull.spimpl.crypto;
+
+import com.flipkart.grayskull.spi.models.enums.EncryptionAlgorithm;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.AlgorithmParameterSpec;
+
+/**
+ * The authenticated ciphers available for encrypting secret data, shared by the {@code EncryptionService}
+ * implementations and {@link EnvelopeEncryption}.
+ * <p>
+ * The encrypted data is the 12 byte nonce followed by the ciphertext and the 16 byte tag. To keep allocations
+ * down on hot paths each thread reuses its own {@link Cipher} per algorithm and draws nonces from its own DRBG
+ * instance. Encrypting allocates only the returned array, and decrypting a range of an array or a
+ * {@link ByteBuffer} does not copy the input.
+ */
+public enum AeadAlgorithm {
+
+    /**
+     * ChaCha20-Poly1305, fast in software on any CPU.
+     */
+    CHACHA20_POLY1305(EncryptionAlgorithm.CHACHA20_POLY1305, "ChaCha20-Poly1305/None/NoPadding", "ChaCha20"),
+
+    /**
+     * AES-256 in GCM mode, fastest on CPUs with AES and carry-less multiplication instructions, which the JVM
+     * uses through intrinsics.
+     */
+    AES_GCM(EncryptionAlgorithm.AES_GCM, "AES/GCM/NoPadding", "AES");
+
+    public static final int KEY_SIZE_BYTES = 32;
+
+    private static final String NONCE_RANDOM_ALGORITHM = "DRBG";
+    private static final int NONCE_SIZE_BYTES = 12;
+    private static final int TAG_SIZE_BITS = 128;
+
+    private final EncryptionAlgorithm encryptionAlgorithm;
+    private final String cipherAlgorithm;
+    private final String keyAlgorithm;
+    private final ThreadLocal<CipherContext> cipherContext;
+
+    AeadAlgorithm(EncryptionAlgorithm encryptionAlgorithm, String cipherAlgorithm, String keyAlgorithm) {
+        this.encryptionAlgorithm = encryptionAlgorithm;
+        this.cipherAlgorithm = cipherAlgorithm;
+        this.keyAlgorithm = keyAlgorithm;
+        this.cipherContext = ThreadLocal.withInitial(() -> new CipherContext(cipherAlgorithm));
+    }
+
+    /**
+     * The algorithm as named in the SPI, whose tag is stored in the header of values encrypted with it.
+     */
+    public EncryptionAlgorithm encryptionAlgorithm() {
+        return encryptionAlgorithm;
+    }
+
+    /**
+     * Returns a key spec for this algorithm.
+     *
+     * @param key The raw key bytes, which are copied.
+     * @return The key spec.
+     */
+    public SecretKeySpec keySpec(byte[] key) {
+        return new SecretKeySpec(key, keyAlgorithm);
+    }
+
+    /**
+     * Returns a new random key.
+     *
+     * @return The raw key bytes.
+     */
+    public byte[] generateKey() {
+        byte[] key = new byte[KEY_SIZE_BYTES];
+        cipherContext.get().random.nextBytes(key);
+        return key;
+    }
+
+    /**
+     * Encrypts {@code length} bytes of {@code data} starting at {@code offset}.
+     *
+     * @return The nonce followed by the ciphertext and the tag.
+     * @throws IllegalArgumentException if encryption fails.
+     */
+    public byte[] encrypt(SecretKeySpec key, byte[] data, int offset, int length) {
+        return encrypt(key, data, offset, length, null);
+    }
+
+    /**
+     * Encrypts {@code length} bytes of {@code data} starting at {@code offset}, authenticating the remaining bytes
+     * of {@code associatedData} along with it.
+     *
+     * @param associatedData Data that is not encrypted but has to be passed unchanged for decrypting, or null.
+     * @return The nonce followed by the ciphertext and the tag.
+     * @throws IllegalArgumentException if encryption fails.
+     */
+    public byte[] encrypt(SecretKeySpec key, byte[] data, int offset, int length, ByteBuffer associatedData) {
+        CipherContext context = cipherContext.get();
+        try {
+            context.random.nextBytes(context.nonce);
+            context.cipher.init(Cipher.ENCRYPT_MODE, key, parameters(context.nonce, 0));
+            if (associatedData != null) {
+                context.cipher.updateAAD(associatedData);
+            }
+            byte[] combined = new byte[NONCE_SIZE_BYTES + context.cipher.getOutputSize(length)];
+            System.arraycopy(context.nonce, 0, combined, 0, NONCE_SIZE_BYTES);
+            context.cipher.doFinal(data, offset, length, combined, NONCE_SIZE_BYTES);
+            return combined;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Decrypts {@code length} bytes of {@code data} starting at {@code offset}.
+     *
+     * @return The decrypted data.
+     * @throws IllegalArgumentException if the data is truncated or fails authentication.
+     */
+    public byte[] decrypt(SecretKeySpec key, byte[] data, int offset, int length) {
+        return decrypt(key, data, offset, length, null);
+    }
+
+    /**
+     * Decrypts {@code length} bytes of {@code data} starting at {@code offset}, checking that the remaining bytes
+     * of {@code associatedData} are the ones passed for encrypting.
+     *
+     * @param associatedData The data authenticated along with the encrypted data, or null if there was none.
+     * @return The decrypted data.
+     * @throws IllegalArgumentException if the data is truncated or fails authentication.
+     */
+    public byte[] decrypt(SecretKeySpec key, byte[] data, int offset, int length, ByteBuffer associatedData) {
+        checkLength(length);
+        Cipher cipher = cipherContext.get().cipher;
+        try {
+            cipher.init(Cipher.DECRYPT_MODE, key, parameters(data, offset));
+            if (associatedData != null) {
+                cipher.updateAAD(associatedData);
+            }
+            return cipher.doFinal(data, offset + NONCE_SIZE_BYTES, length - NONCE_SIZE_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Decrypts the remaining bytes of {@code input} into {@code output}, see
+     * {@link com.flipkart.grayskull.spi.EncryptionService#decrypt(ByteBuffer, ByteBuffer, String)}.
+     *
+     * @return The number of bytes written to {@code output}.
+     * @throws IllegalArgumentException if the data is truncated or fails authentication.
+     */
+    public int decrypt(SecretKeySpec key, ByteBuffer input, ByteBuffer output) {
+        checkLength(input.remaining());
+        CipherContext context = cipherContext.get();
+        try {
+            AlgorithmParameterSpec nonce;
+            if (input.hasArray()) {
+                nonce = parameters(input.array(), input.arrayOffset() + input.position());
+                input.position(input.position() + NONCE_SIZE_BYTES);
+            } else {
+                input.get(context.nonce);
+                nonce = parameters(context.nonce, 0);
+            }
+            context.cipher.init(Cipher.DECRYPT_MODE, key, nonce);
+            return context.cipher.doFinal(input, output);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private AlgorithmParameterSpec parameters(byte[] nonce, int offset) {
+        return this == AES_GCM
+                ? new GCMParameterSpec(TAG_SIZE_BITS, nonce, offset, NONCE_SIZE_BYTES)
+                : new IvParameterSpec(nonce, offset, NONCE_SIZE_BYTES);
+    }
+
+    private static void checkLength(int length) {
+        if (length < NONCE_SIZE_BYTES) {
+            throw new IllegalArgumentException("Encrypted data is shorter than the nonce");
+        }
+    }
+
+    /**
+     * The cipher, nonce source and nonce buffer of one thread.
+     */
+    private static final class CipherContext {
+        private final Cipher cipher;
+        private final SecureRandom random;
+        private final byte[] nonce = new byte[NONCE_SIZE_BYTES];
+
+        private CipherContext(String cipherAlgorithm) {
+            try {
+                this.cipher = Cipher.getInstance(cipherAlgorithm);
+                this.random = SecureRandom.getInstance(NONCE_RANDOM_ALGORITHM);
+            } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -4,16 +4,8 @@ import com.flipkart.grayskull.spi.EncryptionService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.RandomUtils;
 
-import javax.crypto.BadPaddingException;
-import javax.crypto.Cipher;
-import javax.crypto.IllegalBlockSizeException;
-import javax.crypto.NoSuchPaddingException;
-import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
-import java.security.InvalidAlgorithmParameterException;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
-import java.security.spec.InvalidParameterSpecException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashMap;
@@ -22,20 +14,19 @@ import java.util.Map;
 /**
  * A default implementation of the EncryptionService interface that uses ChaCha20-Poly1305 algorithm.
  * It uses a map of keys read from the properties file to encrypt and decrypt data.
+ * <p>
+ * The key specs are built once and the actual encryption is done by {@link AeadAlgorithm}, which reuses
+ * ciphers per thread and avoids copying the input.
  */
 @Slf4j
 public class ChaChaEncryptionService implements EncryptionService {
 
-    private static final String CHACHA_CIPHER_ALGORITHM = "ChaCha20-Poly1305/None/NoPadding";
-    private static final String CHACHA_SECRETKEY_ALGORITHM = "ChaCha20";
-    private static final int NONCE_SIZE_BYTES = 12;
-
-    private final Map<String, byte[]> keys;
+    private final Map<String, SecretKeySpec> keys;
 
     public ChaChaEncryptionService(KeyProperties properties) {
-        Map<String, byte[]> map = new HashMap<>();
+        Map<String, SecretKeySpec> map = new HashMap<>();
         for (Map.Entry<String, String> entry : properties.getKeys().entrySet()) {
-            map.put(entry.getKey(), Base64.getDecoder().decode(entry.getValue()));
+            map.put(entry.getKey(), AeadAlgorithm.CHACHA20_POLY1305.keySpec(Base64.getDecoder().decode(entry.getValue())));
         }
         this.keys = Map.copyOf(map);
         this.validateKeys();
@@ -55,35 +46,34 @@ public class ChaChaEncryptionService implements EncryptionService {
 
     @Override
     public byte[] encrypt(byte[] data, String keyId) {
-        try {
-            Cipher cipher = Cipher.getInstance(CHACHA_CIPHER_ALGORITHM);
-            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(keys.get(keyId), CHACHA_SECRETKEY_ALGORITHM));
-            byte[] nonce = cipher.getParameters().getParameterSpec(IvParameterSpec.class).getIV();
-            byte[] encryptedBytes = cipher.doFinal(data);
-            byte[] combined = new byte[nonce.length + encryptedBytes.length];
-            System.arraycopy(nonce, 0, combined, 0, nonce.length);
-            System.arraycopy(encryptedBytes, 0, combined, nonce.length, encryptedBytes.length);
-            return combined;
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException |
-                 InvalidParameterSpecException | IllegalBlockSizeException | BadPaddingException e) {
-            throw new IllegalArgumentException(e);
-        }
+        return encrypt(data, 0, data.length, keyId);
+    }
+
+    @Override
+    public byte[] encrypt(byte[] data, int offset, int length, String keyId) {
+        return AeadAlgorithm.CHACHA20_POLY1305.encrypt(key(keyId), data, offset, length);
     }
 
     @Override
     public byte[] decrypt(byte[] data, String keyId) {
-        try {
-            byte[] nonce = new byte[NONCE_SIZE_BYTES];
-            byte[] cipherBytes = new byte[data.length - NONCE_SIZE_BYTES];
-            System.arraycopy(data, 0, nonce, 0, NONCE_SIZE_BYTES);
-            System.arraycopy(data, NONCE_SIZE_BYTES, cipherBytes, 0, cipherBytes.length);
-            Cipher cipher = Cipher.getInstance(CHACHA_CIPHER_ALGORITHM);
-            cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(keys.get(keyId), CHACHA_SECRETKEY_ALGORITHM), new IvParameterSpec(nonce));
-            return cipher.doFinal(cipherBytes);
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException | IllegalBlockSizeException |
-                 BadPaddingException | InvalidAlgorithmParameterException e) {
-            throw new IllegalArgumentException(e);
-        }
+        return decrypt(data, 0, data.length, keyId);
+    }
+
+    @Override
+    public byte[] decrypt(byte[] data, int offset, int length, String keyId) {
+        return AeadAlgorithm.CHACHA20_POLY1305.decrypt(key(keyId), data, offset, length);
     }
 
+    @Override
+    public int decrypt(ByteBuffer input, ByteBuffer output, String keyId) {
+        return AeadAlgorithm.CHACHA20_POLY1305.decrypt(key(keyId), input, output);
+    }
+
+    private SecretKeySpec key(String keyId) {
+        SecretKeySpec key = keys.get(keyId);
+        if (key == null) {
+            throw new IllegalArgumentException("Unknown key id: " + keyId);
+        }
+        return key;
+    }
 }
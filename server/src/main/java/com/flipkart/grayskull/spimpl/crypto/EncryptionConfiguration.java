@@ -12,7 +12,10 @@ public class EncryptionConfiguration {
 
     @Bean
     public EncryptionService encryptionService(KeyProperties keyProperties) {
-        return new ChaChaEncryptionService(keyProperties);
+        if (keyProperties.getAlgorithms().isEmpty()) {
+            return new ChaChaEncryptionService(keyProperties);
+        }
+        return new MultiAlgorithmEncryptionService(keyProperties);
     }
 
     @Bean
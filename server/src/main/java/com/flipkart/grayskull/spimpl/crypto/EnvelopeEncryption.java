@@ -0,0 +1,132 @@
+package com.flipkart.grayskull.spimpl.crypto;
+
+import com.flipkart.grayskull.configuration.properties.EnvelopeEncryptionProperties;
+import com.flipkart.grayskull.spi.EncryptionService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Envelope encryption on top of an {@link EncryptionService}, which then acts as the KMS: data is encrypted with
+ * ChaCha20-Poly1305 under a random data key, and only the data key is encrypted (wrapped) by the
+ * {@link EncryptionService} with the KMS key.
+ * <p>
+ * A data key is generated per project and KMS key and reused for encrypting until {@code data-key-ttl} passes.
+ * Unwrapped data keys are kept for the same time for decrypting, keyed by their wrapped form. Both caches are
+ * bounded, so calls to the KMS scale with the number of data keys in use rather than with the number of requests.
+ * Hit, miss and eviction metrics are published to Micrometer under the cache names {@code dataKeys} and
+ * {@code unwrappedDataKeys}.
+ */
+@Component
+public class EnvelopeEncryption {
+
+    private static final AeadAlgorithm DATA_KEY_ALGORITHM = AeadAlgorithm.CHACHA20_POLY1305;
+
+    private final EncryptionService keyEncryptionService;
+    private final Cache<DataKeyScope, DataKey> dataKeys;
+    private final Cache<WrappedKey, SecretKeySpec> unwrappedKeys;
+
+    public EnvelopeEncryption(EncryptionService keyEncryptionService, EnvelopeEncryptionProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.keyEncryptionService = keyEncryptionService;
+        this.dataKeys = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getDataKeyTtl())
+                .recordStats()
+                .build();
+        this.unwrappedKeys = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterAccess(properties.getDataKeyTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, dataKeys, "dataKeys");
+        CaffeineCacheMetrics.monitor(meterRegistry, unwrappedKeys, "unwrappedDataKeys");
+    }
+
+    /**
+     * Encrypts {@code data} with the current data key of the project.
+     *
+     * @param projectId The ID of the project the data belongs to.
+     * @param keyId     The id of the KMS key wrapping the data key.
+     * @param data      The data to encrypt.
+     * @return The wrapped data key and the ciphertext.
+     */
+    public EncryptedData encrypt(String projectId, String keyId, byte[] data) {
+        DataKey dataKey = dataKeys.get(new DataKeyScope(projectId, keyId), scope -> newDataKey(keyId));
+        return new EncryptedData(dataKey.wrapped(), DATA_KEY_ALGORITHM.encrypt(dataKey.key(), data, 0, data.length));
+    }
+
+    /**
+     * Decrypts a ciphertext whose wrapped data key is stored in the same array.
+     *
+     * @param keyId            The id of the KMS key wrapping the data key.
+     * @param stored           The array holding the wrapped data key and the ciphertext.
+     * @param wrappedKeyOffset The offset of the wrapped data key.
+     * @param wrappedKeyLength The length of the wrapped data key.
+     * @param offset           The offset of the ciphertext.
+     * @param length           The length of the ciphertext.
+     * @return The decrypted data.
+     */
+    public byte[] decrypt(String keyId, byte[] stored, int wrappedKeyOffset, int wrappedKeyLength, int offset,
+                          int length) {
+        // Look up with a view of the stored array and only copy the wrapped key when it has to be cached
+        WrappedKey lookup = new WrappedKey(keyId, ByteBuffer.wrap(stored, wrappedKeyOffset, wrappedKeyLength));
+        SecretKeySpec key = unwrappedKeys.getIfPresent(lookup);
+        if (key == null) {
+            byte[] wrapped = Arrays.copyOfRange(stored, wrappedKeyOffset, wrappedKeyOffset + wrappedKeyLength);
+            key = unwrappedKeys.get(new WrappedKey(keyId, ByteBuffer.wrap(wrapped)), this::unwrap);
+        }
+        return DATA_KEY_ALGORITHM.decrypt(key, stored, offset, length);
+    }
+
+    private DataKey newDataKey(String keyId) {
+        byte[] raw = DATA_KEY_ALGORITHM.generateKey();
+        try {
+            SecretKeySpec key = DATA_KEY_ALGORITHM.keySpec(raw);
+            byte[] wrapped = keyEncryptionService.encrypt(raw, keyId);
+            // This node can decrypt what it encrypted without asking the KMS
+            unwrappedKeys.put(new WrappedKey(keyId, ByteBuffer.wrap(wrapped)), key);
+            return new DataKey(key, wrapped);
+        } finally {
+            Arrays.fill(raw, (byte) 0);
+        }
+    }
+
+    private SecretKeySpec unwrap(WrappedKey wrappedKey) {
+        ByteBuffer wrapped = wrappedKey.wrapped();
+        byte[] raw = keyEncryptionService.decrypt(wrapped.array(), wrapped.arrayOffset() + wrapped.position(),
+                wrapped.remaining(), wrappedKey.keyId());
+        try {
+            return DATA_KEY_ALGORITHM.keySpec(raw);
+        } finally {
+            Arrays.fill(raw, (byte) 0);
+        }
+    }
+
+    /**
+     * A ciphertext together with the wrapped data key it was encrypted with.
+     *
+     * @param wrappedKey The data key, encrypted with the KMS key.
+     * @param ciphertext The data, encrypted with the data key.
+     */
+    public record EncryptedData(byte[] wrappedKey, byte[] ciphertext) {
+    }
+
+    private record DataKeyScope(String projectId, String keyId) {
+    }
+
+    private record DataKey(SecretKeySpec key, byte[] wrapped) {
+    }
+
+    /**
+     * A wrapped data key. {@link ByteBuffer} compares by content, so views and copies of the same key are equal.
+     */
+    private record WrappedKey(String keyId, ByteBuffer wrapped) {
+    }
+}
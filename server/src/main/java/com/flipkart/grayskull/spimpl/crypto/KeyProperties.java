@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Validated
@@ -13,4 +14,12 @@ import java.util.Map;
 public class KeyProperties {
     @NotEmpty
     private Map<String, String> keys;
-}
\ No newline at end of file
+
+    /**
+     * The algorithm of each key, by key id. Keys without an entry use {@link AeadAlgorithm#CHACHA20_POLY1305}.
+     * When no algorithm is declared at all, the {@link ChaChaEncryptionService} is used, otherwise the
+     * {@link MultiAlgorithmEncryptionService}. A key is bound to its algorithm: to switch algorithms, add a new
+     * key with the new algorithm and re-encrypt the data to it rather than changing the algorithm of a key.
+     */
+    private Map<String, AeadAlgorithm> algorithms = new HashMap<>();
+}
@@ -0,0 +1,114 @@
+package com.flipkart.grayskull.spimpl.crypto;
+
+import com.flipkart.grayskull.spi.EncryptionService;
+import com.flipkart.grayskull.spi.models.enums.EncryptionAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.RandomUtils;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An implementation of the EncryptionService interface in which each key is bound to its own {@link AeadAlgorithm},
+ * as declared in {@link KeyProperties#getAlgorithms()}. A key is only ever used with its own algorithm, so the
+ * same key bytes never serve as the key of two ciphers.
+ * <p>
+ * Secret data is stored with a header naming the algorithm, which is authenticated as associated data, see
+ * {@link com.flipkart.grayskull.service.utils.BinaryCiphertext#VERSION_3}. Data encrypted through the plain
+ * {@code EncryptionService} methods, like wrapped data keys or values written by {@link ChaChaEncryptionService},
+ * carries no header and is decrypted with the algorithm of the key.
+ */
+@Slf4j
+public class MultiAlgorithmEncryptionService implements EncryptionService {
+
+    private final Map<String, Key> keys;
+
+    public MultiAlgorithmEncryptionService(KeyProperties properties) {
+        Map<String, Key> map = new HashMap<>();
+        for (Map.Entry<String, String> entry : properties.getKeys().entrySet()) {
+            AeadAlgorithm algorithm = properties.getAlgorithms().getOrDefault(entry.getKey(), AeadAlgorithm.CHACHA20_POLY1305);
+            map.put(entry.getKey(), new Key(algorithm, algorithm.keySpec(Base64.getDecoder().decode(entry.getValue()))));
+        }
+        this.keys = Map.copyOf(map);
+        this.validateKeys();
+    }
+
+    public void validateKeys() {
+        byte[] s = RandomUtils.secure().randomBytes(16);
+        for (Map.Entry<String, Key> entry : keys.entrySet()) {
+            log.debug("Validating key: {} ({})", entry.getKey(), entry.getValue().algorithm());
+            byte[] encrypted = this.encrypt(s, entry.getKey());
+            byte[] decrypted = this.decrypt(encrypted, entry.getKey());
+            if (!Arrays.equals(s, decrypted)) {
+                throw new IllegalStateException("Decryption failed for key: " + entry.getKey());
+            }
+        }
+    }
+
+    @Override
+    public EncryptionAlgorithm algorithm(String keyId) {
+        return key(keyId).algorithm().encryptionAlgorithm();
+    }
+
+    @Override
+    public byte[] encrypt(byte[] data, String keyId) {
+        return encrypt(data, 0, data.length, keyId);
+    }
+
+    @Override
+    public byte[] encrypt(byte[] data, int offset, int length, String keyId) {
+        return encrypt(data, offset, length, keyId, null);
+    }
+
+    @Override
+    public byte[] encrypt(byte[] data, int offset, int length, String keyId, ByteBuffer associatedData) {
+        Key key = key(keyId);
+        return key.algorithm().encrypt(key.spec(), data, offset, length, associatedData);
+    }
+
+    @Override
+    public byte[] decrypt(byte[] data, String keyId) {
+        return decrypt(data, 0, data.length, keyId);
+    }
+
+    @Override
+    public byte[] decrypt(byte[] data, int offset, int length, String keyId) {
+        Key key = key(keyId);
+        return key.algorithm().decrypt(key.spec(), data, offset, length);
+    }
+
+    @Override
+    public int decrypt(ByteBuffer input, ByteBuffer output, String keyId) {
+        Key key = key(keyId);
+        return key.algorithm().decrypt(key.spec(), input, output);
+    }
+
+    @Override
+    public byte[] decrypt(byte[] data, int offset, int length, String keyId, EncryptionAlgorithm algorithm,
+                          ByteBuffer associatedData) {
+        Key key = key(keyId);
+        if (algorithm != key.algorithm().encryptionAlgorithm()) {
+            throw new IllegalArgumentException("Key " + keyId + " uses " + key.algorithm()
+                    + " but the data was encrypted with " + algorithm);
+        }
+        return key.algorithm().decrypt(key.spec(), data, offset, length, associatedData);
+    }
+
+    private Key key(String keyId) {
+        Key key = keys.get(keyId);
+        if (key == null) {
+            throw new IllegalArgumentException("Unknown key id: " + keyId);
+        }
+        return key;
+    }
+
+    /**
+     * A key with its algorithm.
+     */
+    private record Key(AeadAlgorithm algorithm, SecretKeySpec spec) {
+    }
+}
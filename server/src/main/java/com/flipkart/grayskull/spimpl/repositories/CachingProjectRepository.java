@@ -0,0 +1,110 @@
+package com.flipkart.grayskull.spimpl.repositories;
+
+import com.flipkart.grayskull.configuration.properties.ProjectCacheProperties;
+import com.flipkart.grayskull.spi.models.Project;
+import com.flipkart.grayskull.spi.repositories.ProjectRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * A caching decorator of {@link ProjectRepositoryImpl}. Projects are read on every authorized request but
+ * change almost never, so lookups are served from a bounded in-process cache.
+ * <p>
+ * Projects that do not exist are cached as well, for a shorter time, since most secrets live in projects that
+ * were never saved explicitly. Saving a project invalidates its entry on this node, and
+ * {@link ProjectCacheInvalidator} invalidates it on the other nodes. Callers always get back a copy which
+ * they are free to modify. Hit, miss and eviction metrics are published to Micrometer under the cache name
+ * {@code project}.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "grayskull.cache.project.enabled", havingValue = "true")
+public class CachingProjectRepository implements ProjectRepository {
+
+    private static final String CACHE_NAME = "project";
+
+    private final ProjectRepositoryImpl delegate;
+    private final Cache<String, Optional<Project>> cache;
+
+    public CachingProjectRepository(ProjectRepositoryImpl delegate, ProjectCacheProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new ProjectExpiry(properties.getExpireAfterWrite(), properties.getNegativeExpireAfterWrite()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Optional<Project> findById(String id) {
+        return cache.get(id, delegate::findById).map(CachingProjectRepository::copy);
+    }
+
+    @Override
+    public Project transientProject(String id) {
+        return delegate.transientProject(id);
+    }
+
+    /**
+     * Saves the project and invalidates its cached entry. The entry is not replaced with the saved project
+     * since the surrounding transaction may still roll back.
+     */
+    @Override
+    public <S extends Project> S save(S entity) {
+        S saved = delegate.save(entity);
+        invalidate(entity.getId());
+        return saved;
+    }
+
+    /**
+     * Removes the cached entry of a project, e.g. after it was changed by another node.
+     *
+     * @param id The ID of the project.
+     */
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Removes all cached entries, e.g. when changes made by other nodes may have been missed.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static Project copy(Project project) {
+        return project.toBuilder().build();
+    }
+
+    /**
+     * Expires existing projects after {@code positive} and missing ones after {@code negative}.
+     */
+    private record ProjectExpiry(Duration positive, Duration negative) implements Expiry<String, Optional<Project>> {
+
+        @Override
+        public long expireAfterCreate(String id, Optional<Project> project, long currentTime) {
+            return (project.isPresent() ? positive : negative).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String id, Optional<Project> project, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, project, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String id, Optional<Project> project, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
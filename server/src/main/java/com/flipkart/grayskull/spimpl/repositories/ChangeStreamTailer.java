@@ -0,0 +1,135 @@
+package com.flipkart.grayskull.spimpl.repositories;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Tails a MongoDB change stream on a thread of its own and passes every change to a callback.
+ * <p>
+ * The resume token of the last seen change is kept in memory, so when the stream fails it is reopened after
+ * {@code restartDelay} right where it left off, and failures are counted in {@code errorMetric} by exception.
+ * Whenever the stream has to start afresh, either on start or because it can no longer be resumed (the oplog
+ * has rolled over), {@code onStartAfresh} is called once the new stream is open, since changes may have been
+ * missed in between.
+ */
+@Slf4j
+public final class ChangeStreamTailer {
+
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final long MAX_AWAIT_SECONDS = 1;
+
+    private final String name;
+    private final MongoCollection<Document> collection;
+    private final List<Bson> pipeline;
+    private final FullDocument fullDocument;
+    private final Duration restartDelay;
+    private final MeterRegistry meterRegistry;
+    private final String errorMetric;
+    private final Consumer<ChangeStreamDocument<Document>> onChange;
+    private final Runnable onStartAfresh;
+
+    private volatile boolean running;
+    private volatile BsonDocument resumeToken;
+    private Thread thread;
+
+    /**
+     * @param name          Names the thread and the stream in logs.
+     * @param fullDocument  Whether to look up the full document of updates, {@link FullDocument#DEFAULT} if null.
+     * @param onStartAfresh Called when a stream is opened without a resume token, may be null.
+     */
+    @Builder
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private ChangeStreamTailer(@NonNull String name, @NonNull MongoCollection<Document> collection,
+                               @NonNull List<Bson> pipeline, FullDocument fullDocument, @NonNull Duration restartDelay,
+                               @NonNull MeterRegistry meterRegistry, @NonNull String errorMetric,
+                               @NonNull Consumer<ChangeStreamDocument<Document>> onChange, Runnable onStartAfresh) {
+        this.name = name;
+        this.collection = collection;
+        this.pipeline = pipeline;
+        this.fullDocument = fullDocument == null ? FullDocument.DEFAULT : fullDocument;
+        this.restartDelay = restartDelay;
+        this.meterRegistry = meterRegistry;
+        this.errorMetric = errorMetric;
+        this.onChange = onChange;
+        this.onStartAfresh = onStartAfresh == null ? () -> { } : onStartAfresh;
+    }
+
+    public void start() {
+        running = true;
+        thread = Thread.ofPlatform().daemon().name(name).start(this::run);
+    }
+
+    public void stop() throws InterruptedException {
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(MAX_AWAIT_SECONDS * 5));
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                tail();
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    log.warn("{} can not be resumed, starting afresh", name, e);
+                    resumeToken = null;
+                } else {
+                    onError(e);
+                }
+            } catch (MongoException e) {
+                onError(e);
+            }
+        }
+    }
+
+    private void tail() {
+        ChangeStreamIterable<Document> changeStream = collection.watch(pipeline)
+                .fullDocument(fullDocument)
+                .maxAwaitTime(MAX_AWAIT_SECONDS, TimeUnit.SECONDS);
+        if (resumeToken != null) {
+            changeStream = changeStream.resumeAfter(resumeToken);
+        }
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = changeStream.cursor()) {
+            if (resumeToken == null) {
+                onStartAfresh.run();
+            }
+            while (running) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change != null) {
+                    onChange.accept(change);
+                }
+                BsonDocument token = cursor.getResumeToken();
+                if (token != null) {
+                    resumeToken = token;
+                }
+            }
+        }
+    }
+
+    private void onError(MongoException e) {
+        log.error("{} failed, reopening in {}", name, restartDelay, e);
+        meterRegistry.counter(errorMetric, "exception", e.getClass().getSimpleName()).increment();
+        try {
+            Thread.sleep(restartDelay);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
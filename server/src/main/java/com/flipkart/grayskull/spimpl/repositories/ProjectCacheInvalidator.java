@@ -0,0 +1,70 @@
+package com.flipkart.grayskull.spimpl.repositories;
+
+import com.flipkart.grayskull.configuration.properties.ProjectCacheProperties;
+import com.flipkart.grayskull.entities.ProjectEntity;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Tails a MongoDB change stream on the project collection and invalidates the entries of changed projects in
+ * the {@link CachingProjectRepository} of this node, so that the caches of all nodes stay coherent.
+ * <p>
+ * Whenever the stream has to start afresh, either on startup or because it can no longer be resumed, the whole
+ * cache is invalidated since changes may have been missed in between, see {@link ChangeStreamTailer}.
+ */
+@Component
+@ConditionalOnProperty(name = "grayskull.cache.project.enabled", havingValue = "true")
+public class ProjectCacheInvalidator {
+
+    private final CachingProjectRepository projectRepository;
+    private final ChangeStreamTailer tailer;
+
+    public ProjectCacheInvalidator(MongoTemplate mongoTemplate, CachingProjectRepository projectRepository,
+                                   ProjectCacheProperties properties, MeterRegistry meterRegistry) {
+        this.projectRepository = projectRepository;
+        this.tailer = ChangeStreamTailer.builder()
+                .name("project-change-stream")
+                .collection(mongoTemplate.getCollection(mongoTemplate.getCollectionName(ProjectEntity.class)))
+                // Only the key of the changed document is needed, whatever the operation
+                .pipeline(List.of(Aggregates.project(Projections.include("operationType", "documentKey"))))
+                .restartDelay(properties.getRestartDelay())
+                .meterRegistry(meterRegistry)
+                .errorMetric("grayskull.cache.project.stream.errors")
+                .onChange(this::invalidate)
+                .onStartAfresh(projectRepository::invalidateAll)
+                .build();
+    }
+
+    @PostConstruct
+    public void start() {
+        tailer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        tailer.stop();
+    }
+
+    private void invalidate(ChangeStreamDocument<Document> change) {
+        BsonDocument documentKey = change.getDocumentKey();
+        BsonValue id = documentKey == null ? null : documentKey.get("_id");
+        if (id != null && id.isString()) {
+            projectRepository.invalidate(id.asString().getValue());
+        } else {
+            // Collection level events such as drop or rename carry no document key
+            projectRepository.invalidateAll();
+        }
+    }
+}
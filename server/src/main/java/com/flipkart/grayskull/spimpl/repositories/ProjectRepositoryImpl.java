@@ -27,10 +27,8 @@ public class ProjectRepositoryImpl implements ProjectRepository {
     }
 
     @Override
-    public Project findByIdOrTransient(String id) {
-        return mongoRepository.findById(id)
-                .map(Project.class::cast)
-                .orElseGet(() -> ProjectEntity.builder().id(id).kmsKeyId(null).build());
+    public Project transientProject(String id) {
+        return ProjectEntity.builder().id(id).kmsKeyId(null).build();
     }
 
     @Override
@@ -0,0 +1,123 @@
+package com.flipkart.grayskull.spimpl.repositories;
+
+import com.flipkart.grayskull.configuration.properties.SecretDataMigrationProperties;
+import com.flipkart.grayskull.entities.SecretDataEntity;
+import com.flipkart.grayskull.service.utils.BinaryCiphertext;
+import com.mongodb.MongoException;
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Rewrites secret data stored in the old format, with the Base64 encoded ciphertext in {@code privatePart}, to
+ * the binary format in {@code encryptedPrivatePart}. The ciphertext itself is not touched, so no decryption is
+ * involved.
+ * <p>
+ * Documents are walked in {@code _id} order in batches, pausing between batches. Each update is conditional on
+ * the {@code privatePart} it was computed from, so the migration is safe to run on several nodes at once and
+ * alongside regular traffic. Documents that can not be converted are logged and left in the old format, which
+ * remains readable.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "grayskull.migration.secret-data-binary.enabled", havingValue = "true")
+public class SecretDataFormatMigrator {
+
+    private static final String ID = "_id";
+    private static final String PRIVATE_PART = "privatePart";
+    private static final String ENCRYPTED_PRIVATE_PART = "encryptedPrivatePart";
+    private static final String KMS_KEY_ID = "kmsKeyId";
+
+    private final MongoTemplate mongoTemplate;
+    private final SecretDataMigrationProperties properties;
+
+    public SecretDataFormatMigrator(MongoTemplate mongoTemplate, SecretDataMigrationProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread.ofPlatform().daemon().name("secret-data-migrator").start(this::run);
+    }
+
+    private void run() {
+        try {
+            long migrated = migrate();
+            log.info("Secret data migration to the binary format finished, {} documents migrated", migrated);
+        } catch (MongoException e) {
+            log.error("Secret data migration to the binary format failed, it will resume on the next start", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Migrates all documents in the old format.
+     *
+     * @return The number of documents migrated.
+     * @throws InterruptedException if interrupted while pausing between batches.
+     */
+    long migrate() throws InterruptedException {
+        String collection = mongoTemplate.getCollectionName(SecretDataEntity.class);
+        Object lastId = null;
+        long migrated = 0;
+        while (true) {
+            Criteria criteria = Criteria.where(PRIVATE_PART).exists(true).nin(null, "")
+                    .and(ENCRYPTED_PRIVATE_PART).exists(false);
+            if (lastId != null) {
+                criteria = criteria.and(ID).gt(lastId);
+            }
+            Query query = new Query(criteria).with(Sort.by(ID)).limit(properties.getBatchSize());
+            query.fields().include(PRIVATE_PART, KMS_KEY_ID);
+            List<Document> batch = mongoTemplate.find(query, Document.class, collection);
+            if (batch.isEmpty()) {
+                return migrated;
+            }
+            lastId = batch.getLast().get(ID);
+            migrated += migrateBatch(batch, collection);
+            Thread.sleep(properties.getBatchDelay());
+        }
+    }
+
+    private int migrateBatch(List<Document> batch, String collection) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+        int updates = 0;
+        for (Document document : batch) {
+            Object id = document.get(ID);
+            String privatePart = document.getString(PRIVATE_PART);
+            String keyId = document.getString(KMS_KEY_ID);
+            if (keyId == null) {
+                log.warn("Skipping secret data {} which has no key id", id);
+                continue;
+            }
+            try {
+                byte[] stored = BinaryCiphertext.wrap(keyId, Base64.getDecoder().decode(privatePart));
+                bulk.updateOne(new Query(Criteria.where(ID).is(id).and(PRIVATE_PART).is(privatePart)),
+                        new Update().set(ENCRYPTED_PRIVATE_PART, new Binary(stored)).unset(PRIVATE_PART));
+                updates++;
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping secret data {} which can not be converted to the binary format", id, e);
+            }
+        }
+        if (updates == 0) {
+            return 0;
+        }
+        BulkWriteResult result = bulk.execute();
+        return result.getModifiedCount();
+    }
+}
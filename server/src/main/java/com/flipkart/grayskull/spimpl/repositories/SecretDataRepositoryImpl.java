@@ -6,6 +6,9 @@ import com.flipkart.grayskull.spi.repositories.SecretDataRepository;
 import com.flipkart.grayskull.spimpl.repositories.mongo.SecretDataMongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -26,6 +29,20 @@ public class SecretDataRepositoryImpl implements SecretDataRepository {
         return mongoRepository.findBySecretIdAndDataVersion(secretId, dataVersion).map(entity -> entity);
     }
 
+    @Override
+    public List<SecretData> getAllBySecretIdAndDataVersion(Map<String, Long> dataVersions) {
+        if (dataVersions.isEmpty()) {
+            return List.of();
+        }
+        // A single query on the {secretId, dataVersion} index. Since the requested versions differ per secret,
+        // the cross product may match a few extra versions which are dropped here.
+        return mongoRepository.findBySecretIdInAndDataVersionIn(dataVersions.keySet(), new HashSet<>(dataVersions.values()))
+                .stream()
+                .filter(entity -> dataVersions.get(entity.getSecretId()) == entity.getDataVersion())
+                .map(SecretData.class::cast)
+                .toList();
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <S extends SecretData> S save(S entity) {
@@ -7,8 +7,10 @@ import com.flipkart.grayskull.spi.repositories.SecretRepository;
 import com.flipkart.grayskull.spimpl.repositories.mongo.SecretMongoRepository;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -42,6 +44,18 @@ public class SecretRepositoryImpl implements SecretRepository {
                 .toList();
     }
 
+    @Override
+    public List<Secret> findByProjectIdAndStateAfter(String projectId, LifecycleState state, String afterName, int limit) {
+        // Ordering on name is served by the {projectId, state, name} index, names being unique within a project
+        Pageable pageable = PageRequest.of(0, limit, Sort.by("name"));
+        List<SecretEntity> entities = afterName == null
+                ? mongoRepository.findPage(projectId, state, pageable)
+                : mongoRepository.findPageAfter(projectId, state, afterName, pageable);
+        return entities.stream()
+                .map(Secret.class::cast)
+                .toList();
+    }
+
     @Override
     public long countByProjectIdAndState(String projectId, LifecycleState state) {
         return mongoRepository.countByProjectIdAndState(projectId, state);
@@ -57,6 +71,13 @@ public class SecretRepositoryImpl implements SecretRepository {
         return mongoRepository.findByProjectIdAndNameAndState(projectId, name, state).map(entity -> entity);
     }
 
+    @Override
+    public List<Secret> findByProjectIdAndNameIn(String projectId, Collection<String> names) {
+        return mongoRepository.findByProjectIdAndNameIn(projectId, names).stream()
+                .map(Secret.class::cast)
+                .toList();
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <S extends Secret> S save(S entity) {
@@ -3,6 +3,8 @@ package com.flipkart.grayskull.spimpl.repositories.mongo;
 import com.flipkart.grayskull.entities.SecretDataEntity;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -10,5 +12,7 @@ import java.util.Optional;
  */
 public interface SecretDataMongoRepository extends MongoRepository<SecretDataEntity, String> {
     Optional<SecretDataEntity> findBySecretIdAndDataVersion(String secretId, long dataVersion);
+
+    List<SecretDataEntity> findBySecretIdInAndDataVersionIn(Collection<String> secretIds, Collection<Long> dataVersions);
 }
 
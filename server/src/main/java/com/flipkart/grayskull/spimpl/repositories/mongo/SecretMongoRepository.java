@@ -4,7 +4,9 @@ import com.flipkart.grayskull.entities.SecretEntity;
 import com.flipkart.grayskull.spi.models.enums.LifecycleState;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,12 +14,28 @@ import java.util.Optional;
  * MongoDB repository interface for SecretEntity.
  */
 public interface SecretMongoRepository extends MongoRepository<SecretEntity, String> {
+
+    /**
+     * Projection of the fields required for listing secret metadata.
+     */
+    String LIST_FIELDS = "{ 'projectId': 1, 'name': 1, 'systemLabels': 1, 'currentDataVersion': 1, 'lastRotated': 1,"
+            + " 'creationTime': 1, 'updatedTime': 1, 'createdBy': 1, 'updatedBy': 1, 'state': 1, 'provider': 1,"
+            + " 'providerMeta': 1, 'metadataVersion': 1 }";
+
     List<SecretEntity> findByProjectIdAndState(String projectId, LifecycleState state, Pageable pageable);
 
+    @Query(value = "{ 'projectId': ?0, 'state': ?1 }", fields = LIST_FIELDS)
+    List<SecretEntity> findPage(String projectId, LifecycleState state, Pageable pageable);
+
+    @Query(value = "{ 'projectId': ?0, 'state': ?1, 'name': { '$gt': ?2 } }", fields = LIST_FIELDS)
+    List<SecretEntity> findPageAfter(String projectId, LifecycleState state, String afterName, Pageable pageable);
+
     long countByProjectIdAndState(String projectId, LifecycleState state);
 
     Optional<SecretEntity> findByProjectIdAndName(String projectId, String name);
 
     Optional<SecretEntity> findByProjectIdAndNameAndState(String projectId, String name, LifecycleState state);
+
+    List<SecretEntity> findByProjectIdAndNameIn(String projectId, Collection<String> names);
 }
 
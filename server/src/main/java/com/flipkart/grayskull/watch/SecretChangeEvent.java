@@ -0,0 +1,26 @@
+package com.flipkart.grayskull.watch;
+
+import com.flipkart.grayskull.spi.models.enums.LifecycleState;
+
+/**
+ * Describes the latest known state of a secret after a change.
+ *
+ * @param ref         The secret that changed.
+ * @param dataVersion The current data version of the secret, or {@code null} if the secret does not exist.
+ * @param state       The lifecycle state of the secret, or {@code null} if the secret does not exist.
+ */
+public record SecretChangeEvent(SecretRef ref, Integer dataVersion, LifecycleState state) {
+
+    /**
+     * Checks whether this event is news to a subscriber that last saw the given data version.
+     *
+     * @param knownVersion The data version known to the subscriber, or {@code null} if it knows none.
+     * @return {@code true} if the subscriber should be notified.
+     */
+    public boolean isChangeFrom(Integer knownVersion) {
+        if (state != LifecycleState.ACTIVE) {
+            return knownVersion != null;
+        }
+        return !dataVersion.equals(knownVersion);
+    }
+}
@@ -0,0 +1,86 @@
+package com.flipkart.grayskull.watch;
+
+import com.flipkart.grayskull.configuration.properties.WatchProperties;
+import com.flipkart.grayskull.entities.SecretEntity;
+import com.flipkart.grayskull.spi.models.enums.LifecycleState;
+import com.flipkart.grayskull.spimpl.repositories.ChangeStreamTailer;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Tails a single MongoDB change stream on the secret collection and publishes the changes of the data version
+ * and state of secrets to the {@link SecretWatchRegistry}.
+ * <p>
+ * When the stream fails it is reopened right where it left off without missing changes. If the stream can no
+ * longer be resumed (the oplog has rolled over) it starts afresh and all subscriptions are completed so that
+ * clients re-check their versions, see {@link ChangeStreamTailer}.
+ */
+@Component
+@ConditionalOnProperty(name = "grayskull.watch.enabled", havingValue = "true")
+public class SecretChangeStreamListener {
+
+    private static final List<Bson> PIPELINE = List.of(
+            Aggregates.match(Filters.or(
+                    Filters.in("operationType", "insert", "replace"),
+                    Filters.and(
+                            Filters.eq("operationType", "update"),
+                            Filters.or(
+                                    Filters.exists("updateDescription.updatedFields.currentDataVersion"),
+                                    Filters.exists("updateDescription.updatedFields.state"))))),
+            Aggregates.project(Projections.include("operationType", "fullDocument.projectId", "fullDocument.name",
+                    "fullDocument.currentDataVersion", "fullDocument.state")));
+
+    private final SecretWatchRegistry secretWatchRegistry;
+    private final ChangeStreamTailer tailer;
+
+    public SecretChangeStreamListener(MongoTemplate mongoTemplate, SecretWatchRegistry secretWatchRegistry,
+                                      WatchProperties watchProperties, MeterRegistry meterRegistry) {
+        this.secretWatchRegistry = secretWatchRegistry;
+        this.tailer = ChangeStreamTailer.builder()
+                .name("secret-change-stream")
+                .collection(mongoTemplate.getCollection(mongoTemplate.getCollectionName(SecretEntity.class)))
+                .pipeline(PIPELINE)
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .restartDelay(watchProperties.getRestartDelay())
+                .meterRegistry(meterRegistry)
+                .errorMetric("grayskull.watch.stream.errors")
+                .onChange(this::publish)
+                .onStartAfresh(secretWatchRegistry::resyncAll)
+                .build();
+    }
+
+    @PostConstruct
+    public void start() {
+        tailer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        tailer.stop();
+    }
+
+    private void publish(ChangeStreamDocument<Document> change) {
+        Document secret = change.getFullDocument();
+        // The secret may have been removed by the time the full document is looked up
+        if (secret == null) {
+            return;
+        }
+        SecretRef ref = new SecretRef(secret.getString("projectId"), secret.getString("name"));
+        String state = secret.getString("state");
+        secretWatchRegistry.publish(new SecretChangeEvent(ref, secret.getInteger("currentDataVersion"),
+                state == null ? LifecycleState.ACTIVE : LifecycleState.valueOf(state)));
+    }
+}
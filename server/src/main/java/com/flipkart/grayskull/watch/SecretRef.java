@@ -0,0 +1,10 @@
+package com.flipkart.grayskull.watch;
+
+/**
+ * Identifies a secret across projects.
+ *
+ * @param projectId The ID of the project.
+ * @param name      The name of the secret.
+ */
+public record SecretRef(String projectId, String name) {
+}
@@ -0,0 +1,112 @@
+package com.flipkart.grayskull.watch;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory registry of the secrets being watched on this node.
+ * <p>
+ * A single change stream per node publishes every secret change here, and the registry fans it out only to
+ * the subscriptions watching that secret. A subscription is one-shot: it completes with the first change
+ * that differs from the version its client already knows, after which the client is expected to watch again
+ * with the updated versions.
+ */
+@Component
+@ConditionalOnProperty(name = "grayskull.watch.enabled", havingValue = "true")
+public class SecretWatchRegistry {
+
+    private final Map<SecretRef, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger activeSubscriptions = new AtomicInteger();
+
+    public SecretWatchRegistry(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("grayskull.watch.subscriptions", activeSubscriptions);
+    }
+
+    /**
+     * Subscribes to changes of the given secrets. The subscription is removed once its future completes.
+     *
+     * @param knownVersions The data version known to the client for each watched secret, {@code null} if unknown.
+     * @return The subscription.
+     */
+    public Subscription subscribe(Map<SecretRef, Integer> knownVersions) {
+        Subscription subscription = new Subscription(Collections.unmodifiableMap(new HashMap<>(knownVersions)));
+        knownVersions.keySet().forEach(ref -> subscriptions.computeIfAbsent(ref, key -> ConcurrentHashMap.newKeySet()).add(subscription));
+        activeSubscriptions.incrementAndGet();
+        subscription.future.whenComplete((changes, throwable) -> unsubscribe(subscription));
+        return subscription;
+    }
+
+    /**
+     * Notifies the subscriptions watching the changed secret.
+     *
+     * @param event The change.
+     */
+    public void publish(SecretChangeEvent event) {
+        Set<Subscription> watchers = subscriptions.get(event.ref());
+        if (watchers != null) {
+            watchers.forEach(subscription -> subscription.offer(List.of(event)));
+        }
+    }
+
+    /**
+     * Completes every subscription without changes. This is used when changes may have been missed, e.g. when
+     * the change stream could not be resumed, so that clients come back and have their versions re-checked.
+     */
+    public void resyncAll() {
+        subscriptions.values().forEach(watchers -> watchers.forEach(subscription -> subscription.future.complete(List.of())));
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscription.knownVersions.keySet().forEach(ref -> subscriptions.computeIfPresent(ref, (key, watchers) -> {
+            watchers.remove(subscription);
+            return watchers.isEmpty() ? null : watchers;
+        }));
+        activeSubscriptions.decrementAndGet();
+    }
+
+    /**
+     * A one-shot subscription to changes of a set of secrets.
+     */
+    public static final class Subscription {
+
+        private final Map<SecretRef, Integer> knownVersions;
+        private final CompletableFuture<List<SecretChangeEvent>> future = new CompletableFuture<>();
+
+        private Subscription(Map<SecretRef, Integer> knownVersions) {
+            this.knownVersions = knownVersions;
+        }
+
+        /**
+         * Completes the subscription with those of the given changes that are news to its client.
+         * Changes the client already knows about are ignored.
+         *
+         * @param changes The latest state of some of the watched secrets.
+         */
+        public void offer(List<SecretChangeEvent> changes) {
+            List<SecretChangeEvent> news = changes.stream()
+                    .filter(change -> knownVersions.containsKey(change.ref()))
+                    .filter(change -> change.isChangeFrom(knownVersions.get(change.ref())))
+                    .toList();
+            if (!news.isEmpty()) {
+                future.complete(news);
+            }
+        }
+
+        /**
+         * @return A future completing with the changes, or with an empty list if the client should re-check.
+         */
+        public CompletableFuture<List<SecretChangeEvent>> future() {
+            return future;
+        }
+    }
+}
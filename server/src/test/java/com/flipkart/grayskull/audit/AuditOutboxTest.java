@@ -0,0 +1,100 @@
+package com.flipkart.grayskull.audit;
+
+import com.flipkart.grayskull.configuration.properties.AuditOutboxProperties;
+import com.flipkart.grayskull.entities.AuditEntryEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AuditOutboxTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulkOperations = mock(BulkOperations.class);
+    private final AuditOutboxProperties properties = new AuditOutboxProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuditOutbox auditOutbox;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AuditEntryEntity.class)).thenReturn(bulkOperations);
+        auditOutbox = new AuditOutbox(mongoTemplate, properties, meterRegistry);
+    }
+
+    @Test
+    void testRelayOnce_UpsertsAppendedEntriesWithOutboxIdsAndRemovesThem() {
+        Document outboxRecord = append("secret1");
+        ObjectId id = new ObjectId();
+        outboxRecord.put("_id", id);
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(AuditOutbox.COLLECTION))).thenReturn(List.of(outboxRecord));
+
+        assertEquals(1, auditOutbox.relayOnce());
+
+        ArgumentCaptor<Object> replacement = ArgumentCaptor.forClass(Object.class);
+        verify(bulkOperations).replaceOne(any(Query.class), replacement.capture(), any());
+        verify(bulkOperations).execute();
+        AuditEntryEntity entry = (AuditEntryEntity) replacement.getValue();
+        assertEquals(id.toHexString(), entry.getId());
+        assertEquals("secret1", entry.getResourceName());
+        assertEquals(2, entry.getResourceVersion());
+        assertEquals(Map.of("ip", "10.0.0.1"), entry.getIps());
+        assertEquals(Instant.ofEpochMilli(1_000), entry.getTimestamp());
+        assertEquals(Map.of("request", "{}", "logId", AuditOutbox.LOG_ID_PREFIX + id.toHexString()), entry.getMetadata());
+        verify(mongoTemplate).remove(any(Query.class), eq(AuditOutbox.COLLECTION));
+        assertEquals(1, meterRegistry.counter("grayskull.audit.outbox.relayed").count());
+    }
+
+    @Test
+    void testRelayOnce_EmptyOutbox_WritesNothing() {
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(AuditOutbox.COLLECTION))).thenReturn(List.of());
+
+        assertEquals(0, auditOutbox.relayOnce());
+
+        verifyNoInteractions(bulkOperations);
+        verify(mongoTemplate, never()).remove(any(Query.class), anyString());
+    }
+
+    @Test
+    void testRelayOnce_WhenWriteFails_KeepsRecords() {
+        Document outboxRecord = append("secret1");
+        outboxRecord.put("_id", new ObjectId());
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(AuditOutbox.COLLECTION))).thenReturn(List.of(outboxRecord));
+        when(bulkOperations.execute()).thenThrow(new IllegalStateException("Mongo down"));
+
+        assertThrows(IllegalStateException.class, auditOutbox::relayOnce);
+
+        verify(mongoTemplate, never()).remove(any(Query.class), anyString());
+    }
+
+    private Document append(String resourceName) {
+        auditOutbox.append(AuditEntryEntity.builder()
+                .projectId("project1")
+                .resourceType("SECRET")
+                .resourceName(resourceName)
+                .resourceVersion(2)
+                .action(AuditAction.UPGRADE_SECRET_DATA.name())
+                .userId("user1")
+                .ips(Map.of("ip", "10.0.0.1"))
+                .timestamp(Instant.ofEpochMilli(1_000))
+                .metadata(Map.of("request", "{}"))
+                .build());
+        ArgumentCaptor<Document> inserted = ArgumentCaptor.forClass(Document.class);
+        verify(mongoTemplate).insert(inserted.capture(), eq(AuditOutbox.COLLECTION));
+        return inserted.getValue();
+    }
+}
@@ -0,0 +1,151 @@
+package com.flipkart.grayskull.audit;
+
+import com.flipkart.grayskull.configuration.properties.ReadAuditAggregationProperties;
+import com.flipkart.grayskull.spi.AsyncAuditLogger;
+import com.flipkart.grayskull.spi.models.AuditEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadAuditAggregatorTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final AsyncAuditLogger asyncAuditLogger = mock(AsyncAuditLogger.class);
+    private final ReadAuditAggregationProperties properties = new ReadAuditAggregationProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReadAuditAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        // Flushing explicitly, the window never ends during a test
+        properties.setWindow(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        aggregator.shutdown();
+    }
+
+    @Test
+    void testLog_IdenticalReads_FoldedIntoOneEntry() {
+        aggregator = newAggregator();
+        AuditEntry first = read("secret1", 1, "10.0.0.1", NOW.plusSeconds(1));
+
+        aggregator.log(first);
+        aggregator.log(read("secret1", 1, "10.0.0.1", NOW));
+        aggregator.logAll(List.of(read("secret1", 1, "10.0.0.1", NOW.plusSeconds(5))));
+        verify(asyncAuditLogger, never()).log(any());
+        verify(asyncAuditLogger, never()).logAll(any());
+        aggregator.flush();
+
+        List<AuditEntry> logged = captureLogAll();
+        assertEquals(1, logged.size());
+        AuditEntry aggregated = logged.get(0);
+        assertEquals("secret1", aggregated.getResourceName());
+        assertEquals(NOW, aggregated.getTimestamp());
+        assertEquals(Map.of("publicPart", "public", "count", "3", "firstSeen", NOW.toString(),
+                "lastSeen", NOW.plusSeconds(5).toString()), aggregated.getMetadata());
+        assertEquals(Map.of("publicPart", "public"), first.getMetadata());
+        assertEquals(2, meterRegistry.counter("grayskull.audit.aggregation.folded").count());
+    }
+
+    @Test
+    void testLog_DistinctReads_LoggedSeparatelyAndUnchanged() {
+        aggregator = newAggregator();
+        AuditEntry read = read("secret1", 1, "10.0.0.1", NOW);
+        AuditEntry otherVersion = read("secret1", 2, "10.0.0.1", NOW);
+        AuditEntry otherIp = read("secret1", 1, "10.0.0.2", NOW);
+
+        aggregator.logAll(List.of(read, otherVersion, otherIp));
+        aggregator.flush();
+
+        List<AuditEntry> logged = captureLogAll();
+        assertEquals(3, logged.size());
+        assertTrue(logged.containsAll(List.of(read, otherVersion, otherIp)));
+        assertEquals(0, meterRegistry.counter("grayskull.audit.aggregation.folded").count());
+    }
+
+    @Test
+    void testLog_ActionNotAggregated_LoggedImmediately() {
+        aggregator = newAggregator();
+        AuditEntry auditEntry = read("secret1", 1, "10.0.0.1", NOW).toBuilder().action("LIST_SECRETS").build();
+
+        aggregator.log(auditEntry);
+
+        verify(asyncAuditLogger).log(auditEntry);
+    }
+
+    @Test
+    void testLog_TooManyKeys_LoggedImmediately() {
+        properties.setMaxKeys(1);
+        aggregator = newAggregator();
+        AuditEntry second = read("secret2", 1, "10.0.0.1", NOW);
+
+        aggregator.log(read("secret1", 1, "10.0.0.1", NOW));
+        aggregator.log(read("secret1", 1, "10.0.0.1", NOW));
+        aggregator.log(second);
+
+        verify(asyncAuditLogger).log(second);
+    }
+
+    @Test
+    void testShutdown_LogsOpenAggregates() throws InterruptedException {
+        aggregator = newAggregator();
+        aggregator.log(read("secret1", 1, "10.0.0.1", NOW));
+        aggregator.log(read("secret1", 1, "10.0.0.1", NOW));
+
+        aggregator.shutdown();
+
+        assertEquals("2", captureLogAll().get(0).getMetadata().get("count"));
+    }
+
+    @Test
+    void testLog_Disabled_LoggedImmediately() {
+        properties.setEnabled(false);
+        aggregator = newAggregator();
+        AuditEntry auditEntry = read("secret1", 1, "10.0.0.1", NOW);
+
+        aggregator.log(auditEntry);
+        aggregator.log(auditEntry);
+
+        verify(asyncAuditLogger, times(2)).log(auditEntry);
+    }
+
+    private ReadAuditAggregator newAggregator() {
+        return new ReadAuditAggregator(asyncAuditLogger, properties, meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<AuditEntry> captureLogAll() {
+        ArgumentCaptor<List<AuditEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(asyncAuditLogger).logAll(captor.capture());
+        return captor.getValue().stream().sorted(Comparator.comparing(AuditEntry::getResourceVersion)).toList();
+    }
+
+    private static AuditEntry read(String secretName, int version, String ip, Instant timestamp) {
+        return AuditEntry.builder()
+                .projectId("project1")
+                .resourceType(AuditConstants.RESOURCE_TYPE_SECRET)
+                .resourceName(secretName)
+                .resourceVersion(version)
+                .action(AuditAction.READ_SECRET.name())
+                .userId("user1")
+                .ips(Map.of("remoteAddr", ip))
+                .timestamp(timestamp)
+                .metadata(Map.of("publicPart", "public"))
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.flipkart.grayskull.authz;
+
+import com.flipkart.grayskull.service.utils.RequestEntityMemo;
+import com.flipkart.grayskull.spi.GrayskullAuthorizationProvider;
+import com.flipkart.grayskull.spi.authz.AuthorizationContext;
+import com.flipkart.grayskull.spi.models.Project;
+import com.flipkart.grayskull.spi.repositories.ProjectRepository;
+import com.flipkart.grayskull.spi.repositories.SecretRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class GrayskullSecurityTest {
+
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final GrayskullAuthorizationProvider authorizationProvider = mock(GrayskullAuthorizationProvider.class);
+    private final GrayskullSecurity grayskullSecurity = new GrayskullSecurity(projectRepository,
+            mock(SecretRepository.class), authorizationProvider, new RequestEntityMemo());
+
+    @Test
+    void hasPermission_WhenProjectMissing_ShouldCheckTransientProjectWithSingleLookup() {
+        when(projectRepository.findById("project1")).thenReturn(Optional.empty());
+        when(projectRepository.transientProject("project1")).thenReturn(Project.builder().id("project1").build());
+        when(authorizationProvider.isAuthorized(any(), eq("secrets.create"))).thenReturn(true);
+
+        assertTrue(grayskullSecurity.hasPermission("project1", "secrets.create"));
+
+        ArgumentCaptor<AuthorizationContext> captor = ArgumentCaptor.forClass(AuthorizationContext.class);
+        verify(authorizationProvider).isAuthorized(captor.capture(), eq("secrets.create"));
+        assertEquals("project1", captor.getValue().getProjectId());
+        assertNull(captor.getValue().getProject().getKmsKeyId());
+        verify(projectRepository, times(1)).findById("project1");
+        verify(projectRepository).transientProject("project1");
+        verifyNoMoreInteractions(projectRepository);
+    }
+}
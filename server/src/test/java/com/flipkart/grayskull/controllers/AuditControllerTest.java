@@ -0,0 +1,55 @@
+package com.flipkart.grayskull.controllers;
+
+import com.flipkart.grayskull.models.dto.request.AuditQuery;
+import com.flipkart.grayskull.service.interfaces.AuditService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class AuditControllerTest {
+
+    private static final long ASYNC_TIMEOUT_MILLIS = 50;
+
+    private final AuditService auditService = mock(AuditService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new AuditController(auditService))
+            .setAsyncRequestTimeout(ASYNC_TIMEOUT_MILLIS)
+            .build();
+
+    @Test
+    void exportAuditEntries_WhenSlowerThanAsyncTimeout_ShouldStreamAllEntries() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(2);
+            for (int i = 0; i < 5; i++) {
+                outputStream.write(("{\"id\":\"" + i + "\"}\n").getBytes(StandardCharsets.UTF_8));
+                Thread.sleep(ASYNC_TIMEOUT_MILLIS);
+            }
+            return null;
+        }).when(auditService).exportAuditEntries(eq("project1"), any(AuditQuery.class), any(OutputStream.class));
+
+        mockMvc.perform(get("/v1/projects/project1/audits:export").param("userId", "user1"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":\"0\"}\n{\"id\":\"1\"}\n{\"id\":\"2\"}\n{\"id\":\"3\"}\n{\"id\":\"4\"}\n"));
+    }
+
+    @Test
+    void exportAuditEntries_WhenTimeRangeEmpty_ShouldFailBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/v1/projects/project1/audits:export")
+                        .param("from", "2026-01-01T00:00:00Z")
+                        .param("to", "2026-01-01T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(auditService);
+    }
+}
@@ -3,11 +3,14 @@ package com.flipkart.grayskull.controllers;
 import com.flipkart.grayskull.BaseIntegrationTest;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -69,6 +72,32 @@ class SecretControllerIntegrationTests extends BaseIntegrationTest {
                     .andExpect(jsonPath("$.data.privatePart").value(upgradedValue));
         }
 
+        @Test
+        void shouldRespondNotModifiedForCurrentETag() throws Exception {
+            final String projectId = "project-etag";
+            final String secretName = "etag-secret";
+            performCreateSecret(projectId, secretName, "initial-value", ADMIN_USER);
+
+            String eTag = performReadSecretValue(projectId, secretName, ADMIN_USER)
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.ETAG))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            mockMvc.perform(get("/v1/projects/{projectId}/secrets/{secretName}/data", projectId, secretName)
+                            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                            .with(user(ADMIN_USER)))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+            // A new version invalidates the ETag
+            performUpgradeSecret(projectId, secretName, "upgraded-value", ADMIN_USER);
+            mockMvc.perform(get("/v1/projects/{projectId}/secrets/{secretName}/data", projectId, secretName)
+                            .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                            .with(user(ADMIN_USER)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.privatePart").value("upgraded-value"));
+        }
+
         @Test
         void shouldListSecretsAndReadMetadata() throws Exception {
             final String projectId = "project-list-meta";
@@ -210,6 +239,65 @@ class SecretControllerIntegrationTests extends BaseIntegrationTest {
                     .andExpect(jsonPath("$.data.secrets", hasSize(0)))
                     .andExpect(jsonPath("$.data.total").value(10));
         }
+
+        @Test
+        void shouldPaginateWithPageToken() throws Exception {
+            final String projectId = "project-pagination-token";
+            for (String name : new String[]{"secret-c", "secret-a", "secret-e", "secret-b", "secret-d"}) {
+                performCreateSecret(projectId, name, "value", ADMIN_USER);
+            }
+
+            // First page: empty token, ordered by name, no total
+            String response = performListSecrets(projectId, ADMIN_USER, "limit=2", "pageToken=")
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.secrets", hasSize(2)))
+                    .andExpect(jsonPath("$.data.secrets[0].name").value("secret-a"))
+                    .andExpect(jsonPath("$.data.secrets[1].name").value("secret-b"))
+                    .andExpect(jsonPath("$.data.total").doesNotExist())
+                    .andExpect(jsonPath("$.data.nextPageToken", notNullValue()))
+                    .andReturn().getResponse().getContentAsString();
+            String token = objectMapper.readTree(response).at("/data/nextPageToken").asText();
+
+            response = performListSecrets(projectId, ADMIN_USER, "limit=2", "pageToken=" + token)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.secrets", hasSize(2)))
+                    .andExpect(jsonPath("$.data.secrets[0].name").value("secret-c"))
+                    .andExpect(jsonPath("$.data.secrets[1].name").value("secret-d"))
+                    .andReturn().getResponse().getContentAsString();
+            token = objectMapper.readTree(response).at("/data/nextPageToken").asText();
+
+            // Last page: no further token
+            performListSecrets(projectId, ADMIN_USER, "limit=2", "pageToken=" + token)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.secrets", hasSize(1)))
+                    .andExpect(jsonPath("$.data.secrets[0].name").value("secret-e"))
+                    .andExpect(jsonPath("$.data.nextPageToken").doesNotExist());
+        }
+
+        @Test
+        void shouldReadSecretValuesInBatch() throws Exception {
+            final String projectId = "project-batch-get";
+            performCreateSecret(projectId, "secret-1", "value-1", ADMIN_USER);
+            performCreateSecret(projectId, "secret-2", "value-2", ADMIN_USER);
+            performUpgradeSecret(projectId, "secret-2", "value-2-new", ADMIN_USER);
+
+            mockMvc.perform(post("/v1/projects/{projectId}/secrets:batchGet", projectId)
+                            .with(user(ADMIN_USER))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"names\": [\"secret-1\", \"secret-2\", \"missing\"]}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.secrets['secret-1'].privatePart").value("value-1"))
+                    .andExpect(jsonPath("$.data.secrets['secret-2'].privatePart").value("value-2-new"))
+                    .andExpect(jsonPath("$.data.secrets['secret-2'].dataVersion").value(2))
+                    .andExpect(jsonPath("$.data.notFound", hasSize(1)))
+                    .andExpect(jsonPath("$.data.notFound[0]").value("missing"));
+        }
+
+        @Test
+        void shouldRejectInvalidPageToken() throws Exception {
+            performListSecrets("project-pagination-token", ADMIN_USER, "pageToken=not-a-token")
+                    .andExpect(status().isBadRequest());
+        }
     }
 
     /**
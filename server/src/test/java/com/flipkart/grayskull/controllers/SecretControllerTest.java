@@ -2,18 +2,27 @@ package com.flipkart.grayskull.controllers;
 
 import com.flipkart.grayskull.audit.AuditAction;
 import com.flipkart.grayskull.audit.AuditConstants;
+import com.flipkart.grayskull.audit.ReadAuditAggregator;
 import com.flipkart.grayskull.audit.utils.RequestUtils;
+import com.flipkart.grayskull.configuration.properties.ReadAuditAggregationProperties;
+import com.flipkart.grayskull.models.dto.request.BatchGetSecretsRequest;
+import com.flipkart.grayskull.models.dto.response.BatchGetSecretsResponse;
 import com.flipkart.grayskull.models.dto.response.SecretDataResponse;
 import com.flipkart.grayskull.models.dto.response.SecretDataVersionResponse;
 import com.flipkart.grayskull.service.interfaces.SecretService;
+import com.flipkart.grayskull.service.utils.ConditionalResult;
 import com.flipkart.grayskull.spi.AsyncAuditLogger;
 import com.flipkart.grayskull.spi.models.AuditEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.*;
 import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextImpl;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -25,6 +34,7 @@ class SecretControllerTest {
 
     private static final String PROJECT_ID = "test-project";
     private static final String SECRET_NAME = "test-secret";
+    private static final String E_TAG = "\"secret-id.5.1\"";
 
     private final SecretService secretService = mock(SecretService.class);
 
@@ -36,7 +46,8 @@ class SecretControllerTest {
 
     @BeforeEach
     void setUp() {
-        secretController = new SecretController(secretService, asyncAuditLogger, requestUtils);
+        secretController = new SecretController(secretService, new ReadAuditAggregator(asyncAuditLogger,
+                new ReadAuditAggregationProperties(), new SimpleMeterRegistry()), requestUtils);
         SecurityContextHolder.setContext(new SecurityContextImpl(new TestingAuthenticationToken("user", null)));
     }
 
@@ -52,14 +63,16 @@ class SecretControllerTest {
         SecretDataResponse expectedResponse = SecretDataResponse.builder().publicPart("public-data").dataVersion(5).build();
         Map<String, String> expectedIps = Map.of("Remote-Conn-Addr", "ip1");
 
-        when(secretService.readSecretValue(PROJECT_ID, SECRET_NAME)).thenReturn(expectedResponse);
+        when(secretService.readSecretValue(PROJECT_ID, SECRET_NAME, null)).thenReturn(new ConditionalResult<>(E_TAG, expectedResponse));
         when(requestUtils.getRemoteIPs()).thenReturn(expectedIps);
 
         // Act
-        var result = secretController.readSecretValue(PROJECT_ID, SECRET_NAME);
+        var result = secretController.readSecretValue(PROJECT_ID, SECRET_NAME, null);
 
         // Assert
-        assertThat(result.getData()).isEqualTo(expectedResponse);
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getHeaders().getETag()).isEqualTo(E_TAG);
+        assertThat(result.getBody().getData()).isEqualTo(expectedResponse);
 
         // Verify audit logging
         ArgumentCaptor<AuditEntry> auditEntryArgumentCaptor = ArgumentCaptor.captor();
@@ -70,6 +83,22 @@ class SecretControllerTest {
                 .isEqualTo(new AuditEntry(null, PROJECT_ID, AuditConstants.RESOURCE_TYPE_SECRET, SECRET_NAME, 5, AuditAction.READ_SECRET.name(), "user", expectedIps, null, Map.of("publicPart", expectedResponse.getPublicPart())));
     }
 
+    @Test
+    @DisplayName("Should respond with 304 and not log audit when the secret value is not modified")
+    void shouldRespondNotModifiedForMatchingETag() {
+        // Arrange
+        when(secretService.readSecretValue(PROJECT_ID, SECRET_NAME, E_TAG)).thenReturn(ConditionalResult.notModified(E_TAG));
+
+        // Act
+        var result = secretController.readSecretValue(PROJECT_ID, SECRET_NAME, E_TAG);
+
+        // Assert
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(result.getHeaders().getETag()).isEqualTo(E_TAG);
+        assertThat(result.getBody()).isNull();
+        verifyNoInteractions(asyncAuditLogger);
+    }
+
     @Test
     @DisplayName("Should successfully read secret version and log audit")
     void shouldSuccessfullyReadSecretVersion() {
@@ -94,4 +123,35 @@ class SecretControllerTest {
                 .ignoringFields("timestamp")
                 .isEqualTo(new AuditEntry(null, PROJECT_ID, AuditConstants.RESOURCE_TYPE_SECRET, SECRET_NAME, 5, AuditAction.READ_SECRET_VERSION.name(), "user", expectedIps, null, Map.of("publicPart", expectedResponse.getPublicPart())));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should read secret values in batch and log one audit per secret in a single call")
+    void shouldReadSecretValuesInBatch() {
+        // Arrange
+        Map<String, SecretDataResponse> secrets = new LinkedHashMap<>();
+        secrets.put("secret-a", SecretDataResponse.builder().publicPart("public-a").dataVersion(1).build());
+        secrets.put("secret-b", SecretDataResponse.builder().publicPart("public-b").dataVersion(2).build());
+        BatchGetSecretsResponse expectedResponse = new BatchGetSecretsResponse(secrets, List.of("missing"));
+        List<String> names = List.of("secret-a", "secret-b", "missing");
+        Map<String, String> expectedIps = Map.of("Remote-Conn-Addr", "ip1");
+
+        when(secretService.readSecretValues(PROJECT_ID, names)).thenReturn(expectedResponse);
+        when(requestUtils.getRemoteIPs()).thenReturn(expectedIps);
+
+        // Act
+        var result = secretController.readSecretValues(PROJECT_ID, new BatchGetSecretsRequest(names));
+
+        // Assert
+        assertThat(result.getData()).isEqualTo(expectedResponse);
+
+        // Verify audit logging
+        ArgumentCaptor<List<AuditEntry>> auditEntriesCaptor = ArgumentCaptor.captor();
+        verify(asyncAuditLogger).logAll(auditEntriesCaptor.capture());
+        verify(asyncAuditLogger, never()).log(any());
+        assertThat(auditEntriesCaptor.getValue())
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("timestamp")
+                .containsExactly(
+                        new AuditEntry(null, PROJECT_ID, AuditConstants.RESOURCE_TYPE_SECRET, "secret-a", 1, AuditAction.READ_SECRET.name(), "user", expectedIps, null, Map.of("publicPart", "public-a")),
+                        new AuditEntry(null, PROJECT_ID, AuditConstants.RESOURCE_TYPE_SECRET, "secret-b", 2, AuditAction.READ_SECRET.name(), "user", expectedIps, null, Map.of("publicPart", "public-b")));
+    }
+}
@@ -0,0 +1,156 @@
+package com.flipkart.grayskull.reencryption;
+
+import com.flipkart.grayskull.configuration.KmsConfig;
+import com.flipkart.grayskull.configuration.properties.EnvelopeEncryptionProperties;
+import com.flipkart.grayskull.configuration.properties.ReEncryptionProperties;
+import com.flipkart.grayskull.entities.ProjectEntity;
+import com.flipkart.grayskull.entities.SecretDataEntity;
+import com.flipkart.grayskull.entities.SecretEntity;
+import com.flipkart.grayskull.reencryption.ReEncryptionCheckpoints.Checkpoint;
+import com.flipkart.grayskull.service.utils.BinaryCiphertext;
+import com.flipkart.grayskull.service.utils.SecretEncryptionUtil;
+import com.flipkart.grayskull.spi.models.SecretData;
+import com.flipkart.grayskull.spi.repositories.ProjectRepository;
+import com.flipkart.grayskull.spimpl.crypto.ChaChaEncryptionService;
+import com.flipkart.grayskull.spimpl.crypto.EnvelopeEncryption;
+import com.flipkart.grayskull.spimpl.crypto.KeyProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReEncryptionJobTest {
+
+    private static final String OLD_KEY = "old";
+    private static final String NEW_KEY = "new";
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulkOperations = mock(BulkOperations.class);
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final ReEncryptionCheckpoints checkpoints = mock(ReEncryptionCheckpoints.class);
+    private final ReEncryptionProperties properties = new ReEncryptionProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService workers = Executors.newFixedThreadPool(2);
+    private SecretEncryptionUtil secretEncryptionUtil;
+    private ReEncryptionJob job;
+
+    @BeforeEach
+    void setUp() {
+        KeyProperties keyProperties = new KeyProperties();
+        keyProperties.setKeys(Map.of(OLD_KEY, "74YlShtySBrQLeuhJD1w4bm+uYaR72tuicYHDjmelWE=",
+                NEW_KEY, "Nl6ZoV0sYq1J1vQv6Ck4r3Xc7m0eS8h2bT5uW9xA1dE="));
+        ChaChaEncryptionService encryptionService = new ChaChaEncryptionService(keyProperties);
+        EnvelopeEncryptionProperties envelopeProperties = new EnvelopeEncryptionProperties();
+        secretEncryptionUtil = new SecretEncryptionUtil(encryptionService,
+                new EnvelopeEncryption(encryptionService, envelopeProperties, meterRegistry), envelopeProperties);
+        KmsConfig kmsConfig = new KmsConfig();
+        kmsConfig.setDefaultKeyId(NEW_KEY);
+
+        properties.setBatchSize(2);
+        properties.setParallelism(2);
+        properties.setMaxDocumentsPerSecond(1_000_000);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SecretDataEntity.class))
+                .thenReturn(bulkOperations);
+        when(checkpoints.save(eq(OLD_KEY), anyString(), any(), any())).thenReturn(true);
+        when(projectRepository.findByIdOrTransient("rotated"))
+                .thenReturn(ProjectEntity.builder().id("rotated").kmsKeyId(NEW_KEY).build());
+        when(projectRepository.findByIdOrTransient("pinned"))
+                .thenReturn(ProjectEntity.builder().id("pinned").kmsKeyId(OLD_KEY).build());
+        job = new ReEncryptionJob(mongoTemplate, secretEncryptionUtil, projectRepository, kmsConfig, checkpoints,
+                properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
+    }
+
+    @Test
+    void run_ShouldReEncryptWithProjectKeyAndCheckpointInOrder() throws InterruptedException {
+        when(checkpoints.acquire(eq(OLD_KEY), anyString(), any())).thenReturn(Optional.of(Checkpoint.START));
+        when(mongoTemplate.stream(any(Query.class), eq(SecretDataEntity.class))).thenReturn(
+                List.of(data("1", "s1", "one"), data("2", "s2", "two"), data("3", "s3", "three")).stream());
+        when(mongoTemplate.find(any(Query.class), eq(SecretEntity.class))).thenAnswer(invocation -> {
+            List<SecretEntity> secrets = new ArrayList<>();
+            String query = invocation.getArgument(0, Query.class).getQueryObject().toJson();
+            if (query.contains("s1")) {
+                secrets.add(SecretEntity.builder().id("s1").projectId("rotated").build());
+                secrets.add(SecretEntity.builder().id("s2").projectId("pinned").build());
+            } else {
+                secrets.add(SecretEntity.builder().id("s3").projectId("rotated").build());
+            }
+            return secrets;
+        });
+
+        job.run(OLD_KEY, workers);
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(2)).updateOne(any(Query.class), updates.capture());
+        for (Update update : updates.getAllValues()) {
+            assertEquals(NEW_KEY, update.getUpdateObject().get("$set", Map.class).get("kmsKeyId"));
+            Binary stored = (Binary) update.getUpdateObject().get("$set", Map.class).get("encryptedPrivatePart");
+            assertEquals(NEW_KEY, BinaryCiphertext.parse(stored.getData()).keyId());
+        }
+        ArgumentCaptor<Checkpoint> saved = ArgumentCaptor.forClass(Checkpoint.class);
+        verify(checkpoints, atLeastOnce()).save(eq(OLD_KEY), anyString(), any(), saved.capture());
+        Checkpoint last = saved.getValue();
+        assertTrue(last.completed());
+        assertEquals("3", last.lastId());
+        assertEquals(2, last.reEncrypted());
+        assertEquals(1, last.skipped());
+        assertEquals(2, meterRegistry.counter("grayskull.reencryption.documents", "keyId", OLD_KEY,
+                "result", "reencrypted").count());
+    }
+
+    @Test
+    void run_WhenLeaseHeldElsewhere_ShouldNotTouchData() throws InterruptedException {
+        when(checkpoints.acquire(eq(OLD_KEY), anyString(), any())).thenReturn(Optional.empty());
+
+        job.run(OLD_KEY, workers);
+
+        verify(mongoTemplate, never()).stream(any(Query.class), eq(SecretDataEntity.class));
+    }
+
+    @Test
+    void run_WhenDataCanNotBeDecrypted_ShouldCountFailureAndContinue() throws InterruptedException {
+        when(checkpoints.acquire(eq(OLD_KEY), anyString(), any())).thenReturn(Optional.of(Checkpoint.START));
+        SecretDataEntity corrupt = SecretDataEntity.builder().id("1").secretId("s1").kmsKeyId(OLD_KEY)
+                .encryptedPrivatePart(BinaryCiphertext.wrap(OLD_KEY, new byte[40])).build();
+        when(mongoTemplate.stream(any(Query.class), eq(SecretDataEntity.class))).thenReturn(List.of(corrupt).stream());
+        when(mongoTemplate.find(any(Query.class), eq(SecretEntity.class)))
+                .thenReturn(List.of(SecretEntity.builder().id("s1").projectId("rotated").build()));
+
+        job.run(OLD_KEY, workers);
+
+        verify(bulkOperations, never()).execute();
+        ArgumentCaptor<Checkpoint> saved = ArgumentCaptor.forClass(Checkpoint.class);
+        verify(checkpoints, atLeastOnce()).save(eq(OLD_KEY), anyString(), any(), saved.capture());
+        assertEquals(1, saved.getValue().failed());
+        assertTrue(saved.getValue().completed());
+    }
+
+    private SecretDataEntity data(String id, String secretId, String value) {
+        SecretData secretData = SecretDataEntity.builder().id(id).secretId(secretId).privatePart(value).build();
+        secretEncryptionUtil.encryptSecretData(secretData, "project", OLD_KEY);
+        return (SecretDataEntity) secretData;
+    }
+}
@@ -0,0 +1,114 @@
+package com.flipkart.grayskull.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flipkart.grayskull.entities.AuditEntryEntity;
+import com.flipkart.grayskull.models.dto.request.AuditQuery;
+import com.flipkart.grayskull.models.dto.response.ListAuditEntriesResponse;
+import com.flipkart.grayskull.service.utils.AuditPageToken;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AuditServiceImplTest {
+
+    private static final String PROJECT_ID = "project1";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AuditServiceImpl auditService = new AuditServiceImpl(mongoTemplate, objectMapper);
+
+    @Test
+    void listAuditEntries_WhenMoreEntriesThanLimit_ShouldReturnTokenOfLastEntry() {
+        when(mongoTemplate.find(any(Query.class), eq(AuditEntryEntity.class)))
+                .thenReturn(List.of(entry("3", NOW.plusSeconds(2)), entry("2", NOW.plusSeconds(1)), entry("1", NOW)));
+
+        ListAuditEntriesResponse response = auditService.listAuditEntries(PROJECT_ID,
+                new AuditQuery("secret1", null, "READ_SECRET", NOW, null), null, 2);
+
+        assertEquals(List.of("3", "2"), response.getEntries().stream().map(e -> e.getId()).toList());
+        assertEquals(new AuditPageToken(NOW.plusSeconds(1), "2"), AuditPageToken.decode(response.getNextPageToken()));
+        Query query = captureQuery();
+        assertEquals(3, query.getLimit());
+        assertEquals(new Document("timestamp", -1).append("id", -1), query.getSortObject());
+        Document filter = query.getQueryObject();
+        assertEquals(PROJECT_ID, filter.get("projectId"));
+        assertEquals("secret1", filter.get("resourceName"));
+        assertEquals("READ_SECRET", filter.get("action"));
+        assertEquals(new Document("$gte", NOW), filter.get("timestamp"));
+        assertFalse(filter.containsKey("userId"));
+    }
+
+    @Test
+    void listAuditEntries_WithPageToken_ShouldResumeAfterIt() {
+        when(mongoTemplate.find(any(Query.class), eq(AuditEntryEntity.class))).thenReturn(List.of(entry("1", NOW)));
+        String pageToken = new AuditPageToken(NOW.plusSeconds(1), "2").encode();
+
+        ListAuditEntriesResponse response = auditService.listAuditEntries(PROJECT_ID,
+                new AuditQuery(null, null, null, null, null), pageToken, 2);
+
+        assertNull(response.getNextPageToken());
+        Document filter = captureQuery().getQueryObject();
+        assertEquals(List.of(new Document("$or", List.of(
+                new Document("timestamp", new Document("$lt", NOW.plusSeconds(1))),
+                new Document("timestamp", NOW.plusSeconds(1)).append("id", new Document("$lt", "2"))))), filter.get("$and"));
+    }
+
+    @Test
+    void exportAuditEntries_ShouldWriteOneJsonLinePerEntry() throws IOException {
+        when(mongoTemplate.stream(any(Query.class), eq(AuditEntryEntity.class)))
+                .thenReturn(Stream.of(entry("2", NOW.plusSeconds(1)), entry("1", NOW)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        auditService.exportAuditEntries(PROJECT_ID, new AuditQuery(null, "user1", null, null, NOW), output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("2", objectMapper.readTree(lines[0]).get("id").asText());
+        assertEquals("1", objectMapper.readTree(lines[1]).get("id").asText());
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(captor.capture(), eq(AuditEntryEntity.class));
+        assertEquals(new Document("$lt", NOW), captor.getValue().getQueryObject().get("timestamp"));
+        assertEquals(AuditServiceImpl.EXPORT_BATCH_SIZE, captor.getValue().getMeta().getCursorBatchSize());
+    }
+
+    @Test
+    void auditQuery_WhenTimeRangeEmpty_ShouldThrowBadRequest() {
+        assertThrows(ResponseStatusException.class, () -> new AuditQuery(null, null, null, NOW, NOW));
+    }
+
+    private Query captureQuery() {
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(captor.capture(), eq(AuditEntryEntity.class));
+        return captor.getValue();
+    }
+
+    private static AuditEntryEntity entry(String id, Instant timestamp) {
+        return AuditEntryEntity.builder()
+                .id(id)
+                .projectId(PROJECT_ID)
+                .resourceType("SECRET")
+                .resourceName("secret1")
+                .action("READ_SECRET")
+                .userId("user1")
+                .timestamp(timestamp)
+                .metadata(Map.of())
+                .build();
+    }
+}
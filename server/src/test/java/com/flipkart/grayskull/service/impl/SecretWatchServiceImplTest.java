@@ -0,0 +1,89 @@
+package com.flipkart.grayskull.service.impl;
+
+import com.flipkart.grayskull.configuration.properties.WatchProperties;
+import com.flipkart.grayskull.entities.SecretEntity;
+import com.flipkart.grayskull.models.dto.request.WatchSecretsRequest.WatchedSecret;
+import com.flipkart.grayskull.models.dto.response.WatchSecretsResponse;
+import com.flipkart.grayskull.spi.models.enums.LifecycleState;
+import com.flipkart.grayskull.spi.repositories.SecretRepository;
+import com.flipkart.grayskull.watch.SecretChangeEvent;
+import com.flipkart.grayskull.watch.SecretRef;
+import com.flipkart.grayskull.watch.SecretWatchRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SecretWatchServiceImplTest {
+
+    private final SecretRepository secretRepository = mock(SecretRepository.class);
+    private final SecretWatchRegistry registry = new SecretWatchRegistry(new SimpleMeterRegistry());
+    private final WatchProperties watchProperties = new WatchProperties();
+    private final SecretWatchServiceImpl service = new SecretWatchServiceImpl(secretRepository, registry, watchProperties);
+
+    @Test
+    void watch_WhenAlreadyChanged_ShouldCompleteImmediately() {
+        when(secretRepository.findByProjectIdAndNameIn(eq("project"), anyList()))
+                .thenReturn(List.of(secret("a", 3), secret("b", 1)));
+
+        WatchSecretsResponse response = service.watch(
+                List.of(new WatchedSecret("project", "a", 2), new WatchedSecret("project", "b", 1)), Duration.ofSeconds(30)).join();
+
+        assertEquals(List.of(new WatchSecretsResponse.SecretChange("project", "a", 3, "ACTIVE")), response.getChanges());
+    }
+
+    @Test
+    void watch_WhenUnchanged_ShouldWaitForChangeStream() {
+        when(secretRepository.findByProjectIdAndNameIn(eq("project"), anyList())).thenReturn(List.of(secret("a", 2)));
+
+        CompletableFuture<WatchSecretsResponse> future = service.watch(List.of(new WatchedSecret("project", "a", 2)), Duration.ofSeconds(30));
+        assertFalse(future.isDone());
+        registry.publish(new SecretChangeEvent(new SecretRef("project", "a"), 3, LifecycleState.ACTIVE));
+
+        assertEquals(3, future.join().getChanges().get(0).getDataVersion());
+    }
+
+    @Test
+    void watch_WhenKnownSecretMissing_ShouldReportIt() {
+        when(secretRepository.findByProjectIdAndNameIn(eq("project"), anyList())).thenReturn(List.of());
+
+        WatchSecretsResponse response = service.watch(List.of(new WatchedSecret("project", "a", 2)), Duration.ofSeconds(30)).join();
+
+        assertEquals(List.of(new WatchSecretsResponse.SecretChange("project", "a", null, null)), response.getChanges());
+    }
+
+    @Test
+    void watch_WhenTimedOut_ShouldReturnNoChanges() {
+        when(secretRepository.findByProjectIdAndNameIn(eq("project"), anyList())).thenReturn(List.of(secret("a", 2)));
+
+        WatchSecretsResponse response = service.watch(List.of(new WatchedSecret("project", "a", 2)), Duration.ofMillis(10)).join();
+
+        assertTrue(response.getChanges().isEmpty());
+    }
+
+    @Test
+    void watch_WhenTooManySecrets_ShouldThrowBadRequest() {
+        watchProperties.setMaxSecrets(1);
+
+        assertThrows(ResponseStatusException.class, () -> service.watch(
+                List.of(new WatchedSecret("project", "a", 1), new WatchedSecret("project", "b", 1)), Duration.ofSeconds(30)));
+        verifyNoInteractions(secretRepository);
+    }
+
+    private static SecretEntity secret(String name, int version) {
+        return SecretEntity.builder()
+                .projectId("project")
+                .name(name)
+                .currentDataVersion(version)
+                .state(LifecycleState.ACTIVE)
+                .build();
+    }
+}
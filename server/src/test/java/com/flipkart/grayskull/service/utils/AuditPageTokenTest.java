@@ -0,0 +1,41 @@
+package com.flipkart.grayskull.service.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditPageTokenTest {
+
+    @Test
+    void encodeDecode_ShouldRoundTrip() {
+        AuditPageToken token = new AuditPageToken(Instant.ofEpochMilli(1_767_225_600_123L), "64b7f0c2e1a4b5c6d7e8f901");
+
+        AuditPageToken decoded = AuditPageToken.decode(token.encode());
+
+        assertEquals(token, decoded);
+        assertTrue(token.encode().matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void decode_WhenTimestampInvalid_ShouldThrowBadRequest() {
+        String encoded = Base64.getUrlEncoder().encodeToString("yesterday.id".getBytes(StandardCharsets.UTF_8));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> AuditPageToken.decode(encoded));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    @Test
+    void decode_WhenSeparatorMissing_ShouldThrowBadRequest() {
+        String encoded = Base64.getUrlEncoder().encodeToString("1767225600123".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(ResponseStatusException.class, () -> AuditPageToken.decode(encoded));
+    }
+}
@@ -0,0 +1,123 @@
+package com.flipkart.grayskull.service.utils;
+
+import com.flipkart.grayskull.entities.ProjectEntity;
+import com.flipkart.grayskull.entities.SecretEntity;
+import com.flipkart.grayskull.spi.models.Project;
+import com.flipkart.grayskull.spi.models.Secret;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestEntityMemoTest {
+
+    private final RequestEntityMemo memo = new RequestEntityMemo();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void findProject_WithinRequest_ShouldLoadOnce() {
+        startRequest();
+        Project project = ProjectEntity.builder().id("project").build();
+
+        assertSame(project, memo.findProject("project", () -> load(Optional.of(project))).orElseThrow());
+        assertSame(project, memo.findProject("project", () -> load(Optional.empty())).orElseThrow());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void findProject_WhenMissing_ShouldRememberAbsenceUntilPut() {
+        startRequest();
+        Project project = ProjectEntity.builder().id("project").build();
+
+        assertTrue(memo.findProject("project", () -> load(Optional.<Project>empty())).isEmpty());
+        assertTrue(memo.findProject("project", () -> load(Optional.of(project))).isEmpty());
+        memo.putProject(project);
+
+        assertSame(project, memo.findProject("project", () -> load(Optional.empty())).orElseThrow());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void findSecret_OutsideRequest_ShouldAlwaysLoad() {
+        Secret secret = secret("secret");
+
+        memo.findSecret("project", "secret", () -> load(Optional.of(secret)));
+        memo.findSecret("project", "secret", () -> load(Optional.of(secret)));
+        memo.putProject(ProjectEntity.builder().id("project").build());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void findSecret_ShouldReuseSecretsLoadedInBulk() {
+        startRequest();
+        List<Collection<String>> requested = new ArrayList<>();
+
+        List<Secret> secrets = memo.findSecrets("project", List.of("a", "b", "missing"), names -> {
+            requested.add(List.copyOf(names));
+            return List.of(secret("a"), secret("b"));
+        });
+
+        assertEquals(2, secrets.size());
+        assertTrue(memo.findSecret("project", "a", () -> load(Optional.empty())).isPresent());
+        assertTrue(memo.findSecret("project", "missing", () -> load(Optional.of(secret("missing")))).isEmpty());
+        assertTrue(memo.findSecret("other", "a", () -> load(Optional.empty())).isEmpty());
+        assertEquals(1, loads.get());
+        assertEquals(List.of(List.of("a", "b", "missing")), requested);
+    }
+
+    @Test
+    void findSecrets_ShouldOnlyLoadNamesNotSeenBefore() {
+        startRequest();
+        Secret a = secret("a");
+        memo.findSecret("project", "a", () -> Optional.of(a));
+        List<Collection<String>> requested = new ArrayList<>();
+
+        List<Secret> secrets = memo.findSecrets("project", List.of("a", "b", "a"), names -> {
+            requested.add(List.copyOf(names));
+            return List.of(secret("b"));
+        });
+
+        assertEquals(List.of("a", "b"), secrets.stream().map(Secret::getName).toList());
+        assertSame(a, secrets.get(0));
+        assertEquals(List.of(List.of("b")), requested);
+    }
+
+    @Test
+    void findSecrets_OutsideRequest_ShouldPassNamesToLoader() {
+        List<Secret> secrets = memo.findSecrets("project", List.of("a"), names -> {
+            loads.incrementAndGet();
+            return List.of(secret("a"));
+        });
+
+        assertEquals(1, secrets.size());
+        assertEquals(1, loads.get());
+    }
+
+    private static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    private <T> Optional<T> load(Optional<T> value) {
+        loads.incrementAndGet();
+        return value;
+    }
+
+    private static Secret secret(String name) {
+        return SecretEntity.builder().projectId("project").name(name).build();
+    }
+}
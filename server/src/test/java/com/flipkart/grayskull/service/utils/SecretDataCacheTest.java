@@ -0,0 +1,171 @@
+package com.flipkart.grayskull.service.utils;
+
+import com.flipkart.grayskull.configuration.properties.SecretCacheProperties;
+import com.flipkart.grayskull.entities.SecretDataEntity;
+import com.flipkart.grayskull.spi.models.SecretData;
+import com.flipkart.grayskull.spi.repositories.SecretDataRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SecretDataCacheTest {
+
+    private static final String SECRET_ID = "secret-id";
+
+    private final SecretDataRepository secretDataRepository = mock(SecretDataRepository.class);
+    private final SecretEncryptionUtil secretEncryptionUtil = mock(SecretEncryptionUtil.class);
+    private final SecretCacheProperties properties = new SecretCacheProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        doAnswer(invocation -> {
+            SecretData data = invocation.getArgument(0);
+            data.setPrivatePart("decrypted-" + data.getPrivatePart());
+            return null;
+        }).when(secretEncryptionUtil).decryptSecretData(any());
+        when(secretDataRepository.getBySecretIdAndDataVersion(SECRET_ID, 1))
+                .thenAnswer(invocation -> Optional.of(secretData(1)));
+    }
+
+    @Test
+    void getDecrypted_WhenCacheDisabled_ShouldAlwaysHitRepository() {
+        properties.setEnabled(false);
+        SecretDataCache cache = new SecretDataCache(secretDataRepository, secretEncryptionUtil, properties, meterRegistry);
+
+        cache.getDecrypted(SECRET_ID, 1);
+        Optional<SecretData> result = cache.getDecrypted(SECRET_ID, 1);
+
+        assertEquals("decrypted-cipher-1", result.orElseThrow().getPrivatePart());
+        verify(secretDataRepository, times(2)).getBySecretIdAndDataVersion(SECRET_ID, 1);
+    }
+
+    @Test
+    void getDecrypted_WhenCachingCiphertext_ShouldSkipLookupButDecryptEachTime() {
+        SecretDataCache cache = new SecretDataCache(secretDataRepository, secretEncryptionUtil, properties, meterRegistry);
+
+        SecretData first = cache.getDecrypted(SECRET_ID, 1).orElseThrow();
+        SecretData second = cache.getDecrypted(SECRET_ID, 1).orElseThrow();
+
+        assertEquals("decrypted-cipher-1", first.getPrivatePart());
+        assertEquals("decrypted-cipher-1", second.getPrivatePart());
+        verify(secretDataRepository, times(1)).getBySecretIdAndDataVersion(SECRET_ID, 1);
+        verify(secretEncryptionUtil, times(2)).decryptSecretData(any());
+    }
+
+    @Test
+    void getDecrypted_WhenCachingDecrypted_ShouldSkipLookupAndDecrypt() {
+        properties.setCacheDecrypted(true);
+        SecretDataCache cache = new SecretDataCache(secretDataRepository, secretEncryptionUtil, properties, meterRegistry);
+
+        SecretData first = cache.getDecrypted(SECRET_ID, 1).orElseThrow();
+        first.setPrivatePart("modified-by-caller");
+        SecretData second = cache.getDecrypted(SECRET_ID, 1).orElseThrow();
+
+        assertEquals("decrypted-cipher-1", second.getPrivatePart());
+        verify(secretDataRepository, times(1)).getBySecretIdAndDataVersion(SECRET_ID, 1);
+        verify(secretEncryptionUtil, times(1)).decryptSecretData(any());
+    }
+
+    @Test
+    void getDecrypted_WhenNotFound_ShouldReturnEmptyAndNotCache() {
+        when(secretDataRepository.getBySecretIdAndDataVersion(SECRET_ID, 2)).thenReturn(Optional.empty());
+        SecretDataCache cache = new SecretDataCache(secretDataRepository, secretEncryptionUtil, properties, meterRegistry);
+
+        assertTrue(cache.getDecrypted(SECRET_ID, 2).isEmpty());
+        assertTrue(cache.getDecrypted(SECRET_ID, 2).isEmpty());
+        verify(secretDataRepository, times(2)).getBySecretIdAndDataVersion(SECRET_ID, 2);
+    }
+
+    @Test
+    void invalidate_ShouldEvictAllVersionsOfSecret() {
+        SecretDataCache cache = new SecretDataCache(secretDataRepository, secretEncryptionUtil, properties, meterRegistry);
+
+        cache.getDecrypted(SECRET_ID, 1);
+        cache.invalidate(SECRET_ID);
+        cache.getDecrypted(SECRET_ID, 1);
+
+        verify(secretDataRepository, times(2)).getBySecretIdAndDataVersion(SECRET_ID, 1);
+    }
+
+    @Test
+    void invalidate_ShouldEvictEveryCachedVersionAndKeepOtherSecrets() {
+        when(secretDataRepository.getBySecretIdAndDataVersion(SECRET_ID, 2))
+                .thenAnswer(invocation -> Optional.of(secretData(2)));
+        when(secretDataRepository.getBySecretIdAndDataVersion("other-id", 1))
+                .thenAnswer(invocation -> Optional.of(secretData(1).toBuilder().secretId("other-id").build()));
+        SecretDataCache cache = new SecretDataCache(secretDataRepository, secretEncryptionUtil, properties, meterRegistry);
+        cache.getDecrypted(SECRET_ID, 1);
+        cache.getDecrypted(SECRET_ID, 2);
+        cache.getDecrypted("other-id", 1);
+
+        cache.invalidate(SECRET_ID);
+        cache.getDecrypted(SECRET_ID, 1);
+        cache.getDecrypted(SECRET_ID, 2);
+        cache.getDecrypted("other-id", 1);
+
+        verify(secretDataRepository, times(2)).getBySecretIdAndDataVersion(SECRET_ID, 1);
+        verify(secretDataRepository, times(2)).getBySecretIdAndDataVersion(SECRET_ID, 2);
+        verify(secretDataRepository, times(1)).getBySecretIdAndDataVersion("other-id", 1);
+    }
+
+    @Test
+    void getAllDecrypted_ShouldLoadOnlyMissesInOneQuery() {
+        SecretDataCache cache = new SecretDataCache(secretDataRepository, secretEncryptionUtil, properties, meterRegistry);
+        cache.getDecrypted(SECRET_ID, 1);
+        SecretData other = secretData(3).toBuilder().secretId("other-id").build();
+        when(secretDataRepository.getAllBySecretIdAndDataVersion(Map.of("other-id", 3L, "missing-id", 1L)))
+                .thenReturn(List.of(other));
+
+        Map<String, SecretData> result = cache.getAllDecrypted(Map.of(SECRET_ID, 1L, "other-id", 3L, "missing-id", 1L));
+
+        assertEquals(2, result.size());
+        assertEquals("decrypted-cipher-1", result.get(SECRET_ID).getPrivatePart());
+        assertEquals("decrypted-cipher-3", result.get("other-id").getPrivatePart());
+        verify(secretDataRepository, times(1)).getAllBySecretIdAndDataVersion(any());
+        assertEquals("decrypted-cipher-3", cache.getDecrypted("other-id", 3).orElseThrow().getPrivatePart());
+        verify(secretDataRepository, never()).getBySecretIdAndDataVersion("other-id", 3);
+    }
+
+    @Test
+    void getAllDecrypted_WhenCacheDisabled_ShouldDecryptAllLoaded() {
+        properties.setEnabled(false);
+        SecretDataCache cache = new SecretDataCache(secretDataRepository, secretEncryptionUtil, properties, meterRegistry);
+        when(secretDataRepository.getAllBySecretIdAndDataVersion(Map.of(SECRET_ID, 1L))).thenReturn(List.of(secretData(1)));
+
+        Map<String, SecretData> result = cache.getAllDecrypted(Map.of(SECRET_ID, 1L));
+
+        assertEquals("decrypted-cipher-1", result.get(SECRET_ID).getPrivatePart());
+    }
+
+    @Test
+    void getDecrypted_ShouldPublishHitAndMissMetrics() {
+        SecretDataCache cache = new SecretDataCache(secretDataRepository, secretEncryptionUtil, properties, meterRegistry);
+
+        cache.getDecrypted(SECRET_ID, 1);
+        cache.getDecrypted(SECRET_ID, 1);
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "secretData").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "secretData").tag("result", "miss").functionCounter().count());
+    }
+
+    private static SecretData secretData(long version) {
+        return SecretDataEntity.builder()
+                .id("data-" + version)
+                .secretId(SECRET_ID)
+                .dataVersion(version)
+                .publicPart("public")
+                .privatePart("cipher-" + version)
+                .kmsKeyId("key1")
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.flipkart.grayskull.service.utils;
+
+import com.flipkart.grayskull.entities.SecretEntity;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecretETagTest {
+
+    private final SecretETag eTag = SecretETag.of(SecretEntity.builder()
+            .id("64b7f0c2e1a4b5c6d7e8f901")
+            .currentDataVersion(3)
+            .metadataVersion(2)
+            .build());
+
+    @Test
+    void headerValue_ShouldBeQuotedAndChangeWithVersions() {
+        assertEquals("\"64b7f0c2e1a4b5c6d7e8f901.3.2\"", eTag.headerValue());
+        assertNotEquals(eTag.headerValue(), new SecretETag("64b7f0c2e1a4b5c6d7e8f901", 4, 2).headerValue());
+        assertNotEquals(eTag.headerValue(), new SecretETag("64b7f0c2e1a4b5c6d7e8f901", 3, 3).headerValue());
+    }
+
+    @Test
+    void matches_ShouldAcceptListedWeakAndWildcardTags() {
+        assertTrue(eTag.matches(eTag.headerValue()));
+        assertTrue(eTag.matches("\"other\", " + eTag.headerValue()));
+        assertTrue(eTag.matches("W/" + eTag.headerValue()));
+        assertTrue(eTag.matches("*"));
+    }
+
+    @Test
+    void matches_ShouldRejectMissingOrDifferentTags() {
+        assertFalse(eTag.matches(null));
+        assertFalse(eTag.matches(""));
+        assertFalse(eTag.matches("\"64b7f0c2e1a4b5c6d7e8f901.2.2\""));
+        assertFalse(eTag.matches("64b7f0c2e1a4b5c6d7e8f901.3.2"));
+    }
+}
@@ -0,0 +1,172 @@
+package com.flipkart.grayskull.service.utils;
+
+import com.flipkart.grayskull.configuration.properties.EnvelopeEncryptionProperties;
+import com.flipkart.grayskull.entities.SecretDataEntity;
+import com.flipkart.grayskull.spi.models.SecretData;
+import com.flipkart.grayskull.spi.models.enums.EncryptionAlgorithm;
+import com.flipkart.grayskull.spimpl.crypto.AeadAlgorithm;
+import com.flipkart.grayskull.spimpl.crypto.ChaChaEncryptionService;
+import com.flipkart.grayskull.spimpl.crypto.EnvelopeEncryption;
+import com.flipkart.grayskull.spimpl.crypto.KeyProperties;
+import com.flipkart.grayskull.spimpl.crypto.MultiAlgorithmEncryptionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecretEncryptionUtilTest {
+
+    private static final String KEY_ID = "key1";
+    private static final String PROJECT_ID = "project";
+    private static final String KEY = "74YlShtySBrQLeuhJD1w4bm+uYaR72tuicYHDjmelWE=";
+
+    private ChaChaEncryptionService encryptionService;
+    private EnvelopeEncryptionProperties envelopeProperties;
+    private SecretEncryptionUtil secretEncryptionUtil;
+
+    @BeforeEach
+    void setUp() {
+        KeyProperties keyProperties = new KeyProperties();
+        keyProperties.setKeys(Map.of(KEY_ID, KEY));
+        encryptionService = new ChaChaEncryptionService(keyProperties);
+        envelopeProperties = new EnvelopeEncryptionProperties();
+        secretEncryptionUtil = newSecretEncryptionUtil();
+    }
+
+    @Test
+    void encryptSecretData_ShouldStoreBinaryWithKeyIdHeader() {
+        SecretData secretData = SecretDataEntity.builder().privatePart("pässword").build();
+
+        secretEncryptionUtil.encryptSecretData(secretData, PROJECT_ID, KEY_ID);
+
+        assertNull(secretData.getPrivatePart());
+        assertEquals(KEY_ID, secretData.getKmsKeyId());
+        BinaryCiphertext header = BinaryCiphertext.parse(secretData.getEncryptedPrivatePart());
+        assertEquals(BinaryCiphertext.VERSION_1, header.version());
+        assertEquals(KEY_ID, header.keyId());
+
+        secretEncryptionUtil.decryptSecretData(secretData);
+
+        assertEquals("pässword", secretData.getPrivatePart());
+        assertNull(secretData.getEncryptedPrivatePart());
+    }
+
+    @Test
+    void encryptSecretData_WithEnvelope_ShouldStoreWrappedDataKey() {
+        envelopeProperties.setEnabled(true);
+        SecretEncryptionUtil envelopeUtil = newSecretEncryptionUtil();
+        SecretData secretData = SecretDataEntity.builder().privatePart("enveloped").build();
+
+        envelopeUtil.encryptSecretData(secretData, PROJECT_ID, KEY_ID);
+
+        BinaryCiphertext header = BinaryCiphertext.parse(secretData.getEncryptedPrivatePart());
+        assertTrue(header.isEnvelope());
+        assertEquals(KEY_ID, header.keyId());
+        assertTrue(header.wrappedKeyLength() > 0);
+
+        // Readable after envelope encryption is turned off again
+        secretEncryptionUtil.decryptSecretData(secretData);
+
+        assertEquals("enveloped", secretData.getPrivatePart());
+    }
+
+    @Test
+    void encryptSecretData_WithAlgorithmPerKey_ShouldStoreAuthenticatedHeader() {
+        SecretEncryptionUtil aeadUtil = newAeadSecretEncryptionUtil();
+        SecretData secretData = SecretDataEntity.builder().privatePart("pässword").build();
+
+        aeadUtil.encryptSecretData(secretData, PROJECT_ID, KEY_ID);
+
+        BinaryCiphertext header = BinaryCiphertext.parse(secretData.getEncryptedPrivatePart());
+        assertEquals(BinaryCiphertext.VERSION_3, header.version());
+        assertTrue(header.isAuthenticated());
+        assertEquals(EncryptionAlgorithm.AES_GCM.tag(), header.algorithm());
+        assertEquals(KEY_ID, header.keyId());
+        assertEquals(3 + KEY_ID.length(), header.ciphertextOffset());
+
+        aeadUtil.decryptSecretData(secretData);
+
+        assertEquals("pässword", secretData.getPrivatePart());
+    }
+
+    @Test
+    void decryptSecretData_WhenAuthenticatedHeaderChanged_ShouldFail() {
+        SecretEncryptionUtil aeadUtil = newAeadSecretEncryptionUtil();
+        SecretData secretData = SecretDataEntity.builder().privatePart("pässword").build();
+        aeadUtil.encryptSecretData(secretData, PROJECT_ID, KEY_ID);
+        byte[] stored = secretData.getEncryptedPrivatePart();
+
+        // key2 has the same key bytes and algorithm, only the header binds the value to key1
+        stored[3 + KEY_ID.length() - 1] = '2';
+        assertThrows(IllegalArgumentException.class, () -> aeadUtil.decryptSecretData(secretData));
+        stored[3 + KEY_ID.length() - 1] = '1';
+        stored[1] = EncryptionAlgorithm.CHACHA20_POLY1305.tag();
+        assertThrows(IllegalArgumentException.class, () -> aeadUtil.decryptSecretData(secretData));
+        // Without algorithms per key the header cannot be checked
+        stored[1] = EncryptionAlgorithm.AES_GCM.tag();
+        assertThrows(UnsupportedOperationException.class, () -> secretEncryptionUtil.decryptSecretData(secretData));
+    }
+
+    @Test
+    void decryptSecretData_ShouldReadLegacyBase64Format() {
+        byte[] encrypted = encryptionService.encrypt("legacy".getBytes(StandardCharsets.UTF_8), KEY_ID);
+        SecretData secretData = SecretDataEntity.builder()
+                .privatePart(Base64.getEncoder().encodeToString(encrypted))
+                .kmsKeyId(KEY_ID)
+                .build();
+
+        secretEncryptionUtil.decryptSecretData(secretData);
+
+        assertEquals("legacy", secretData.getPrivatePart());
+    }
+
+    @Test
+    void encryptSecretData_WithoutPrivatePart_ShouldDoNothing() {
+        SecretData secretData = SecretDataEntity.builder().privatePart("").build();
+
+        secretEncryptionUtil.encryptSecretData(secretData, PROJECT_ID, KEY_ID);
+        secretEncryptionUtil.decryptSecretData(secretData);
+
+        assertEquals("", secretData.getPrivatePart());
+        assertNull(secretData.getEncryptedPrivatePart());
+        assertNull(secretData.getKmsKeyId());
+    }
+
+    @Test
+    void parse_ShouldRejectUnknownVersionAndTruncatedValues() {
+        byte[] stored = BinaryCiphertext.wrap(KEY_ID, new byte[]{1, 2, 3});
+
+        assertEquals(2 + KEY_ID.length(), BinaryCiphertext.parse(stored).ciphertextOffset());
+        byte[] envelope = BinaryCiphertext.wrapEnvelope(KEY_ID, new byte[300], new byte[]{1, 2, 3});
+        BinaryCiphertext header = BinaryCiphertext.parse(envelope);
+        assertEquals(300, header.wrappedKeyLength());
+        assertEquals(envelope.length - 3, header.ciphertextOffset());
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryCiphertext.parse(Arrays.copyOf(envelope, header.wrappedKeyOffset() + 10)));
+        stored[0] = 9;
+        assertThrows(IllegalArgumentException.class, () -> BinaryCiphertext.parse(stored));
+        assertThrows(IllegalArgumentException.class, () -> BinaryCiphertext.parse(new byte[]{1, 10, 'k'}));
+        assertThrows(IllegalArgumentException.class, () -> BinaryCiphertext.parse(new byte[]{3, 1}));
+        assertThrows(IllegalArgumentException.class, () -> BinaryCiphertext.wrap("k".repeat(256), new byte[0]));
+    }
+
+    private SecretEncryptionUtil newAeadSecretEncryptionUtil() {
+        KeyProperties keyProperties = new KeyProperties();
+        keyProperties.setKeys(Map.of(KEY_ID, KEY, "key2", KEY));
+        keyProperties.setAlgorithms(Map.of(KEY_ID, AeadAlgorithm.AES_GCM, "key2", AeadAlgorithm.AES_GCM));
+        MultiAlgorithmEncryptionService aeadService = new MultiAlgorithmEncryptionService(keyProperties);
+        return new SecretEncryptionUtil(aeadService,
+                new EnvelopeEncryption(aeadService, envelopeProperties, new SimpleMeterRegistry()), envelopeProperties);
+    }
+
+    private SecretEncryptionUtil newSecretEncryptionUtil() {
+        return new SecretEncryptionUtil(encryptionService,
+                new EnvelopeEncryption(encryptionService, envelopeProperties, new SimpleMeterRegistry()), envelopeProperties);
+    }
+}
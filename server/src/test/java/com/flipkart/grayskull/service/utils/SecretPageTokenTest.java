@@ -0,0 +1,42 @@
+package com.flipkart.grayskull.service.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecretPageTokenTest {
+
+    @Test
+    void encodeDecode_ShouldRoundTrip() {
+        SecretPageToken token = new SecretPageToken("db/password-ü");
+
+        SecretPageToken decoded = SecretPageToken.decode(token.encode());
+
+        assertEquals(token, decoded);
+    }
+
+    @Test
+    void encode_ShouldBeUrlSafe() {
+        String encoded = new SecretPageToken("a?b/c+d").encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void decode_WhenNotBase64_ShouldThrowBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> SecretPageToken.decode("not a token!"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    @Test
+    void decode_WhenNameEmpty_ShouldThrowBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> SecretPageToken.decode(""));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+}
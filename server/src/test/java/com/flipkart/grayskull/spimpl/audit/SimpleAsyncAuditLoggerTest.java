@@ -0,0 +1,228 @@
+package com.flipkart.grayskull.spimpl.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flipkart.grayskull.configuration.properties.AsyncAuditProperties;
+import com.flipkart.grayskull.configuration.properties.AsyncAuditProperties.OverflowPolicy;
+import com.flipkart.grayskull.spi.models.AuditEntry;
+import com.flipkart.grayskull.spi.repositories.AuditEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimpleAsyncAuditLoggerTest {
+
+    private final List<List<AuditEntry>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AsyncAuditProperties properties = new AsyncAuditProperties();
+    private volatile boolean blocked;
+    private volatile boolean failing;
+    private SimpleAsyncAuditLogger logger;
+
+    @TempDir
+    Path spillDirectory;
+
+    private final AuditEntryRepository repository = new AuditEntryRepository() {
+        @Override
+        public AuditEntry save(AuditEntry entity) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<AuditEntry> saveAll(Iterable<AuditEntry> entities) {
+            if (blocked) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failing) {
+                throw new IllegalStateException("database down");
+            }
+            List<AuditEntry> batch = new ArrayList<>();
+            entities.forEach(batch::add);
+            batches.add(batch);
+            return batch;
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(3);
+        properties.setCapacity(2);
+        properties.setFlushInterval(Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        if (logger != null) {
+            logger.shutdown();
+        }
+    }
+
+    @Test
+    void log_ShouldWriteFullBatchesAndFlushPartialOnesAfterInterval() throws InterruptedException {
+        properties.setCapacity(100);
+        logger = newLogger(null);
+
+        logger.logAll(List.of(entry("1"), entry("2"), entry("3"), entry("4")));
+
+        await(() -> written() == 4);
+        assertEquals(List.of(3, 1), batches.stream().map(List::size).toList());
+        assertEquals(2, meterRegistry.get("grayskull.audit.async.batch.size").summary().count());
+    }
+
+    @Test
+    void log_WhenFullWithDropPolicy_ShouldCountDroppedEntries() throws InterruptedException {
+        properties.setOverflowPolicy(OverflowPolicy.DROP);
+        blocked = true;
+        logger = newLogger(null);
+        logger.log(entry("in flight"));
+        Thread.sleep(100);
+
+        for (int i = 0; i < 5; i++) {
+            logger.log(entry(String.valueOf(i)));
+        }
+
+        assertEquals(3, meterRegistry.get("grayskull.audit.async.dropped").counter().count());
+        release.countDown();
+        await(() -> written() == 3);
+    }
+
+    @Test
+    void log_WhenFullWithSpillPolicy_ShouldReplaySpilledEntriesOnceIdle() throws Exception {
+        properties.setOverflowPolicy(OverflowPolicy.SPILL);
+        blocked = true;
+        logger = newLogger(new AuditSpill(spillDirectory, objectMapper()));
+        logger.log(entry("in flight"));
+        Thread.sleep(100);
+
+        for (int i = 0; i < 5; i++) {
+            logger.log(entry(String.valueOf(i)));
+        }
+        assertEquals(3, meterRegistry.get("grayskull.audit.async.spilled").counter().count());
+        release.countDown();
+
+        await(() -> written() == 6);
+        assertEquals(6, batches.stream().flatMap(List::stream).map(AuditEntry::getResourceName).distinct().count());
+    }
+
+    @Test
+    void log_WhenWriteFailsWithSpillPolicy_ShouldSpillBatch() throws Exception {
+        properties.setOverflowPolicy(OverflowPolicy.SPILL);
+        failing = true;
+        logger = newLogger(new AuditSpill(spillDirectory, objectMapper()));
+
+        logger.log(entry("1"));
+        await(() -> meterRegistry.get("grayskull.audit.async.spilled").counter().count() == 1);
+        failing = false;
+
+        await(() -> written() == 1);
+    }
+
+    @Test
+    void replay_WhenSpilledLineUnreadable_ShouldQuarantineItAndReplayTheRest() throws Exception {
+        properties.setOverflowPolicy(OverflowPolicy.SPILL);
+        ObjectMapper objectMapper = objectMapper();
+        Files.writeString(spillDirectory.resolve("audit-0000000000001-000000.ndjson"),
+                objectMapper.writeValueAsString(entry("1")) + "\n{\"projectId\":\"proj\n"
+                        + objectMapper.writeValueAsString(entry("2")) + "\n");
+        Files.writeString(spillDirectory.resolve("audit-0000000000002-000000.ndjson"),
+                objectMapper.writeValueAsString(entry("3")) + "\n");
+
+        logger = newLogger(new AuditSpill(spillDirectory, objectMapper));
+
+        await(() -> written() == 3);
+        assertEquals(1, meterRegistry.get("grayskull.audit.async.unreadable").counter().count());
+        assertEquals("{\"projectId\":\"proj\n",
+                Files.readString(spillDirectory.resolve("audit-0000000000001-000000.bad")));
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            assertEquals(List.of("audit-0000000000001-000000.bad"),
+                    files.map(file -> file.getFileName().toString()).toList());
+        }
+    }
+
+    @Test
+    void shutdown_ShouldWriteQueuedEntries() throws InterruptedException {
+        properties.setCapacity(100);
+        properties.setBatchSize(100);
+        properties.setFlushInterval(Duration.ofSeconds(30));
+        properties.setShutdownTimeout(Duration.ofSeconds(5));
+        logger = newLogger(null);
+        logger.logAll(List.of(entry("1"), entry("2")));
+
+        logger.shutdown();
+        logger = null;
+
+        assertEquals(2, written());
+    }
+
+    @Test
+    void shutdown_WhileBatchIsFilling_ShouldWriteItWithoutWaitingForTheFlushInterval() throws InterruptedException {
+        properties.setCapacity(100);
+        properties.setBatchSize(100);
+        properties.setFlushInterval(Duration.ofSeconds(30));
+        properties.setShutdownTimeout(Duration.ofSeconds(5));
+        logger = newLogger(null);
+        logger.logAll(List.of(entry("1"), entry("2")));
+        // The flusher has taken the entries off the queue and waits for the batch to fill up
+        await(() -> meterRegistry.get("grayskull.audit.async.queue.depth").gauge().value() == 0);
+
+        logger.shutdown();
+        logger = null;
+
+        assertEquals(2, written());
+        assertEquals(0, meterRegistry.get("grayskull.audit.async.dropped").counter().count());
+    }
+
+    @Test
+    void constructor_WithSpillPolicyWithoutDirectory_ShouldFail() {
+        properties.setOverflowPolicy(OverflowPolicy.SPILL);
+
+        assertThrows(IllegalArgumentException.class, () -> newLogger(null));
+    }
+
+    private SimpleAsyncAuditLogger newLogger(AuditSpill spill) {
+        return new SimpleAsyncAuditLogger(repository, properties, spill, meterRegistry);
+    }
+
+    private int written() {
+        synchronized (batches) {
+            return batches.stream().mapToInt(List::size).sum();
+        }
+    }
+
+    private static ObjectMapper objectMapper() {
+        return new ObjectMapper().registerModule(new JavaTimeModule());
+    }
+
+    private static AuditEntry entry(String name) {
+        return AuditEntry.builder().projectId("project").resourceName(name).action("READ_SECRET").build();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
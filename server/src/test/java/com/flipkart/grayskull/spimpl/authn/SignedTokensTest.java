@@ -0,0 +1,119 @@
+package com.flipkart.grayskull.spimpl.authn;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flipkart.grayskull.configuration.properties.TokenAuthenticationProperties;
+import com.flipkart.grayskull.spi.GrayskullAuthenticationProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.Authentication;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SignedTokensTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TokenAuthenticationProperties properties;
+
+    @BeforeEach
+    void setUp() throws NoSuchAlgorithmException {
+        KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        TokenAuthenticationProperties.Key hmac = new TokenAuthenticationProperties.Key();
+        hmac.setSecret("74YlShtySBrQLeuhJD1w4bm+uYaR72tuicYHDjmelWE=");
+        TokenAuthenticationProperties.Key ed25519 = new TokenAuthenticationProperties.Key();
+        ed25519.setAlgorithm(TokenAlgorithm.ED25519);
+        ed25519.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        ed25519.setPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        properties = new TokenAuthenticationProperties();
+        properties.setKeys(Map.of("hmac", hmac, "ed", ed25519));
+        properties.setSigningKeyId("hmac");
+        properties.setTtl(Duration.ofMinutes(15));
+        properties.setClockSkew(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void verify_ShouldAcceptTokensOfEveryConfiguredKey() {
+        SignedTokens hmacTokens = tokens(NOW);
+        properties.setSigningKeyId("ed");
+        SignedTokens edTokens = tokens(NOW);
+
+        SignedTokens.IssuedToken hmacToken = hmacTokens.issue("alice");
+        SignedTokens.IssuedToken edToken = edTokens.issue("bob");
+
+        assertEquals(NOW.plus(Duration.ofMinutes(15)), hmacToken.expiresAt());
+        assertEquals("alice", edTokens.verify(hmacToken.token()).sub());
+        assertEquals("bob", hmacTokens.verify(edToken.token()).sub());
+    }
+
+    @Test
+    void verify_WhenExpired_ShouldRejectAfterClockSkew() {
+        String token = tokens(NOW).issue("alice").token();
+
+        assertEquals("alice", tokens(NOW.plus(Duration.ofMinutes(15)).plusSeconds(30)).verify(token).sub());
+        assertThrows(CredentialsExpiredException.class,
+                () -> tokens(NOW.plus(Duration.ofMinutes(15)).plusSeconds(31)).verify(token));
+    }
+
+    @Test
+    void verify_WhenTamperedOrForeign_ShouldReject() {
+        SignedTokens tokens = tokens(NOW);
+        String token = tokens.issue("alice").token();
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"admin\",\"iat\":0,\"exp\":9999999999}".getBytes());
+        String noneHeader = Base64.getUrlEncoder().withoutPadding().encodeToString("{\"alg\":\"none\"}".getBytes());
+
+        assertThrows(BadCredentialsException.class, () -> tokens.verify(parts[0] + "." + forgedPayload + "." + parts[2]));
+        assertThrows(BadCredentialsException.class, () -> tokens.verify(noneHeader + "." + parts[1] + "."));
+        assertThrows(BadCredentialsException.class, () -> tokens.verify(parts[0] + "." + parts[1]));
+        assertThrows(BadCredentialsException.class, () -> tokens.verify(parts[0] + "." + parts[1] + ".!!"));
+    }
+
+    @Test
+    void constructor_WithWeakOrMissingSigningKey_ShouldFail() {
+        properties.setSigningKeyId("missing");
+        assertThrows(IllegalStateException.class, () -> tokens(NOW));
+
+        properties.getKeys().get("hmac").setSecret(Base64.getEncoder().encodeToString(new byte[16]));
+        properties.setSigningKeyId("ed");
+        assertThrows(IllegalStateException.class, () -> tokens(NOW));
+    }
+
+    @Test
+    void provider_ShouldAuthenticateBearerTokensAndDelegateOtherRequests() {
+        SignedTokens tokens = tokens(Instant.now());
+        GrayskullAuthenticationProvider basic = mock(GrayskullAuthenticationProvider.class);
+        SignedTokenAuthenticationProvider provider = new SignedTokenAuthenticationProvider(tokens, basic);
+        MockHttpServletRequest bearer = new MockHttpServletRequest();
+        bearer.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.issue("alice").token());
+        MockHttpServletRequest other = new MockHttpServletRequest();
+
+        Authentication authentication = provider.authenticate(bearer);
+        provider.authenticate(other);
+
+        assertEquals("alice", authentication.getName());
+        assertTrue(authentication.isAuthenticated());
+        verify(basic).authenticate(other);
+        verifyNoMoreInteractions(basic);
+    }
+
+    private SignedTokens tokens(Instant now) {
+        return new SignedTokens(properties, objectMapper, Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,105 @@
+package com.flipkart.grayskull.spimpl.authn;
+
+import com.flipkart.grayskull.configuration.properties.AuthenticationCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SimpleAuthenticationProviderTest {
+
+    private final AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuthenticationCache authenticationCache;
+    private SimpleAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            Authentication request = invocation.getArgument(0);
+            if (!"secret".equals(request.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(request.getName(), null, List.of());
+        });
+        authenticationCache = new AuthenticationCache(new AuthenticationCacheProperties(), meterRegistry);
+        provider = new SimpleAuthenticationProvider(authenticationCache);
+        provider.initialize(authenticationManager);
+    }
+
+    @Test
+    void authenticate_WithCache_ShouldVerifyCredentialsOnce() {
+        Authentication first = provider.authenticate(basic("alice", "secret"));
+        Authentication second = provider.authenticate(basic("alice", "secret"));
+
+        assertEquals("alice", first.getName());
+        assertSame(first, second);
+        verify(authenticationManager, times(1)).authenticate(any());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "authentication").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void authenticate_WithWrongPassword_ShouldNotCacheFailure() {
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(basic("alice", "wrong")));
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(basic("alice", "wrong")));
+
+        verify(authenticationManager, times(2)).authenticate(any());
+    }
+
+    @Test
+    void authenticate_WithDifferentPassword_ShouldNotReuseEntry() {
+        provider.authenticate(basic("alice", "secret"));
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(basic("alice", "wrong")));
+    }
+
+    @Test
+    void evict_ShouldForceVerificationOfEvictedUserOnly() {
+        provider.authenticate(basic("alice", "secret"));
+        provider.authenticate(basic("bob", "secret"));
+
+        authenticationCache.evict("alice");
+        provider.authenticate(basic("alice", "secret"));
+        provider.authenticate(basic("bob", "secret"));
+
+        verify(authenticationManager, times(3)).authenticate(any());
+    }
+
+    @Test
+    void authenticate_WithoutHeader_ShouldReturnNull() {
+        assertNull(provider.authenticate(new MockHttpServletRequest()));
+        verifyNoInteractions(authenticationManager);
+    }
+
+    @Test
+    void authenticate_WithoutCache_ShouldVerifyEveryRequest() {
+        SimpleAuthenticationProvider uncached = new SimpleAuthenticationProvider();
+        uncached.initialize(authenticationManager);
+
+        uncached.authenticate(basic("alice", "secret"));
+        uncached.authenticate(basic("alice", "secret"));
+
+        verify(authenticationManager, times(2)).authenticate(any());
+    }
+
+    private static MockHttpServletRequest basic(String username, String password) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        String token = Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Basic " + token);
+        return request;
+    }
+}
@@ -0,0 +1,89 @@
+package com.flipkart.grayskull.spimpl.authz;
+
+import com.flipkart.grayskull.configuration.AuthorizationProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares authorization lookups through {@link AuthorizationRuleIndex} with a linear scan over the rules,
+ * which is how rules were evaluated before the index. The cost of an indexed lookup should not depend on
+ * {@code ruleCount}.
+ * <p>
+ * Run {@link #main(String[])} with the test classpath of the server module, e.g. from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorizationRuleIndexBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"10", "1000", "10000"})
+    private int ruleCount;
+
+    private List<AuthorizationProperties.Rule> rules;
+    private AuthorizationRuleIndex index;
+    private String[] users;
+    private String[] projects;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        rules = new ArrayList<>(ruleCount);
+        rules.add(SimpleAuthorizationProviderTest.rule("admin", "*", null, "*"));
+        for (int i = 1; i < ruleCount; i++) {
+            rules.add(SimpleAuthorizationProviderTest.rule("user-" + i, "project-" + (i % 100), "secret-" + (i % 10),
+                    "secrets.read.value", "secrets.read.metadata"));
+        }
+        index = AuthorizationRuleIndex.compile(rules);
+        users = new String[LOOKUPS];
+        projects = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            int rule = 1 + (i * 7919) % Math.max(ruleCount - 1, 1);
+            users[i] = "user-" + rule;
+            projects[i] = "project-" + (rule % 100);
+        }
+    }
+
+    @Benchmark
+    public boolean indexedLookup() {
+        int i = next++ & (LOOKUPS - 1);
+        return index.isAuthorized(users[i], projects[i], "secret-" + (i % 10), "secrets.read.value");
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        int i = next++ & (LOOKUPS - 1);
+        String user = users[i];
+        String project = projects[i];
+        String secret = "secret-" + (i % 10);
+        return rules.stream()
+                .filter(rule -> "*".equals(rule.getUser()) || rule.getUser().equals(user))
+                .filter(rule -> "*".equals(rule.getProject()) || rule.getProject().equals(project))
+                .filter(rule -> rule.getSecret() == null || "*".equals(rule.getSecret()) || rule.getSecret().equals(secret))
+                .anyMatch(rule -> rule.getActions().contains("*") || rule.getActions().contains("secrets.read.value"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AuthorizationRuleIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,102 @@
+package com.flipkart.grayskull.spimpl.authz;
+
+import com.flipkart.grayskull.configuration.AuthorizationProperties;
+import com.flipkart.grayskull.entities.ProjectEntity;
+import com.flipkart.grayskull.entities.SecretEntity;
+import com.flipkart.grayskull.spi.authz.AuthorizationContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimpleAuthorizationProviderTest {
+
+    private final AuthorizationProperties properties = new AuthorizationProperties();
+
+    @Test
+    void isAuthorized_ShouldMatchExactAndWildcardUsersAndProjects() {
+        properties.setRules(List.of(
+                rule("admin", "*", null, "*"),
+                rule("*", "shared", null, "secrets.list"),
+                rule("viewer", "project-a", null, "secrets.list", "secrets.read.metadata")));
+        SimpleAuthorizationProvider provider = new SimpleAuthorizationProvider(properties);
+
+        assertTrue(provider.isAuthorized(forProject("admin", "any-project"), "secrets.delete"));
+        assertTrue(provider.isAuthorized(forProject("anyone", "shared"), "secrets.list"));
+        assertFalse(provider.isAuthorized(forProject("anyone", "shared"), "secrets.create"));
+        assertTrue(provider.isAuthorized(forSecret("viewer", "project-a", "db"), "secrets.read.metadata"));
+        assertFalse(provider.isAuthorized(forSecret("viewer", "project-a", "db"), "secrets.read.value"));
+        assertFalse(provider.isAuthorized(forProject("viewer", "project-b"), "secrets.list"));
+    }
+
+    @Test
+    void isAuthorized_ShouldRestrictSecretLevelRulesToTheirSecret() {
+        properties.setRules(List.of(
+                rule("app", "project-a", "db-password", "secrets.read.value"),
+                rule("ops", "project-a", "*", "secrets.read.value")));
+        SimpleAuthorizationProvider provider = new SimpleAuthorizationProvider(properties);
+
+        assertTrue(provider.isAuthorized(forSecret("app", "project-a", "db-password"), "secrets.read.value"));
+        assertFalse(provider.isAuthorized(forSecret("app", "project-a", "api-key"), "secrets.read.value"));
+        assertFalse(provider.isAuthorized(forProject("app", "project-a"), "secrets.read.value"));
+        assertTrue(provider.isAuthorized(forSecret("ops", "project-a", "api-key"), "secrets.read.value"));
+        assertTrue(provider.isAuthorized(forProject("ops", "project-a"), "secrets.read.value"));
+    }
+
+    @Test
+    void isAuthorized_ShouldOnlyGrantUnknownActionsThroughWildcard() {
+        properties.setRules(List.of(
+                rule("admin", "*", null, "*"),
+                rule("user", "*", null, "secrets.list", "custom.action")));
+        SimpleAuthorizationProvider provider = new SimpleAuthorizationProvider(properties);
+
+        assertTrue(provider.isAuthorized(forProject("admin", "p"), "custom.action"));
+        assertFalse(provider.isAuthorized(forProject("user", "p"), "custom.action"));
+        assertTrue(provider.isAuthorized(forProject("user", "p"), "secrets.list"));
+    }
+
+    @Test
+    void isAuthorized_WithoutRulesOrAuthentication_ShouldDeny() {
+        SimpleAuthorizationProvider provider = new SimpleAuthorizationProvider(properties);
+
+        assertFalse(provider.isAuthorized(forProject("admin", "p"), "secrets.list"));
+        assertFalse(provider.isAuthorized(AuthorizationContext.forProject(null, ProjectEntity.builder().id("p").build()), "secrets.list"));
+    }
+
+    @Test
+    void onRefresh_ShouldSwapInRecompiledRules() {
+        List<AuthorizationProperties.Rule> rules = new ArrayList<>();
+        rules.add(rule("user", "p", null, "secrets.list"));
+        properties.setRules(rules);
+        SimpleAuthorizationProvider provider = new SimpleAuthorizationProvider(properties);
+
+        properties.setRules(List.of(rule("user", "p", null, "secrets.create")));
+        assertTrue(provider.isAuthorized(forProject("user", "p"), "secrets.list"));
+
+        provider.onRefresh();
+        assertFalse(provider.isAuthorized(forProject("user", "p"), "secrets.list"));
+        assertTrue(provider.isAuthorized(forProject("user", "p"), "secrets.create"));
+    }
+
+    static AuthorizationProperties.Rule rule(String user, String project, String secret, String... actions) {
+        AuthorizationProperties.Rule rule = new AuthorizationProperties.Rule();
+        rule.setUser(user);
+        rule.setProject(project);
+        rule.setSecret(secret);
+        rule.setActions(Set.of(actions));
+        return rule;
+    }
+
+    private static AuthorizationContext forProject(String user, String projectId) {
+        return AuthorizationContext.forProject(new TestingAuthenticationToken(user, null), ProjectEntity.builder().id(projectId).build());
+    }
+
+    private static AuthorizationContext forSecret(String user, String projectId, String secretName) {
+        return AuthorizationContext.forSecret(new TestingAuthenticationToken(user, null), ProjectEntity.builder().id(projectId).build(),
+                SecretEntity.builder().projectId(projectId).name(secretName).build());
+    }
+}
@@ -0,0 +1,116 @@
+package com.flipkart.grayskull.spimpl.crypto;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput and, with the GC profiler ({@code gc.alloc.rate.norm}), the bytes allocated per
+ * operation of {@link ChaChaEncryptionService}. The {@code baseline*} benchmarks repeat what the service did
+ * before it cached key specs and ciphers: a new {@link Cipher} and {@link SecretKeySpec} per call, the nonce
+ * fetched through the cipher parameters and the input copied into separate arrays.
+ * <p>
+ * Run {@link #main(String[])} with the test classpath of the server module, e.g. from the IDE.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChaChaEncryptionServiceBenchmark {
+
+    private static final String KEY_ID = "key1";
+    private static final String KEY = "74YlShtySBrQLeuhJD1w4bm+uYaR72tuicYHDjmelWE=";
+    private static final int NONCE_SIZE_BYTES = 12;
+
+    @Param({"64", "4096"})
+    private int size;
+
+    private ChaChaEncryptionService encryptionService;
+    private byte[] plaintext;
+    private byte[] ciphertext;
+    private ByteBuffer input;
+    private ByteBuffer output;
+    private byte[] rawKey;
+
+    @Setup
+    public void setUp() {
+        KeyProperties keyProperties = new KeyProperties();
+        keyProperties.setKeys(Map.of(KEY_ID, KEY));
+        encryptionService = new ChaChaEncryptionService(keyProperties);
+        plaintext = RandomUtils.secure().randomBytes(size);
+        ciphertext = encryptionService.encrypt(plaintext, KEY_ID);
+        input = ByteBuffer.wrap(ciphertext);
+        output = ByteBuffer.allocate(ciphertext.length);
+        rawKey = Base64.getDecoder().decode(KEY);
+    }
+
+    @Benchmark
+    public byte[] encrypt() {
+        return encryptionService.encrypt(plaintext, KEY_ID);
+    }
+
+    @Benchmark
+    public byte[] decrypt() {
+        return encryptionService.decrypt(ciphertext, KEY_ID);
+    }
+
+    @Benchmark
+    public int decryptByteBuffer() {
+        input.clear();
+        output.clear();
+        return encryptionService.decrypt(input, output, KEY_ID);
+    }
+
+    @Benchmark
+    public byte[] baselineEncrypt() throws Exception {
+        Cipher cipher = Cipher.getInstance("ChaCha20-Poly1305/None/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(rawKey, "ChaCha20"));
+        byte[] nonce = cipher.getParameters().getParameterSpec(IvParameterSpec.class).getIV();
+        byte[] encryptedBytes = cipher.doFinal(plaintext);
+        byte[] combined = new byte[nonce.length + encryptedBytes.length];
+        System.arraycopy(nonce, 0, combined, 0, nonce.length);
+        System.arraycopy(encryptedBytes, 0, combined, nonce.length, encryptedBytes.length);
+        return combined;
+    }
+
+    @Benchmark
+    public byte[] baselineDecrypt() throws Exception {
+        byte[] nonce = new byte[NONCE_SIZE_BYTES];
+        byte[] cipherBytes = new byte[ciphertext.length - NONCE_SIZE_BYTES];
+        System.arraycopy(ciphertext, 0, nonce, 0, NONCE_SIZE_BYTES);
+        System.arraycopy(ciphertext, NONCE_SIZE_BYTES, cipherBytes, 0, cipherBytes.length);
+        Cipher cipher = Cipher.getInstance("ChaCha20-Poly1305/None/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(rawKey, "ChaCha20"), new IvParameterSpec(nonce));
+        return cipher.doFinal(cipherBytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ChaChaEncryptionServiceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -3,7 +3,9 @@ package com.flipkart.grayskull.spimpl.crypto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,4 +30,64 @@ class ChaChaEncryptionServiceTest {
         byte[] decrypted = encryptionService.decrypt(encrypted, KEY_ID);
         assertArrayEquals(original, decrypted);
     }
-}
\ No newline at end of file
+
+    @Test
+    void encryptUsesFreshNonceEachTime() {
+        byte[] original = "SensitiveData123".getBytes(StandardCharsets.UTF_8);
+        byte[] first = encryptionService.encrypt(original, KEY_ID);
+        byte[] second = encryptionService.encrypt(original, KEY_ID);
+        assertEquals(12 + original.length + 16, first.length);
+        assertFalse(Arrays.equals(first, second));
+    }
+
+    @Test
+    void encryptAndDecryptRangesOfArrays() {
+        byte[] framed = "headerSensitiveData123trailer".getBytes(StandardCharsets.UTF_8);
+        byte[] encrypted = encryptionService.encrypt(framed, 6, 16, KEY_ID);
+
+        byte[] withHeader = new byte[3 + encrypted.length + 2];
+        System.arraycopy(encrypted, 0, withHeader, 3, encrypted.length);
+        byte[] decrypted = encryptionService.decrypt(withHeader, 3, encrypted.length, KEY_ID);
+
+        assertEquals("SensitiveData123", new String(decrypted, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void decryptByteBufferInPlace() {
+        byte[] original = "SensitiveData123".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(encryptionService.encrypt(original, KEY_ID));
+
+        int written = encryptionService.decrypt(buffer, buffer.duplicate(), KEY_ID);
+
+        assertEquals(original.length, written);
+        assertArrayEquals(original, Arrays.copyOf(buffer.array(), written));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void decryptDirectByteBuffer() {
+        byte[] original = "SensitiveData123".getBytes(StandardCharsets.UTF_8);
+        byte[] encrypted = encryptionService.encrypt(original, KEY_ID);
+        ByteBuffer input = ByteBuffer.allocateDirect(encrypted.length).put(encrypted).flip();
+        ByteBuffer output = ByteBuffer.allocateDirect(encrypted.length);
+
+        encryptionService.decrypt(input, output, KEY_ID);
+
+        byte[] decrypted = new byte[output.flip().remaining()];
+        output.get(decrypted);
+        assertArrayEquals(original, decrypted);
+    }
+
+    @Test
+    void decryptRejectsTamperedDataAndUnknownKeys() {
+        byte[] encrypted = encryptionService.encrypt("SensitiveData123".getBytes(StandardCharsets.UTF_8), KEY_ID);
+        encrypted[encrypted.length - 1] ^= 1;
+
+        assertThrows(IllegalArgumentException.class, () -> encryptionService.decrypt(encrypted, KEY_ID));
+        assertThrows(IllegalArgumentException.class, () -> encryptionService.decrypt(encrypted, "unknown"));
+        assertThrows(IllegalArgumentException.class, () -> encryptionService.decrypt(new byte[4], KEY_ID));
+        // The cipher of the thread is still usable after a failure
+        byte[] original = "SensitiveData123".getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(original, encryptionService.decrypt(encryptionService.encrypt(original, KEY_ID), KEY_ID));
+    }
+}
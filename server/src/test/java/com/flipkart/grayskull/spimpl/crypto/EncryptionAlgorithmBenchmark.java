@@ -0,0 +1,76 @@
+package com.flipkart.grayskull.spimpl.crypto;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link AeadAlgorithm}s through {@link MultiAlgorithmEncryptionService} across payload sizes, to
+ * help choose the algorithm of a key. Throughput in bytes per second is {@code size} times the reported ops/s.
+ * AES-GCM relies on CPU instructions through JVM intrinsics, so results differ between hosts; run it on the
+ * hardware that will serve the traffic. The intrinsics for large AES-GCM payloads only kick in after several
+ * seconds, hence the long warmup.
+ * <p>
+ * Run {@link #main(String[])} with the test classpath of the server module, e.g. from the IDE.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncryptionAlgorithmBenchmark {
+
+    private static final String KEY = "74YlShtySBrQLeuhJD1w4bm+uYaR72tuicYHDjmelWE=";
+
+    @Param({"CHACHA20_POLY1305", "AES_GCM"})
+    private AeadAlgorithm algorithm;
+
+    @Param({"64", "1024", "16384", "65536"})
+    private int size;
+
+    private MultiAlgorithmEncryptionService encryptionService;
+    private String keyId;
+    private byte[] plaintext;
+    private byte[] ciphertext;
+
+    @Setup
+    public void setUp() {
+        keyId = algorithm.name();
+        KeyProperties keyProperties = new KeyProperties();
+        keyProperties.setKeys(Map.of(keyId, KEY));
+        keyProperties.setAlgorithms(Map.of(keyId, algorithm));
+        encryptionService = new MultiAlgorithmEncryptionService(keyProperties);
+        plaintext = RandomUtils.secure().randomBytes(size);
+        ciphertext = encryptionService.encrypt(plaintext, keyId);
+    }
+
+    @Benchmark
+    public byte[] encrypt() {
+        return encryptionService.encrypt(plaintext, keyId);
+    }
+
+    @Benchmark
+    public byte[] decrypt() {
+        return encryptionService.decrypt(ciphertext, keyId);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EncryptionAlgorithmBenchmark.class.getSimpleName()).build()).run();
+    }
+}
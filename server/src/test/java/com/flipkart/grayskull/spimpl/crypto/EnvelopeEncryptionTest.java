@@ -0,0 +1,86 @@
+package com.flipkart.grayskull.spimpl.crypto;
+
+import com.flipkart.grayskull.configuration.properties.EnvelopeEncryptionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnvelopeEncryptionTest {
+
+    private static final String KEY_ID = "key1";
+
+    @TempDir
+    Path tempDir;
+
+    private LocalFileKms kms;
+    private EnvelopeEncryptionProperties properties;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        kms = new LocalFileKms(LocalFileKms.writeKeyFile(tempDir.resolve("kms.properties"),
+                Map.of(KEY_ID, "74YlShtySBrQLeuhJD1w4bm+uYaR72tuicYHDjmelWE=")));
+        properties = new EnvelopeEncryptionProperties();
+    }
+
+    @Test
+    void encrypt_ShouldWrapOneDataKeyPerProject() {
+        EnvelopeEncryption envelope = new EnvelopeEncryption(kms, properties, new SimpleMeterRegistry());
+
+        EnvelopeEncryption.EncryptedData first = envelope.encrypt("project-a", KEY_ID, bytes("one"));
+        EnvelopeEncryption.EncryptedData second = envelope.encrypt("project-a", KEY_ID, bytes("two"));
+        EnvelopeEncryption.EncryptedData other = envelope.encrypt("project-b", KEY_ID, bytes("three"));
+
+        assertArrayEquals(first.wrappedKey(), second.wrappedKey());
+        assertFalse(Arrays.equals(first.wrappedKey(), other.wrappedKey()));
+        assertEquals(2, kms.getEncryptCalls().get());
+        // Data keys generated by this node are decrypted without asking the KMS
+        assertEquals("two", decrypt(envelope, second));
+        assertEquals(0, kms.getDecryptCalls().get());
+    }
+
+    @Test
+    void decrypt_ShouldUnwrapEachDataKeyOnce() {
+        EnvelopeEncryption writer = new EnvelopeEncryption(kms, properties, new SimpleMeterRegistry());
+        EnvelopeEncryption.EncryptedData first = writer.encrypt("project-a", KEY_ID, bytes("one"));
+        EnvelopeEncryption.EncryptedData second = writer.encrypt("project-a", KEY_ID, bytes("two"));
+        EnvelopeEncryption reader = new EnvelopeEncryption(kms, properties, new SimpleMeterRegistry());
+
+        assertEquals("one", decrypt(reader, first));
+        assertEquals("two", decrypt(reader, second));
+        assertEquals("one", decrypt(reader, first));
+
+        assertEquals(1, kms.getDecryptCalls().get());
+    }
+
+    @Test
+    void decrypt_WithTamperedCiphertext_ShouldFail() {
+        EnvelopeEncryption envelope = new EnvelopeEncryption(kms, properties, new SimpleMeterRegistry());
+        EnvelopeEncryption.EncryptedData encrypted = envelope.encrypt("project-a", KEY_ID, bytes("one"));
+        encrypted.ciphertext()[encrypted.ciphertext().length - 1] ^= 1;
+
+        assertThrows(IllegalArgumentException.class, () -> decrypt(envelope, encrypted));
+    }
+
+    private static String decrypt(EnvelopeEncryption envelope, EnvelopeEncryption.EncryptedData encrypted) {
+        // Lay out the wrapped key and the ciphertext in one array, as they are stored
+        byte[] stored = new byte[encrypted.wrappedKey().length + encrypted.ciphertext().length];
+        System.arraycopy(encrypted.wrappedKey(), 0, stored, 0, encrypted.wrappedKey().length);
+        System.arraycopy(encrypted.ciphertext(), 0, stored, encrypted.wrappedKey().length, encrypted.ciphertext().length);
+        byte[] decrypted = envelope.decrypt(KEY_ID, stored, 0, encrypted.wrappedKey().length,
+                encrypted.wrappedKey().length, encrypted.ciphertext().length);
+        return new String(decrypted, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,75 @@
+package com.flipkart.grayskull.spimpl.crypto;
+
+import com.flipkart.grayskull.spi.EncryptionService;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A stand-in for a remote KMS in tests. The master keys live in a properties file of key id to Base64 encoded
+ * key, and every call is counted so that tests can assert on the KMS traffic.
+ */
+@Getter
+public class LocalFileKms implements EncryptionService {
+
+    private final AtomicInteger encryptCalls = new AtomicInteger();
+    private final AtomicInteger decryptCalls = new AtomicInteger();
+    private final ChaChaEncryptionService delegate;
+
+    public LocalFileKms(Path keyFile) {
+        Properties keys = new Properties();
+        try (Reader reader = Files.newBufferedReader(keyFile)) {
+            keys.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<String, String> map = new HashMap<>();
+        keys.stringPropertyNames().forEach(keyId -> map.put(keyId, keys.getProperty(keyId)));
+        KeyProperties keyProperties = new KeyProperties();
+        keyProperties.setKeys(map);
+        this.delegate = new ChaChaEncryptionService(keyProperties);
+    }
+
+    /**
+     * Writes a key file with the given keys.
+     *
+     * @param keyFile The file to write.
+     * @param keys    Base64 encoded keys by key id.
+     * @return The key file.
+     */
+    public static Path writeKeyFile(Path keyFile, Map<String, String> keys) throws IOException {
+        Properties properties = new Properties();
+        properties.putAll(keys);
+        try (Writer writer = Files.newBufferedWriter(keyFile)) {
+            properties.store(writer, null);
+        }
+        return keyFile;
+    }
+
+    @Override
+    public byte[] encrypt(byte[] data, String keyId) {
+        encryptCalls.incrementAndGet();
+        return delegate.encrypt(data, keyId);
+    }
+
+    @Override
+    public byte[] decrypt(byte[] data, String keyId) {
+        decryptCalls.incrementAndGet();
+        return delegate.decrypt(data, keyId);
+    }
+
+    @Override
+    public byte[] decrypt(byte[] data, int offset, int length, String keyId) {
+        decryptCalls.incrementAndGet();
+        return delegate.decrypt(data, offset, length, keyId);
+    }
+}
@@ -0,0 +1,86 @@
+package com.flipkart.grayskull.spimpl.crypto;
+
+import com.flipkart.grayskull.spi.models.enums.EncryptionAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiAlgorithmEncryptionServiceTest {
+
+    private static final String AES_KEY_ID = "aes";
+    private static final String CHACHA_KEY_ID = "chacha";
+    private static final String KEY = "74YlShtySBrQLeuhJD1w4bm+uYaR72tuicYHDjmelWE=";
+    private static final byte[] ORIGINAL = "SensitiveData123".getBytes(StandardCharsets.UTF_8);
+
+    private final MultiAlgorithmEncryptionService encryptionService =
+            new MultiAlgorithmEncryptionService(keyProperties(Map.of(AES_KEY_ID, AeadAlgorithm.AES_GCM)));
+
+    @Test
+    void encrypt_ShouldUseOnlyAlgorithmOfKey() {
+        byte[] aes = encryptionService.encrypt(ORIGINAL, AES_KEY_ID);
+        byte[] chacha = encryptionService.encrypt(ORIGINAL, CHACHA_KEY_ID);
+
+        assertEquals(EncryptionAlgorithm.AES_GCM, encryptionService.algorithm(AES_KEY_ID));
+        assertEquals(EncryptionAlgorithm.CHACHA20_POLY1305, encryptionService.algorithm(CHACHA_KEY_ID));
+        assertEquals(12 + ORIGINAL.length + 16, aes.length);
+        assertArrayEquals(ORIGINAL, encryptionService.decrypt(aes, AES_KEY_ID));
+        assertArrayEquals(ORIGINAL, encryptionService.decrypt(chacha, CHACHA_KEY_ID));
+        // The key bytes of both keys are the same, but each key only decrypts with its own algorithm
+        assertThrows(IllegalArgumentException.class, () -> encryptionService.decrypt(aes, CHACHA_KEY_ID));
+        assertThrows(IllegalArgumentException.class, () -> encryptionService.decrypt(chacha, AES_KEY_ID));
+    }
+
+    @Test
+    void decrypt_ShouldReadChaChaDataWithChaChaKey() {
+        ChaChaEncryptionService legacy = new ChaChaEncryptionService(keyProperties(Map.of()));
+        byte[] encrypted = legacy.encrypt(ORIGINAL, CHACHA_KEY_ID);
+
+        assertArrayEquals(ORIGINAL, encryptionService.decrypt(encrypted, CHACHA_KEY_ID));
+    }
+
+    @Test
+    void decryptWithAssociatedData_ShouldRejectOtherAlgorithmAndChangedData() {
+        ByteBuffer associatedData = ByteBuffer.wrap(new byte[]{3, 1, 2});
+        byte[] encrypted = encryptionService.encrypt(ORIGINAL, 0, ORIGINAL.length, AES_KEY_ID, associatedData.duplicate());
+
+        assertArrayEquals(ORIGINAL, encryptionService.decrypt(encrypted, 0, encrypted.length, AES_KEY_ID,
+                EncryptionAlgorithm.AES_GCM, associatedData.duplicate()));
+        assertThrows(IllegalArgumentException.class, () -> encryptionService.decrypt(encrypted, 0, encrypted.length,
+                AES_KEY_ID, EncryptionAlgorithm.CHACHA20_POLY1305, associatedData.duplicate()));
+        assertThrows(IllegalArgumentException.class, () -> encryptionService.decrypt(encrypted, 0, encrypted.length,
+                AES_KEY_ID, EncryptionAlgorithm.AES_GCM, ByteBuffer.wrap(new byte[]{3, 1, 3})));
+        assertThrows(IllegalArgumentException.class, () -> encryptionService.decrypt(encrypted, AES_KEY_ID));
+    }
+
+    @Test
+    void decrypt_ShouldRejectTamperedDataAndUnknownKeys() {
+        byte[] encrypted = encryptionService.encrypt(ORIGINAL, AES_KEY_ID);
+        encrypted[encrypted.length - 1] ^= 1;
+
+        assertThrows(IllegalArgumentException.class, () -> encryptionService.decrypt(encrypted, AES_KEY_ID));
+        assertThrows(IllegalArgumentException.class, () -> encryptionService.decrypt(encrypted, "unknown"));
+        assertThrows(IllegalArgumentException.class, () -> encryptionService.decrypt(new byte[0], AES_KEY_ID));
+    }
+
+    @Test
+    void encryptRange_ShouldRoundTrip() {
+        byte[] framed = "headerSensitiveData123".getBytes(StandardCharsets.UTF_8);
+        byte[] encrypted = encryptionService.encrypt(framed, 6, 16, AES_KEY_ID);
+
+        byte[] withHeader = new byte[encrypted.length + 4];
+        System.arraycopy(encrypted, 0, withHeader, 4, encrypted.length);
+
+        assertArrayEquals(ORIGINAL, encryptionService.decrypt(withHeader, 4, encrypted.length, AES_KEY_ID));
+    }
+
+    private static KeyProperties keyProperties(Map<String, AeadAlgorithm> algorithms) {
+        KeyProperties keyProperties = new KeyProperties();
+        keyProperties.setKeys(Map.of(AES_KEY_ID, KEY, CHACHA_KEY_ID, KEY));
+        keyProperties.setAlgorithms(algorithms);
+        return keyProperties;
+    }
+}
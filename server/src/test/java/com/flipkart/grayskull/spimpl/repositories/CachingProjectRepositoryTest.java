@@ -0,0 +1,88 @@
+package com.flipkart.grayskull.spimpl.repositories;
+
+import com.flipkart.grayskull.configuration.properties.ProjectCacheProperties;
+import com.flipkart.grayskull.entities.ProjectEntity;
+import com.flipkart.grayskull.spi.models.Project;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingProjectRepositoryTest {
+
+    private static final String PROJECT_ID = "project";
+
+    private final ProjectRepositoryImpl delegate = mock(ProjectRepositoryImpl.class);
+    private CachingProjectRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CachingProjectRepository(delegate, new ProjectCacheProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void findById_ShouldHitDelegateOnceAndReturnCopies() {
+        when(delegate.findById(PROJECT_ID)).thenReturn(Optional.of(project("key-1")));
+
+        Project first = repository.findById(PROJECT_ID).orElseThrow();
+        first.setKmsKeyId("modified");
+        Project second = repository.findById(PROJECT_ID).orElseThrow();
+
+        assertEquals("key-1", second.getKmsKeyId());
+        assertInstanceOf(ProjectEntity.class, second);
+        verify(delegate, times(1)).findById(PROJECT_ID);
+    }
+
+    @Test
+    void findByIdOrTransient_WhenMissing_ShouldCacheAbsence() {
+        when(delegate.findById(PROJECT_ID)).thenReturn(Optional.empty());
+        when(delegate.transientProject(PROJECT_ID)).thenAnswer(invocation -> project(null));
+
+        Project first = repository.findByIdOrTransient(PROJECT_ID);
+        Project second = repository.findByIdOrTransient(PROJECT_ID);
+
+        assertEquals(PROJECT_ID, first.getId());
+        assertNull(second.getKmsKeyId());
+        assertTrue(repository.findById(PROJECT_ID).isEmpty());
+        verify(delegate, times(1)).findById(PROJECT_ID);
+    }
+
+    @Test
+    void save_ShouldInvalidateEntry() {
+        ProjectEntity project = project("key-1");
+        when(delegate.findById(PROJECT_ID)).thenReturn(Optional.empty(), Optional.of(project));
+        when(delegate.save(project)).thenReturn(project);
+
+        assertTrue(repository.findById(PROJECT_ID).isEmpty());
+        repository.save(project);
+
+        assertEquals("key-1", repository.findById(PROJECT_ID).orElseThrow().getKmsKeyId());
+        verify(delegate, times(2)).findById(PROJECT_ID);
+    }
+
+    @Test
+    void invalidate_ShouldReloadOnlyChangedProject() {
+        when(delegate.findById(anyString())).thenAnswer(invocation -> Optional.of(project("key-1")));
+
+        repository.findById(PROJECT_ID);
+        repository.findById("other");
+        repository.invalidate(PROJECT_ID);
+        repository.findById(PROJECT_ID);
+        repository.findById("other");
+
+        verify(delegate, times(2)).findById(PROJECT_ID);
+        verify(delegate, times(1)).findById("other");
+
+        repository.invalidateAll();
+        repository.findById("other");
+        verify(delegate, times(2)).findById("other");
+    }
+
+    private static ProjectEntity project(String kmsKeyId) {
+        return ProjectEntity.builder().id(PROJECT_ID).kmsKeyId(kmsKeyId).build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.flipkart.grayskull.spimpl.repositories;
+
+import com.flipkart.grayskull.configuration.properties.SecretDataMigrationProperties;
+import com.flipkart.grayskull.entities.SecretDataEntity;
+import com.flipkart.grayskull.service.utils.BinaryCiphertext;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SecretDataFormatMigratorTest {
+
+    private static final String COLLECTION = "secretData";
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulkOperations = mock(BulkOperations.class);
+    private final SecretDataMigrationProperties properties = new SecretDataMigrationProperties();
+    private SecretDataFormatMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(2);
+        properties.setBatchDelay(Duration.ZERO);
+        when(mongoTemplate.getCollectionName(SecretDataEntity.class)).thenReturn(COLLECTION);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, COLLECTION)).thenReturn(bulkOperations);
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(result.getModifiedCount()).thenReturn(1);
+        when(bulkOperations.execute()).thenReturn(result);
+        migrator = new SecretDataFormatMigrator(mongoTemplate, properties);
+    }
+
+    @Test
+    void migrate_ShouldRewrapCiphertextAndSkipUnconvertibleDocuments() throws InterruptedException {
+        byte[] ciphertext = {1, 2, 3, 4};
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(COLLECTION))).thenReturn(
+                List.of(legacy("a", Base64.getEncoder().encodeToString(ciphertext), "key1"),
+                        legacy("b", "not base64!", "key1")),
+                List.of(legacy("c", "AQID", null)),
+                List.of());
+
+        long migrated = migrator.migrate();
+
+        assertEquals(1, migrated);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(1)).updateOne(any(Query.class), update.capture());
+        verify(bulkOperations, times(1)).execute();
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertArrayEquals(BinaryCiphertext.wrap("key1", ciphertext),
+                ((Binary) set.get("encryptedPrivatePart")).getData());
+        assertTrue(((Document) update.getValue().getUpdateObject().get("$unset")).containsKey("privatePart"));
+        verify(mongoTemplate, times(3)).find(any(Query.class), eq(Document.class), eq(COLLECTION));
+    }
+
+    private static Document legacy(String id, String privatePart, String keyId) {
+        return new Document("_id", id).append("privatePart", privatePart).append("kmsKeyId", keyId);
+    }
+}
@@ -0,0 +1,83 @@
+package com.flipkart.grayskull.watch;
+
+import com.flipkart.grayskull.spi.models.enums.LifecycleState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecretWatchRegistryTest {
+
+    private static final SecretRef SECRET = new SecretRef("project", "secret");
+    private static final SecretRef OTHER = new SecretRef("project", "other");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SecretWatchRegistry registry = new SecretWatchRegistry(meterRegistry);
+
+    @Test
+    void publish_WhenVersionChanged_ShouldCompleteSubscription() {
+        SecretWatchRegistry.Subscription subscription = registry.subscribe(Map.of(SECRET, 1, OTHER, 4));
+
+        registry.publish(new SecretChangeEvent(SECRET, 2, LifecycleState.ACTIVE));
+
+        assertEquals(List.of(new SecretChangeEvent(SECRET, 2, LifecycleState.ACTIVE)), subscription.future().join());
+        assertEquals(0.0, meterRegistry.get("grayskull.watch.subscriptions").gauge().value());
+    }
+
+    @Test
+    void publish_WhenVersionAlreadyKnown_ShouldNotComplete() {
+        SecretWatchRegistry.Subscription subscription = registry.subscribe(Map.of(SECRET, 1));
+
+        registry.publish(new SecretChangeEvent(SECRET, 1, LifecycleState.ACTIVE));
+        registry.publish(new SecretChangeEvent(OTHER, 7, LifecycleState.ACTIVE));
+
+        assertFalse(subscription.future().isDone());
+    }
+
+    @Test
+    void publish_WhenSecretDisabled_ShouldComplete() {
+        SecretWatchRegistry.Subscription subscription = registry.subscribe(Map.of(SECRET, 1));
+
+        registry.publish(new SecretChangeEvent(SECRET, 1, LifecycleState.DISABLED));
+
+        assertTrue(subscription.future().isDone());
+    }
+
+    @Test
+    void publish_WhenUnknownSecretCreated_ShouldComplete() {
+        Map<SecretRef, Integer> knownVersions = new HashMap<>();
+        knownVersions.put(SECRET, null);
+        SecretWatchRegistry.Subscription subscription = registry.subscribe(knownVersions);
+
+        registry.publish(new SecretChangeEvent(SECRET, 1, LifecycleState.ACTIVE));
+
+        assertTrue(subscription.future().isDone());
+    }
+
+    @Test
+    void publish_AfterCompletion_ShouldNotReachUnsubscribed() {
+        SecretWatchRegistry.Subscription first = registry.subscribe(Map.of(SECRET, 1));
+        first.future().complete(List.of());
+        SecretWatchRegistry.Subscription second = registry.subscribe(Map.of(SECRET, 1));
+
+        registry.publish(new SecretChangeEvent(SECRET, 2, LifecycleState.ACTIVE));
+
+        assertEquals(List.of(), first.future().join());
+        assertEquals(1, second.future().join().size());
+    }
+
+    @Test
+    void resyncAll_ShouldCompleteAllWithoutChanges() {
+        SecretWatchRegistry.Subscription first = registry.subscribe(Map.of(SECRET, 1));
+        SecretWatchRegistry.Subscription second = registry.subscribe(Map.of(OTHER, 1));
+
+        registry.resyncAll();
+
+        assertEquals(List.of(), first.future().join());
+        assertEquals(List.of(), second.future().join());
+    }
+}
@@ -2,6 +2,8 @@ package com.flipkart.grayskull.spi;
 
 import com.flipkart.grayskull.spi.models.AuditEntry;
 
+import java.util.List;
+
 /**
  * Grayskull audits all the write operations in the same transaction so that none of them are missed.
  * But for reads if we are writing audits in sync same API call then that might reduce overall read throughput.
@@ -12,4 +14,14 @@ import com.flipkart.grayskull.spi.models.AuditEntry;
  */
 public interface AsyncAuditLogger {
     void log(AuditEntry auditEntry);
+
+    /**
+     * Logs several audit entries produced by a single operation, e.g. a batch read.
+     * Implementations are encouraged to override this to write the entries in one go.
+     *
+     * @param auditEntries the audit entries to log.
+     */
+    default void logAll(List<AuditEntry> auditEntries) {
+        auditEntries.forEach(this::log);
+    }
 }
@@ -1,8 +1,21 @@
 package com.flipkart.grayskull.spi;
 
+import com.flipkart.grayskull.spi.models.enums.EncryptionAlgorithm;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 /**
  * Interface for an encryption service in the Grayskull security framework.
  * It is used to encrypt secrets before storing them in the database and decrypt them when needed.
+ * <p>
+ * Only {@link #encrypt(byte[], String)} and {@link #decrypt(byte[], String)} have to be implemented. The overloads
+ * working on a range of an array or on {@link ByteBuffer}s let callers avoid intermediate copies; their default
+ * implementations fall back to the array methods, so implementations should override them if they can do better.
+ * <p>
+ * Implementations whose keys are each bound to one {@link EncryptionAlgorithm} return it from
+ * {@link #algorithm(String)} and implement the overloads taking associated data. Data encrypted directly with such a
+ * key is then stored with a header naming the algorithm and the key, which is authenticated as associated data.
  */
 public interface EncryptionService {
 
@@ -25,4 +38,91 @@ public interface EncryptionService {
      * @return decrypted data
      */
     byte[] decrypt(byte[] data, String keyId);
+
+    /**
+     * Encrypt {@code length} bytes of {@code data} starting at {@code offset}.
+     * @param data array holding the data to encrypt
+     * @param offset offset of the data in the array
+     * @param length length of the data
+     * @param keyId key id to use for encryption
+     * @return encrypted data
+     */
+    default byte[] encrypt(byte[] data, int offset, int length, String keyId) {
+        return encrypt(Arrays.copyOfRange(data, offset, offset + length), keyId);
+    }
+
+    /**
+     * Decrypt {@code length} bytes of {@code data} starting at {@code offset}, e.g. when the encrypted data is
+     * preceded by a header.
+     * @param data array holding the data to decrypt
+     * @param offset offset of the data in the array
+     * @param length length of the data
+     * @param keyId key id to use for decryption, this should be the same as the key id that was used for encryption
+     * @return decrypted data
+     */
+    default byte[] decrypt(byte[] data, int offset, int length, String keyId) {
+        return decrypt(Arrays.copyOfRange(data, offset, offset + length), keyId);
+    }
+
+    /**
+     * Decrypt the remaining bytes of {@code input} into {@code output}. The position of {@code input} is advanced
+     * to its limit and the position of {@code output} by the number of bytes written. Both buffers may be backed
+     * by the same memory, so data can be decrypted in place.
+     * @param input encrypted data
+     * @param output buffer receiving the decrypted data, it must have at least {@code input.remaining()} bytes
+     *               remaining
+     * @param keyId key id to use for decryption, this should be the same as the key id that was used for encryption
+     * @return number of bytes written to {@code output}
+     */
+    default int decrypt(ByteBuffer input, ByteBuffer output, String keyId) {
+        byte[] data = new byte[input.remaining()];
+        input.get(data);
+        byte[] decrypted = decrypt(data, keyId);
+        output.put(decrypted);
+        return decrypted.length;
+    }
+
+    /**
+     * Returns the algorithm a key is bound to.
+     * @param keyId key id
+     * @return the algorithm of the key, or {@code null} if keys are not bound to algorithms, which is the default
+     * @throws IllegalArgumentException if the key is unknown
+     */
+    default EncryptionAlgorithm algorithm(String keyId) {
+        return null;
+    }
+
+    /**
+     * Encrypt {@code length} bytes of {@code data} starting at {@code offset} with the algorithm of the key, and
+     * authenticate the remaining bytes of {@code associatedData} along with it. Has to be implemented if
+     * {@link #algorithm(String)} returns an algorithm.
+     * @param data array holding the data to encrypt
+     * @param offset offset of the data in the array
+     * @param length length of the data
+     * @param keyId key id to use for encryption
+     * @param associatedData data that is not encrypted but has to be passed unchanged for decrypting
+     * @return encrypted data
+     */
+    default byte[] encrypt(byte[] data, int offset, int length, String keyId, ByteBuffer associatedData) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support associated data");
+    }
+
+    /**
+     * Decrypt {@code length} bytes of {@code data} starting at {@code offset}, checking that the remaining bytes of
+     * {@code associatedData} are the ones passed for encrypting. Has to be implemented if {@link #algorithm(String)}
+     * returns an algorithm.
+     * @param data array holding the data to decrypt
+     * @param offset offset of the data in the array
+     * @param length length of the data
+     * @param keyId key id to use for decryption, this should be the same as the key id that was used for encryption
+     * @param algorithm algorithm the data was encrypted with
+     * @param associatedData data authenticated along with the encrypted data
+     * @return decrypted data
+     * @throws IllegalArgumentException if the key is not bound to {@code algorithm}, or the data or the associated
+     *                                  data fail authentication
+     */
+    default byte[] decrypt(byte[] data, int offset, int length, String keyId, EncryptionAlgorithm algorithm,
+                           ByteBuffer associatedData) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support associated data");
+    }
 }
@@ -50,6 +50,13 @@ public class SecretData {
      */
     private String privatePart;
 
+    /**
+     * The encrypted private part as stored at rest: a small header carrying the format version and the key id,
+     * followed by the ciphertext. When it is set {@link #privatePart} is empty; data written before this field
+     * existed instead holds the Base64 encoded ciphertext in {@link #privatePart}.
+     */
+    private byte[] encryptedPrivatePart;
+
     /**
      * The identifier of the Key Management Service (KMS) key used for encrypting
      * and decrypting the privatePart.
@@ -80,4 +87,15 @@ public class SecretData {
      * The current lifecycle state of this secret data (e.g., "ACTIVE", "EXPIRED", "REVOKED").
      */
     private LifecycleState state;
+
+    /**
+     * Creates secret data without {@link #encryptedPrivatePart}, as it was before the binary format existed.
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public SecretData(String id, String secretId, long dataVersion, String publicPart, String privatePart,
+                      String kmsKeyId, String providerSecretRef, String providerSecretVersionRef, Instant lastUsed,
+                      LifecycleState state) {
+        this(id, secretId, dataVersion, publicPart, privatePart, null, kmsKeyId, providerSecretRef,
+                providerSecretVersionRef, lastUsed, state);
+    }
 }
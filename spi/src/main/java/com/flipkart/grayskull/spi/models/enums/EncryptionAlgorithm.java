@@ -0,0 +1,46 @@
+package com.flipkart.grayskull.spi.models.enums;
+
+/**
+ * The authenticated encryption algorithms a key of an {@link com.flipkart.grayskull.spi.EncryptionService} can be
+ * bound to. The tag of the algorithm is stored along with data encrypted with such a key, so it must never change.
+ */
+public enum EncryptionAlgorithm {
+
+    /**
+     * AES-256 in GCM mode.
+     */
+    AES_GCM(1),
+
+    /**
+     * ChaCha20-Poly1305.
+     */
+    CHACHA20_POLY1305(2);
+
+    private final byte tag;
+
+    EncryptionAlgorithm(int tag) {
+        this.tag = (byte) tag;
+    }
+
+    /**
+     * The byte identifying this algorithm in stored data.
+     */
+    public byte tag() {
+        return tag;
+    }
+
+    /**
+     * Returns the algorithm with the given tag.
+     *
+     * @param tag The tag.
+     * @return The algorithm, or {@code null} if no algorithm has this tag.
+     */
+    public static EncryptionAlgorithm fromTag(int tag) {
+        for (EncryptionAlgorithm algorithm : values()) {
+            if (algorithm.tag == tag) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+}
@@ -30,7 +30,19 @@ public interface ProjectRepository {
      * @param id the project ID, must not be null.
      * @return a Project instance; either the persisted project or a transient one.
      */
-    Project findByIdOrTransient(String id);
+    default Project findByIdOrTransient(String id) {
+        return findById(id).orElseGet(() -> transientProject(id));
+    }
+
+    /**
+     * Returns a transient project instance, not persisted to the database, as
+     * {@link #findByIdOrTransient(String)} does for a project that does not exist.
+     * This lets callers that already know the project is missing skip the lookup.
+     *
+     * @param id the project ID, must not be null.
+     * @return a transient Project instance without a KMS key.
+     */
+    Project transientProject(String id);
 
     /**
      * Saves a given project.
@@ -2,6 +2,8 @@ package com.flipkart.grayskull.spi.repositories;
 
 import com.flipkart.grayskull.spi.models.SecretData;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,4 +29,13 @@ public interface SecretDataRepository {
      * @return An Optional containing the secret data if found.
      */
     Optional<SecretData> getBySecretIdAndDataVersion(String secretId, long dataVersion);
+
+    /**
+     * Gets a specific version of the data of several secrets at once.
+     * Secrets whose requested version does not exist are silently ignored.
+     *
+     * @param dataVersions The version of the data to retrieve, keyed by the ID of the parent Secret.
+     * @return A list of the secret data found, in no particular order.
+     */
+    List<SecretData> getAllBySecretIdAndDataVersion(Map<String, Long> dataVersions);
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.flipkart.grayskull.spi.repositories;
 import com.flipkart.grayskull.spi.models.Secret;
 import com.flipkart.grayskull.spi.models.enums.LifecycleState;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +35,21 @@ public interface SecretRepository {
      */
     List<Secret> findByProjectIdAndState(String projectId, LifecycleState state, int offset, int limit);
 
+    /**
+     * Finds a page of secrets for a given project ID and state using keyset pagination.
+     * Secrets are ordered by name, which is unique within a project, and only secrets named after the
+     * given name are returned. The cost of a page does not depend on how deep the page is.
+     * <p>
+     * Implementations may populate only the fields required for listing secret metadata.
+     *
+     * @param projectId The ID of the project.
+     * @param state     The state of the secrets to find.
+     * @param afterName The name of the last secret of the previous page, or {@code null} for the first page.
+     * @param limit     The maximum number of secrets to return.
+     * @return A list of secrets.
+     */
+    List<Secret> findByProjectIdAndStateAfter(String projectId, LifecycleState state, String afterName, int limit);
+
     /**
      * Counts the total number of secrets for a given project ID and state.
      *
@@ -61,4 +77,14 @@ public interface SecretRepository {
      * @return An Optional containing the secret if found.
      */
     Optional<Secret> findByProjectIdAndNameAndState(String projectId, String name, LifecycleState state);
+
+    /**
+     * Finds all secrets of a project, in any state, whose names are in the given collection.
+     * Names that do not match any secret are silently ignored.
+     *
+     * @param projectId The ID of the project.
+     * @param names     The names of the secrets.
+     * @return A list of the secrets found, in no particular order.
+     */
+    List<Secret> findByProjectIdAndNameIn(String projectId, Collection<String> names);
 }
\ No newline at end of file